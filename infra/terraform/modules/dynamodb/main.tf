@@ -52,6 +52,12 @@ resource "aws_dynamodb_table" "this" {
     }
   }
 
+  # Daily activity rollup buckets carry expiresAt (epoch seconds) past their retention horizon
+  ttl {
+    attribute_name = "expiresAt"
+    enabled        = true
+  }
+
   point_in_time_recovery {
     enabled = true
   }
@@ -3,6 +3,7 @@ data "aws_caller_identity" "current" {}
 locals {
   raw_bucket_objects     = "${var.s3_raw_bucket_arn}/*"
   reports_bucket_objects = "${var.s3_reports_bucket_arn}/*"
+  report_blob_objects    = "${var.s3_reports_bucket_arn}/${var.report_blobs_prefix}*"
   ddb_table_indexes_arn  = "${var.ddb_table_arn}/index/*"
   event_bus_arn          = "arn:aws:events:${var.region}:${data.aws_caller_identity.current.account_id}:event-bus/${var.event_bus_name}"
 }
@@ -46,6 +47,8 @@ data "aws_iam_policy_document" "ecs_task_base" {
       "dynamodb:GetItem",
       "dynamodb:PutItem",
       "dynamodb:Query",
+      # ReportBlobSweeper scans the table for the blob keys reports still reference
+      "dynamodb:Scan",
       "dynamodb:UpdateItem",
       "dynamodb:DescribeTable"
     ]
@@ -59,6 +62,14 @@ data "aws_iam_policy_document" "ecs_task_base" {
     resources = [local.raw_bucket_objects, local.reports_bucket_objects]
   }
 
+  # ReportBlobSweeper deletes unreferenced content-addressed blobs; no other report text is deleted
+  statement {
+    sid     = "S3DeleteReportBlobs"
+    effect  = "Allow"
+    actions = ["s3:DeleteObject"]
+    resources = [local.report_blob_objects]
+  }
+
   statement {
     sid     = "S3List"
     effect  = "Allow"
@@ -37,3 +37,9 @@ variable "custom_metrics_namespace" {
   description = "CloudWatch namespace used for custom application metrics"
   type        = string
 }
+
+variable "report_blobs_prefix" {
+  description = "Key prefix of the content-addressed report blobs: the app's REPORTS_KEY_PREFIX followed by blobs/"
+  type        = string
+  default     = "blobs/"
+}
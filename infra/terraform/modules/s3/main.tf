@@ -100,6 +100,29 @@ resource "aws_s3_bucket_lifecycle_configuration" "raw" {
   }
 }
 
+# The bucket is versioned, so deleting or refreshing a content-addressed blob only adds a delete
+# marker or a new version; expire the versions left behind and the markers once they are alone.
+resource "aws_s3_bucket_lifecycle_configuration" "reports" {
+  bucket = aws_s3_bucket.reports.id
+
+  rule {
+    id     = "report-blob-versions"
+    status = "Enabled"
+
+    filter {
+      prefix = var.report_blobs_prefix
+    }
+
+    expiration {
+      expired_object_delete_marker = true
+    }
+
+    noncurrent_version_expiration {
+      noncurrent_days = var.report_blob_noncurrent_days
+    }
+  }
+}
+
 data "aws_iam_policy_document" "tls_only_raw" {
   statement {
     sid     = "ForceTLS"
@@ -18,3 +18,15 @@ variable "raw_bucket_retention_days" {
   type        = number
   default     = 30
 }
+
+variable "report_blobs_prefix" {
+  description = "Key prefix of the content-addressed report blobs: the app's REPORTS_KEY_PREFIX followed by blobs/"
+  type        = string
+  default     = "blobs/"
+}
+
+variable "report_blob_noncurrent_days" {
+  description = "Number of days to keep replaced or deleted versions of report blobs before expiration"
+  type        = number
+  default     = 1
+}
@@ -121,7 +121,7 @@ describe('persist-batch handler', () => {
       reportTimestampKey: '20240519T100000',
       GSI1PK: 'REPORT#report-1',
       GSI1SK: 'REPORT#report-1',
-      GSI2PK: 'TEAM#team-1',
+      GSI2PK: 'TEAM#team-1#0',
       GSI2SK: 'CREATED#20240519T100000#report-1',
       categories: { serving: 'Great job', passing: 'Consistent' },
       playerEmail: 'player@example.com',
@@ -258,4 +258,12 @@ describe('persist-batch handler', () => {
     expect(firstCommand.input.TransactItems).toHaveLength(2);
     expect(secondCommand.input.TransactItems).toHaveLength(2);
   });
+
+  it('shards team timeline keys the same way as the players API', () => {
+    const { teamShard } = require('./handler') as typeof import('./handler');
+
+    expect(teamShard('report-1', 4)).toBe(0);
+    expect(teamShard('r1', 4)).toBe(3);
+    expect(teamShard('2024-01-01T00:00:00Z', 4)).toBe(2);
+  });
 });
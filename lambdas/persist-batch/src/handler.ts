@@ -120,6 +120,22 @@ interface NormalizedReportRecord {
   gsi2SortKey?: string;
 }
 
+const DEFAULT_TEAM_TIMELINE_SHARDS = 4;
+
+const resolveTeamShards = (): number => {
+  const configured = Number.parseInt(process.env.TEAM_TIMELINE_SHARDS ?? '', 10);
+  return Number.isFinite(configured) && configured > 0 ? configured : DEFAULT_TEAM_TIMELINE_SHARDS;
+};
+
+// Must match CoachReportRepository.teamShard in players-api (Java String.hashCode, floor mod).
+export const teamShard = (reportId: string, shards: number): number => {
+  let hash = 0;
+  for (let i = 0; i < reportId.length; i += 1) {
+    hash = (Math.imul(31, hash) + reportId.charCodeAt(i)) | 0;
+  }
+  return ((hash % shards) + shards) % shards;
+};
+
 const ensureTableName = (): string => {
   const tableName = process.env.REPORTS_TABLE_NAME;
   if (!tableName || tableName.trim().length === 0) {
@@ -377,7 +393,7 @@ const buildTransactItems = (
 
   if (record.teamId) {
     reportItem.teamId = record.teamId;
-    reportItem.GSI2PK = `TEAM#${record.teamId}`;
+    reportItem.GSI2PK = `TEAM#${record.teamId}#${teamShard(record.reportId, resolveTeamShards())}`;
     reportItem.GSI2SK = record.gsi2SortKey;
   }
 
@@ -131,6 +131,7 @@ public class AwsClientTuningProperties {
     private Duration backoffBase = Duration.ofMillis(200);
     private Duration backoffMax = Duration.ofSeconds(5);
     private boolean enableThrottledBackoff = true;
+    private final Budgets budget = new Budgets();
 
     public String getMode() {
       return mode;
@@ -176,11 +177,73 @@ public class AwsClientTuningProperties {
       this.enableThrottledBackoff = enableThrottledBackoff;
     }
 
+    public Budgets getBudget() {
+      return budget;
+    }
+
     private Duration sanitizeDuration(Duration candidate, Duration fallback) {
       if (candidate == null || candidate.isZero() || candidate.isNegative()) {
         return fallback;
       }
       return candidate;
     }
+
+    /** Retry budgets per service; each is shared by every client of that service. */
+    public static class Budgets {
+      private final Budget dynamodb = new Budget(500);
+      private final Budget s3 = new Budget(100);
+      private final Budget eventbridge = new Budget(100);
+      private final Budget cloudwatch = new Budget(50);
+
+      public Budget getDynamodb() {
+        return dynamodb;
+      }
+
+      public Budget getS3() {
+        return s3;
+      }
+
+      public Budget getEventbridge() {
+        return eventbridge;
+      }
+
+      public Budget getCloudwatch() {
+        return cloudwatch;
+      }
+    }
+
+    public static class Budget {
+      private int capacity;
+      private int retryCost = 5;
+      private int successRefill = 1;
+
+      Budget(int capacity) {
+        this.capacity = capacity;
+      }
+
+      public int getCapacity() {
+        return capacity;
+      }
+
+      public void setCapacity(int capacity) {
+        this.capacity = Math.max(1, capacity);
+      }
+
+      public int getRetryCost() {
+        return retryCost;
+      }
+
+      public void setRetryCost(int retryCost) {
+        this.retryCost = Math.max(1, retryCost);
+      }
+
+      public int getSuccessRefill() {
+        return successRefill;
+      }
+
+      public void setSuccessRefill(int successRefill) {
+        this.successRefill = Math.max(0, successRefill);
+      }
+    }
   }
 }
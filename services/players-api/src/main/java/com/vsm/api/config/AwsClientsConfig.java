@@ -1,8 +1,10 @@
 package com.vsm.api.config;
 
+import com.vsm.api.infrastructure.resilience.RetryBudget;
 import java.net.URI;
 import java.time.Duration;
 import java.util.Locale;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -71,18 +73,39 @@ public class AwsClientsConfig {
     return builder.build();
   }
 
+  @Bean
+  RetryBudget dynamoDbRetryBudget() {
+    return retryBudget("dynamodb", tuning.getRetry().getBudget().getDynamodb());
+  }
+
+  @Bean
+  RetryBudget s3RetryBudget() {
+    return retryBudget("s3", tuning.getRetry().getBudget().getS3());
+  }
+
+  @Bean
+  RetryBudget eventBridgeRetryBudget() {
+    return retryBudget("eventbridge", tuning.getRetry().getBudget().getEventbridge());
+  }
+
+  @Bean
+  RetryBudget cloudWatchRetryBudget() {
+    return retryBudget("cloudwatch", tuning.getRetry().getBudget().getCloudwatch());
+  }
+
   @Bean
   S3Client s3Client(
       @Value("${app.aws.region}") String region,
       @Value("${app.aws.s3-endpoint:}") String s3Endpoint,
       SdkHttpClient httpClient,
-      ClientOverrideConfiguration overrideConfiguration) {
+      ClientOverrideConfiguration overrideConfiguration,
+      @Qualifier("s3RetryBudget") RetryBudget retryBudget) {
     S3ClientBuilder builder =
         S3Client.builder()
             .region(Region.of(region))
             .credentialsProvider(DefaultCredentialsProvider.create())
             .httpClient(httpClient)
-            .overrideConfiguration(overrideConfiguration);
+            .overrideConfiguration(withRetryBudget(overrideConfiguration, retryBudget));
     if (s3Endpoint != null && !s3Endpoint.isBlank()) {
       builder.endpointOverride(URI.create(s3Endpoint));
     }
@@ -108,13 +131,14 @@ public class AwsClientsConfig {
       @Value("${app.aws.region}") String region,
       @Value("${app.aws.eventbridge-endpoint:}") String ebEndpoint,
       SdkHttpClient httpClient,
-      ClientOverrideConfiguration overrideConfiguration) {
+      ClientOverrideConfiguration overrideConfiguration,
+      @Qualifier("eventBridgeRetryBudget") RetryBudget retryBudget) {
     EventBridgeClientBuilder builder =
         EventBridgeClient.builder()
             .region(Region.of(region))
             .credentialsProvider(DefaultCredentialsProvider.create())
             .httpClient(httpClient)
-            .overrideConfiguration(overrideConfiguration);
+            .overrideConfiguration(withRetryBudget(overrideConfiguration, retryBudget));
     if (ebEndpoint != null && !ebEndpoint.isBlank()) {
       builder.endpointOverride(URI.create(ebEndpoint));
     }
@@ -126,19 +150,38 @@ public class AwsClientsConfig {
       @Value("${app.aws.region}") String region,
       @Value("${app.aws.cloudwatch-endpoint:}") String cloudWatchEndpoint,
       SdkHttpClient httpClient,
-      ClientOverrideConfiguration overrideConfiguration) {
+      ClientOverrideConfiguration overrideConfiguration,
+      @Qualifier("cloudWatchRetryBudget") RetryBudget retryBudget) {
     CloudWatchClientBuilder builder =
         CloudWatchClient.builder()
             .region(Region.of(region))
             .credentialsProvider(DefaultCredentialsProvider.create())
             .httpClient(httpClient)
-            .overrideConfiguration(overrideConfiguration);
+            .overrideConfiguration(withRetryBudget(overrideConfiguration, retryBudget));
     if (cloudWatchEndpoint != null && !cloudWatchEndpoint.isBlank()) {
       builder.endpointOverride(URI.create(cloudWatchEndpoint));
     }
     return builder.build();
   }
 
+  /**
+   * Returns {@code base} with the retry policy's capacity condition swapped for {@code budget}, so
+   * retries by every client of a service draw on one process-wide bucket.
+   */
+  static ClientOverrideConfiguration withRetryBudget(
+      ClientOverrideConfiguration base, RetryBudget budget) {
+    RetryPolicy policy = base.retryPolicy().orElseGet(RetryPolicy::defaultRetryPolicy);
+    return base.toBuilder()
+        .retryPolicy(policy.toBuilder().retryCapacityCondition(budget).build())
+        .build();
+  }
+
+  private static RetryBudget retryBudget(
+      String service, AwsClientTuningProperties.Retry.Budget budget) {
+    return new RetryBudget(
+        service, budget.getCapacity(), budget.getRetryCost(), budget.getSuccessRefill());
+  }
+
   private RetryPolicy buildRetryPolicy(AwsClientTuningProperties.Retry retry) {
     FullJitterBackoffStrategy backoffStrategy =
         FullJitterBackoffStrategy.builder()
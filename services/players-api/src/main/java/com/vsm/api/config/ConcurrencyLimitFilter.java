@@ -0,0 +1,52 @@
+package com.vsm.api.config;
+
+import com.vsm.api.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admits POST requests only while the adaptive limiter has a free slot; everything else is
+ * rejected with {@code 503} and {@code Retry-After} instead of queueing on Tomcat threads.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final String retryAfterSeconds;
+
+  public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, Duration retryAfter) {
+    this.limiter = limiter;
+    this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.POST.matches(request.getMethod());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+    if (permit == null) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+      response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is at capacity");
+      return;
+    }
+
+    boolean dropped = true;
+    try {
+      filterChain.doFilter(request, response);
+      dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    } finally {
+      permit.release(dropped);
+    }
+  }
+}
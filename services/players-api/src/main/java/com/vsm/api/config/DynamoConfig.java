@@ -1,6 +1,8 @@
 package com.vsm.api.config;
 
+import com.vsm.api.infrastructure.resilience.RetryBudget;
 import java.net.URI;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,12 +20,14 @@ public class DynamoConfig {
       @Value("${app.aws.region}") String region,
       @Value("${app.aws.dynamodb-endpoint:}") String endpointOverride,
       SdkHttpClient httpClient,
-      ClientOverrideConfiguration overrideConfiguration) {
+      ClientOverrideConfiguration overrideConfiguration,
+      @Qualifier("dynamoDbRetryBudget") RetryBudget retryBudget) {
     DynamoDbClientBuilder builder =
         DynamoDbClient.builder()
             .region(Region.of(region))
             .httpClient(httpClient)
-            .overrideConfiguration(overrideConfiguration);
+            .overrideConfiguration(
+                AwsClientsConfig.withRetryBudget(overrideConfiguration, retryBudget));
     if (endpointOverride != null && !endpointOverride.isBlank()) {
       builder.endpointOverride(URI.create(endpointOverride));
     }
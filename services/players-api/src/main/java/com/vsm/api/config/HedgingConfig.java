@@ -0,0 +1,40 @@
+package com.vsm.api.config;
+
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import com.vsm.api.infrastructure.resilience.ReadPermits;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Tail-latency protection and bounded fan-out for idempotent reads. */
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class HedgingConfig {
+
+  @Bean
+  ReadPermits readPermits(ResilienceProperties properties) {
+    return new ReadPermits(properties.getFanOut().getMaxConcurrency());
+  }
+
+  @Bean(destroyMethod = "close")
+  ReadHedger readHedger(
+      ResilienceProperties properties, ReadPermits readPermits, MeterRegistry meterRegistry) {
+    ResilienceProperties.Hedging hedging = properties.getHedging();
+    return new ReadHedger(
+        hedging.isEnabled(),
+        hedging.getBudgetRatio(),
+        hedging.getMaxBurst(),
+        hedging.getMinDelay(),
+        hedging.getMaxDelay(),
+        hedging.getWarmupSamples(),
+        readPermits,
+        meterRegistry);
+  }
+
+  @Bean(destroyMethod = "close")
+  ParallelReads parallelReads(ReadPermits readPermits) {
+    return new ParallelReads(readPermits);
+  }
+}
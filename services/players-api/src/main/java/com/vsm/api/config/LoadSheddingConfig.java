@@ -0,0 +1,51 @@
+package com.vsm.api.config;
+
+import com.vsm.api.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Overload protection for the write path. */
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class LoadSheddingConfig {
+
+  /**
+   * Runs just after the Spring Security filter chain (order -100) so unauthenticated requests are
+   * turned away before they take a slot and skew the latency samples.
+   */
+  static final int AFTER_SECURITY_ORDER = -90;
+
+  static final String CREATE_REPORT_PATH = "/api/coach/reports";
+
+  @Bean
+  AdaptiveConcurrencyLimiter createReportLimiter(ResilienceProperties properties) {
+    ResilienceProperties.ConcurrencyLimit limit = properties.getCreateLimit();
+    return new AdaptiveConcurrencyLimiter(
+        "reports.create.concurrency",
+        limit.getInitialLimit(),
+        limit.getMinLimit(),
+        limit.getMaxLimit(),
+        limit.getRttTolerance(),
+        limit.getSmoothing(),
+        limit.getBackoffRatio());
+  }
+
+  @Bean
+  @ConditionalOnProperty(
+      name = "app.resilience.create-limit.enabled",
+      havingValue = "true",
+      matchIfMissing = true)
+  FilterRegistrationBean<ConcurrencyLimitFilter> createReportConcurrencyLimitFilter(
+      AdaptiveConcurrencyLimiter createReportLimiter, ResilienceProperties properties) {
+    FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+        new FilterRegistrationBean<>(
+            new ConcurrencyLimitFilter(
+                createReportLimiter, properties.getCreateLimit().getRetryAfter()));
+    registration.addUrlPatterns(CREATE_REPORT_PATH);
+    registration.setOrder(AFTER_SECURITY_ORDER);
+    return registration;
+  }
+}
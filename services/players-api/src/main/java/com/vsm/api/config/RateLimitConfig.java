@@ -0,0 +1,72 @@
+package com.vsm.api.config;
+
+import com.vsm.api.infrastructure.resilience.TokenBucketRateLimiter;
+import com.vsm.api.web.RateLimitInterceptor;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Per-principal request rate limits for the API. */
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+@ConditionalOnProperty(
+    name = "app.resilience.rate-limit.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class RateLimitConfig {
+
+  private final List<TokenBucketRateLimiter> limiters = new CopyOnWriteArrayList<>();
+
+  @Bean
+  TokenBucketRateLimiter coachRateLimiter(ResilienceProperties properties) {
+    return limiter(
+        "ratelimit.coach", properties.getRateLimit(), properties.getRateLimit().getCoach());
+  }
+
+  @Bean
+  TokenBucketRateLimiter playerRateLimiter(ResilienceProperties properties) {
+    return limiter(
+        "ratelimit.player", properties.getRateLimit(), properties.getRateLimit().getPlayer());
+  }
+
+  @Bean
+  WebMvcConfigurer rateLimitConfigurer(
+      @Qualifier("coachRateLimiter") TokenBucketRateLimiter coachRateLimiter,
+      @Qualifier("playerRateLimiter") TokenBucketRateLimiter playerRateLimiter) {
+    RateLimitInterceptor interceptor =
+        new RateLimitInterceptor(coachRateLimiter, playerRateLimiter);
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+      }
+    };
+  }
+
+  /** Drops refilled buckets, so the request path never has to scan the bucket maps. */
+  @Scheduled(fixedDelayString = "${app.resilience.rate-limit.sweep-interval:10s}")
+  void evictIdleBuckets() {
+    limiters.forEach(TokenBucketRateLimiter::evictIdle);
+  }
+
+  private TokenBucketRateLimiter limiter(
+      String metricPrefix,
+      ResilienceProperties.RateLimit rateLimit,
+      ResilienceProperties.RateLimit.Bucket bucket) {
+    TokenBucketRateLimiter limiter =
+        new TokenBucketRateLimiter(
+            metricPrefix,
+            bucket.getPermitsPerSecond(),
+            bucket.getBurst(),
+            rateLimit.getMaxTrackedPrincipals());
+    limiters.add(limiter);
+    return limiter;
+  }
+}
@@ -0,0 +1,88 @@
+package com.vsm.api.config;
+
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Starts a {@link RequestDeadline} for every request.
+ *
+ * <p>Callers may send {@value #DEADLINE_HEADER} as an ISO-8601 instant or epoch milliseconds; it
+ * can only shorten the configured budget, never extend it. Unparseable values are ignored, and a
+ * deadline that has already passed is rejected with {@code 504} before any work starts. Optional
+ * stages are skipped once less than {@code optional-stage-reserve} is left.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+  public static final String DEADLINE_HEADER = "X-Request-Deadline";
+
+  private final Duration budget;
+  private final Duration optionalReserve;
+  private final Clock clock;
+
+  @Autowired
+  public RequestDeadlineFilter(
+      @Value("${app.deadline.default-budget:10s}") Duration budget,
+      @Value("${app.deadline.optional-stage-reserve:1s}") Duration optionalReserve) {
+    this(budget, optionalReserve, Clock.systemUTC());
+  }
+
+  RequestDeadlineFilter(Duration budget, Duration optionalReserve, Clock clock) {
+    this.budget = budget;
+    this.optionalReserve = optionalReserve;
+    this.clock = clock;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Duration requestBudget = resolveBudget(request.getHeader(DEADLINE_HEADER));
+    if (requestBudget.isZero() || requestBudget.isNegative()) {
+      response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Request deadline already passed");
+      return;
+    }
+
+    RequestDeadline.start(requestBudget, optionalReserve);
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      RequestDeadline.clear();
+    }
+  }
+
+  private Duration resolveBudget(String header) {
+    if (!StringUtils.hasText(header)) {
+      return budget;
+    }
+    Instant deadline;
+    try {
+      String value = header.trim();
+      deadline =
+          value.chars().allMatch(Character::isDigit)
+              ? Instant.ofEpochMilli(Long.parseLong(value))
+              : Instant.parse(value);
+    } catch (DateTimeException | NumberFormatException ex) {
+      return budget;
+    }
+    Duration requested = Duration.between(clock.instant(), deadline);
+    return requested.compareTo(budget) < 0 ? requested : budget;
+  }
+}
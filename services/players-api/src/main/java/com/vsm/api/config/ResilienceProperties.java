@@ -0,0 +1,324 @@
+package com.vsm.api.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.resilience")
+public class ResilienceProperties {
+
+  private final ConcurrencyLimit createLimit = new ConcurrencyLimit();
+  private final RateLimit rateLimit = new RateLimit();
+  private final Brownout brownout = new Brownout();
+  private final Hedging hedging = new Hedging();
+  private final FanOut fanOut = new FanOut();
+
+  public ConcurrencyLimit getCreateLimit() {
+    return createLimit;
+  }
+
+  public RateLimit getRateLimit() {
+    return rateLimit;
+  }
+
+  public Brownout getBrownout() {
+    return brownout;
+  }
+
+  public Hedging getHedging() {
+    return hedging;
+  }
+
+  public FanOut getFanOut() {
+    return fanOut;
+  }
+
+  /** Gradient-style adaptive concurrency limit for the coach create endpoint. */
+  public static class ConcurrencyLimit {
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 128;
+    private double rttTolerance = 1.5;
+    private double smoothing = 0.2;
+    private double backoffRatio = 0.9;
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+      return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+      this.initialLimit = Math.max(1, initialLimit);
+    }
+
+    public int getMinLimit() {
+      return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+      this.minLimit = Math.max(1, minLimit);
+    }
+
+    public int getMaxLimit() {
+      return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+      this.maxLimit = Math.max(1, maxLimit);
+    }
+
+    public double getRttTolerance() {
+      return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+      this.rttTolerance = Math.max(1.0, rttTolerance);
+    }
+
+    public double getSmoothing() {
+      return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+      this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+    }
+
+    public double getBackoffRatio() {
+      return backoffRatio;
+    }
+
+    public void setBackoffRatio(double backoffRatio) {
+      this.backoffRatio = Math.min(0.99, Math.max(0.5, backoffRatio));
+    }
+
+    public Duration getRetryAfter() {
+      return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+      if (retryAfter == null || retryAfter.isNegative() || retryAfter.isZero()) {
+        this.retryAfter = Duration.ofSeconds(1);
+      } else {
+        this.retryAfter = retryAfter;
+      }
+    }
+  }
+
+  /** Per-principal token buckets, sized separately for coaches and players. */
+  public static class RateLimit {
+    private boolean enabled = true;
+    private int maxTrackedPrincipals = 10_000;
+    private final Bucket coach = new Bucket(5, 20);
+    private final Bucket player = new Bucket(20, 40);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public int getMaxTrackedPrincipals() {
+      return maxTrackedPrincipals;
+    }
+
+    public void setMaxTrackedPrincipals(int maxTrackedPrincipals) {
+      this.maxTrackedPrincipals = Math.max(1, maxTrackedPrincipals);
+    }
+
+    public Bucket getCoach() {
+      return coach;
+    }
+
+    public Bucket getPlayer() {
+      return player;
+    }
+
+    public static class Bucket {
+      private double permitsPerSecond;
+      private int burst;
+
+      Bucket(double permitsPerSecond, int burst) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+      }
+
+      public double getPermitsPerSecond() {
+        return permitsPerSecond;
+      }
+
+      public void setPermitsPerSecond(double permitsPerSecond) {
+        if (permitsPerSecond > 0) {
+          this.permitsPerSecond = permitsPerSecond;
+        }
+      }
+
+      public int getBurst() {
+        return burst;
+      }
+
+      public void setBurst(int burst) {
+        this.burst = Math.max(1, burst);
+      }
+    }
+  }
+
+  /** Progressive shedding of optional create stages, driven by the registered load signals. */
+  public static class Brownout {
+    private boolean enabled = true;
+    private List<Double> enterThresholds = List.of(0.6, 0.75, 0.9, 1.0);
+    private double hysteresis = 0.15;
+    private Duration coolDown = Duration.ofSeconds(30);
+    private Duration percentilesBudget = Duration.ofMillis(200);
+    private Duration soapStampBudget = Duration.ofSeconds(1);
+    private Duration createMetricBudget = Duration.ofMillis(250);
+    private Duration auditBudget = Duration.ofMillis(50);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public List<Double> getEnterThresholds() {
+      return enterThresholds;
+    }
+
+    public void setEnterThresholds(List<Double> enterThresholds) {
+      if (enterThresholds != null && !enterThresholds.isEmpty()) {
+        this.enterThresholds = enterThresholds.stream().sorted().toList();
+      }
+    }
+
+    public double getHysteresis() {
+      return hysteresis;
+    }
+
+    public void setHysteresis(double hysteresis) {
+      this.hysteresis = Math.max(0.0, hysteresis);
+    }
+
+    public Duration getCoolDown() {
+      return coolDown;
+    }
+
+    public void setCoolDown(Duration coolDown) {
+      this.coolDown = coolDown == null || coolDown.isNegative() ? Duration.ZERO : coolDown;
+    }
+
+    public Duration getPercentilesBudget() {
+      return percentilesBudget;
+    }
+
+    public void setPercentilesBudget(Duration percentilesBudget) {
+      this.percentilesBudget = percentilesBudget;
+    }
+
+    public Duration getSoapStampBudget() {
+      return soapStampBudget;
+    }
+
+    public void setSoapStampBudget(Duration soapStampBudget) {
+      this.soapStampBudget = soapStampBudget;
+    }
+
+    public Duration getCreateMetricBudget() {
+      return createMetricBudget;
+    }
+
+    public void setCreateMetricBudget(Duration createMetricBudget) {
+      this.createMetricBudget = createMetricBudget;
+    }
+
+    public Duration getAuditBudget() {
+      return auditBudget;
+    }
+
+    public void setAuditBudget(Duration auditBudget) {
+      this.auditBudget = auditBudget;
+    }
+  }
+
+  /** Hedged reads for tail-latency control. */
+  public static class Hedging {
+    private boolean enabled = false;
+    private double budgetRatio = 0.05;
+    private int maxBurst = 10;
+    private Duration minDelay = Duration.ofMillis(5);
+    private Duration maxDelay = Duration.ofSeconds(1);
+    private int warmupSamples = 50;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public double getBudgetRatio() {
+      return budgetRatio;
+    }
+
+    public void setBudgetRatio(double budgetRatio) {
+      this.budgetRatio = Math.min(1.0, Math.max(0.0, budgetRatio));
+    }
+
+    public int getMaxBurst() {
+      return maxBurst;
+    }
+
+    public void setMaxBurst(int maxBurst) {
+      this.maxBurst = Math.max(1, maxBurst);
+    }
+
+    public Duration getMinDelay() {
+      return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+      this.minDelay = minDelay == null || minDelay.isNegative() ? Duration.ZERO : minDelay;
+    }
+
+    public Duration getMaxDelay() {
+      return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+      this.maxDelay = maxDelay == null || maxDelay.isNegative() ? Duration.ofSeconds(1) : maxDelay;
+    }
+
+    public int getWarmupSamples() {
+      return warmupSamples;
+    }
+
+    public void setWarmupSamples(int warmupSamples) {
+      this.warmupSamples = Math.max(1, warmupSamples);
+    }
+  }
+
+  /** Parallel partition reads for multi-player requests. */
+  public static class FanOut {
+    private int maxConcurrency = 32;
+
+    public int getMaxConcurrency() {
+      return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+  }
+}
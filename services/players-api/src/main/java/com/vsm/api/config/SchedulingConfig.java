@@ -0,0 +1,9 @@
+package com.vsm.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables {@code @Scheduled} background jobs (audit view flushes, compaction). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
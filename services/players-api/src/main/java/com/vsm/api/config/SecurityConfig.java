@@ -19,7 +19,8 @@ import org.springframework.security.web.SecurityFilterChain;
  * Two modes:
  *
  * <ol>
- *   <li>Normal (auth enabled): JWT required for /api/**
+ *   <li>Normal (auth enabled): JWT required for /api/**; actuator endpoints other than health,
+ *       some of which start rebuilds or migrations, need the {@code admin} scope
  *   <li>Local profile (spring.profiles.active=local): auth disabled for developer convenience
  * </ol>
  */
@@ -35,10 +36,13 @@ public class SecurityConfig {
                 reg.requestMatchers(
                         "/health",
                         "/actuator/health",
+                        "/actuator/health/**",
                         "/v3/api-docs/**",
                         "/swagger-ui.html",
                         "/swagger-ui/**")
                     .permitAll()
+                    .requestMatchers("/actuator/**")
+                    .hasAuthority("SCOPE_admin")
                     .requestMatchers(HttpMethod.OPTIONS, "/**")
                     .permitAll()
                     .requestMatchers("/api/coach/**")
@@ -0,0 +1,44 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import java.time.Clock;
+import java.time.LocalDate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/** Reads a coach's sent-report index and activity counters. */
+@Service
+public class CoachActivityService {
+
+  private final CoachReportRepository repository;
+  private final ReadHedger hedger;
+  private final Clock clock;
+  private final int defaultLimit;
+  private final int maxLimit;
+
+  public CoachActivityService(
+      CoachReportRepository repository,
+      ReadHedger hedger,
+      Clock clock,
+      @Value("${app.reports.default-page-size:20}") int defaultLimit,
+      @Value("${app.reports.max-page-size:50}") int maxLimit) {
+    this.repository = repository;
+    this.hedger = hedger;
+    this.clock = clock;
+    this.defaultLimit = Math.max(1, defaultLimit);
+    this.maxLimit = Math.max(this.defaultLimit, maxLimit);
+  }
+
+  /**
+   * @throws IllegalArgumentException when {@code cursor} is malformed
+   */
+  public CoachSentPage listSentReports(String coachId, Integer limit, String cursor) {
+    int pageSize = limit == null || limit < 1 ? defaultLimit : Math.min(limit, maxLimit);
+    return hedger.read(
+        "listSentReports", () -> repository.listSentReports(coachId, pageSize, cursor));
+  }
+
+  public CoachActivitySummary summary(String coachId) {
+    return repository.getActivitySummary(coachId, LocalDate.now(clock));
+  }
+}
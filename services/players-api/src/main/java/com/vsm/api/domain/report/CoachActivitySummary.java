@@ -0,0 +1,6 @@
+package com.vsm.api.domain.report;
+
+import java.time.LocalDate;
+
+/** Reports a coach sent on {@code day} (UTC) and during the ISO {@code week} containing it. */
+public record CoachActivitySummary(LocalDate day, String week, long sentToday, long sentThisWeek) {}
@@ -13,4 +13,17 @@ public record CoachReport(
     @NotEmpty Map<@NotBlank String, @NotBlank String> categories,
     @NotNull Instant reportTimestamp,
     @NotBlank String reportId,
-    @NotBlank String coachId) {}
+    @NotBlank String coachId,
+    String teamId) {
+
+  /** A report that is not tied to a team; it is left out of team timelines. */
+  public CoachReport(
+      String playerId,
+      String playerEmail,
+      Map<String, String> categories,
+      Instant reportTimestamp,
+      String reportId,
+      String coachId) {
+    this(playerId, playerEmail, categories, reportTimestamp, reportId, coachId, null);
+  }
+}
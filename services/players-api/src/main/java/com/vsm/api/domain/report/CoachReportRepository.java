@@ -1,39 +1,137 @@
 package com.vsm.api.domain.report;
 
+import com.vsm.api.domain.report.exception.ReportSaveConflictException;
+import com.vsm.api.domain.stats.ActivityRollupRepository;
+import com.vsm.api.domain.stats.IndexedReport;
+import com.vsm.api.domain.stats.SeasonStatsRepository;
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
+import com.vsm.api.infrastructure.resilience.UnprocessedKeysBackoff;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
 @Repository
 public class CoachReportRepository {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CoachReportRepository.class);
+
   private final DynamoDbClient dynamoDbClient;
   private final String tableName;
+  private final CapacityAccountant capacity;
+  private final int teamShards;
+  private final SeasonStatsRepository seasonStats;
+  private final ActivityRollupRepository rollups;
 
   private static final String REPORT_SORT_KEY_PREFIX = "REPORT#";
+  private static final String TEAM_SORT_KEY_PREFIX = "CREATED#";
+
+  /** Shard number of the unsharded team partition that older deployments wrote to. */
+  public static final int LEGACY_TEAM_SHARD = -1;
+  private static final String COACH_PARTITION_PREFIX = "COACH#";
+  private static final String SENT_SORT_KEY_PREFIX = "SENT#";
+  private static final String STATS_SORT_KEY_PREFIX = "STATS#";
+  private static final String AGGREGATES_PENDING = "aggregatesPending";
+  private static final int MAX_SAVE_ATTEMPTS = 3;
+  private static final UnprocessedKeysBackoff SAVE_BACKOFF =
+      new UnprocessedKeysBackoff(Duration.ofMillis(20), Duration.ofMillis(200));
+  private static final Set<String> RETRYABLE_CANCELLATIONS =
+      Set.of("TransactionConflict", "ThrottlingError", "ProvisionedThroughputExceeded");
+  static final String REPORT_INDEX = "GSI1";
+  static final String TEAM_INDEX = "GSI2";
+  static final int MAX_BATCH_GET_KEYS = 100;
   private static final DateTimeFormatter SORT_KEY_FORMATTER =
       DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC);
   private static final DateTimeFormatter SORT_KEY_PARSER =
       DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
 
   public CoachReportRepository(
-      DynamoDbClient dynamoDbClient, @Value("${app.reports.table-name}") String tableName) {
+      DynamoDbClient dynamoDbClient,
+      @Value("${app.reports.table-name}") String tableName,
+      CapacityAccountant capacity,
+      @Value("${app.reports.team-timeline.shards:4}") int teamShards,
+      SeasonStatsRepository seasonStats,
+      ActivityRollupRepository rollups) {
     this.dynamoDbClient = dynamoDbClient;
     this.tableName = tableName;
+    this.capacity = capacity;
+    this.teamShards = Math.max(1, teamShards);
+    this.seasonStats = seasonStats;
+    this.rollups = rollups;
+  }
+
+  public int teamShards() {
+    return teamShards;
   }
 
   public void save(CoachReport report, String soapStamp) {
+    save(report, soapStamp, Set.of(), null, null);
+  }
+
+  /**
+   * Persists the report item. {@code deferredStages} names optional create stages that were skipped
+   * during a brownout and still need to be backfilled.
+   *
+   * <p>The coach's sent-report index entry ({@code COACH#<coachId>}, {@code SENT#<ts>#<reportId>})
+   * is written in the same transaction. A duplicate report fails the whole transaction and
+   * surfaces as {@link ConditionalCheckFailedException}. The transaction holds only items unique to
+   * the report, so parallel creates do not conflict; one cancelled for a conflict or throttling is
+   * retried, and surfaces as {@link ReportSaveConflictException} if that keeps happening.
+   *
+   * <p>Once the report is saved, it is added to its coach's weekly counters, its player's season
+   * sums and its player's and team's daily and weekly activity buckets. Those items are shared by
+   * many reports, so they are plain {@code ADD}s outside the transaction. Only the create whose
+   * put saved the reportId gets to them, so nothing is counted twice. The report item carries an
+   * {@code aggregatesPending} marker until every addition has landed, so a report that was not
+   * fully counted can be found.
+   *
+   * <p>{@code inlineText} is the deflated report text when it is kept on the item instead of in S3,
+   * otherwise {@code null}. {@code s3Key} is the key of a text already in S3. It is saved with the
+   * item, so a report never exists without the only reference to its content-addressed blob. It is
+   * {@code null} for an inline text or one whose upload has not finished yet.
+   */
+  public void save(
+      CoachReport report,
+      String soapStamp,
+      Set<String> deferredStages,
+      byte[] inlineText,
+      String s3Key) {
     Map<String, AttributeValue> item = new HashMap<>();
     String reportTimestampIso = report.reportTimestamp().toString();
     String reportTimestampKey = toSortKeyTimestamp(report.reportTimestamp());
@@ -47,27 +145,193 @@ public class CoachReportRepository {
     item.put("reportTimestampKey", AttributeValue.fromS(reportTimestampKey));
     item.put("coachId", AttributeValue.fromS(report.coachId()));
     item.put("playerEmail", AttributeValue.fromS(report.playerEmail()));
-    item.put("createdAt", AttributeValue.fromS(Instant.now().toString()));
+    Instant createdAt = Instant.now();
+    item.put("createdAt", AttributeValue.fromS(createdAt.toString()));
     item.put("entityType", AttributeValue.fromS("REPORT"));
     item.put("GSI1PK", AttributeValue.fromS("REPORT#" + report.reportId()));
     item.put("GSI1SK", AttributeValue.fromS("REPORT#" + report.reportId()));
+    // Sharded so a busy team's match-day writes spread over several GSI2 partitions
+    int shard = teamShard(report.reportId(), teamShards);
+    if (report.teamId() != null && !report.teamId().isBlank()) {
+      item.put("teamId", AttributeValue.fromS(report.teamId()));
+      item.put("GSI2PK", AttributeValue.fromS(teamPartitionKey(report.teamId(), shard)));
+      String teamSortKey = TEAM_SORT_KEY_PREFIX + reportTimestampKey + "#" + report.reportId();
+      item.put("GSI2SK", AttributeValue.fromS(teamSortKey));
+    }
     Map<String, AttributeValue> cats = new HashMap<>();
     report.categories().forEach((k, v) -> cats.put(k, AttributeValue.fromS(v)));
     item.put("categories", AttributeValue.fromM(cats));
     if (soapStamp != null && !soapStamp.isBlank()) {
       item.put("soapStamp", AttributeValue.fromS(soapStamp));
     }
+    if (deferredStages != null && !deferredStages.isEmpty()) {
+      item.put("deferredStages", AttributeValue.fromSs(deferredStages.stream().sorted().toList()));
+    }
+    if (inlineText != null) {
+      item.put("inlineText", AttributeValue.fromB(SdkBytes.fromByteArray(inlineText)));
+    }
+    if (s3Key != null) {
+      item.put("s3Key", AttributeValue.fromS(s3Key));
+    }
+    item.put(AGGREGATES_PENDING, AttributeValue.fromBool(true));
+
+    String coachPk = COACH_PARTITION_PREFIX + report.coachId();
+    Map<String, AttributeValue> sentItem = new HashMap<>();
+    sentItem.put("PK", AttributeValue.fromS(coachPk));
+    String sentSortKey = SENT_SORT_KEY_PREFIX + reportTimestampKey + "#" + report.reportId();
+    sentItem.put("SK", AttributeValue.fromS(sentSortKey));
+    sentItem.put("reportId", item.get("reportId"));
+    sentItem.put("playerId", item.get("playerId"));
+    sentItem.put("reportTimestamp", item.get("reportTimestamp"));
+    sentItem.put("createdAt", AttributeValue.fromS(createdAt.toString()));
+    sentItem.put("entityType", AttributeValue.fromS("COACH_SENT"));
+
+    // Only items unique to this report, so parallel creates never contend for an item
+    TransactWriteItemsRequest request =
+        TransactWriteItemsRequest.builder()
+            .transactItems(
+                TransactWriteItem.builder()
+                    .put(
+                        Put.builder()
+                            .tableName(tableName)
+                            .item(item)
+                            .conditionExpression(
+                                "attribute_not_exists(PK) AND attribute_not_exists(SK)")
+                            .build())
+                    .build(),
+                TransactWriteItem.builder()
+                    .put(Put.builder().tableName(tableName).item(sentItem).build())
+                    .build())
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build();
+    transactSave(report.reportId(), report.playerId(), request);
+
+    addToAggregates(report, shard, createdAt);
+
+    try {
+      seasonStats.recordExtremes(report.playerId(), report.reportTimestamp(), report.categories());
+    } catch (RuntimeException ex) {
+      // The report is saved; a season stats rebuild restores min/max
+      LOGGER.warn("Season min/max update failed for player {}", report.playerId(), ex);
+    }
+  }
+
+  /**
+   * Runs the create transaction, retrying cancellations caused by a conflicting transaction or by
+   * throttling with jittered backoff.
+   *
+   * @throws ConditionalCheckFailedException when the report already exists
+   * @throws ReportSaveConflictException when the retries are used up
+   */
+  private void transactSave(String reportId, String playerId, TransactWriteItemsRequest request) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        capacity.recordWrite(
+            "saveReport", playerId, dynamoDbClient.transactWriteItems(request).consumedCapacity());
+        return;
+      } catch (TransactionCanceledException ex) {
+        List<String> codes =
+            ex.hasCancellationReasons()
+                ? ex.cancellationReasons().stream().map(CancellationReason::code).toList()
+                : List.of();
+        if (!codes.isEmpty() && "ConditionalCheckFailed".equals(codes.get(0))) {
+          throw ConditionalCheckFailedException.builder()
+              .message("Report " + reportId + " already exists")
+              .cause(ex)
+              .build();
+        }
+        if (codes.stream().noneMatch(RETRYABLE_CANCELLATIONS::contains)) {
+          throw ex;
+        }
+        if (attempt >= MAX_SAVE_ATTEMPTS) {
+          throw new ReportSaveConflictException(reportId, ex);
+        }
+        LOGGER.debug("Save of report {} cancelled for {}; retrying", reportId, codes);
+        SAVE_BACKOFF.pause(attempt);
+      }
+    }
+  }
 
-    PutItemRequest request =
-        PutItemRequest.builder()
+  /**
+   * Adds a saved report to the counters, season sums and activity buckets it belongs to, then
+   * clears its {@code aggregatesPending} marker. A failed addition is logged and leaves the marker.
+   */
+  private void addToAggregates(CoachReport report, int shard, Instant createdAt) {
+    LocalDate sentOn = createdAt.atZone(ZoneOffset.UTC).toLocalDate();
+    List<UpdateItemRequest> updates = new ArrayList<>();
+    updates.add(
+        UpdateItemRequest.builder()
             .tableName(tableName)
-            .item(item)
-            .conditionExpression("attribute_not_exists(PK) AND attribute_not_exists(SK)")
+            .key(
+                Map.of(
+                    "PK", AttributeValue.fromS(COACH_PARTITION_PREFIX + report.coachId()),
+                    "SK", AttributeValue.fromS(STATS_SORT_KEY_PREFIX + weekKey(sentOn))))
+            .updateExpression("SET updatedAt = :now ADD sentThisWeek :one, #day :one")
+            .expressionAttributeNames(Map.of("#day", dayAttribute(sentOn)))
+            .expressionAttributeValues(
+                Map.of(
+                    ":now", AttributeValue.fromS(createdAt.toString()),
+                    ":one", AttributeValue.fromN("1")))
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build());
+    updates.add(
+        seasonStats.aggregateUpdate(
+            report.playerId(), report.reportTimestamp(), report.categories(), createdAt));
+    updates.addAll(
+        rollups.bucketUpdates(
+            report.playerId(),
+            report.teamId(),
+            shard,
+            report.reportTimestamp(),
+            report.categories(),
+            createdAt));
+    boolean complete = true;
+    for (UpdateItemRequest update : updates) {
+      try {
+        capacity.recordWrite(
+            "addToAggregates",
+            report.playerId(),
+            dynamoDbClient.updateItem(update).consumedCapacity());
+      } catch (RuntimeException ex) {
+        complete = false;
+        LOGGER.warn(
+            "Adding report {} to {} failed", report.reportId(), update.key().get("SK").s(), ex);
+      }
+    }
+    if (!complete) {
+      return;
+    }
+    String sortKey = buildReportSortKey(report.reportTimestamp(), report.reportId());
+    UpdateItemRequest clear =
+        UpdateItemRequest.builder()
+            .tableName(tableName)
+            .key(
+                Map.of(
+                    "PK", AttributeValue.fromS("PLAYER#" + report.playerId()),
+                    "SK", AttributeValue.fromS(sortKey)))
+            .updateExpression("REMOVE " + AGGREGATES_PENDING)
+            .conditionExpression("attribute_exists(PK)")
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
             .build();
-    dynamoDbClient.putItem(request);
+    try {
+      capacity.recordWrite(
+          "addToAggregates",
+          report.playerId(),
+          dynamoDbClient.updateItem(clear).consumedCapacity());
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Clearing the aggregates marker of report {} failed", report.reportId(), ex);
+    }
   }
 
-  /** Idempotent update to set s3Key only if absent. */
+  /**
+   * Idempotent update to set s3Key only if absent.
+   *
+   * @throws ConditionalCheckFailedException when the report is not saved, so that an early update
+   *     never leaves a key-only item that the save would then take for a duplicate
+   */
   public void updateS3Key(String playerId, Instant reportTimestamp, String reportId, String s3Key) {
     Map<String, AttributeValue> key =
         Map.of(
@@ -80,12 +344,91 @@ public class CoachReportRepository {
             .tableName(tableName)
             .key(key)
             .updateExpression("SET s3Key = if_not_exists(s3Key, :s)")
+            .conditionExpression("attribute_exists(PK)")
             .expressionAttributeValues(Map.of(":s", AttributeValue.fromS(s3Key)))
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
             .build();
-    dynamoDbClient.updateItem(req);
+    capacity.recordWrite(
+        "updateS3Key", playerId, dynamoDbClient.updateItem(req).consumedCapacity());
+  }
+
+  /**
+   * Stores a deflated text on an existing report item that has none yet. Returns {@code false} when
+   * the item is gone or already holds an inline text.
+   */
+  public boolean setInlineText(
+      String playerId, Instant reportTimestamp, String reportId, byte[] inlineText) {
+    UpdateItemRequest req =
+        UpdateItemRequest.builder()
+            .tableName(tableName)
+            .key(
+                Map.of(
+                    "PK", AttributeValue.fromS("PLAYER#" + playerId),
+                    "SK", AttributeValue.fromS(buildReportSortKey(reportTimestamp, reportId))))
+            .updateExpression("SET inlineText = :t")
+            .conditionExpression("attribute_exists(PK) AND attribute_not_exists(inlineText)")
+            .expressionAttributeValues(
+                Map.of(":t", AttributeValue.fromB(SdkBytes.fromByteArray(inlineText))))
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build();
+    try {
+      capacity.recordWrite(
+          "setInlineText", playerId, dynamoDbClient.updateItem(req).consumedCapacity());
+      return true;
+    } catch (ConditionalCheckFailedException ex) {
+      return false;
+    }
+  }
+
+  /**
+   * The s3Keys starting with {@code keyPrefix} of every report in the table, reading only that
+   * attribute. This scans the whole table, so it is for background jobs only.
+   */
+  public Set<String> scanTextKeys(String keyPrefix) {
+    Set<String> keys = new HashSet<>();
+    Map<String, AttributeValue> startKey = null;
+    do {
+      ScanRequest request =
+          ScanRequest.builder()
+              .tableName(tableName)
+              .filterExpression("entityType = :report AND begins_with(s3Key, :prefix)")
+              .projectionExpression("s3Key")
+              .expressionAttributeValues(
+                  Map.of(
+                      ":report", AttributeValue.fromS("REPORT"),
+                      ":prefix", AttributeValue.fromS(keyPrefix)))
+              .exclusiveStartKey(startKey)
+              .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+              .build();
+      ScanResponse response = dynamoDbClient.scan(request);
+      capacity.recordRead("scanTextKeys", null, response.consumedCapacity());
+      if (response.hasItems()) {
+        response.items().forEach(item -> keys.add(stringValue(item.get("s3Key"))));
+      }
+      startKey =
+          response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()
+              ? response.lastEvaluatedKey()
+              : null;
+    } while (startKey != null);
+    return keys;
   }
 
   public PlayerReportPage listReports(String playerId, int limit, String cursor) {
+    return listReports("listReports", playerId, limit, cursor);
+  }
+
+  /**
+   * One page of a player's reports as DynamoDB sizes it (up to 1 MB read), newest first. Used to
+   * walk a player's whole history in as few round-trips as possible.
+   */
+  public PlayerReportPage exportReports(String playerId, String cursor) {
+    return listReports("exportReports", playerId, null, cursor);
+  }
+
+  private PlayerReportPage listReports(
+      String operation, String playerId, Integer limit, String cursor) {
     QueryRequest.Builder request =
         QueryRequest.builder()
             .tableName(tableName)
@@ -95,7 +438,9 @@ public class CoachReportRepository {
                     ":pk", AttributeValue.fromS("PLAYER#" + playerId),
                     ":skprefix", AttributeValue.fromS("REPORT#")))
             .scanIndexForward(false)
-            .limit(limit);
+            .limit(limit)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride());
 
     if (cursor != null && !cursor.isBlank()) {
       String trimmed = cursor.trim();
@@ -116,6 +461,7 @@ public class CoachReportRepository {
     }
 
     QueryResponse response = dynamoDbClient.query(request.build());
+    capacity.recordRead(operation, playerId, response.consumedCapacity());
     List<Map<String, AttributeValue>> rawItems = response.hasItems() ? response.items() : List.of();
     List<PlayerReportSummary> items = rawItems.stream().map(this::toSummary).toList();
 
@@ -143,6 +489,273 @@ public class CoachReportRepository {
     return new PlayerReportPage(items, nextCursor);
   }
 
+  /**
+   * Checks which of a player's reports exist with one {@code BatchGetItem}, reading only their
+   * {@code reportId}. Keys come straight from each report's id and timestamp, so at most {@value
+   * #MAX_BATCH_GET_KEYS} reports can be checked per call. Reports DynamoDB left in {@code
+   * UnprocessedKeys} are returned for the caller to retry.
+   */
+  public ReportExistenceBatch findExisting(String playerId, Map<String, Instant> reportTimestamps) {
+    if (reportTimestamps.size() > MAX_BATCH_GET_KEYS) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_BATCH_GET_KEYS + " reports can be checked per batch");
+    }
+    if (reportTimestamps.isEmpty()) {
+      return new ReportExistenceBatch(Set.of(), List.of());
+    }
+    AttributeValue partitionKey = AttributeValue.fromS("PLAYER#" + playerId);
+    Map<String, String> reportIdsBySortKey = new HashMap<>();
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(reportTimestamps.size());
+    reportTimestamps.forEach(
+        (reportId, reportTimestamp) -> {
+          String sortKey = buildReportSortKey(reportTimestamp, reportId);
+          reportIdsBySortKey.put(sortKey, reportId);
+          keys.add(Map.of("PK", partitionKey, "SK", AttributeValue.fromS(sortKey)));
+        });
+
+    BatchGetItemResponse response =
+        dynamoDbClient.batchGetItem(
+            BatchGetItemRequest.builder()
+                .requestItems(
+                    Map.of(
+                        tableName,
+                        KeysAndAttributes.builder()
+                            .keys(keys)
+                            .projectionExpression("reportId")
+                            .build()))
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .overrideConfiguration(RequestDeadline.sdkOverride())
+                .build());
+    capacity.recordRead("findExistingReports", playerId, response.consumedCapacity());
+
+    Set<String> existing = new HashSet<>();
+    Map<String, List<Map<String, AttributeValue>>> found =
+        response.hasResponses() ? response.responses() : Map.of();
+    for (Map<String, AttributeValue> item : found.getOrDefault(tableName, List.of())) {
+      existing.add(stringValue(item.get("reportId")));
+    }
+    List<String> unprocessed = new ArrayList<>();
+    KeysAndAttributes retry =
+        response.hasUnprocessedKeys() ? response.unprocessedKeys().get(tableName) : null;
+    if (retry != null && retry.hasKeys()) {
+      for (Map<String, AttributeValue> key : retry.keys()) {
+        String reportId = reportIdsBySortKey.get(stringValue(key.get("SK")));
+        if (reportId != null) {
+          unprocessed.add(reportId);
+        }
+      }
+    }
+    return new ReportExistenceBatch(existing, unprocessed);
+  }
+
+  /**
+   * Reads the summaries of reports whose player and timestamp are already known, with one {@code
+   * BatchGetItem}. At most {@value #MAX_BATCH_GET_KEYS} reports can be read per call; reports
+   * DynamoDB left in {@code UnprocessedKeys} are returned for the caller to retry.
+   */
+  public ReportSummaryBatch getReports(List<IndexedReport> reports) {
+    if (reports.size() > MAX_BATCH_GET_KEYS) {
+      throw new IllegalArgumentException(
+          "At most " + MAX_BATCH_GET_KEYS + " reports can be read per batch");
+    }
+    if (reports.isEmpty()) {
+      return new ReportSummaryBatch(Map.of(), List.of());
+    }
+    Map<String, IndexedReport> reportsBySortKey = new HashMap<>();
+    List<Map<String, AttributeValue>> keys = new ArrayList<>(reports.size());
+    for (IndexedReport report : reports) {
+      String sortKey = buildReportSortKey(report.reportTimestamp(), report.reportId());
+      if (reportsBySortKey.put(sortKey, report) == null) {
+        keys.add(
+            Map.of(
+                "PK", AttributeValue.fromS("PLAYER#" + report.playerId()),
+                "SK", AttributeValue.fromS(sortKey)));
+      }
+    }
+
+    BatchGetItemResponse response =
+        dynamoDbClient.batchGetItem(
+            BatchGetItemRequest.builder()
+                .requestItems(
+                    Map.of(
+                        tableName,
+                        KeysAndAttributes.builder()
+                            .keys(keys)
+                            .projectionExpression(
+                                "SK, reportId, playerId, teamId, reportTimestamp, createdAt,"
+                                    + " coachId, s3Key, soapStamp")
+                            .build()))
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .overrideConfiguration(RequestDeadline.sdkOverride())
+                .build());
+    capacity.recordRead("getReports", null, response.consumedCapacity());
+
+    Map<String, ReportMetadata> found = new HashMap<>();
+    Map<String, List<Map<String, AttributeValue>>> responses =
+        response.hasResponses() ? response.responses() : Map.of();
+    for (Map<String, AttributeValue> item : responses.getOrDefault(tableName, List.of())) {
+      ReportMetadata metadata =
+          new ReportMetadata(
+              stringValue(item.get("playerId")), stringValue(item.get("teamId")), toSummary(item));
+      found.put(metadata.summary().reportId(), metadata);
+    }
+    List<IndexedReport> unprocessed = new ArrayList<>();
+    KeysAndAttributes retry =
+        response.hasUnprocessedKeys() ? response.unprocessedKeys().get(tableName) : null;
+    if (retry != null && retry.hasKeys()) {
+      for (Map<String, AttributeValue> key : retry.keys()) {
+        IndexedReport report = reportsBySortKey.get(stringValue(key.get("SK")));
+        if (report != null) {
+          unprocessed.add(report);
+        }
+      }
+    }
+    return new ReportSummaryBatch(found, unprocessed);
+  }
+
+  /** Looks a report up by id alone through GSI1; empty when no report has that id. */
+  public Optional<ReportMetadata> findReport(String reportId) {
+    QueryRequest request =
+        QueryRequest.builder()
+            .tableName(tableName)
+            .indexName(REPORT_INDEX)
+            .keyConditionExpression("GSI1PK = :key AND GSI1SK = :key")
+            .expressionAttributeValues(Map.of(":key", AttributeValue.fromS("REPORT#" + reportId)))
+            .limit(1)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build();
+    QueryResponse response = dynamoDbClient.query(request);
+    capacity.recordRead("findReport", null, response.consumedCapacity());
+    if (!response.hasItems() || response.items().isEmpty()) {
+      return Optional.empty();
+    }
+    Map<String, AttributeValue> item = response.items().get(0);
+    return Optional.of(
+        new ReportMetadata(
+            stringValue(item.get("playerId")), stringValue(item.get("teamId")), toSummary(item)));
+  }
+
+  /** Newest-first reports sent by a coach, from the coach's {@code SENT#} index entries. */
+  public CoachSentPage listSentReports(String coachId, int limit, String cursor) {
+    String coachPk = COACH_PARTITION_PREFIX + coachId;
+    QueryRequest.Builder request =
+        QueryRequest.builder()
+            .tableName(tableName)
+            .keyConditionExpression("PK = :pk AND begins_with(SK, :skprefix)")
+            .expressionAttributeValues(
+                Map.of(
+                    ":pk", AttributeValue.fromS(coachPk),
+                    ":skprefix", AttributeValue.fromS(SENT_SORT_KEY_PREFIX)))
+            .scanIndexForward(false)
+            .limit(limit)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride());
+    if (cursor != null && !cursor.isBlank()) {
+      request =
+          request.exclusiveStartKey(
+              Map.of(
+                  "PK", AttributeValue.fromS(coachPk),
+                  "SK", AttributeValue.fromS(SENT_SORT_KEY_PREFIX + decodeSentCursor(cursor))));
+    }
+
+    QueryResponse response = dynamoDbClient.query(request.build());
+    capacity.recordRead("listSentReports", null, response.consumedCapacity());
+    List<Map<String, AttributeValue>> rawItems = response.hasItems() ? response.items() : List.of();
+    List<CoachSentReport> items = new ArrayList<>(rawItems.size());
+    for (Map<String, AttributeValue> item : rawItems) {
+      items.add(
+          new CoachSentReport(
+              stringValue(item.get("reportId")),
+              stringValue(item.get("playerId")),
+              parseInstant(stringValue(item.get("reportTimestamp"))),
+              parseInstant(stringValue(item.get("createdAt")))));
+    }
+
+    String nextCursor = null;
+    if (response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty()) {
+      String sk = stringValue(response.lastEvaluatedKey().get("SK"));
+      if (sk != null && sk.startsWith(SENT_SORT_KEY_PREFIX)) {
+        nextCursor = encodeSentCursor(sk.substring(SENT_SORT_KEY_PREFIX.length()));
+      }
+    }
+    return new CoachSentPage(items, nextCursor);
+  }
+
+  /** The coach's counters for the week and day containing {@code on}; one GetItem. */
+  public CoachActivitySummary getActivitySummary(String coachId, LocalDate on) {
+    String dayAttribute = dayAttribute(on);
+    GetItemRequest request =
+        GetItemRequest.builder()
+            .tableName(tableName)
+            .key(
+                Map.of(
+                    "PK", AttributeValue.fromS(COACH_PARTITION_PREFIX + coachId),
+                    "SK", AttributeValue.fromS(STATS_SORT_KEY_PREFIX + weekKey(on))))
+            .projectionExpression("sentThisWeek, #day")
+            .expressionAttributeNames(Map.of("#day", dayAttribute))
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build();
+    GetItemResponse response = dynamoDbClient.getItem(request);
+    capacity.recordRead("getActivitySummary", null, response.consumedCapacity());
+    Map<String, AttributeValue> item = response.hasItem() ? response.item() : Map.of();
+    long sentToday = numberValue(item.get(dayAttribute));
+    return new CoachActivitySummary(
+        on, weekKey(on), sentToday, numberValue(item.get("sentThisWeek")));
+  }
+
+  /**
+   * Newest-first reports from one GSI2 shard of a team timeline, starting strictly after {@code
+   * afterSortKey} (a {@code CREATED#} key) when it is given. {@link #LEGACY_TEAM_SHARD} reads the
+   * unsharded {@code TEAM#<teamId>} partition written before the timeline was sharded.
+   */
+  public TeamShardPage listTeamShard(String teamId, int shard, int limit, String afterSortKey) {
+    Map<String, AttributeValue> values = new HashMap<>();
+    values.put(":pk", AttributeValue.fromS(teamPartitionKey(teamId, shard)));
+    String keyCondition;
+    if (afterSortKey == null) {
+      keyCondition = "GSI2PK = :pk AND begins_with(GSI2SK, :skprefix)";
+      values.put(":skprefix", AttributeValue.fromS(TEAM_SORT_KEY_PREFIX));
+    } else {
+      keyCondition = "GSI2PK = :pk AND GSI2SK < :after";
+      values.put(":after", AttributeValue.fromS(afterSortKey));
+    }
+    QueryRequest request =
+        QueryRequest.builder()
+            .tableName(tableName)
+            .indexName(TEAM_INDEX)
+            .keyConditionExpression(keyCondition)
+            .expressionAttributeValues(values)
+            .scanIndexForward(false)
+            .limit(limit)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build();
+
+    QueryResponse response = dynamoDbClient.query(request);
+    capacity.recordRead("listTeamShard", null, response.consumedCapacity());
+    List<TeamTimelineEntry> entries = new ArrayList<>();
+    if (response.hasItems()) {
+      for (Map<String, AttributeValue> item : response.items()) {
+        String sortKey = stringValue(item.get("GSI2SK"));
+        String playerId = stringValue(item.get("playerId"));
+        entries.add(new TeamTimelineEntry(sortKey, playerId, toSummary(item)));
+      }
+    }
+    boolean more = response.hasLastEvaluatedKey() && !response.lastEvaluatedKey().isEmpty();
+    return new TeamShardPage(entries, more);
+  }
+
+  static int teamShard(String reportId, int shards) {
+    return Math.floorMod(reportId.hashCode(), shards);
+  }
+
+  /** The GSI2 partition of one team shard; {@link #LEGACY_TEAM_SHARD} is the unsharded one. */
+  public static String teamPartitionKey(String teamId, int shard) {
+    return shard == LEGACY_TEAM_SHARD ? "TEAM#" + teamId : "TEAM#" + teamId + "#" + shard;
+  }
+
   private PlayerReportSummary toSummary(Map<String, AttributeValue> item) {
     String reportId = stringValue(item.get("reportId"));
     Instant reportTimestamp = null;
@@ -161,13 +774,51 @@ public class CoachReportRepository {
     String coachId = stringValue(item.get("coachId"));
     String s3Key = stringValue(item.get("s3Key"));
     String soapStamp = stringValue(item.get("soapStamp"));
-    return new PlayerReportSummary(reportId, reportTimestamp, createdAt, coachId, s3Key, soapStamp);
+    AttributeValue text = item.get("inlineText");
+    byte[] inlineText = text == null || text.b() == null ? null : text.b().asByteArray();
+    return new PlayerReportSummary(
+        reportId, reportTimestamp, createdAt, coachId, s3Key, soapStamp, inlineText);
   }
 
   private String stringValue(AttributeValue value) {
     return value == null ? null : value.s();
   }
 
+  private static long numberValue(AttributeValue value) {
+    return value == null || value.n() == null ? 0 : Long.parseLong(value.n());
+  }
+
+  private static Instant parseInstant(String value) {
+    return value == null ? null : Instant.parse(value);
+  }
+
+  /** ISO week of the counters item, e.g. {@code 2024-W01}. */
+  static String weekKey(LocalDate date) {
+    return "%d-W%02d"
+        .formatted(
+            date.get(IsoFields.WEEK_BASED_YEAR), date.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+  }
+
+  /** Per-day counter attribute on the weekly item, e.g. {@code sent_20240101}. */
+  static String dayAttribute(LocalDate date) {
+    return "sent_" + DateTimeFormatter.BASIC_ISO_DATE.format(date);
+  }
+
+  private static String encodeSentCursor(String sortKeySuffix) {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(sortKeySuffix.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String decodeSentCursor(String cursor) {
+    String suffix =
+        new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+    if (suffix.indexOf('#') < 1) {
+      throw new IllegalArgumentException("Malformed sent reports cursor");
+    }
+    return suffix;
+  }
+
   private String toSortKeyTimestamp(Instant instant) {
     return SORT_KEY_FORMATTER.format(instant);
   }
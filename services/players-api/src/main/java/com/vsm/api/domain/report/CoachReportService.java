@@ -1,13 +1,22 @@
 package com.vsm.api.domain.report;
 
 import com.vsm.api.domain.report.exception.ReportAlreadyExistsException;
-import com.vsm.api.infrastructure.audit.AuditRepository;
+import com.vsm.api.domain.stats.PercentileSketchService;
+import com.vsm.api.domain.stats.ReportCategoryIndex;
+import com.vsm.api.domain.stats.TeamLeaderboardStore;
+import com.vsm.api.infrastructure.audit.AuditWriter;
 import com.vsm.api.infrastructure.events.ReportEventPublisher;
+import com.vsm.api.infrastructure.resilience.BrownoutController;
+import com.vsm.api.infrastructure.resilience.OptionalStage;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
 import com.vsm.api.infrastructure.soap.SoapStampClient;
 import com.vsm.api.infrastructure.storage.S3ReportStorage;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
@@ -15,57 +24,145 @@ import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedExce
 @Service
 @Validated
 public class CoachReportService {
+  private static final Set<OptionalStage> SERVICE_STAGES =
+      EnumSet.of(OptionalStage.PERCENTILES, OptionalStage.SOAP_STAMP, OptionalStage.AUDIT);
+
   private final CoachReportRepository repository;
   private final ReportTextRenderer renderer;
   private final S3ReportStorage storage;
   private final ReportEventPublisher events;
-  private final AuditRepository audit;
+  private final AuditWriter audit;
   private final SoapStampClient soapStampClient;
+  private final BrownoutController brownout;
+  private final HotPlayerPageCache pinnedPages;
+  private final ReportLookupService lookups;
+  private final TeamLeaderboardStore leaderboards;
+  private final PercentileSketchService percentiles;
+  private final ReportCategoryIndex categoryIndex;
+  private final ReportTextPolicy textPolicy;
 
   public CoachReportService(
       CoachReportRepository repository,
       ReportTextRenderer renderer,
       S3ReportStorage storage,
       ReportEventPublisher events,
-      AuditRepository audit,
-      SoapStampClient soapStampClient) {
+      AuditWriter audit,
+      SoapStampClient soapStampClient,
+      BrownoutController brownout,
+      HotPlayerPageCache pinnedPages,
+      ReportLookupService lookups,
+      TeamLeaderboardStore leaderboards,
+      PercentileSketchService percentiles,
+      ReportCategoryIndex categoryIndex,
+      ReportTextPolicy textPolicy) {
     this.repository = repository;
     this.renderer = renderer;
     this.storage = storage;
     this.events = events;
     this.audit = audit;
     this.soapStampClient = soapStampClient;
+    this.brownout = brownout;
+    this.pinnedPages = pinnedPages;
+    this.lookups = lookups;
+    this.leaderboards = leaderboards;
+    this.percentiles = percentiles;
+    this.categoryIndex = categoryIndex;
+    this.textPolicy = textPolicy;
   }
 
   public void create(@NotNull @Valid CoachReport report) {
-    // a) Render & store text first (safe overwrite for retries)
+    // a) Render & store text first (safe overwrite for retries); small texts go on the item
     String text = renderer.render(report);
-    String s3Key = storage.store(report, text);
-    String soapStamp = soapStampClient.fetchStamp(report.reportId()).orElse(null);
+    byte[] inlineText = textPolicy.inline(text);
+    String s3Key = inlineText == null ? storage.store(report, text) : null;
+    Set<OptionalStage> skipped = skippedStages();
+    String soapStamp = null;
+    if (!skipped.contains(OptionalStage.SOAP_STAMP)) {
+      long started = System.nanoTime();
+      soapStamp = soapStampClient.fetchStamp(report.reportId()).orElse(null);
+      brownout.recordStageLatency(OptionalStage.SOAP_STAMP, System.nanoTime() - started);
+    }
+
+    // A text already in S3 is saved with the report; a segment's upload attaches the keys it holds
+    String uploadedKey = s3Key != null && !storage.pendingUpload(s3Key) ? s3Key : null;
 
     boolean duplicate = false;
     try {
-      // b) Persist core report (idempotent via conditional)
-      repository.save(report, soapStamp);
+      // b) Persist core report (idempotent via conditional); skipped stages are kept for backfill
+      repository.save(report, soapStamp, backfillable(skipped), inlineText, uploadedKey);
     } catch (ConditionalCheckFailedException e) {
       duplicate = true; // existing report
     }
+    // The id may have been probed before it existed; stop answering 404 for it
+    lookups.forgetMissing(report.reportId());
+    if (!duplicate) {
+      leaderboards.record(
+          report.teamId(), report.playerId(), report.reportTimestamp(), report.categories());
+      if (!skipped.contains(OptionalStage.PERCENTILES)) {
+        long started = System.nanoTime();
+        percentiles.record(
+            report.teamId(), report.reportId(), report.reportTimestamp(), report.categories());
+        brownout.recordStageLatency(OptionalStage.PERCENTILES, System.nanoTime() - started);
+      }
+      categoryIndex.record(
+          report.teamId(),
+          report.playerId(),
+          report.reportId(),
+          report.reportTimestamp(),
+          report.categories());
+    }
 
-    // c) Attach s3Key (if_not_exists semantics)
-    try {
-      repository.updateS3Key(report.playerId(), report.reportTimestamp(), report.reportId(), s3Key);
-    } catch (RuntimeException ignore) {
-      // tolerate transient failures; can be healed later
+    // c) Attach s3Key (if_not_exists semantics) to a duplicate saved without one, or when the
+    // segment holding the text was uploaded during the save and so may have missed the item
+    boolean attach = duplicate || uploadedKey == null;
+    if (s3Key != null && attach && !storage.pendingUpload(s3Key)) {
+      try {
+        repository.updateS3Key(
+            report.playerId(), report.reportTimestamp(), report.reportId(), s3Key);
+      } catch (RuntimeException ignore) {
+        // tolerate transient failures; a retried create attaches it
+      }
     }
+    // Evict once the item is complete, so a page pinned in between cannot miss the s3Key
+    pinnedPages.evict(report.playerId());
 
-    // d) Publish event
+    // d) Publish event; an inline text has no s3Key
     events.publishReportCreated(report.playerId(), report.reportId(), s3Key);
 
-    // e) Audit entry
-    audit.writeSent(report.reportId(), report.coachId(), Instant.now());
+    // e) Audit entry (buffered, written asynchronously)
+    if (!skipped.contains(OptionalStage.AUDIT)) {
+      long started = System.nanoTime();
+      audit.writeSent(report.reportId(), report.coachId(), Instant.now());
+      brownout.recordStageLatency(OptionalStage.AUDIT, System.nanoTime() - started);
+    }
 
     if (duplicate) {
       throw new ReportAlreadyExistsException(report.reportId(), null);
     }
   }
+
+  /**
+   * Optional stages this request skips, decided once up front: those the brownout controller is
+   * shedding, or all of them when too little of the request deadline is left.
+   */
+  private Set<OptionalStage> skippedStages() {
+    Set<OptionalStage> shed = brownout.shedStages();
+    boolean outOfTime = !RequestDeadline.allowsOptionalWork();
+    Set<OptionalStage> skipped = EnumSet.noneOf(OptionalStage.class);
+    for (OptionalStage stage : SERVICE_STAGES) {
+      if (shed.contains(stage)) {
+        brownout.recordSkipped(stage);
+        skipped.add(stage);
+      } else if (outOfTime) {
+        skipped.add(stage);
+      }
+    }
+    return skipped;
+  }
+
+  private static Set<String> backfillable(Set<OptionalStage> skipped) {
+    Set<String> names = new TreeSet<>();
+    skipped.stream().filter(OptionalStage::isBackfillable).forEach(s -> names.add(s.name()));
+    return names;
+  }
 }
@@ -0,0 +1,5 @@
+package com.vsm.api.domain.report;
+
+import java.util.List;
+
+public record CoachSentPage(List<CoachSentReport> items, String nextCursor) {}
@@ -0,0 +1,7 @@
+package com.vsm.api.domain.report;
+
+import java.time.Instant;
+
+/** A report as listed in its coach's sent index. */
+public record CoachSentReport(
+    String reportId, String playerId, Instant reportTimestamp, Instant createdAt) {}
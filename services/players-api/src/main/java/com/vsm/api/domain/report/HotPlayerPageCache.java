@@ -0,0 +1,83 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pins the first page of reports for players that {@link HotKeyDetector} reports as hot, so a viral
+ * player's listing is served from memory instead of hammering one partition. Pages expire after
+ * {@code pinned-page-ttl}, are dropped once the player cools down, and are evicted when a new
+ * report is saved for the player. Only hot players are pinned, so the cache is bounded by the
+ * detector's capacity.
+ */
+@Component
+public class HotPlayerPageCache {
+
+  private final HotKeyDetector detector;
+  private final Clock clock;
+  private final boolean enabled;
+  private final long ttlMillis;
+  private final int maxPinned;
+  private final ConcurrentHashMap<String, PinnedPage> pages = new ConcurrentHashMap<>();
+
+  public HotPlayerPageCache(
+      HotKeyDetector detector,
+      Clock clock,
+      @Value("${app.hot-keys.pin-first-page:true}") boolean enabled,
+      @Value("${app.hot-keys.pinned-page-ttl:5s}") Duration ttl,
+      @Value("${app.hot-keys.capacity:64}") int maxPinned) {
+    this.detector = detector;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.ttlMillis = ttl.toMillis();
+    this.maxPinned = Math.max(1, maxPinned);
+  }
+
+  /** The pinned first page of {@code limit} items, or {@code null} when there is none. */
+  public PlayerReportPage get(String playerId, int limit) {
+    if (!enabled) {
+      return null;
+    }
+    PinnedPage pinned = pages.get(playerId);
+    if (pinned == null) {
+      return null;
+    }
+    if (clock.millis() >= pinned.expiresAt()
+        || !detector.isHot(HotKeyDetector.KeyType.PLAYER, playerId)) {
+      pages.remove(playerId, pinned);
+      return null;
+    }
+    return pinned.limit() == limit ? pinned.page() : null;
+  }
+
+  /** Pins the page if the player is currently hot; otherwise does nothing. */
+  public void pinIfHot(String playerId, int limit, PlayerReportPage page) {
+    if (!enabled || !detector.isHot(HotKeyDetector.KeyType.PLAYER, playerId)) {
+      return;
+    }
+    if (pages.size() >= maxPinned && !pages.containsKey(playerId)) {
+      long now = clock.millis();
+      pages.values().removeIf(pinned -> now >= pinned.expiresAt());
+      if (pages.size() >= maxPinned) {
+        return;
+      }
+    }
+    pages.put(playerId, new PinnedPage(limit, page, clock.millis() + ttlMillis));
+  }
+
+  public void evict(String playerId) {
+    if (enabled) {
+      pages.remove(playerId);
+    }
+  }
+
+  int pinnedCount() {
+    return pages.size();
+  }
+
+  private record PinnedPage(int limit, PlayerReportPage page, long expiresAt) {}
+}
@@ -0,0 +1,261 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+/**
+ * Writes every stored report text of a player into a ZIP stream, newest first. Report keys come
+ * from {@link PlayerReportExporter}'s page walk. Texts kept on the report item are inflated from
+ * the page as is. Up to {@code concurrency} S3 objects are opened ahead of the entry being written,
+ * each on its own virtual thread, so S3 latency overlaps instead of adding up. Entries are still
+ * written in report order, and each object is copied straight from its S3 stream into the archive
+ * without being buffered whole.
+ *
+ * <p>An open object holds an HTTP connection from the pool shared with DynamoDB, so the window is
+ * kept small, and all archives together hold at most {@code max-open-objects} objects open. An
+ * object takes a permit before its GetObject and returns it when it is closed or aborted; an
+ * archive that finds no permit free writes out its window rather than wait while holding some.
+ * Reports whose text is missing, or not stored yet, are listed in a final {@value #MISSING_ENTRY}
+ * entry instead of failing the archive.
+ */
+@Service
+public class PlayerReportArchiver implements AutoCloseable {
+
+  private static final Thread.Builder ARCHIVE_THREADS =
+      Thread.ofVirtual().name("report-archive-", 0);
+  static final String MISSING_ENTRY = "missing.txt";
+
+  private final PlayerReportExporter exporter;
+  private final S3ReportStorage storage;
+  private final int concurrency;
+  private final Semaphore openObjects;
+  private final ExecutorService executor;
+
+  public PlayerReportArchiver(
+      PlayerReportExporter exporter,
+      S3ReportStorage storage,
+      @Value("${app.reports.archive.concurrency:8}") int concurrency,
+      @Value("${app.reports.archive.max-open-objects:32}") int maxOpenObjects) {
+    this.exporter = exporter;
+    this.storage = storage;
+    this.concurrency = Math.max(1, concurrency);
+    this.openObjects = new Semaphore(Math.max(1, maxOpenObjects), true);
+    this.executor = Executors.newThreadPerTaskExecutor(ARCHIVE_THREADS.factory());
+  }
+
+  /**
+   * Writes the archive to {@code out} and finishes it, leaving {@code out} open. {@code archived}
+   * is told the reportId of every text written. Returns how many texts the archive holds.
+   */
+  public long write(String playerId, OutputStream out, Consumer<String> archived)
+      throws IOException {
+    ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+    Deque<Pending> window = new ArrayDeque<>(concurrency);
+    List<String> missing = new ArrayList<>();
+    AtomicLong written = new AtomicLong();
+    try {
+      exporter.export(
+          playerId,
+          reports -> {
+            for (PlayerReportSummary report : reports) {
+              if (!report.hasText()) {
+                missing.add(report.reportId());
+                continue;
+              }
+              if (window.size() == concurrency) {
+                written.addAndGet(writeEntry(zip, window.removeFirst(), missing, archived));
+              }
+              if (report.inlineText() == null) {
+                // Never wait for a permit while holding some: write out the window instead
+                while (!openObjects.tryAcquire()) {
+                  if (window.isEmpty()) {
+                    acquirePermit();
+                    break;
+                  }
+                  written.addAndGet(writeEntry(zip, window.removeFirst(), missing, archived));
+                }
+              }
+              window.addLast(new Pending(report, open(report)));
+            }
+          });
+      while (!window.isEmpty()) {
+        written.addAndGet(writeEntry(zip, window.removeFirst(), missing, archived));
+      }
+      if (!missing.isEmpty()) {
+        zip.putNextEntry(new ZipEntry(MISSING_ENTRY));
+        zip.write(
+            ("Reports without a stored text:\n" + String.join("\n", missing) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+      }
+      zip.finish();
+      return written.get();
+    } finally {
+      // Anything still in the window was opened for an archive that will not be finished
+      window.forEach(Pending::discard);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /** The entry name for a report: its id, made safe for every unzip tool. */
+  static String entryName(PlayerReportSummary report) {
+    return report.reportId().replaceAll("[^A-Za-z0-9._-]", "-") + ".txt";
+  }
+
+  private CompletableFuture<InputStream> open(PlayerReportSummary report) {
+    if (report.inlineText() != null) {
+      // Already read with the page; migrated reports also have an s3Key, which is not needed
+      return CompletableFuture.completedFuture(ReportTextPolicy.open(report.inlineText()));
+    }
+    return CompletableFuture.supplyAsync(() -> openWithPermit(report.s3Key()), executor);
+  }
+
+  /** Opens {@code key} under a permit the caller already holds. */
+  private InputStream openWithPermit(String key) {
+    try {
+      return new PermitInputStream(storage.open(key), openObjects);
+    } catch (RuntimeException ex) {
+      openObjects.release();
+      throw ex;
+    }
+  }
+
+  private void acquirePermit() {
+    try {
+      openObjects.acquire();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting to open a report text");
+    }
+  }
+
+  private int writeEntry(
+      ZipOutputStream zip, Pending pending, List<String> missing, Consumer<String> archived)
+      throws IOException {
+    PlayerReportSummary report = pending.report();
+    InputStream opened;
+    try {
+      opened = await(pending.object());
+    } catch (RuntimeException ex) {
+      // Interrupted while the open is still running: release it whenever it finishes
+      pending.discard();
+      throw ex;
+    }
+    try (InputStream text = opened) {
+      if (text == null) {
+        missing.add(report.reportId());
+        return 0;
+      }
+      ZipEntry entry = new ZipEntry(entryName(report));
+      if (report.reportTimestamp() != null) {
+        entry.setLastModifiedTime(FileTime.from(report.reportTimestamp()));
+      }
+      zip.putNextEntry(entry);
+      text.transferTo(zip);
+      zip.closeEntry();
+      archived.accept(report.reportId());
+      return 1;
+    }
+  }
+
+  /** The opened object, or {@code null} when S3 has nothing under the key. */
+  private static InputStream await(Future<? extends InputStream> object) {
+    try {
+      return object.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while archiving reports");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof NoSuchKeyException) {
+        return null;
+      }
+      if (ex.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Opening a report text failed", ex.getCause());
+    }
+  }
+
+  /** A report whose text is being opened. */
+  private record Pending(PlayerReportSummary report, CompletableFuture<InputStream> object) {
+
+    /**
+     * Releases the object's connection once it is open. The open is not cancelled: a call
+     * interrupted after S3 answered would leak the connection it holds.
+     */
+    private void discard() {
+      object.whenComplete(
+          (opened, error) -> {
+            if (opened instanceof PermitInputStream object) {
+              object.abort();
+            }
+          });
+    }
+  }
+
+  /** An open S3 object holding one of the process-wide permits until it is closed or aborted. */
+  private static final class PermitInputStream extends FilterInputStream {
+    private final ResponseInputStream<?> object;
+    private final Semaphore permits;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private PermitInputStream(ResponseInputStream<?> object, Semaphore permits) {
+      super(object);
+      this.object = object;
+      this.permits = permits;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        release();
+      }
+    }
+
+    /** Drops the connection instead of draining the body to reuse it. */
+    void abort() {
+      try {
+        object.abort();
+      } finally {
+        release();
+      }
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true)) {
+        permits.release();
+      }
+    }
+  }
+}
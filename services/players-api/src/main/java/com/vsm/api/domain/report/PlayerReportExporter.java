@@ -0,0 +1,98 @@
+package com.vsm.api.domain.report;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Walks a player's whole report history newest-first, one DynamoDB page (up to 1 MB) at a time.
+ * While a page is handed to the sink, the next one is already being read on a virtual thread, so
+ * the export runs at the slower of DynamoDB and the client rather than their sum. At most one page
+ * is read ahead: a sink that blocks on a slow client socket stops the reads too, and memory stays
+ * at two pages however long the history is.
+ */
+@Service
+public class PlayerReportExporter implements AutoCloseable {
+
+  private static final Thread.Builder EXPORT_THREADS = Thread.ofVirtual().name("report-export-", 0);
+
+  private final CoachReportRepository repository;
+  private final ExecutorService executor;
+
+  public PlayerReportExporter(
+      CoachReportRepository repository,
+      @Value("${app.reports.export.prefetch:true}") boolean prefetch) {
+    this.repository = repository;
+    this.executor = prefetch ? Executors.newThreadPerTaskExecutor(EXPORT_THREADS.factory()) : null;
+  }
+
+  /** Receives the pages of an export in order; may block to slow the export down. */
+  @FunctionalInterface
+  public interface PageSink {
+    void accept(List<PlayerReportSummary> reports) throws IOException;
+  }
+
+  /**
+   * Hands every report of {@code playerId} to {@code sink}, newest first, and returns how many
+   * there were. Stops at the first exception from the sink or from DynamoDB.
+   */
+  public long export(String playerId, PageSink sink) throws IOException {
+    long exported = 0;
+    CompletableFuture<PlayerReportPage> next = read(playerId, null);
+    try {
+      while (next != null) {
+        PlayerReportPage page = await(next);
+        next = page.nextCursor() == null ? null : read(playerId, page.nextCursor());
+        if (!page.items().isEmpty()) {
+          sink.accept(page.items());
+          exported += page.items().size();
+        }
+      }
+      return exported;
+    } finally {
+      if (next != null) {
+        // The sink failed (typically the client went away); the read ahead is not needed
+        next.cancel(true);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  private CompletableFuture<PlayerReportPage> read(String playerId, String cursor) {
+    if (executor == null) {
+      return CompletableFuture.completedFuture(readPage(playerId, cursor));
+    }
+    return CompletableFuture.supplyAsync(() -> readPage(playerId, cursor), executor);
+  }
+
+  private PlayerReportPage readPage(String playerId, String cursor) {
+    // Not hedged: a slow page is up to 1 MB, and a second read of it would double its cost
+    return repository.exportReports(playerId, cursor);
+  }
+
+  private static PlayerReportPage await(CompletableFuture<PlayerReportPage> page) {
+    try {
+      return page.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while exporting reports");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      throw new IllegalStateException("Report export read failed", ex.getCause());
+    }
+  }
+}
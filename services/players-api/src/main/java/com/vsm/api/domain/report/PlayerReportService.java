@@ -1,5 +1,9 @@
 package com.vsm.api.domain.report;
 
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import java.util.Collection;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -8,19 +12,40 @@ import org.springframework.stereotype.Service;
 public class PlayerReportService {
 
   private final CoachReportRepository repository;
+  private final ReadHedger hedger;
+  private final HotPlayerPageCache pinnedPages;
+  private final ParallelReads parallelReads;
   private final int defaultLimit;
   private final int maxLimit;
 
   @Autowired
   public PlayerReportService(
       CoachReportRepository repository,
+      ReadHedger hedger,
+      HotPlayerPageCache pinnedPages,
+      ParallelReads parallelReads,
       @Value("${app.reports.default-page-size:20}") Integer configuredDefault,
       @Value("${app.reports.max-page-size:50}") Integer configuredMax) {
-    this(repository, toIntOrDefault(configuredDefault, 20), toIntOrDefault(configuredMax, 50));
+    this(
+        repository,
+        hedger,
+        pinnedPages,
+        parallelReads,
+        toIntOrDefault(configuredDefault, 20),
+        toIntOrDefault(configuredMax, 50));
   }
 
-  PlayerReportService(CoachReportRepository repository, int defaultLimit, int maxLimit) {
+  PlayerReportService(
+      CoachReportRepository repository,
+      ReadHedger hedger,
+      HotPlayerPageCache pinnedPages,
+      ParallelReads parallelReads,
+      int defaultLimit,
+      int maxLimit) {
     this.repository = repository;
+    this.hedger = hedger;
+    this.pinnedPages = pinnedPages;
+    this.parallelReads = parallelReads;
     int sanitizedDefault = Math.max(1, defaultLimit);
     int sanitizedMax = Math.max(sanitizedDefault, maxLimit);
     this.defaultLimit = sanitizedDefault;
@@ -32,7 +57,27 @@ public class PlayerReportService {
     if (limit != null && limit > 0) {
       effectiveLimit = Math.min(limit, maxLimit);
     }
-    return repository.listReports(playerId, effectiveLimit, cursor);
+    int pageSize = effectiveLimit;
+    if (cursor != null) {
+      return hedger.read("listReports", () -> repository.listReports(playerId, pageSize, cursor));
+    }
+    PlayerReportPage pinned = pinnedPages.get(playerId, pageSize);
+    if (pinned != null) {
+      return pinned;
+    }
+    PlayerReportPage page =
+        hedger.read("listReports", () -> repository.listReports(playerId, pageSize, null));
+    pinnedPages.pinIfHot(playerId, pageSize, page);
+    return page;
+  }
+
+  /**
+   * First page of reports for each player, queried in parallel. A player whose query failed has
+   * an error result instead of failing the whole call.
+   */
+  public Map<String, ParallelReads.Result<PlayerReportPage>> latestReports(
+      Collection<String> playerIds, Integer limit) {
+    return parallelReads.readAll(playerIds, playerId -> listReports(playerId, limit, null));
   }
 
   private static int toIntOrDefault(Integer candidate, int fallback) {
@@ -2,10 +2,32 @@ package com.vsm.api.domain.report;
 
 import java.time.Instant;
 
+/**
+ * A report as stored on its item. The text is either in S3 under {@code s3Key} or, when small
+ * enough, deflated on the item as {@code inlineText} (see {@link ReportTextPolicy}); either may be
+ * {@code null}, and items migrated from S3 have both.
+ */
 public record PlayerReportSummary(
     String reportId,
     Instant reportTimestamp,
     Instant createdAt,
     String coachId,
     String s3Key,
-    String soapStamp) {}
+    String soapStamp,
+    byte[] inlineText) {
+
+  public PlayerReportSummary(
+      String reportId,
+      Instant reportTimestamp,
+      Instant createdAt,
+      String coachId,
+      String s3Key,
+      String soapStamp) {
+    this(reportId, reportTimestamp, createdAt, coachId, s3Key, soapStamp, null);
+  }
+
+  /** Whether the report's text has been stored, inline or in S3. */
+  public boolean hasText() {
+    return inlineText != null || s3Key != null;
+  }
+}
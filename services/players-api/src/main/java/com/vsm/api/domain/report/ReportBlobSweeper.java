@@ -0,0 +1,82 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes content-addressed report texts that no report references any more. Each run first
+ * collects the s3Keys of every report with a scan of the table, then deletes the blobs last written
+ * more than {@code grace} before the run started that were not among them.
+ *
+ * <p>A report saved during the run may be missed by the scan, but its blob was written, or
+ * refreshed by {@link S3ReportStorage#store}, within the last half grace period and so is newer
+ * than the cutoff. The one gap left is a store refreshing an old orphan between the listing page
+ * that returned it and that page's delete; the grace period should be long enough to make such a
+ * text being written again improbable. Running on several instances at once is harmless.
+ */
+@Component
+public class ReportBlobSweeper {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReportBlobSweeper.class);
+
+  private final CoachReportRepository repository;
+  private final S3ReportStorage storage;
+  private final Clock clock;
+  private final boolean enabled;
+  private final Duration grace;
+
+  public ReportBlobSweeper(
+      CoachReportRepository repository,
+      S3ReportStorage storage,
+      Clock clock,
+      @Value("${app.reports.text.blobs.sweep.enabled:${app.reports.text.content-addressed:false}}")
+          boolean enabled,
+      @Value("${app.reports.text.blobs.grace:2d}") Duration grace) {
+    this.repository = repository;
+    this.storage = storage;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.grace = grace;
+  }
+
+  /** Returns how many blobs were deleted. */
+  @Scheduled(
+      fixedDelayString = "${app.reports.text.blobs.sweep.interval:1d}",
+      initialDelayString = "${app.reports.text.blobs.sweep.interval:1d}")
+  public int sweep() {
+    if (!enabled) {
+      return 0;
+    }
+    // Taken before the scan, so every blob older than it was written before the scan began
+    Instant cutoff = clock.instant().minus(grace);
+    Set<String> referenced = repository.scanTextKeys(storage.blobPrefix());
+    AtomicInteger examined = new AtomicInteger();
+    AtomicInteger deleted = new AtomicInteger();
+    storage.listBlobs(
+        cutoff,
+        keys -> {
+          examined.addAndGet(keys.size());
+          List<String> orphans = keys.stream().filter(key -> !referenced.contains(key)).toList();
+          if (!orphans.isEmpty()) {
+            deleted.addAndGet(storage.deleteBlobs(orphans));
+          }
+        });
+    LOGGER.info(
+        "Report blob sweep: {} referenced, {} older than {} examined, {} deleted",
+        referenced.size(),
+        examined.get(),
+        cutoff,
+        deleted.get());
+    return deleted.get();
+  }
+}
@@ -0,0 +1,7 @@
+package com.vsm.api.domain.report;
+
+import java.util.List;
+
+/** Which reports exist; {@code unresolved} ones could not be checked and should be asked again. */
+public record ReportExistence(
+    List<String> existing, List<String> missing, List<String> unresolved) {}
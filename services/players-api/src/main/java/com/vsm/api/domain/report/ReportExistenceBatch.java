@@ -0,0 +1,7 @@
+package com.vsm.api.domain.report;
+
+import java.util.List;
+import java.util.Set;
+
+/** One {@code BatchGetItem} round: reports found, and reports DynamoDB did not get to. */
+public record ReportExistenceBatch(Set<String> existing, List<String> unprocessed) {}
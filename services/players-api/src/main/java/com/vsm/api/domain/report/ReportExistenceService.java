@@ -0,0 +1,124 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import com.vsm.api.infrastructure.resilience.UnprocessedKeysBackoff;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Tells offline clients which of their reports already landed, without re-running the create
+ * pipeline. Report ids are their ISO-8601 timestamps, so every report's key is built directly and
+ * checked in 100-key {@code BatchGetItem} calls that run in parallel. Keys left unprocessed are
+ * re-driven with full-jitter backoff; any still unprocessed after {@code max-attempts} are reported
+ * as unresolved rather than guessed.
+ */
+@Service
+public class ReportExistenceService {
+
+  private final CoachReportRepository repository;
+  private final ParallelReads parallelReads;
+  private final int maxAttempts;
+  private final UnprocessedKeysBackoff backoff;
+
+  public ReportExistenceService(
+      CoachReportRepository repository,
+      ParallelReads parallelReads,
+      @Value("${app.reports.exists.max-attempts:4}") int maxAttempts,
+      @Value("${app.reports.exists.backoff-base:20ms}") Duration backoffBase,
+      @Value("${app.reports.exists.backoff-max:200ms}") Duration backoffMax) {
+    this.repository = repository;
+    this.parallelReads = parallelReads;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.backoff = new UnprocessedKeysBackoff(backoffBase, backoffMax);
+  }
+
+  /** Each list keeps the order of {@code reportIds}, without duplicates. */
+  public ReportExistence check(String playerId, List<String> reportIds) {
+    Map<String, Instant> keyed = new LinkedHashMap<>();
+    for (String reportId : new LinkedHashSet<>(reportIds)) {
+      Instant timestamp = parseReportId(reportId);
+      // Ids that are not instants were never accepted by create, so they cannot exist
+      if (timestamp != null) {
+        keyed.put(reportId, timestamp);
+      }
+    }
+
+    List<Map<String, Instant>> chunks = new ArrayList<>();
+    Map<String, Instant> chunk = new LinkedHashMap<>();
+    for (Map.Entry<String, Instant> entry : keyed.entrySet()) {
+      chunk.put(entry.getKey(), entry.getValue());
+      if (chunk.size() == CoachReportRepository.MAX_BATCH_GET_KEYS) {
+        chunks.add(chunk);
+        chunk = new LinkedHashMap<>();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      chunks.add(chunk);
+    }
+
+    Set<String> existing = new HashSet<>();
+    Set<String> unresolved = new HashSet<>();
+    List<Integer> indexes = IntStream.range(0, chunks.size()).boxed().toList();
+    parallelReads
+        .readAll(indexes, index -> checkWithRetry(playerId, chunks.get(index)))
+        .forEach(
+            (index, result) -> {
+              if (!result.succeeded()) {
+                throw result.error();
+              }
+              existing.addAll(result.value().existing());
+              unresolved.addAll(result.value().unprocessed());
+            });
+
+    List<String> found = new ArrayList<>();
+    List<String> missing = new ArrayList<>();
+    List<String> unknown = new ArrayList<>();
+    for (String reportId : new LinkedHashSet<>(reportIds)) {
+      if (existing.contains(reportId)) {
+        found.add(reportId);
+      } else if (unresolved.contains(reportId)) {
+        unknown.add(reportId);
+      } else {
+        missing.add(reportId);
+      }
+    }
+    return new ReportExistence(found, missing, unknown);
+  }
+
+  private ReportExistenceBatch checkWithRetry(String playerId, Map<String, Instant> keys) {
+    Set<String> existing = new HashSet<>();
+    Map<String, Instant> pending = keys;
+    for (int attempt = 1; ; attempt++) {
+      ReportExistenceBatch batch = repository.findExisting(playerId, pending);
+      existing.addAll(batch.existing());
+      if (batch.unprocessed().isEmpty() || attempt >= maxAttempts) {
+        return new ReportExistenceBatch(existing, batch.unprocessed());
+      }
+      Map<String, Instant> retry = new LinkedHashMap<>();
+      for (String reportId : batch.unprocessed()) {
+        retry.put(reportId, pending.get(reportId));
+      }
+      pending = retry;
+      backoff.pause(attempt);
+    }
+  }
+
+  private static Instant parseReportId(String reportId) {
+    try {
+      return Instant.parse(reportId);
+    } catch (DateTimeParseException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finds report metadata by reportId through GSI1, in front of two bounded LRU caches. Reports whose
+ * text is already stored, inline or in S3, never change again, so they are cached until evicted.
+ * Ids with no report are remembered for {@code negative-ttl}, so scanners probing made-up ids cost
+ * one read per id per TTL instead of one per request; a report created on this instance clears its
+ * negative entry right away. Reports still waiting for their s3Key are not cached.
+ */
+@Service
+public class ReportLookupService {
+
+  private final CoachReportRepository repository;
+  private final ReadHedger hedger;
+  private final Clock clock;
+  private final long negativeTtlMillis;
+  private final Map<String, ReportMetadata> found;
+  private final Map<String, Long> missingUntil;
+  private final Counter hits;
+  private final Counter negativeHits;
+  private final Counter misses;
+
+  public ReportLookupService(
+      CoachReportRepository repository,
+      ReadHedger hedger,
+      Clock clock,
+      MeterRegistry registry,
+      @Value("${app.reports.lookup.cache-size:10000}") int cacheSize,
+      @Value("${app.reports.lookup.negative-cache-size:10000}") int negativeCacheSize,
+      @Value("${app.reports.lookup.negative-ttl:30s}") Duration negativeTtl) {
+    this.repository = repository;
+    this.hedger = hedger;
+    this.clock = clock;
+    this.negativeTtlMillis = Math.max(0, negativeTtl.toMillis());
+    this.found = lru(cacheSize);
+    this.missingUntil = lru(negativeCacheSize);
+    this.hits = lookups(registry, "hit");
+    this.negativeHits = lookups(registry, "negative_hit");
+    this.misses = lookups(registry, "miss");
+  }
+
+  public Optional<ReportMetadata> find(String reportId) {
+    ReportMetadata cached;
+    Long expiresAt;
+    synchronized (this) {
+      cached = found.get(reportId);
+      expiresAt = missingUntil.get(reportId);
+    }
+    if (cached != null) {
+      hits.increment();
+      return Optional.of(cached);
+    }
+    if (expiresAt != null && clock.millis() < expiresAt) {
+      negativeHits.increment();
+      return Optional.empty();
+    }
+
+    misses.increment();
+    Optional<ReportMetadata> result =
+        hedger.read("findReport", () -> repository.findReport(reportId));
+    synchronized (this) {
+      if (result.isEmpty()) {
+        if (negativeTtlMillis > 0) {
+          missingUntil.put(reportId, clock.millis() + negativeTtlMillis);
+        }
+      } else {
+        missingUntil.remove(reportId);
+        if (result.get().summary().hasText()) {
+          found.put(reportId, result.get());
+        }
+      }
+    }
+    return result;
+  }
+
+  /** Drops a remembered miss for {@code reportId}, which has just been created. */
+  public synchronized void forgetMissing(String reportId) {
+    missingUntil.remove(reportId);
+  }
+
+  private static <V> Map<String, V> lru(int maxEntries) {
+    int capacity = Math.max(1, maxEntries);
+    return new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  private static Counter lookups(MeterRegistry registry, String result) {
+    return Counter.builder("reports.lookup")
+        .tag("result", result)
+        .description("Report lookups by id, by cache outcome")
+        .register(registry);
+  }
+}
@@ -0,0 +1,4 @@
+package com.vsm.api.domain.report;
+
+/** A report found by id alone, with the player (and team, if any) it belongs to. */
+public record ReportMetadata(String playerId, String teamId, PlayerReportSummary summary) {}
@@ -0,0 +1,11 @@
+package com.vsm.api.domain.report;
+
+import java.util.List;
+
+/**
+ * Reports of a team season matching a category search, newest first. {@code matched} counts every
+ * match, not only those returned; {@code unresolved} lists matches whose summaries could not be
+ * read in time.
+ */
+public record ReportSearchPage(
+    String season, long matched, List<ReportMetadata> items, List<String> unresolved) {}
@@ -0,0 +1,90 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.domain.stats.CategoryPredicate;
+import com.vsm.api.domain.stats.CategorySearchResult;
+import com.vsm.api.domain.stats.IndexedReport;
+import com.vsm.api.domain.stats.ReportCategoryIndex;
+import com.vsm.api.domain.stats.SeasonCalendar;
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import com.vsm.api.infrastructure.resilience.UnprocessedKeysBackoff;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Searches a team season's reports by category values. The predicates are evaluated entirely by
+ * {@link ReportCategoryIndex}; DynamoDB is only asked for the summaries of the newest matches, with
+ * one {@code BatchGetItem} whose unprocessed keys are re-driven with full-jitter backoff.
+ */
+@Service
+public class ReportSearchService {
+
+  private final ReportCategoryIndex index;
+  private final CoachReportRepository repository;
+  private final SeasonCalendar calendar;
+  private final ReadHedger hedger;
+  private final int maxAttempts;
+  private final UnprocessedKeysBackoff backoff;
+
+  public ReportSearchService(
+      ReportCategoryIndex index,
+      CoachReportRepository repository,
+      SeasonCalendar calendar,
+      ReadHedger hedger,
+      @Value("${app.reports.search.max-attempts:3}") int maxAttempts,
+      @Value("${app.reports.search.backoff-base:20ms}") Duration backoffBase,
+      @Value("${app.reports.search.backoff-max:200ms}") Duration backoffMax) {
+    this.index = index;
+    this.repository = repository;
+    this.calendar = calendar;
+    this.hedger = hedger;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.backoff = new UnprocessedKeysBackoff(backoffBase, backoffMax);
+  }
+
+  /**
+   * @param season {@code null} for the current season
+   * @param limit at most {@link CoachReportRepository#MAX_BATCH_GET_KEYS}
+   * @throws IllegalArgumentException when {@code season} is not a valid season name
+   */
+  public ReportSearchPage search(
+      String teamId,
+      String season,
+      List<CategoryPredicate> predicates,
+      boolean matchAll,
+      int limit) {
+    String resolved = season == null ? calendar.currentSeason() : season;
+    int pageSize = Math.min(Math.max(1, limit), CoachReportRepository.MAX_BATCH_GET_KEYS);
+    CategorySearchResult result = index.search(teamId, resolved, predicates, matchAll, pageSize);
+
+    Map<String, ReportMetadata> found = new HashMap<>();
+    List<IndexedReport> pending = result.reports();
+    for (int attempt = 1; !pending.isEmpty(); attempt++) {
+      List<IndexedReport> batch = pending;
+      ReportSummaryBatch read = hedger.read("getReports", () -> repository.getReports(batch));
+      found.putAll(read.found());
+      pending = read.unprocessed();
+      if (pending.isEmpty() || attempt >= maxAttempts) {
+        break;
+      }
+      backoff.pause(attempt);
+    }
+
+    List<ReportMetadata> items = new ArrayList<>(result.reports().size());
+    List<String> unresolved = new ArrayList<>();
+    for (IndexedReport report : result.reports()) {
+      ReportMetadata metadata = found.get(report.reportId());
+      if (metadata != null) {
+        items.add(metadata);
+      } else if (pending.contains(report)) {
+        unresolved.add(report.reportId());
+      }
+      // Anything else was indexed but is gone from the table; it is simply left out
+    }
+    return new ReportSearchPage(resolved, result.matched(), items, unresolved);
+  }
+}
@@ -0,0 +1,9 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.domain.stats.IndexedReport;
+import java.util.List;
+import java.util.Map;
+
+/** One {@code BatchGetItem} round: reports found, by reportId, and reports not yet read. */
+public record ReportSummaryBatch(
+    Map<String, ReportMetadata> found, List<IndexedReport> unprocessed) {}
@@ -0,0 +1,28 @@
+package com.vsm.api.domain.report;
+
+import java.io.IOException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves a player's small S3 texts onto their items with a POST to /actuator/reporttexts/{id}. Each
+ * call walks the player's whole history and writes, so it needs the {@code admin} scope like every
+ * actuator endpoint other than health.
+ */
+@Component
+@Endpoint(id = "reporttexts")
+public class ReportTextEndpoint {
+
+  private final ReportTextMigrator migrator;
+
+  public ReportTextEndpoint(ReportTextMigrator migrator) {
+    this.migrator = migrator;
+  }
+
+  @WriteOperation
+  public ReportTextMigration migrate(@Selector String playerId) throws IOException {
+    return migrator.migrate(playerId);
+  }
+}
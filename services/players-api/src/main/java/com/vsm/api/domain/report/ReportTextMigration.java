@@ -0,0 +1,8 @@
+package com.vsm.api.domain.report;
+
+/**
+ * Outcome of moving one player's small S3 texts onto their report items. {@code tooLarge} texts
+ * stay in S3; {@code missing} reports have no stored text, or nothing under their s3Key.
+ */
+public record ReportTextMigration(
+    String playerId, long scanned, long inlined, long alreadyInline, long tooLarge, long missing) {}
@@ -0,0 +1,106 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+/**
+ * Moves a player's existing report texts that are under the inline threshold from S3 onto their
+ * report items, so reports written before {@link ReportTextPolicy} read like new ones. The s3Key
+ * and the object are kept: links already handed out by the notify Lambda keep working, and an S3
+ * lifecycle rule can expire the objects later. Running it twice is harmless, as items that already
+ * hold a text are skipped and the write is conditional.
+ */
+@Service
+public class ReportTextMigrator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReportTextMigrator.class);
+
+  private final PlayerReportExporter exporter;
+  private final S3ReportStorage storage;
+  private final CoachReportRepository repository;
+  private final ReportTextPolicy policy;
+
+  public ReportTextMigrator(
+      PlayerReportExporter exporter,
+      S3ReportStorage storage,
+      CoachReportRepository repository,
+      ReportTextPolicy policy) {
+    this.exporter = exporter;
+    this.storage = storage;
+    this.repository = repository;
+    this.policy = policy;
+  }
+
+  public ReportTextMigration migrate(String playerId) throws IOException {
+    AtomicLong scanned = new AtomicLong();
+    AtomicLong inlined = new AtomicLong();
+    AtomicLong alreadyInline = new AtomicLong();
+    AtomicLong tooLarge = new AtomicLong();
+    AtomicLong missing = new AtomicLong();
+    exporter.export(
+        playerId,
+        reports -> {
+          for (PlayerReportSummary report : reports) {
+            scanned.incrementAndGet();
+            if (report.inlineText() != null) {
+              alreadyInline.incrementAndGet();
+              continue;
+            }
+            if (report.s3Key() == null) {
+              missing.incrementAndGet();
+              continue;
+            }
+            byte[] text;
+            try {
+              text = read(report.s3Key());
+            } catch (NoSuchKeyException ex) {
+              missing.incrementAndGet();
+              continue;
+            }
+            if (text == null) {
+              tooLarge.incrementAndGet();
+            } else if (repository.setInlineText(
+                playerId,
+                report.reportTimestamp(),
+                report.reportId(),
+                ReportTextPolicy.deflate(text))) {
+              inlined.incrementAndGet();
+            } else {
+              // Inlined concurrently, or deleted since the page was read
+              alreadyInline.incrementAndGet();
+            }
+          }
+        });
+    ReportTextMigration result =
+        new ReportTextMigration(
+            playerId,
+            scanned.get(),
+            inlined.get(),
+            alreadyInline.get(),
+            tooLarge.get(),
+            missing.get());
+    LOGGER.info("Report text migration finished: {}", result);
+    return result;
+  }
+
+  /** The stored text, or {@code null} when it is too large to inline. */
+  private byte[] read(String s3Key) throws IOException {
+    try (ResponseInputStream<GetObjectResponse> object = storage.open(s3Key)) {
+      Long length = object.response().contentLength();
+      if (length != null && !policy.fitsInline(length)) {
+        // Aborting drops the connection instead of draining a body that is not needed
+        object.abort();
+        return null;
+      }
+      byte[] text = object.readAllBytes();
+      return policy.fitsInline(text.length) ? text : null;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.vsm.api.domain.report;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Decides where a report's canonical text is kept. A text under {@code inline-threshold} bytes of
+ * UTF-8 is deflated and stored on the REPORT item itself, which saves the S3 PutObject (and the KMS
+ * call behind SSE-KMS), the later GetObject and the s3Key update. Larger texts go to S3 as before.
+ * A threshold of zero, the default, stores every text in S3: an inline report's {@code
+ * ReportCreated} event has no s3Key, and the notify-report-ready Lambda cannot link it yet.
+ */
+@Component
+public class ReportTextPolicy {
+
+  private final long inlineThreshold;
+
+  public ReportTextPolicy(
+      @Value("${app.reports.text.inline-threshold:0}") DataSize inlineThreshold) {
+    this.inlineThreshold = Math.max(0, inlineThreshold.toBytes());
+  }
+
+  /** Whether a text of {@code size} UTF-8 bytes is stored on the report item. */
+  public boolean fitsInline(long size) {
+    return size < inlineThreshold;
+  }
+
+  /** The deflated text when it is stored on the report item, {@code null} when it goes to S3. */
+  public byte[] inline(String text) {
+    byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+    return fitsInline(utf8.length) ? deflate(utf8) : null;
+  }
+
+  /** zlib-deflates {@code utf8}; the format Python's {@code zlib.decompress} reads as is. */
+  static byte[] deflate(byte[] utf8) {
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    try {
+      deflater.setInput(utf8);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2 + 16);
+      byte[] buffer = new byte[512];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  /** Reads an inline text back as UTF-8 bytes. */
+  static InputStream open(byte[] inlineText) {
+    return new InflaterInputStream(new ByteArrayInputStream(inlineText));
+  }
+}
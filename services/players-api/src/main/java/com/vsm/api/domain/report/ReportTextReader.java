@@ -0,0 +1,41 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+
+/** Reads a report's stored text, from its item when inlined or from S3. */
+@Service
+public class ReportTextReader {
+
+  private final S3ReportStorage storage;
+
+  public ReportTextReader(S3ReportStorage storage) {
+    this.storage = storage;
+  }
+
+  /**
+   * The SHA-256 of the report's text when it is known without reading the text, which is the case
+   * for texts stored content-addressed.
+   */
+  public Optional<String> contentHash(PlayerReportSummary report) {
+    return report.inlineText() == null ? storage.contentHash(report.s3Key()) : Optional.empty();
+  }
+
+  /**
+   * The report's text as UTF-8 bytes.
+   *
+   * @throws software.amazon.awssdk.services.s3.model.NoSuchKeyException when nothing is stored
+   *     under the report's s3Key
+   */
+  public byte[] read(PlayerReportSummary report) throws IOException {
+    try (InputStream text =
+        report.inlineText() != null
+            ? ReportTextPolicy.open(report.inlineText())
+            : storage.open(report.s3Key())) {
+      return text.readAllBytes();
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.vsm.api.domain.report;
+
+import java.util.List;
+
+/** One GSI2 shard's slice of a team timeline; {@code hasMore} when the query stopped early. */
+public record TeamShardPage(List<TeamTimelineEntry> entries, boolean hasMore) {}
@@ -0,0 +1,4 @@
+package com.vsm.api.domain.report;
+
+/** A report on a team timeline, with the {@code CREATED#} GSI2 sort key it is ordered by. */
+public record TeamTimelineEntry(String sortKey, String playerId, PlayerReportSummary report) {}
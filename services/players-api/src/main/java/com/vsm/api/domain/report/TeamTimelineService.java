@@ -0,0 +1,167 @@
+package com.vsm.api.domain.report;
+
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads a team's reports newest-first from the sharded GSI2 partitions. Every shard is queried in
+ * parallel and the results are k-way merged by their {@code CREATED#} sort key. The unsharded
+ * {@code TEAM#<teamId>} partition that older writers used is merged in as one more shard, so
+ * reports written before the timeline was sharded keep showing up. The cursor records a position
+ * per shard: the last sort key handed out from it, or that it is exhausted.
+ */
+@Service
+public class TeamTimelineService {
+
+  private static final Comparator<ShardHead> NEWEST_FIRST =
+      Comparator.comparing((ShardHead head) -> head.current().sortKey()).reversed();
+  private static final String EXHAUSTED = "";
+
+  private final CoachReportRepository repository;
+  private final ReadHedger hedger;
+  private final ParallelReads parallelReads;
+  private final int defaultLimit;
+  private final int maxLimit;
+
+  public TeamTimelineService(
+      CoachReportRepository repository,
+      ReadHedger hedger,
+      ParallelReads parallelReads,
+      @Value("${app.reports.default-page-size:20}") int defaultLimit,
+      @Value("${app.reports.max-page-size:50}") int maxLimit) {
+    this.repository = repository;
+    this.hedger = hedger;
+    this.parallelReads = parallelReads;
+    this.defaultLimit = Math.max(1, defaultLimit);
+    this.maxLimit = Math.max(this.defaultLimit, maxLimit);
+  }
+
+  /**
+   * @throws IllegalArgumentException when {@code cursor} was not produced by this service
+   */
+  public TeamTimelinePage listTeamReports(String teamId, Integer limit, String cursor) {
+    int pageSize = limit == null || limit < 1 ? defaultLimit : Math.min(limit, maxLimit);
+    int shards = repository.teamShards();
+    Map<Integer, String> positions = decodeCursor(cursor, shards);
+    List<Integer> pending = new ArrayList<>();
+    for (int shard = CoachReportRepository.LEGACY_TEAM_SHARD; shard < shards; shard++) {
+      if (!EXHAUSTED.equals(positions.get(shard))) {
+        pending.add(shard);
+      }
+    }
+
+    Map<Integer, ParallelReads.Result<TeamShardPage>> pages =
+        parallelReads.readAll(
+            pending,
+            shard ->
+                hedger.read(
+                    "listTeamShard",
+                    () ->
+                        repository.listTeamShard(
+                            teamId, shard, pageSize, positions.get(shard))));
+
+    PriorityQueue<ShardHead> heads = new PriorityQueue<>(NEWEST_FIRST);
+    List<ShardHead> all = new ArrayList<>();
+    pages.forEach(
+        (shard, result) -> {
+          if (!result.succeeded()) {
+            // Skipping a shard would silently drop reports from the timeline
+            throw result.error();
+          }
+          ShardHead head = new ShardHead(shard, result.value());
+          all.add(head);
+          if (head.hasCurrent()) {
+            heads.add(head);
+          }
+        });
+
+    List<TeamTimelineEntry> items = new ArrayList<>(pageSize);
+    while (items.size() < pageSize && !heads.isEmpty()) {
+      ShardHead head = heads.poll();
+      items.add(head.current());
+      head.consumed++;
+      if (head.hasCurrent()) {
+        heads.add(head);
+      }
+    }
+
+    for (ShardHead head : all) {
+      if (head.isExhausted()) {
+        positions.put(head.shard, EXHAUSTED);
+      } else if (head.consumed > 0) {
+        positions.put(head.shard, head.page.entries().get(head.consumed - 1).sortKey());
+      }
+    }
+    return new TeamTimelinePage(items, encodeCursor(positions, shards));
+  }
+
+  /** {@code null} once every shard, the legacy one included, is exhausted. */
+  private static String encodeCursor(Map<Integer, String> positions, int shards) {
+    long exhausted = positions.values().stream().filter(EXHAUSTED::equals).count();
+    if (exhausted == shards + 1) {
+      return null;
+    }
+    StringBuilder raw = new StringBuilder();
+    positions.forEach(
+        (shard, position) -> raw.append(shard).append('=').append(position).append('\n'));
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static Map<Integer, String> decodeCursor(String cursor, int shards) {
+    Map<Integer, String> positions = new TreeMap<>();
+    if (cursor == null || cursor.isBlank()) {
+      return positions;
+    }
+    String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+    for (String line : raw.split("\n")) {
+      int separator = line.indexOf('=');
+      if (separator < 1) {
+        throw new IllegalArgumentException("Malformed team timeline cursor");
+      }
+      int shard = Integer.parseInt(line.substring(0, separator));
+      String position = line.substring(separator + 1);
+      boolean known = position.isEmpty() || position.startsWith("CREATED#");
+      if (shard < CoachReportRepository.LEGACY_TEAM_SHARD || shard >= shards || !known) {
+        throw new IllegalArgumentException("Malformed team timeline cursor");
+      }
+      positions.put(shard, position);
+    }
+    return positions;
+  }
+
+  /** Merge state for one shard's page. */
+  private static final class ShardHead {
+    private final int shard;
+    private final TeamShardPage page;
+    private int consumed;
+
+    private ShardHead(int shard, TeamShardPage page) {
+      this.shard = shard;
+      this.page = page;
+    }
+
+    private boolean hasCurrent() {
+      return consumed < page.entries().size();
+    }
+
+    private TeamTimelineEntry current() {
+      return page.entries().get(consumed);
+    }
+
+    private boolean isExhausted() {
+      return !hasCurrent() && !page.hasMore();
+    }
+  }
+}
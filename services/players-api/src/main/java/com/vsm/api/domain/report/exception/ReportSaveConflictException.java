@@ -0,0 +1,23 @@
+package com.vsm.api.domain.report.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when DynamoDB kept cancelling a report's create transaction for a conflict or throttling
+ * after the save's own retries. Nothing was written, so the client can post the report again.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Report could not be saved; retry")
+public class ReportSaveConflictException extends RuntimeException {
+
+  private final String reportId;
+
+  public ReportSaveConflictException(String reportId, Throwable cause) {
+    super("Saving report %s kept conflicting".formatted(reportId), cause);
+    this.reportId = reportId;
+  }
+
+  public String getReportId() {
+    return reportId;
+  }
+}
@@ -0,0 +1,23 @@
+package com.vsm.api.domain.stats;
+
+import java.time.LocalDate;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Report activity for one day or one ISO week, starting on {@code start}. {@code reports} counts
+ * every report in the bucket, numeric or not.
+ */
+public record ActivityBucket(
+    LocalDate start,
+    RollupGranularity granularity,
+    long reports,
+    SortedMap<String, CategoryTotals> categories) {
+
+  public ActivityBucket plus(ActivityBucket other) {
+    SortedMap<String, CategoryTotals> merged = new TreeMap<>(categories);
+    other.categories.forEach(
+        (category, totals) -> merged.merge(category, totals, CategoryTotals::plus));
+    return new ActivityBucket(start, granularity, reports + other.reports, merged);
+  }
+}
@@ -0,0 +1,240 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Report activity rollups: per-day ({@code ROLLUP#D#yyyyMMdd}) and per-ISO-week ({@code
+ * ROLLUP#W#yyyyww}) buckets in the player's {@code PLAYER#} partition and the team's {@code
+ * TEAM#} partition. Each bucket counts its reports and keeps {@code count:} and {@code sum:}
+ * attributes per numeric category. Team buckets get a {@code #<shard>} suffix so one team's
+ * match-day reports do not all contend for the same item; a range query covers every shard.
+ *
+ * <p>Daily buckets carry an {@code expiresAt} (epoch seconds) for when their week falls past the
+ * {@code daily-retention-weeks} horizon, and DynamoDB TTL deletes them some time after that. The
+ * week's bucket already holds their totals, and reads past the horizon use weeks, so a daily
+ * bucket TTL has not caught up with yet is never counted.
+ */
+@Repository
+public class ActivityRollupRepository {
+
+  static final String DAY_PREFIX = "ROLLUP#D#";
+  static final String WEEK_PREFIX = "ROLLUP#W#";
+  private static final String COUNT = "count:";
+  private static final String SUM = "sum:";
+  // Sorts after the shard suffix, so a BETWEEN upper bound includes every shard of the last bucket
+  private static final String RANGE_END = "~";
+
+  private final DynamoDbClient dynamoDbClient;
+  private final String tableName;
+  private final CapacityAccountant capacity;
+  private final int retentionWeeks;
+
+  public ActivityRollupRepository(
+      DynamoDbClient dynamoDbClient,
+      @Value("${app.reports.table-name}") String tableName,
+      CapacityAccountant capacity,
+      @Value("${app.rollups.daily-retention-weeks:8}") int retentionWeeks) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.tableName = tableName;
+    this.capacity = capacity;
+    this.retentionWeeks = Math.max(0, retentionWeeks);
+  }
+
+  /**
+   * The updates that add one report to its day and week buckets, for the player and, when {@code
+   * teamId} is set, for the team. They are applied once the report's conditional put has
+   * succeeded, which is what makes them apply once per reportId, however late or often it arrives.
+   */
+  public List<UpdateItemRequest> bucketUpdates(
+      String playerId,
+      String teamId,
+      int teamShard,
+      Instant reportTimestamp,
+      Map<String, String> categories,
+      Instant now) {
+    LocalDate day = reportTimestamp.atZone(ZoneOffset.UTC).toLocalDate();
+    SortedMap<String, BigDecimal> values = CategoryValues.numeric(categories);
+    List<UpdateItemRequest> updates = new ArrayList<>(4);
+    String playerPartition = "PLAYER#" + playerId;
+    updates.add(bucketUpdate(playerPartition, dayKey(day), day, values, now));
+    updates.add(bucketUpdate(playerPartition, weekKey(day), null, values, now));
+    if (teamId != null && !teamId.isBlank()) {
+      String teamPartition = teamPartition(teamId);
+      String shard = "#" + teamShard;
+      updates.add(bucketUpdate(teamPartition, dayKey(day) + shard, day, values, now));
+      updates.add(bucketUpdate(teamPartition, weekKey(day) + shard, null, values, now));
+    }
+    return updates;
+  }
+
+  /**
+   * The buckets of {@code partition} whose start falls between {@code from} and {@code to}, oldest
+   * first, with team shards merged. For weeks, {@code from} and {@code to} may be any day of the
+   * first and last week.
+   */
+  public List<ActivityBucket> list(
+      String partition, RollupGranularity granularity, LocalDate from, LocalDate to) {
+    boolean daily = granularity == RollupGranularity.DAY;
+    String lower = daily ? dayKey(from) : weekKey(from);
+    String upper = (daily ? dayKey(to) : weekKey(to)) + RANGE_END;
+    TreeMap<LocalDate, ActivityBucket> buckets = new TreeMap<>();
+    Map<String, AttributeValue> startKey = null;
+    do {
+      QueryRequest.Builder request =
+          QueryRequest.builder()
+              .tableName(tableName)
+              .keyConditionExpression("PK = :pk AND SK BETWEEN :from AND :to")
+              .expressionAttributeValues(
+                  Map.of(
+                      ":pk", AttributeValue.fromS(partition),
+                      ":from", AttributeValue.fromS(lower),
+                      ":to", AttributeValue.fromS(upper)))
+              .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+              .overrideConfiguration(RequestDeadline.sdkOverride());
+      if (startKey != null) {
+        request.exclusiveStartKey(startKey);
+      }
+      QueryResponse response = dynamoDbClient.query(request.build());
+      capacity.recordRead("listRollups", null, response.consumedCapacity());
+      for (Map<String, AttributeValue> item : response.items()) {
+        ActivityBucket bucket = toBucket(item, granularity);
+        buckets.merge(bucket.start(), bucket, ActivityBucket::plus);
+      }
+      startKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+    } while (startKey != null && !startKey.isEmpty());
+    return new ArrayList<>(buckets.values());
+  }
+
+  static String teamPartition(String teamId) {
+    return "TEAM#" + teamId;
+  }
+
+  static String dayKey(LocalDate day) {
+    return DAY_PREFIX + DateTimeFormatter.BASIC_ISO_DATE.format(day);
+  }
+
+  static String weekKey(LocalDate day) {
+    return WEEK_PREFIX
+        + "%d%02d"
+            .formatted(
+                day.get(IsoFields.WEEK_BASED_YEAR), day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+  }
+
+  /**
+   * The first day whose daily bucket is kept: the Monday {@code retentionWeeks} weeks before the
+   * current week. Only whole weeks expire, so a week is never half daily and half weekly.
+   */
+  static LocalDate dailyHorizon(LocalDate today, int retentionWeeks) {
+    return weekStart(today).minusWeeks(retentionWeeks);
+  }
+
+  /** The Monday a week starts on. */
+  static LocalDate weekStart(LocalDate day) {
+    return day.with(DayOfWeek.MONDAY);
+  }
+
+  /**
+   * When a daily bucket falls past the horizon: the start of the day on which {@link
+   * #dailyHorizon} first moves beyond it.
+   */
+  static Instant dailyExpiry(LocalDate day, int retentionWeeks) {
+    return weekStart(day).plusWeeks(retentionWeeks + 1L).atStartOfDay(ZoneOffset.UTC).toInstant();
+  }
+
+  private UpdateItemRequest bucketUpdate(
+      String partition,
+      String sortKey,
+      LocalDate expiringDay,
+      Map<String, BigDecimal> values,
+      Instant now) {
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> attributes = new HashMap<>();
+    attributes.put(":type", AttributeValue.fromS("ROLLUP"));
+    attributes.put(":now", AttributeValue.fromS(now.toString()));
+    attributes.put(":one", AttributeValue.fromN("1"));
+    StringBuilder set = new StringBuilder("entityType = :type, updatedAt = :now");
+    if (expiringDay != null) {
+      Instant expiresAt = dailyExpiry(expiringDay, retentionWeeks);
+      attributes.put(":expires", AttributeValue.fromN(Long.toString(expiresAt.getEpochSecond())));
+      set.append(", expiresAt = :expires");
+    }
+    StringBuilder add = new StringBuilder("reports :one");
+    int i = 0;
+    for (Map.Entry<String, BigDecimal> entry : values.entrySet()) {
+      names.put("#c" + i, COUNT + entry.getKey());
+      names.put("#s" + i, SUM + entry.getKey());
+      attributes.put(":v" + i, AttributeValue.fromN(entry.getValue().toPlainString()));
+      add.append(", #c").append(i).append(" :one");
+      add.append(", #s").append(i).append(" :v").append(i);
+      i++;
+    }
+    UpdateItemRequest.Builder update =
+        UpdateItemRequest.builder()
+            .tableName(tableName)
+            .key(
+                Map.of(
+                    "PK", AttributeValue.fromS(partition),
+                    "SK", AttributeValue.fromS(sortKey)))
+            .updateExpression("SET " + set + " ADD " + add)
+            .expressionAttributeValues(attributes)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride());
+    if (!names.isEmpty()) {
+      update.expressionAttributeNames(names);
+    }
+    return update.build();
+  }
+
+  private static ActivityBucket toBucket(
+      Map<String, AttributeValue> item, RollupGranularity granularity) {
+    // ROLLUP#D#20240501[#shard] or ROLLUP#W#202418[#shard]
+    String period = item.get("SK").s().split("#")[2];
+    LocalDate start =
+        granularity == RollupGranularity.DAY
+            ? LocalDate.parse(period, DateTimeFormatter.BASIC_ISO_DATE)
+            : weekStart(
+                LocalDate.of(Integer.parseInt(period.substring(0, 4)), 1, 4)
+                    .with(
+                        IsoFields.WEEK_OF_WEEK_BASED_YEAR,
+                        Integer.parseInt(period.substring(4))));
+    AttributeValue reports = item.get("reports");
+    SortedMap<String, CategoryTotals> categories = new TreeMap<>();
+    item.forEach(
+        (name, value) -> {
+          if (!name.startsWith(COUNT)) {
+            return;
+          }
+          String category = name.substring(COUNT.length());
+          AttributeValue sum = item.get(SUM + category);
+          categories.put(
+              category,
+              new CategoryTotals(
+                  Long.parseLong(value.n()),
+                  sum == null ? BigDecimal.ZERO : new BigDecimal(sum.n())));
+        });
+    return new ActivityBucket(
+        start, granularity, reports == null ? 0 : Long.parseLong(reports.n()), categories);
+  }
+}
@@ -0,0 +1,119 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves report activity over a date range from the rollup buckets alone, never from the reports.
+ * Weekly requests read one bucket per week. Daily requests read daily buckets back to the
+ * retention horizon and weekly buckets before it, where the daily ones expire.
+ */
+@Service
+public class ActivityRollupService {
+
+  private static final int DEFAULT_DAYS = 30;
+  private static final int DEFAULT_WEEKS = 12;
+
+  private final ActivityRollupRepository repository;
+  private final ReadHedger hedger;
+  private final ParallelReads parallelReads;
+  private final Clock clock;
+  private final int retentionWeeks;
+  private final int maxRangeDays;
+
+  public ActivityRollupService(
+      ActivityRollupRepository repository,
+      ReadHedger hedger,
+      ParallelReads parallelReads,
+      Clock clock,
+      @Value("${app.rollups.daily-retention-weeks:8}") int retentionWeeks,
+      @Value("${app.rollups.max-range-days:400}") int maxRangeDays) {
+    this.repository = repository;
+    this.hedger = hedger;
+    this.parallelReads = parallelReads;
+    this.clock = clock;
+    this.retentionWeeks = Math.max(0, retentionWeeks);
+    this.maxRangeDays = Math.max(1, maxRangeDays);
+  }
+
+  /**
+   * @param from {@code null} for 30 days (or 12 weeks) before {@code to}
+   * @param to {@code null} for today
+   * @throws IllegalArgumentException when the range is reversed or longer than {@code
+   *     max-range-days}
+   */
+  public ActivityRollups playerActivity(
+      String playerId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+    return activity("PLAYER#" + playerId, granularity, from, to);
+  }
+
+  /** Same as {@link #playerActivity}, summed over the team's players. */
+  public ActivityRollups teamActivity(
+      String teamId, RollupGranularity granularity, LocalDate from, LocalDate to) {
+    return activity(ActivityRollupRepository.teamPartition(teamId), granularity, from, to);
+  }
+
+  private ActivityRollups activity(
+      String partition, RollupGranularity granularity, LocalDate from, LocalDate to) {
+    LocalDate today = LocalDate.now(clock.withZone(ZoneOffset.UTC));
+    LocalDate end = to == null ? today : to;
+    LocalDate start = from;
+    if (start == null) {
+      start =
+          granularity == RollupGranularity.DAY
+              ? end.minusDays(DEFAULT_DAYS - 1)
+              : end.minusWeeks(DEFAULT_WEEKS - 1);
+    }
+    if (start.isAfter(end)) {
+      throw new IllegalArgumentException("from must not be after to");
+    }
+    if (ChronoUnit.DAYS.between(start, end) >= maxRangeDays) {
+      throw new IllegalArgumentException("Range is longer than " + maxRangeDays + " days");
+    }
+    if (granularity == RollupGranularity.WEEK) {
+      start = ActivityRollupRepository.weekStart(start);
+      end = ActivityRollupRepository.weekStart(end).plusDays(6);
+    }
+
+    Map<RollupGranularity, LocalDate[]> ranges = new LinkedHashMap<>();
+    LocalDate horizon = ActivityRollupRepository.dailyHorizon(today, retentionWeeks);
+    if (granularity == RollupGranularity.WEEK || end.isBefore(horizon)) {
+      ranges.put(RollupGranularity.WEEK, new LocalDate[] {start, end});
+    } else if (!start.isBefore(horizon)) {
+      ranges.put(RollupGranularity.DAY, new LocalDate[] {start, end});
+    } else {
+      ranges.put(RollupGranularity.WEEK, new LocalDate[] {start, horizon.minusDays(1)});
+      ranges.put(RollupGranularity.DAY, new LocalDate[] {horizon, end});
+    }
+
+    Map<RollupGranularity, ParallelReads.Result<List<ActivityBucket>>> results =
+        parallelReads.readAll(
+            List.copyOf(ranges.keySet()),
+            width ->
+                hedger.read(
+                    "listRollups",
+                    () ->
+                        repository.list(
+                            partition, width, ranges.get(width)[0], ranges.get(width)[1])));
+    List<ActivityBucket> buckets = new ArrayList<>();
+    for (RollupGranularity width : ranges.keySet()) {
+      ParallelReads.Result<List<ActivityBucket>> result = results.get(width);
+      if (!result.succeeded()) {
+        // Half a range would chart as a drop in activity
+        throw result.error();
+      }
+      buckets.addAll(result.value());
+    }
+    return new ActivityRollups(granularity, start, end, buckets);
+  }
+}
@@ -0,0 +1,11 @@
+package com.vsm.api.domain.stats;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The buckets covering {@code from} to {@code to}, oldest first. Daily requests reaching past the
+ * compaction horizon get weekly buckets for that part of the range.
+ */
+public record ActivityRollups(
+    RollupGranularity granularity, LocalDate from, LocalDate to, List<ActivityBucket> buckets) {}
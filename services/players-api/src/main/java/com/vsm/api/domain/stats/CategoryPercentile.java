@@ -0,0 +1,15 @@
+package com.vsm.api.domain.stats;
+
+/**
+ * Where a player's season average for one category falls among the team's and the league's
+ * reports: the percentage of that scope's single reports with a lower value. It is not a rank
+ * among players' averages, which spread less than single reports. A percentile is {@code null}
+ * when that scope has no reports for the category.
+ */
+public record CategoryPercentile(
+    String category,
+    double playerAverage,
+    Double teamPercentile,
+    long teamReports,
+    Double leaguePercentile,
+    long leagueReports) {}
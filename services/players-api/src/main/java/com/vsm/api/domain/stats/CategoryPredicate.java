@@ -0,0 +1,69 @@
+package com.vsm.api.domain.stats;
+
+/** A condition on one numeric category value, such as {@code Aces>=3}. */
+public record CategoryPredicate(String category, Operator operator, double value) {
+
+  public enum Operator {
+    // Two-character operators first, so parsing matches ">=" before ">"
+    GREATER_OR_EQUAL(">="),
+    LESS_OR_EQUAL("<="),
+    GREATER(">"),
+    LESS("<"),
+    EQUAL("=");
+
+    private final String symbol;
+
+    Operator(String symbol) {
+      this.symbol = symbol;
+    }
+
+    public String symbol() {
+      return symbol;
+    }
+  }
+
+  /**
+   * Parses {@code <category><operator><number>}, e.g. {@code Digs>10} or {@code Aces=0}.
+   *
+   * @throws IllegalArgumentException when {@code expression} is not of that form
+   */
+  public static CategoryPredicate parse(String expression) {
+    if (expression == null) {
+      throw new IllegalArgumentException("Predicate is required");
+    }
+    int at = -1;
+    for (int i = 0; i < expression.length(); i++) {
+      char c = expression.charAt(i);
+      if (c == '<' || c == '>' || c == '=') {
+        at = i;
+        break;
+      }
+    }
+    if (at < 1) {
+      throw new IllegalArgumentException("Predicate must look like <category><op><number>");
+    }
+    String category = expression.substring(0, at).trim();
+    String rest = expression.substring(at);
+    for (Operator operator : Operator.values()) {
+      if (rest.startsWith(operator.symbol)) {
+        String number = rest.substring(operator.symbol.length()).trim();
+        double value;
+        try {
+          value = Double.parseDouble(number);
+        } catch (NumberFormatException ex) {
+          throw new IllegalArgumentException("Predicate value must be a number: " + number, ex);
+        }
+        if (category.isEmpty() || !Double.isFinite(value)) {
+          throw new IllegalArgumentException("Predicate must look like <category><op><number>");
+        }
+        return new CategoryPredicate(category, operator, value);
+      }
+    }
+    throw new IllegalArgumentException("Predicate must look like <category><op><number>");
+  }
+
+  @Override
+  public String toString() {
+    return category + operator.symbol + value;
+  }
+}
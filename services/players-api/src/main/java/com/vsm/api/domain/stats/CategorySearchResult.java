@@ -0,0 +1,6 @@
+package com.vsm.api.domain.stats;
+
+import java.util.List;
+
+/** How many of a team season's reports matched, and the newest of them. */
+public record CategorySearchResult(long matched, List<IndexedReport> reports) {}
@@ -0,0 +1,43 @@
+package com.vsm.api.domain.stats;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/** Running totals for one category; mean and deviation are derived, not stored. */
+public record CategoryStats(
+    long count, BigDecimal sum, BigDecimal sumOfSquares, BigDecimal min, BigDecimal max) {
+
+  public static CategoryStats of(BigDecimal value) {
+    return new CategoryStats(1, value, value.multiply(value), value, value);
+  }
+
+  public CategoryStats plus(BigDecimal value) {
+    return new CategoryStats(
+        count + 1,
+        sum.add(value),
+        sumOfSquares.add(value.multiply(value)),
+        min == null || value.compareTo(min) < 0 ? value : min,
+        max == null || value.compareTo(max) > 0 ? value : max);
+  }
+
+  public double mean() {
+    if (count == 0) {
+      return 0;
+    }
+    return sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64).doubleValue();
+  }
+
+  /** Population standard deviation. */
+  public double standardDeviation() {
+    if (count == 0) {
+      return 0;
+    }
+    BigDecimal n = BigDecimal.valueOf(count);
+    BigDecimal variance =
+        sumOfSquares
+            .multiply(n)
+            .subtract(sum.multiply(sum))
+            .divide(n.multiply(n), MathContext.DECIMAL64);
+    return Math.sqrt(Math.max(0, variance.doubleValue()));
+  }
+}
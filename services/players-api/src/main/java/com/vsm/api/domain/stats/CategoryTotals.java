@@ -0,0 +1,19 @@
+package com.vsm.api.domain.stats;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/** Count and sum of one category's values within a rollup bucket. */
+public record CategoryTotals(long count, BigDecimal sum) {
+
+  public CategoryTotals plus(CategoryTotals other) {
+    return new CategoryTotals(count + other.count, sum.add(other.sum));
+  }
+
+  public double average() {
+    if (count == 0) {
+      return 0;
+    }
+    return sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL64).doubleValue();
+  }
+}
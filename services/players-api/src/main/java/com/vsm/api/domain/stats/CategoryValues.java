@@ -0,0 +1,32 @@
+package com.vsm.api.domain.stats;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/** Extracts the numeric category values (Aces, Digs, ...) that season stats aggregate. */
+public final class CategoryValues {
+
+  // Bounded so sums of squares stay exact and small in DynamoDB's number type
+  private static final Pattern NUMBER = Pattern.compile("[-+]?\\d{1,9}(\\.\\d{1,6})?");
+
+  private CategoryValues() {}
+
+  /** Categories whose value is a plain number, by name; free-text values are ignored. */
+  public static SortedMap<String, BigDecimal> numeric(Map<String, String> categories) {
+    SortedMap<String, BigDecimal> values = new TreeMap<>();
+    if (categories == null) {
+      return values;
+    }
+    categories.forEach(
+        (category, value) -> {
+          String trimmed = value == null ? "" : value.trim();
+          if (NUMBER.matcher(trimmed).matches()) {
+            values.put(category, new BigDecimal(trimmed));
+          }
+        });
+    return values;
+  }
+}
@@ -0,0 +1,6 @@
+package com.vsm.api.domain.stats;
+
+import java.time.Instant;
+
+/** A report the category index matched: enough to build its key and fetch its summary. */
+public record IndexedReport(String playerId, String reportId, Instant reportTimestamp) {}
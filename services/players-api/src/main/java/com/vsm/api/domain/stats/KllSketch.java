@@ -0,0 +1,228 @@
+package com.vsm.api.domain.stats;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A KLL quantile sketch: a mergeable summary of a stream of values that answers rank queries
+ * within roughly {@code 1.7 / k} of the true rank while keeping {@code O(k)} floats. Level {@code
+ * h} holds items of weight {@code 2^h}; when the sketch outgrows its budget, a full level is sorted
+ * and every other item (randomly the odd or even ones) is promoted to the level above.
+ *
+ * <p>Not thread-safe. {@link #toBytes()} gives a compact binary form for storage.
+ */
+public final class KllSketch {
+
+  private static final byte FORMAT_VERSION = 1;
+  private static final double CAPACITY_DECAY = 2.0 / 3.0;
+  private static final int MIN_LEVEL_CAPACITY = 2;
+  private static final int MIN_K = 8;
+  private static final int MAX_K = 65_535;
+
+  private final int k;
+  private final List<Level> levels = new ArrayList<>();
+  private long count;
+  private float min = Float.NaN;
+  private float max = Float.NaN;
+
+  public KllSketch(int k) {
+    if (k < MIN_K || k > MAX_K) {
+      throw new IllegalArgumentException("k must be between " + MIN_K + " and " + MAX_K);
+    }
+    this.k = k;
+    levels.add(new Level());
+  }
+
+  public void update(double value) {
+    float item = (float) value;
+    if (Float.isNaN(item)) {
+      return;
+    }
+    count++;
+    min = Float.isNaN(min) ? item : Math.min(min, item);
+    max = Float.isNaN(max) ? item : Math.max(max, item);
+    levels.get(0).add(item);
+    compressWhileFull();
+  }
+
+  /** Adds everything {@code other} has seen; {@code other} is left unchanged. */
+  public void merge(KllSketch other) {
+    if (other.count == 0) {
+      return;
+    }
+    while (levels.size() < other.levels.size()) {
+      levels.add(new Level());
+    }
+    for (int h = 0; h < other.levels.size(); h++) {
+      levels.get(h).addAll(other.levels.get(h));
+    }
+    count += other.count;
+    min = Float.isNaN(min) ? other.min : Math.min(min, other.min);
+    max = Float.isNaN(max) ? other.max : Math.max(max, other.max);
+    compressWhileFull();
+  }
+
+  public long count() {
+    return count;
+  }
+
+  /** Items kept, across all levels. */
+  int retained() {
+    int retained = 0;
+    for (Level level : levels) {
+      retained += level.size;
+    }
+    return retained;
+  }
+
+  /**
+   * Percentage of values below {@code value}, counting values equal to it as half below; {@code
+   * NaN} when the sketch is empty.
+   */
+  public double percentileRank(double value) {
+    if (count == 0) {
+      return Double.NaN;
+    }
+    double below = 0;
+    double total = 0;
+    for (int h = 0; h < levels.size(); h++) {
+      Level level = levels.get(h);
+      long weight = 1L << h;
+      for (int i = 0; i < level.size; i++) {
+        float item = level.items[i];
+        if (item < value) {
+          below += weight;
+        } else if (item == value) {
+          below += weight / 2.0;
+        }
+        total += weight;
+      }
+    }
+    return 100.0 * below / total;
+  }
+
+  public byte[] toBytes() {
+    int retained = retained();
+    ByteBuffer buffer =
+        ByteBuffer.allocate(1 + 2 + 8 + 4 + 4 + 1 + 4 * levels.size() + 4 * retained);
+    buffer.put(FORMAT_VERSION);
+    buffer.putShort((short) k);
+    buffer.putLong(count);
+    buffer.putFloat(min);
+    buffer.putFloat(max);
+    buffer.put((byte) levels.size());
+    for (Level level : levels) {
+      buffer.putInt(level.size);
+      for (int i = 0; i < level.size; i++) {
+        buffer.putFloat(level.items[i]);
+      }
+    }
+    return buffer.array();
+  }
+
+  /**
+   * @throws IllegalArgumentException when {@code bytes} is not a sketch written by {@link
+   *     #toBytes()}
+   */
+  public static KllSketch fromBytes(byte[] bytes) {
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      if (buffer.get() != FORMAT_VERSION) {
+        throw new IllegalArgumentException("Unknown sketch format");
+      }
+      KllSketch sketch = new KllSketch(Short.toUnsignedInt(buffer.getShort()));
+      sketch.count = buffer.getLong();
+      sketch.min = buffer.getFloat();
+      sketch.max = buffer.getFloat();
+      int height = Byte.toUnsignedInt(buffer.get());
+      for (int h = 0; h < height; h++) {
+        int size = buffer.getInt();
+        if (size < 0 || size > buffer.remaining() / 4) {
+          throw new IllegalArgumentException("Corrupt sketch level");
+        }
+        Level level = h == 0 ? sketch.levels.get(0) : new Level();
+        for (int i = 0; i < size; i++) {
+          level.add(buffer.getFloat());
+        }
+        if (h > 0) {
+          sketch.levels.add(level);
+        }
+      }
+      return sketch;
+    } catch (BufferUnderflowException ex) {
+      throw new IllegalArgumentException("Truncated sketch", ex);
+    }
+  }
+
+  private void compressWhileFull() {
+    while (retained() > maxRetained()) {
+      compressOnce();
+    }
+  }
+
+  private int maxRetained() {
+    int height = levels.size();
+    int total = 0;
+    for (int h = 0; h < height; h++) {
+      total += capacity(h, height);
+    }
+    return total;
+  }
+
+  /** Lower levels get geometrically less room; the top level gets {@code k}. */
+  private int capacity(int h, int height) {
+    int depth = height - h - 1;
+    return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+  }
+
+  private void compressOnce() {
+    int height = levels.size();
+    for (int h = 0; h < height; h++) {
+      Level level = levels.get(h);
+      if (level.size < capacity(h, height)) {
+        continue;
+      }
+      if (h + 1 == levels.size()) {
+        levels.add(new Level());
+      }
+      Level next = levels.get(h + 1);
+      level.sort();
+      // An odd item out stays behind so the weight promoted is exactly what is removed
+      int kept = level.size % 2;
+      int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+      for (int i = kept + offset; i < level.size; i += 2) {
+        next.add(level.items[i]);
+      }
+      level.size = kept;
+      return;
+    }
+  }
+
+  private static final class Level {
+    private float[] items = new float[8];
+    private int size;
+
+    private void add(float item) {
+      if (size == items.length) {
+        items = Arrays.copyOf(items, size * 2);
+      }
+      items[size++] = item;
+    }
+
+    private void addAll(Level other) {
+      if (size + other.size > items.length) {
+        items = Arrays.copyOf(items, Math.max(items.length * 2, size + other.size));
+      }
+      System.arraycopy(other.items, 0, items, size, other.size);
+      size += other.size;
+    }
+
+    private void sort() {
+      Arrays.sort(items, 0, size);
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.vsm.api.domain.stats;
+
+public record LeaderboardEntry(String playerId, double total, int count) {
+
+  public double average() {
+    return count == 0 ? 0 : total / count;
+  }
+}
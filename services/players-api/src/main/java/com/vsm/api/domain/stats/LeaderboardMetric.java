@@ -0,0 +1,7 @@
+package com.vsm.api.domain.stats;
+
+/** What a leaderboard ranks players by. */
+public enum LeaderboardMetric {
+  TOTAL,
+  AVERAGE
+}
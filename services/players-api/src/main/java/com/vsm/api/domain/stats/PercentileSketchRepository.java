@@ -0,0 +1,163 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Per-report category value sketches, one item per scope, shard and season ({@code
+ * <scope>#SKETCH#<shard>}, {@code SKETCH#<season>}), where the scope is {@code TEAM#<teamId>} or
+ * {@code LEAGUE}. Each category is a binary {@code sketch:<category>} attribute holding a {@link
+ * KllSketch}. The shard is part of the partition key, so writers spread over separate partitions
+ * and concurrent updates rarely touch the same item; readers merge every shard of a scope.
+ */
+@Repository
+public class PercentileSketchRepository {
+
+  private static final String SKETCH_KEY_PREFIX = "SKETCH#";
+  private static final String SKETCH = "sketch:";
+  private static final int MAX_UPDATE_ATTEMPTS = 3;
+
+  private final DynamoDbClient dynamoDbClient;
+  private final String tableName;
+  private final CapacityAccountant capacity;
+
+  public PercentileSketchRepository(
+      DynamoDbClient dynamoDbClient,
+      @Value("${app.reports.table-name}") String tableName,
+      CapacityAccountant capacity) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.tableName = tableName;
+    this.capacity = capacity;
+  }
+
+  /**
+   * Merges one sketch per category into a shard's sketches. The item carries a {@code version} and
+   * is written only if nobody else wrote it since it was read; conflicts are retried. {@code
+   * sketches} are left unchanged, so a caller can keep them when the merge fails.
+   */
+  public void mergeSketches(
+      String scope, String season, int shard, Map<String, KllSketch> sketches, int k, Instant now) {
+    if (sketches.isEmpty()) {
+      return;
+    }
+    Map<String, AttributeValue> key = key(scope, season, shard);
+    Map<String, String> names = new HashMap<>();
+    List<String> projection = new ArrayList<>(List.of("version"));
+    int i = 0;
+    for (String category : sketches.keySet()) {
+      names.put("#s" + i, SKETCH + category);
+      projection.add("#s" + i);
+      i++;
+    }
+
+    for (int attempt = 1; ; attempt++) {
+      GetItemResponse read =
+          dynamoDbClient.getItem(
+              GetItemRequest.builder()
+                  .tableName(tableName)
+                  .key(key)
+                  .projectionExpression(String.join(", ", projection))
+                  .expressionAttributeNames(names)
+                  .consistentRead(true)
+                  .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                  .overrideConfiguration(RequestDeadline.sdkOverride())
+                  .build());
+      capacity.recordRead("readSketches", null, read.consumedCapacity());
+      Map<String, AttributeValue> item = read.hasItem() ? read.item() : Map.of();
+
+      Map<String, AttributeValue> writeValues = new HashMap<>();
+      List<String> sets = new ArrayList<>(List.of("version = :next", "updatedAt = :now"));
+      int n = 0;
+      for (Map.Entry<String, KllSketch> entry : sketches.entrySet()) {
+        AttributeValue stored = item.get(SKETCH + entry.getKey());
+        KllSketch sketch =
+            stored == null ? new KllSketch(k) : KllSketch.fromBytes(stored.b().asByteArray());
+        sketch.merge(entry.getValue());
+        writeValues.put(":s" + n, AttributeValue.fromB(SdkBytes.fromByteArray(sketch.toBytes())));
+        sets.add("#s" + n + " = :s" + n);
+        n++;
+      }
+      AttributeValue version = item.get("version");
+      long current = version == null ? 0 : Long.parseLong(version.n());
+      writeValues.put(":next", AttributeValue.fromN(Long.toString(current + 1)));
+      writeValues.put(":now", AttributeValue.fromS(now.toString()));
+      String condition;
+      if (version == null) {
+        condition = "attribute_not_exists(version)";
+      } else {
+        condition = "version = :version";
+        writeValues.put(":version", version);
+      }
+
+      try {
+        UpdateItemRequest request =
+            UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(key)
+                .updateExpression("SET " + String.join(", ", sets))
+                .conditionExpression(condition)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(writeValues)
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .overrideConfiguration(RequestDeadline.sdkOverride())
+                .build();
+        capacity.recordWrite(
+            "writeSketches", null, dynamoDbClient.updateItem(request).consumedCapacity());
+        return;
+      } catch (ConditionalCheckFailedException ex) {
+        if (attempt >= MAX_UPDATE_ATTEMPTS) {
+          throw ex;
+        }
+      }
+    }
+  }
+
+  /** Every category's sketch in one shard of a scope and season. */
+  public Map<String, KllSketch> load(String scope, String season, int shard) {
+    GetItemRequest request =
+        GetItemRequest.builder()
+            .tableName(tableName)
+            .key(key(scope, season, shard))
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build();
+    GetItemResponse response = dynamoDbClient.getItem(request);
+    capacity.recordRead("loadSketches", null, response.consumedCapacity());
+
+    Map<String, KllSketch> sketches = new HashMap<>();
+    if (response.hasItem()) {
+      response
+          .item()
+          .forEach(
+              (name, value) -> {
+                if (name.startsWith(SKETCH) && value.b() != null) {
+                  sketches.put(
+                      name.substring(SKETCH.length()),
+                      KllSketch.fromBytes(value.b().asByteArray()));
+                }
+              });
+    }
+    return sketches;
+  }
+
+  private static Map<String, AttributeValue> key(String scope, String season, int shard) {
+    return Map.of(
+        "PK", AttributeValue.fromS(scope + "#" + SKETCH_KEY_PREFIX + shard),
+        "SK", AttributeValue.fromS(SKETCH_KEY_PREFIX + season));
+  }
+}
@@ -0,0 +1,234 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import jakarta.annotation.PreDestroy;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps a {@link KllSketch} of every numeric category's per-report values for each team season and
+ * for the whole league, and ranks a player's season average against them. Exact percentiles would
+ * mean reading every report of the team or league per request; the sketches answer within about 1%
+ * of rank from a few kilobytes per category.
+ *
+ * <p>A rank is the share of the scope's single reports whose value is below the player's season
+ * average. It is not the player's rank among the other players' averages: averages spread less
+ * than single reports do, so a player's rank among players would sit further from 50.
+ *
+ * <p>Creating a report only adds its values to this instance's in-memory sketches; the {@link
+ * com.vsm.api.infrastructure.resilience.OptionalStage#PERCENTILES} stage never writes to DynamoDB.
+ * Sketches are mergeable, so every {@code flush-interval} the pending ones are merged into the
+ * stored sketches of one of {@code shards} partitions per scope, picked at random so instances
+ * rarely race for an item; reads fetch the shards in parallel and merge them in memory. A failed
+ * merge keeps the pending sketches for the next flush. Ranks therefore lag new reports by up to
+ * one flush interval, and a shed stage or a crashed instance loses the values not yet flushed.
+ */
+@Service
+public class PercentileSketchService {
+
+  static final String LEAGUE_SCOPE = "LEAGUE";
+  private static final Logger LOGGER = LoggerFactory.getLogger(PercentileSketchService.class);
+
+  private final PercentileSketchRepository repository;
+  private final SeasonCalendar calendar;
+  private final SeasonStatsService seasonStats;
+  private final ParallelReads parallelReads;
+  private final ReadHedger hedger;
+  private final Clock clock;
+  private final boolean enabled;
+  private final int shards;
+  private final int k;
+
+  /** Values recorded since the last flush; guarded by itself. */
+  private final Map<SketchKey, Map<String, KllSketch>> pending = new HashMap<>();
+
+  public PercentileSketchService(
+      PercentileSketchRepository repository,
+      SeasonCalendar calendar,
+      SeasonStatsService seasonStats,
+      ParallelReads parallelReads,
+      ReadHedger hedger,
+      Clock clock,
+      @Value("${app.stats.percentiles.enabled:true}") boolean enabled,
+      @Value("${app.stats.percentiles.shards:4}") int shards,
+      @Value("${app.stats.percentiles.k:200}") int k) {
+    this.repository = repository;
+    this.calendar = calendar;
+    this.seasonStats = seasonStats;
+    this.parallelReads = parallelReads;
+    this.hedger = hedger;
+    this.clock = clock;
+    this.enabled = enabled;
+    this.shards = Math.max(1, shards);
+    this.k = k;
+    // Fail at startup rather than on the first report
+    new KllSketch(k);
+  }
+
+  /**
+   * Adds a newly saved report's numeric categories to its team's and the league's pending sketches.
+   */
+  public void record(
+      String teamId, String reportId, Instant reportTimestamp, Map<String, String> categories) {
+    if (!enabled) {
+      return;
+    }
+    Map<String, BigDecimal> values = CategoryValues.numeric(categories);
+    if (values.isEmpty()) {
+      return;
+    }
+    String season = calendar.seasonOf(reportTimestamp);
+    synchronized (pending) {
+      if (teamId != null) {
+        add(new SketchKey(teamScope(teamId), season), values);
+      }
+      add(new SketchKey(LEAGUE_SCOPE, season), values);
+    }
+  }
+
+  /** Merges the sketches pending since the last flush into the stored ones. */
+  @Scheduled(
+      fixedDelayString = "${app.stats.percentiles.flush-interval:10s}",
+      initialDelayString = "${app.stats.percentiles.flush-interval:10s}")
+  public void flush() {
+    Map<SketchKey, Map<String, KllSketch>> batch;
+    synchronized (pending) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = new HashMap<>(pending);
+      pending.clear();
+    }
+    Instant now = clock.instant();
+    batch.forEach(
+        (key, sketches) -> {
+          int shard = ThreadLocalRandom.current().nextInt(shards);
+          try {
+            repository.mergeSketches(key.scope(), key.season(), shard, sketches, k, now);
+          } catch (RuntimeException ex) {
+            LOGGER.warn("Percentile sketch flush failed for {} {}", key.scope(), key.season(), ex);
+            synchronized (pending) {
+              Map<String, KllSketch> kept = pending.computeIfAbsent(key, unused -> new HashMap<>());
+              sketches.forEach((category, sketch) -> merge(kept, category, sketch));
+            }
+          }
+        });
+  }
+
+  @PreDestroy
+  void flushOnShutdown() {
+    flush();
+  }
+
+  private void add(SketchKey key, Map<String, BigDecimal> values) {
+    Map<String, KllSketch> sketches = pending.computeIfAbsent(key, unused -> new HashMap<>());
+    values.forEach(
+        (category, value) ->
+            sketches
+                .computeIfAbsent(category, unused -> new KllSketch(k))
+                .update(value.doubleValue()));
+  }
+
+  /**
+   * Ranks the player's season average for each of their numeric categories against the team's (if
+   * {@code teamId} is given) and the league's per-report values, as the share of those reports
+   * whose value is below the average.
+   *
+   * @param season {@code null} for the current season
+   * @throws IllegalArgumentException when {@code season} is not a valid season name
+   */
+  public PlayerPercentiles percentiles(String playerId, String teamId, String season) {
+    String resolved = season == null ? calendar.currentSeason() : season;
+    SeasonStats stats = seasonStats.getStats(playerId, resolved);
+    if (!enabled || stats.categories().isEmpty()) {
+      return new PlayerPercentiles(playerId, teamId, resolved, List.of());
+    }
+
+    List<ShardKey> keys = new ArrayList<>();
+    for (int shard = 0; shard < shards; shard++) {
+      if (teamId != null) {
+        keys.add(new ShardKey(teamScope(teamId), shard));
+      }
+      keys.add(new ShardKey(LEAGUE_SCOPE, shard));
+    }
+    Map<String, Map<String, KllSketch>> sketches = new HashMap<>();
+    parallelReads
+        .readAll(
+            keys,
+            key ->
+                hedger.read(
+                    "loadSketches", () -> repository.load(key.scope(), resolved, key.shard())))
+        .forEach(
+            (key, result) -> {
+              if (!result.succeeded()) {
+                // Ranking against part of the population would look plausible and be wrong
+                throw result.error();
+              }
+              Map<String, KllSketch> scope =
+                  sketches.computeIfAbsent(key.scope(), unused -> new HashMap<>());
+              result
+                  .value()
+                  .forEach(
+                      (category, sketch) -> merge(scope, category, sketch));
+            });
+
+    Map<String, KllSketch> team =
+        teamId == null ? Map.of() : sketches.getOrDefault(teamScope(teamId), Map.of());
+    Map<String, KllSketch> league = sketches.getOrDefault(LEAGUE_SCOPE, Map.of());
+    List<CategoryPercentile> categories = new ArrayList<>(stats.categories().size());
+    stats
+        .categories()
+        .forEach(
+            (category, totals) -> {
+              double average = totals.mean();
+              KllSketch teamSketch = team.get(category);
+              KllSketch leagueSketch = league.get(category);
+              categories.add(
+                  new CategoryPercentile(
+                      category,
+                      average,
+                      rank(teamSketch, average),
+                      teamSketch == null ? 0 : teamSketch.count(),
+                      rank(leagueSketch, average),
+                      leagueSketch == null ? 0 : leagueSketch.count()));
+            });
+    return new PlayerPercentiles(playerId, teamId, resolved, categories);
+  }
+
+  private static void merge(Map<String, KllSketch> into, String category, KllSketch sketch) {
+    into.merge(
+        category,
+        sketch,
+        (existing, from) -> {
+          existing.merge(from);
+          return existing;
+        });
+  }
+
+  private static Double rank(KllSketch sketch, double value) {
+    if (sketch == null || sketch.count() == 0) {
+      return null;
+    }
+    return sketch.percentileRank(value);
+  }
+
+  private static String teamScope(String teamId) {
+    return "TEAM#" + teamId;
+  }
+
+  private record ShardKey(String scope, int shard) {}
+
+  private record SketchKey(String scope, String season) {}
+}
@@ -0,0 +1,7 @@
+package com.vsm.api.domain.stats;
+
+import java.util.List;
+
+/** A player's category percentiles for one season; {@code teamId} is {@code null} if not given. */
+public record PlayerPercentiles(
+    String playerId, String teamId, String season, List<CategoryPercentile> categories) {}
@@ -0,0 +1,449 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.domain.report.CoachReportRepository;
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds a team season's reports by numeric category values, in memory. Reports are numbered in
+ * load order; every category keeps its values sorted in a {@code double[]} beside a parallel
+ * {@code int[]} of report numbers, so a range predicate is two binary searches and a copy of the
+ * matching numbers into a {@link BitSet}. Predicates are combined with bitset AND/OR, and only the
+ * newest matching reports leave the index, picked with a heap of report numbers.
+ *
+ * <p>Reports recorded after a load go into a small unsorted buffer per category that is scanned
+ * on every search and merged into the sorted arrays once it outgrows a fraction of them. Team
+ * seasons are loaded and reloaded like {@link TeamLeaderboardStore}'s; the teams in {@code
+ * preload-teams} are loaded in parallel once the application is ready.
+ */
+@Component
+public class ReportCategoryIndex {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReportCategoryIndex.class);
+
+  private final SeasonStatsRepository repository;
+  private final SeasonCalendar calendar;
+  private final ParallelReads parallelReads;
+  private final boolean enabled;
+  private final int teamShards;
+  private final List<String> preloadTeams;
+  private final TeamSeasonCache<TeamIndex> teams;
+
+  public ReportCategoryIndex(
+      SeasonStatsRepository repository,
+      SeasonCalendar calendar,
+      ParallelReads parallelReads,
+      Clock clock,
+      @Value("${app.reports.category-index.enabled:true}") boolean enabled,
+      @Value("${app.reports.team-timeline.shards:4}") int teamShards,
+      @Value("${app.reports.category-index.refresh-interval:10m}") Duration refreshInterval,
+      @Value("${app.reports.category-index.max-teams:200}") int maxTeams,
+      @Value("${app.reports.category-index.preload-teams:}") List<String> preloadTeams) {
+    this.repository = repository;
+    this.calendar = calendar;
+    this.parallelReads = parallelReads;
+    this.enabled = enabled;
+    this.teamShards = Math.max(1, teamShards);
+    this.preloadTeams =
+        preloadTeams.stream().map(String::trim).filter(id -> !id.isEmpty()).distinct().toList();
+    this.teams = new TeamSeasonCache<>(clock, refreshInterval, maxTeams);
+  }
+
+  /** Loads the current season of every {@code preload-teams} team; failures are only logged. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    if (!enabled || preloadTeams.isEmpty()) {
+      return;
+    }
+    String season = calendar.currentSeason();
+    parallelReads
+        .readAll(preloadTeams, teamId -> teams.get(teamId, season, this::load))
+        .forEach(
+            (teamId, result) -> {
+              if (!result.succeeded()) {
+                LOGGER.warn("Category index preload failed for team {}", teamId, result.error());
+              }
+            });
+  }
+
+  /**
+   * Counts the team season's reports matching every ({@code matchAll}) or any of {@code
+   * predicates}, and returns the newest {@code limit} of them, newest first.
+   *
+   * @param season {@code null} for the current season
+   * @throws IllegalArgumentException when {@code season} is not a valid season name
+   */
+  public CategorySearchResult search(
+      String teamId,
+      String season,
+      List<CategoryPredicate> predicates,
+      boolean matchAll,
+      int limit) {
+    if (!enabled || predicates.isEmpty()) {
+      return new CategorySearchResult(0, List.of());
+    }
+    String resolved = season == null ? calendar.currentSeason() : season;
+    return teams.get(teamId, resolved, this::load).search(predicates, matchAll, limit);
+  }
+
+  /** Adds a newly saved report to its team season, if that season is loaded. */
+  public void record(
+      String teamId,
+      String playerId,
+      String reportId,
+      Instant reportTimestamp,
+      Map<String, String> categories) {
+    if (!enabled || teamId == null) {
+      return;
+    }
+    Map<String, BigDecimal> values = CategoryValues.numeric(categories);
+    if (values.isEmpty()) {
+      return;
+    }
+    TeamIndex index = teams.ifLoaded(teamId, calendar.seasonOf(reportTimestamp));
+    if (index != null) {
+      index.add(playerId, reportId, reportTimestamp, values);
+    }
+  }
+
+  private TeamIndex load(String teamId, String season) {
+    Instant from = calendar.start(season);
+    Instant to = calendar.end(season);
+    TeamIndex index = new TeamIndex();
+    List<Integer> shards =
+        IntStream.range(CoachReportRepository.LEGACY_TEAM_SHARD, teamShards).boxed().toList();
+    parallelReads
+        .readAll(shards, shard -> repository.listTeamReportValues(teamId, shard, from, to))
+        .forEach(
+            (shard, result) -> {
+              if (!result.succeeded()) {
+                // A partial load would under-count matches until the next reload
+                throw result.error();
+              }
+              for (TeamReportValues report : result.value()) {
+                index.add(
+                    report.playerId(),
+                    report.reportId(),
+                    report.reportTimestamp(),
+                    CategoryValues.numeric(report.categories()));
+              }
+            });
+    index.compact();
+    return index;
+  }
+
+  /** One team season's reports and a posting list per category. */
+  static final class TeamIndex {
+    private static final int INITIAL_DOCS = 64;
+
+    private final Map<String, Integer> docByReport = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private String[] playerIds = new String[INITIAL_DOCS];
+    private String[] reportIds = new String[INITIAL_DOCS];
+    private long[] timestamps = new long[INITIAL_DOCS];
+    private int docs;
+
+    synchronized void add(
+        String playerId, String reportId, Instant reportTimestamp, Map<String, BigDecimal> values) {
+      if (values.isEmpty() || docByReport.containsKey(reportId)) {
+        return;
+      }
+      if (docs == reportIds.length) {
+        int capacity = docs * 2;
+        playerIds = Arrays.copyOf(playerIds, capacity);
+        reportIds = Arrays.copyOf(reportIds, capacity);
+        timestamps = Arrays.copyOf(timestamps, capacity);
+      }
+      int doc = docs++;
+      playerIds[doc] = playerId;
+      reportIds[doc] = reportId;
+      timestamps[doc] = reportTimestamp.toEpochMilli();
+      docByReport.put(reportId, doc);
+      values.forEach(
+          (category, value) ->
+              postings
+                  .computeIfAbsent(category, c -> new Postings())
+                  .add(value.doubleValue(), doc));
+    }
+
+    /** Merges every category's buffer into its sorted arrays; used after a bulk load. */
+    synchronized void compact() {
+      postings.values().forEach(Postings::merge);
+    }
+
+    synchronized CategorySearchResult search(
+        List<CategoryPredicate> predicates, boolean matchAll, int limit) {
+      BitSet matches = null;
+      for (CategoryPredicate predicate : predicates) {
+        Postings list = postings.get(predicate.category());
+        BitSet docsMatching = list == null ? new BitSet() : list.matching(predicate);
+        if (matches == null) {
+          matches = docsMatching;
+        } else if (matchAll) {
+          matches.and(docsMatching);
+        } else {
+          matches.or(docsMatching);
+        }
+      }
+
+      // Min-heap of doc numbers: the root is the oldest of the newest matches seen so far
+      int matched = matches.cardinality();
+      int[] newest = new int[Math.min(Math.max(0, limit), matched)];
+      int size = 0;
+      if (newest.length > 0) {
+        for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+          if (size < newest.length) {
+            newest[size] = doc;
+            siftUp(newest, size++);
+          } else if (isOlder(newest[0], doc)) {
+            newest[0] = doc;
+            siftDown(newest, size);
+          }
+        }
+      }
+      IndexedReport[] reports = new IndexedReport[size];
+      for (int i = size - 1; i >= 0; i--) {
+        int doc = newest[0];
+        newest[0] = newest[i];
+        siftDown(newest, i);
+        Instant reportTimestamp = Instant.ofEpochMilli(timestamps[doc]);
+        reports[i] = new IndexedReport(playerIds[doc], reportIds[doc], reportTimestamp);
+      }
+      return new CategorySearchResult(matched, Arrays.asList(reports));
+    }
+
+    private void siftUp(int[] heap, int index) {
+      while (index > 0) {
+        int parent = (index - 1) >>> 1;
+        if (!isOlder(heap[index], heap[parent])) {
+          return;
+        }
+        swap(heap, index, parent);
+        index = parent;
+      }
+    }
+
+    private void siftDown(int[] heap, int size) {
+      int index = 0;
+      while (true) {
+        int child = 2 * index + 1;
+        if (child >= size) {
+          return;
+        }
+        if (child + 1 < size && isOlder(heap[child + 1], heap[child])) {
+          child++;
+        }
+        if (!isOlder(heap[child], heap[index])) {
+          return;
+        }
+        swap(heap, index, child);
+        index = child;
+      }
+    }
+
+    private boolean isOlder(int a, int b) {
+      return timestamps[a] != timestamps[b]
+          ? timestamps[a] < timestamps[b]
+          : reportIds[a].compareTo(reportIds[b]) < 0;
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+      int held = heap[i];
+      heap[i] = heap[j];
+      heap[j] = held;
+    }
+  }
+
+  /**
+   * One category's values: {@code values}/{@code docs} sorted by value, plus an unsorted buffer
+   * of recent additions.
+   */
+  static final class Postings {
+    private static final int MIN_BUFFER = 64;
+
+    private double[] values = new double[0];
+    private int[] docs = new int[0];
+    private double[] bufferValues = new double[MIN_BUFFER];
+    private int[] bufferDocs = new int[MIN_BUFFER];
+    private int buffered;
+
+    void add(double value, int doc) {
+      if (buffered == bufferValues.length) {
+        if (buffered >= Math.max(MIN_BUFFER, values.length / 8)) {
+          merge();
+        } else {
+          bufferValues = Arrays.copyOf(bufferValues, buffered * 2);
+          bufferDocs = Arrays.copyOf(bufferDocs, buffered * 2);
+        }
+      }
+      bufferValues[buffered] = value;
+      bufferDocs[buffered] = doc;
+      buffered++;
+    }
+
+    BitSet matching(CategoryPredicate predicate) {
+      double value = predicate.value();
+      int from;
+      int to;
+      switch (predicate.operator()) {
+        case GREATER_OR_EQUAL -> {
+          from = firstAtLeast(value);
+          to = values.length;
+        }
+        case GREATER -> {
+          from = firstAbove(value);
+          to = values.length;
+        }
+        case LESS_OR_EQUAL -> {
+          from = 0;
+          to = firstAbove(value);
+        }
+        case LESS -> {
+          from = 0;
+          to = firstAtLeast(value);
+        }
+        default -> {
+          from = firstAtLeast(value);
+          to = firstAbove(value);
+        }
+      }
+      BitSet matches = new BitSet();
+      for (int i = from; i < to; i++) {
+        matches.set(docs[i]);
+      }
+      for (int i = 0; i < buffered; i++) {
+        if (test(predicate, bufferValues[i])) {
+          matches.set(bufferDocs[i]);
+        }
+      }
+      return matches;
+    }
+
+    void merge() {
+      if (buffered == 0) {
+        return;
+      }
+      sortBuffer();
+
+      double[] mergedValues = new double[values.length + buffered];
+      int[] mergedDocs = new int[values.length + buffered];
+      int i = 0;
+      int j = 0;
+      for (int k = 0; k < mergedValues.length; k++) {
+        if (j == buffered || (i < values.length && values[i] <= bufferValues[j])) {
+          mergedValues[k] = values[i];
+          mergedDocs[k] = docs[i++];
+        } else {
+          mergedValues[k] = bufferValues[j];
+          mergedDocs[k] = bufferDocs[j++];
+        }
+      }
+      values = mergedValues;
+      docs = mergedDocs;
+      buffered = 0;
+      bufferValues = new double[MIN_BUFFER];
+      bufferDocs = new int[MIN_BUFFER];
+    }
+
+    int size() {
+      return values.length + buffered;
+    }
+
+    int buffered() {
+      return buffered;
+    }
+
+    /** Heapsorts the buffer by value in place, moving each doc with its value. */
+    private void sortBuffer() {
+      for (int i = buffered / 2 - 1; i >= 0; i--) {
+        siftDownBuffer(i, buffered);
+      }
+      for (int end = buffered - 1; end > 0; end--) {
+        swapBuffer(0, end);
+        siftDownBuffer(0, end);
+      }
+    }
+
+    private void siftDownBuffer(int index, int size) {
+      while (true) {
+        int child = 2 * index + 1;
+        if (child >= size) {
+          return;
+        }
+        if (child + 1 < size && bufferValues[child + 1] > bufferValues[child]) {
+          child++;
+        }
+        if (bufferValues[child] <= bufferValues[index]) {
+          return;
+        }
+        swapBuffer(index, child);
+        index = child;
+      }
+    }
+
+    private void swapBuffer(int i, int j) {
+      double value = bufferValues[i];
+      bufferValues[i] = bufferValues[j];
+      bufferValues[j] = value;
+      int doc = bufferDocs[i];
+      bufferDocs[i] = bufferDocs[j];
+      bufferDocs[j] = doc;
+    }
+
+    /** Index of the first sorted value {@code >= value}. */
+    private int firstAtLeast(double value) {
+      int low = 0;
+      int high = values.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (values[mid] < value) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /** Index of the first sorted value {@code > value}. */
+    private int firstAbove(double value) {
+      int low = 0;
+      int high = values.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (values[mid] <= value) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    private static boolean test(CategoryPredicate predicate, double candidate) {
+      double value = predicate.value();
+      return switch (predicate.operator()) {
+        case GREATER_OR_EQUAL -> candidate >= value;
+        case GREATER -> candidate > value;
+        case LESS_OR_EQUAL -> candidate <= value;
+        case LESS -> candidate < value;
+        case EQUAL -> candidate == value;
+      };
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.vsm.api.domain.stats;
+
+/** Width of an activity rollup bucket. Weeks are ISO weeks, starting on Monday. */
+public enum RollupGranularity {
+  DAY,
+  WEEK
+}
@@ -0,0 +1,76 @@
+package com.vsm.api.domain.stats;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps report timestamps to seasons (UTC). With the default January start a season is a calendar
+ * year ({@code 2024}); with any other start month it spans two years and is named after both
+ * ({@code 2024-25} starts in that month of 2024).
+ */
+@Component
+public class SeasonCalendar {
+
+  private static final Pattern SEASON = Pattern.compile("(\\d{4})(?:-(\\d{2}))?");
+
+  private final Clock clock;
+  private final int startMonth;
+
+  public SeasonCalendar(Clock clock, @Value("${app.stats.season-start-month:1}") int startMonth) {
+    if (startMonth < 1 || startMonth > 12) {
+      throw new IllegalArgumentException("app.stats.season-start-month must be between 1 and 12");
+    }
+    this.clock = clock;
+    this.startMonth = startMonth;
+  }
+
+  public String seasonOf(Instant instant) {
+    LocalDate date = instant.atZone(ZoneOffset.UTC).toLocalDate();
+    int year = date.getMonthValue() >= startMonth ? date.getYear() : date.getYear() - 1;
+    return name(year);
+  }
+
+  public String currentSeason() {
+    return seasonOf(clock.instant());
+  }
+
+  /** Inclusive start of {@code season}. */
+  public Instant start(String season) {
+    return LocalDate.of(startYear(season), startMonth, 1).atStartOfDay(ZoneOffset.UTC).toInstant();
+  }
+
+  /** Exclusive end of {@code season}. */
+  public Instant end(String season) {
+    return LocalDate.of(startYear(season) + 1, startMonth, 1)
+        .atStartOfDay(ZoneOffset.UTC)
+        .toInstant();
+  }
+
+  /**
+   * @throws IllegalArgumentException when {@code season} is not a season name this calendar makes
+   */
+  private int startYear(String season) {
+    Matcher matcher = season == null ? null : SEASON.matcher(season);
+    if (matcher == null || !matcher.matches() || !season.equals(name(parse(matcher)))) {
+      throw new IllegalArgumentException("Unknown season: " + season);
+    }
+    return parse(matcher);
+  }
+
+  private static int parse(Matcher matcher) {
+    return Integer.parseInt(matcher.group(1));
+  }
+
+  private String name(int year) {
+    if (startMonth == 1) {
+      return Integer.toString(year);
+    }
+    return String.format("%d-%02d", year, (year + 1) % 100);
+  }
+}
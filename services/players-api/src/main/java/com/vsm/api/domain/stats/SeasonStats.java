@@ -0,0 +1,13 @@
+package com.vsm.api.domain.stats;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/** A player's season aggregates; {@code reports} counts every report, numeric or not. */
+public record SeasonStats(
+    String playerId, String season, long reports, SortedMap<String, CategoryStats> categories) {
+
+  public static SeasonStats empty(String playerId, String season) {
+    return new SeasonStats(playerId, season, 0, new TreeMap<>());
+  }
+}
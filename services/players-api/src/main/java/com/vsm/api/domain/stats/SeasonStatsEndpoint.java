@@ -0,0 +1,24 @@
+package com.vsm.api.domain.stats;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/** Rebuilds a player's season aggregates with a POST to /actuator/seasonstats/{playerId}. */
+@Component
+@Endpoint(id = "seasonstats")
+public class SeasonStatsEndpoint {
+
+  private final SeasonStatsRebuilder rebuilder;
+
+  public SeasonStatsEndpoint(SeasonStatsRebuilder rebuilder) {
+    this.rebuilder = rebuilder;
+  }
+
+  @WriteOperation
+  public SeasonStats rebuild(@Selector String playerId, @Nullable String season) {
+    return rebuilder.rebuild(playerId, season);
+  }
+}
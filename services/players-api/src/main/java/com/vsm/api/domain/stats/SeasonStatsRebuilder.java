@@ -0,0 +1,122 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Recomputes a player's season aggregates from their report items, for seasons written before
+ * aggregation existed or after a failed extremes update. The season is split into time slices
+ * that are queried in parallel. The result replaces the stats item only if no report was added
+ * while it was being computed; otherwise the rebuild starts over.
+ */
+@Service
+public class SeasonStatsRebuilder {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SeasonStatsRebuilder.class);
+
+  private final SeasonStatsRepository repository;
+  private final SeasonCalendar calendar;
+  private final ParallelReads parallelReads;
+  private final Clock clock;
+  private final int slices;
+  private final int maxAttempts;
+
+  public SeasonStatsRebuilder(
+      SeasonStatsRepository repository,
+      SeasonCalendar calendar,
+      ParallelReads parallelReads,
+      Clock clock,
+      @Value("${app.stats.rebuild.slices:8}") int slices,
+      @Value("${app.stats.rebuild.max-attempts:3}") int maxAttempts) {
+    this.repository = repository;
+    this.calendar = calendar;
+    this.parallelReads = parallelReads;
+    this.clock = clock;
+    this.slices = Math.max(1, slices);
+    this.maxAttempts = Math.max(1, maxAttempts);
+  }
+
+  /**
+   * @param season {@code null} for the current season
+   * @throws IllegalArgumentException when {@code season} is not a valid season name
+   * @throws IllegalStateException when reports kept arriving during every attempt
+   */
+  public SeasonStats rebuild(String playerId, String season) {
+    String resolved = season == null ? calendar.currentSeason() : season;
+    Instant start = calendar.start(resolved);
+    Instant end = calendar.end(resolved);
+    for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+      Long before = repository.find(playerId, resolved).map(SeasonStats::reports).orElse(null);
+      SeasonStats stats = new SeasonStats(playerId, resolved, 0, new TreeMap<>());
+      for (List<Map<String, String>> reports : readSlices(playerId, start, end)) {
+        stats = fold(stats, reports);
+      }
+      if (repository.replace(stats, before, clock.instant())) {
+        LOGGER.info(
+            "Rebuilt {} season stats for player {} from {} reports",
+            resolved,
+            playerId,
+            stats.reports());
+        return stats;
+      }
+    }
+    throw new IllegalStateException(
+        "Season stats for player " + playerId + " changed during every rebuild attempt");
+  }
+
+  private List<List<Map<String, String>>> readSlices(String playerId, Instant start, Instant end) {
+    long sliceSeconds = Math.max(1, Duration.between(start, end).toSeconds() / slices + 1);
+    List<Integer> indexes = IntStream.range(0, slices).boxed().toList();
+    List<List<Map<String, String>>> results = new ArrayList<>(slices);
+    parallelReads
+        .readAll(
+            indexes,
+            index -> {
+              Instant from = start.plusSeconds(sliceSeconds * index);
+              Instant to = min(from.plusSeconds(sliceSeconds), end);
+              return from.isBefore(to)
+                  ? repository.listReportCategories(playerId, from, to)
+                  : List.<Map<String, String>>of();
+            })
+        .forEach(
+            (index, result) -> {
+              if (!result.succeeded()) {
+                // A missing slice would undercount the season
+                throw result.error();
+              }
+              results.add(result.value());
+            });
+    return results;
+  }
+
+  private static SeasonStats fold(SeasonStats stats, List<Map<String, String>> reports) {
+    SortedMap<String, CategoryStats> categories = stats.categories();
+    for (Map<String, String> report : reports) {
+      for (Map.Entry<String, BigDecimal> value : CategoryValues.numeric(report).entrySet()) {
+        categories.merge(
+            value.getKey(),
+            CategoryStats.of(value.getValue()),
+            (current, added) -> current.plus(value.getValue()));
+      }
+    }
+    return new SeasonStats(
+        stats.playerId(), stats.season(), stats.reports() + reports.size(), categories);
+  }
+
+  private static Instant min(Instant a, Instant b) {
+    return a.isBefore(b) ? a : b;
+  }
+}
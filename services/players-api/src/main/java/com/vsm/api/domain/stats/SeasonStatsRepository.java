@@ -0,0 +1,402 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.domain.report.CoachReportRepository;
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+/**
+ * Per-player season aggregates, one item per season ({@code PLAYER#<playerId>}, {@code
+ * SEASON#<season>}). Each numeric category keeps {@code count:}, {@code sum:}, {@code sumSq:},
+ * {@code min:} and {@code max:} attributes, so a season's stats are one {@code GetItem}.
+ */
+@Repository
+public class SeasonStatsRepository {
+
+  static final String SEASON_SORT_KEY_PREFIX = "SEASON#";
+  private static final String COUNT = "count:";
+  private static final String SUM = "sum:";
+  private static final String SUM_OF_SQUARES = "sumSq:";
+  private static final String MIN = "min:";
+  private static final String MAX = "max:";
+  private static final int MAX_EXTREMES_ATTEMPTS = 3;
+  // Same layout as the report and GSI2 sort keys CoachReportRepository writes
+  private static final DateTimeFormatter REPORT_SORT_KEY_FORMATTER =
+      DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC);
+
+  private final DynamoDbClient dynamoDbClient;
+  private final String tableName;
+  private final CapacityAccountant capacity;
+  private final SeasonCalendar calendar;
+
+  public SeasonStatsRepository(
+      DynamoDbClient dynamoDbClient,
+      @Value("${app.reports.table-name}") String tableName,
+      CapacityAccountant capacity,
+      SeasonCalendar calendar) {
+    this.dynamoDbClient = dynamoDbClient;
+    this.tableName = tableName;
+    this.capacity = capacity;
+    this.calendar = calendar;
+  }
+
+  /**
+   * The update that adds one report to its season's counts and sums. It is applied once the
+   * report's conditional put has succeeded, which is what makes it apply once per reportId.
+   */
+  public UpdateItemRequest aggregateUpdate(
+      String playerId, Instant reportTimestamp, Map<String, String> categories, Instant now) {
+    String season = calendar.seasonOf(reportTimestamp);
+    Map<String, String> names = new HashMap<>();
+    Map<String, AttributeValue> values = new HashMap<>();
+    values.put(":player", AttributeValue.fromS(playerId));
+    values.put(":season", AttributeValue.fromS(season));
+    values.put(":type", AttributeValue.fromS("SEASON_STATS"));
+    values.put(":now", AttributeValue.fromS(now.toString()));
+    values.put(":one", AttributeValue.fromN("1"));
+    StringBuilder add = new StringBuilder("reports :one");
+    int i = 0;
+    for (Map.Entry<String, BigDecimal> entry : CategoryValues.numeric(categories).entrySet()) {
+      BigDecimal value = entry.getValue();
+      names.put("#c" + i, COUNT + entry.getKey());
+      names.put("#s" + i, SUM + entry.getKey());
+      names.put("#q" + i, SUM_OF_SQUARES + entry.getKey());
+      values.put(":v" + i, AttributeValue.fromN(value.toPlainString()));
+      values.put(":q" + i, AttributeValue.fromN(value.multiply(value).toPlainString()));
+      add.append(", #c").append(i).append(" :one");
+      add.append(", #s").append(i).append(" :v").append(i);
+      add.append(", #q").append(i).append(" :q").append(i);
+      i++;
+    }
+    UpdateItemRequest.Builder update =
+        UpdateItemRequest.builder()
+            .tableName(tableName)
+            .key(key(playerId, season))
+            .updateExpression(
+                "SET playerId = :player, season = :season, entityType = :type, updatedAt = :now"
+                    + " ADD "
+                    + add)
+            .expressionAttributeValues(values)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride());
+    if (!names.isEmpty()) {
+      update.expressionAttributeNames(names);
+    }
+    return update.build();
+  }
+
+  /**
+   * Lowers {@code min:} and raises {@code max:} for the report's numeric categories. Unlike sums
+   * these are idempotent, so they need no reportId guard; concurrent writers are resolved by
+   * conditioning on the values read and retrying.
+   */
+  public void recordExtremes(
+      String playerId, Instant reportTimestamp, Map<String, String> categories) {
+    SortedMap<String, BigDecimal> values = CategoryValues.numeric(categories);
+    if (values.isEmpty()) {
+      return;
+    }
+    String season = calendar.seasonOf(reportTimestamp);
+    for (int attempt = 1; ; attempt++) {
+      Map<String, String> readNames = new HashMap<>();
+      List<String> projection = new ArrayList<>();
+      int i = 0;
+      for (String category : values.keySet()) {
+        readNames.put("#m" + i, MIN + category);
+        readNames.put("#x" + i, MAX + category);
+        projection.add("#m" + i);
+        projection.add("#x" + i);
+        i++;
+      }
+      GetItemResponse read =
+          dynamoDbClient.getItem(
+              GetItemRequest.builder()
+                  .tableName(tableName)
+                  .key(key(playerId, season))
+                  .projectionExpression(String.join(", ", projection))
+                  .expressionAttributeNames(readNames)
+                  .consistentRead(true)
+                  .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                  .overrideConfiguration(RequestDeadline.sdkOverride())
+                  .build());
+      capacity.recordRead("readSeasonExtremes", playerId, read.consumedCapacity());
+      Map<String, AttributeValue> current = read.hasItem() ? read.item() : Map.of();
+
+      Map<String, String> names = new HashMap<>();
+      Map<String, AttributeValue> writeValues = new HashMap<>();
+      List<String> sets = new ArrayList<>();
+      List<String> conditions = new ArrayList<>();
+      int n = 0;
+      for (Map.Entry<String, BigDecimal> entry : values.entrySet()) {
+        for (String prefix : List.of(MIN, MAX)) {
+          String attribute = prefix + entry.getKey();
+          AttributeValue existing = current.get(attribute);
+          BigDecimal value = entry.getValue();
+          int order = existing == null ? 0 : value.compareTo(new BigDecimal(existing.n()));
+          boolean widens = existing == null || (prefix.equals(MIN) ? order < 0 : order > 0);
+          if (!widens) {
+            continue;
+          }
+          String name = "#a" + n;
+          names.put(name, attribute);
+          writeValues.put(":a" + n, AttributeValue.fromN(value.toPlainString()));
+          sets.add(name + " = :a" + n);
+          if (existing == null) {
+            conditions.add("attribute_not_exists(" + name + ")");
+          } else {
+            writeValues.put(":o" + n, existing);
+            conditions.add(name + " = :o" + n);
+          }
+          n++;
+        }
+      }
+      if (sets.isEmpty()) {
+        return;
+      }
+
+      try {
+        UpdateItemRequest request =
+            UpdateItemRequest.builder()
+                .tableName(tableName)
+                .key(key(playerId, season))
+                .updateExpression("SET " + String.join(", ", sets))
+                .conditionExpression(String.join(" AND ", conditions))
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(writeValues)
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .overrideConfiguration(RequestDeadline.sdkOverride())
+                .build();
+        capacity.recordWrite(
+            "recordSeasonExtremes",
+            playerId,
+            dynamoDbClient.updateItem(request).consumedCapacity());
+        return;
+      } catch (ConditionalCheckFailedException ex) {
+        if (attempt >= MAX_EXTREMES_ATTEMPTS) {
+          throw ex;
+        }
+      }
+    }
+  }
+
+  public Optional<SeasonStats> find(String playerId, String season) {
+    GetItemResponse response =
+        dynamoDbClient.getItem(
+            GetItemRequest.builder()
+                .tableName(tableName)
+                .key(key(playerId, season))
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .overrideConfiguration(RequestDeadline.sdkOverride())
+                .build());
+    capacity.recordRead("getSeasonStats", playerId, response.consumedCapacity());
+    if (!response.hasItem() || response.item().isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(toStats(playerId, season, response.item()));
+  }
+
+  /**
+   * The {@code categories} of every report the player has in {@code [from, to)}, read with
+   * strongly consistent queries so a rebuild does not miss recent writes.
+   */
+  public List<Map<String, String>> listReportCategories(String playerId, Instant from, Instant to) {
+    Map<String, AttributeValue> values =
+        Map.of(
+            ":pk", AttributeValue.fromS("PLAYER#" + playerId),
+            ":from", AttributeValue.fromS("REPORT#" + REPORT_SORT_KEY_FORMATTER.format(from)),
+            ":to", AttributeValue.fromS("REPORT#" + REPORT_SORT_KEY_FORMATTER.format(to)));
+    List<Map<String, String>> categories = new ArrayList<>();
+    Map<String, AttributeValue> startKey = null;
+    do {
+      QueryRequest.Builder request =
+          QueryRequest.builder()
+              .tableName(tableName)
+              // The upper bound sorts before every report key in its own second, so [from, to)
+              .keyConditionExpression("PK = :pk AND SK BETWEEN :from AND :to")
+              .expressionAttributeValues(values)
+              .projectionExpression("categories")
+              .consistentRead(true)
+              .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+              .overrideConfiguration(RequestDeadline.sdkOverride());
+      if (startKey != null) {
+        request.exclusiveStartKey(startKey);
+      }
+      QueryResponse response = dynamoDbClient.query(request.build());
+      capacity.recordRead("listSeasonReports", playerId, response.consumedCapacity());
+      for (Map<String, AttributeValue> item : response.items()) {
+        categories.add(categoriesOf(item));
+      }
+      startKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+    } while (startKey != null && !startKey.isEmpty());
+    return categories;
+  }
+
+  /**
+   * The player, id, timestamp and categories of every report in one shard of the team's GSI2
+   * partitions with a report timestamp in {@code [from, to)}. {@link
+   * CoachReportRepository#LEGACY_TEAM_SHARD} reads the unsharded partition of reports written
+   * before sharding.
+   */
+  public List<TeamReportValues> listTeamReportValues(
+      String teamId, int shard, Instant from, Instant to) {
+    Map<String, AttributeValue> values =
+        Map.of(
+            ":pk", AttributeValue.fromS(CoachReportRepository.teamPartitionKey(teamId, shard)),
+            ":from", AttributeValue.fromS("CREATED#" + REPORT_SORT_KEY_FORMATTER.format(from)),
+            ":to", AttributeValue.fromS("CREATED#" + REPORT_SORT_KEY_FORMATTER.format(to)));
+    List<TeamReportValues> reports = new ArrayList<>();
+    Map<String, AttributeValue> startKey = null;
+    do {
+      QueryRequest.Builder request =
+          QueryRequest.builder()
+              .tableName(tableName)
+              .indexName("GSI2")
+              .keyConditionExpression("GSI2PK = :pk AND GSI2SK BETWEEN :from AND :to")
+              .expressionAttributeValues(values)
+              .projectionExpression("playerId, reportId, reportTimestamp, GSI2SK, categories")
+              .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+              .overrideConfiguration(RequestDeadline.sdkOverride());
+      if (startKey != null) {
+        request.exclusiveStartKey(startKey);
+      }
+      QueryResponse response = dynamoDbClient.query(request.build());
+      capacity.recordRead("listTeamReportValues", null, response.consumedCapacity());
+      for (Map<String, AttributeValue> item : response.items()) {
+        AttributeValue playerId = item.get("playerId");
+        AttributeValue reportId = item.get("reportId");
+        if (playerId != null && reportId != null) {
+          reports.add(
+              new TeamReportValues(
+                  playerId.s(), reportId.s(), reportTimestampOf(item), categoriesOf(item)));
+        }
+      }
+      startKey = response.hasLastEvaluatedKey() ? response.lastEvaluatedKey() : null;
+    } while (startKey != null && !startKey.isEmpty());
+    return reports;
+  }
+
+  /**
+   * Overwrites a season's aggregates with recomputed ones, unless a report was added since {@code
+   * expectedReports} was read ({@code null}: the item did not exist).
+   *
+   * @return whether the item was replaced
+   */
+  public boolean replace(SeasonStats stats, Long expectedReports, Instant now) {
+    Map<String, AttributeValue> item = new HashMap<>(key(stats.playerId(), stats.season()));
+    item.put("playerId", AttributeValue.fromS(stats.playerId()));
+    item.put("season", AttributeValue.fromS(stats.season()));
+    item.put("entityType", AttributeValue.fromS("SEASON_STATS"));
+    item.put("updatedAt", AttributeValue.fromS(now.toString()));
+    item.put("reports", AttributeValue.fromN(Long.toString(stats.reports())));
+    stats
+        .categories()
+        .forEach(
+            (category, totals) -> {
+              item.put(COUNT + category, AttributeValue.fromN(Long.toString(totals.count())));
+              item.put(SUM + category, AttributeValue.fromN(totals.sum().toPlainString()));
+              item.put(
+                  SUM_OF_SQUARES + category,
+                  AttributeValue.fromN(totals.sumOfSquares().toPlainString()));
+              item.put(MIN + category, AttributeValue.fromN(totals.min().toPlainString()));
+              item.put(MAX + category, AttributeValue.fromN(totals.max().toPlainString()));
+            });
+    PutItemRequest.Builder request =
+        PutItemRequest.builder()
+            .tableName(tableName)
+            .item(item)
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+            .overrideConfiguration(RequestDeadline.sdkOverride());
+    if (expectedReports == null) {
+      request.conditionExpression("attribute_not_exists(PK)");
+    } else {
+      request
+          .conditionExpression("reports = :expected")
+          .expressionAttributeValues(
+              Map.of(":expected", AttributeValue.fromN(Long.toString(expectedReports))));
+    }
+    try {
+      capacity.recordWrite(
+          "replaceSeasonStats",
+          stats.playerId(),
+          dynamoDbClient.putItem(request.build()).consumedCapacity());
+      return true;
+    } catch (ConditionalCheckFailedException ex) {
+      return false;
+    }
+  }
+
+  private static Map<String, AttributeValue> key(String playerId, String season) {
+    return Map.of(
+        "PK", AttributeValue.fromS("PLAYER#" + playerId),
+        "SK", AttributeValue.fromS(SEASON_SORT_KEY_PREFIX + season));
+  }
+
+  private static SeasonStats toStats(
+      String playerId, String season, Map<String, AttributeValue> item) {
+    SortedMap<String, CategoryStats> categories = new TreeMap<>();
+    item.forEach(
+        (name, value) -> {
+          if (!name.startsWith(COUNT)) {
+            return;
+          }
+          String category = name.substring(COUNT.length());
+          categories.put(
+              category,
+              new CategoryStats(
+                  Long.parseLong(value.n()),
+                  decimal(item.get(SUM + category), BigDecimal.ZERO),
+                  decimal(item.get(SUM_OF_SQUARES + category), BigDecimal.ZERO),
+                  decimal(item.get(MIN + category), null),
+                  decimal(item.get(MAX + category), null)));
+        });
+    AttributeValue reports = item.get("reports");
+    return new SeasonStats(
+        playerId, season, reports == null ? 0 : Long.parseLong(reports.n()), categories);
+  }
+
+  private static Map<String, String> categoriesOf(Map<String, AttributeValue> item) {
+    Map<String, String> categories = new HashMap<>();
+    AttributeValue stored = item.get("categories");
+    if (stored != null && stored.hasM()) {
+      stored.m().forEach((name, value) -> categories.put(name, value.s()));
+    }
+    return categories;
+  }
+
+  /** The report's timestamp, or the one in its {@code CREATED#} sort key for older items. */
+  private static Instant reportTimestampOf(Map<String, AttributeValue> item) {
+    AttributeValue stored = item.get("reportTimestamp");
+    if (stored != null && stored.s() != null) {
+      return Instant.parse(stored.s());
+    }
+    String[] sortKey = item.get("GSI2SK").s().split("#");
+    return LocalDateTime.parse(sortKey[1], REPORT_SORT_KEY_FORMATTER).toInstant(ZoneOffset.UTC);
+  }
+
+  private static BigDecimal decimal(AttributeValue value, BigDecimal fallback) {
+    return value == null || value.n() == null ? fallback : new BigDecimal(value.n());
+  }
+}
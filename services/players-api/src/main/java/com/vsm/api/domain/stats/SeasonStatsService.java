@@ -0,0 +1,32 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.infrastructure.resilience.ReadHedger;
+import org.springframework.stereotype.Service;
+
+/** Serves a player's season aggregates from their single stats item. */
+@Service
+public class SeasonStatsService {
+
+  private final SeasonStatsRepository repository;
+  private final SeasonCalendar calendar;
+  private final ReadHedger hedger;
+
+  public SeasonStatsService(
+      SeasonStatsRepository repository, SeasonCalendar calendar, ReadHedger hedger) {
+    this.repository = repository;
+    this.calendar = calendar;
+    this.hedger = hedger;
+  }
+
+  /**
+   * @param season {@code null} for the current season
+   * @throws IllegalArgumentException when {@code season} is not a valid season name
+   */
+  public SeasonStats getStats(String playerId, String season) {
+    String resolved = season == null ? calendar.currentSeason() : season;
+    calendar.start(resolved);
+    return hedger
+        .read("getSeasonStats", () -> repository.find(playerId, resolved))
+        .orElseGet(() -> SeasonStats.empty(playerId, resolved));
+  }
+}
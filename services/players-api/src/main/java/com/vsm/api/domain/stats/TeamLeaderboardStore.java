@@ -0,0 +1,244 @@
+package com.vsm.api.domain.stats;
+
+import com.vsm.api.domain.report.CoachReportRepository;
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ranks a team's players by a category, in memory. Each loaded team season is a small column store:
+ * players and categories are dictionary-encoded to row and column numbers, and every category is a
+ * pair of {@code double[]} totals and {@code int[]} counts indexed by row. A ranking is one pass
+ * over two primitive arrays into a bounded heap of row numbers, without boxing or DynamoDB calls.
+ *
+ * <p>A team season is loaded on first use from its GSI2 shards, queried in parallel, and reloaded
+ * in the background after {@code refresh-interval} while the previous columns keep serving
+ * rankings. Reports created through this instance are added as they are saved; reports written
+ * elsewhere (other instances, the persist-batch Lambda) appear after the next reload. At most
+ * {@code max-teams} team seasons are kept, least recently used first out.
+ */
+@Component
+public class TeamLeaderboardStore {
+
+  private final SeasonStatsRepository repository;
+  private final SeasonCalendar calendar;
+  private final ParallelReads parallelReads;
+  private final boolean enabled;
+  private final int teamShards;
+  private final TeamSeasonCache<TeamColumns> teams;
+
+  public TeamLeaderboardStore(
+      SeasonStatsRepository repository,
+      SeasonCalendar calendar,
+      ParallelReads parallelReads,
+      Clock clock,
+      @Value("${app.leaderboard.enabled:true}") boolean enabled,
+      @Value("${app.reports.team-timeline.shards:4}") int teamShards,
+      @Value("${app.leaderboard.refresh-interval:10m}") Duration refreshInterval,
+      @Value("${app.leaderboard.max-teams:500}") int maxTeams) {
+    this.repository = repository;
+    this.calendar = calendar;
+    this.parallelReads = parallelReads;
+    this.enabled = enabled;
+    this.teamShards = Math.max(1, teamShards);
+    this.teams = new TeamSeasonCache<>(clock, refreshInterval, maxTeams);
+  }
+
+  /**
+   * The {@code top} players of a team season by {@code category}, best first; ties are broken by
+   * playerId. Players with no numeric value for the category are not ranked.
+   *
+   * @param season {@code null} for the current season
+   * @throws IllegalArgumentException when {@code season} is not a valid season name
+   */
+  public List<LeaderboardEntry> top(
+      String teamId, String season, String category, int top, LeaderboardMetric metric) {
+    if (!enabled) {
+      return List.of();
+    }
+    String resolved = season == null ? calendar.currentSeason() : season;
+    return teams.get(teamId, resolved, this::load).top(category, top, metric);
+  }
+
+  /** Adds a newly saved report to its team season, if that season is loaded. */
+  public void record(
+      String teamId, String playerId, Instant reportTimestamp, Map<String, String> categories) {
+    if (!enabled || teamId == null) {
+      return;
+    }
+    Map<String, BigDecimal> values = CategoryValues.numeric(categories);
+    if (values.isEmpty()) {
+      return;
+    }
+    TeamColumns columns = teams.ifLoaded(teamId, calendar.seasonOf(reportTimestamp));
+    if (columns != null) {
+      columns.add(playerId, values);
+    }
+  }
+
+  private TeamColumns load(String teamId, String season) {
+    Instant from = calendar.start(season);
+    Instant to = calendar.end(season);
+    TeamColumns columns = new TeamColumns();
+    List<Integer> shards =
+        IntStream.range(CoachReportRepository.LEGACY_TEAM_SHARD, teamShards).boxed().toList();
+    parallelReads
+        .readAll(shards, shard -> repository.listTeamReportValues(teamId, shard, from, to))
+        .forEach(
+            (shard, result) -> {
+              if (!result.succeeded()) {
+                // A partial load would rank players on some of their reports only
+                throw result.error();
+              }
+              for (TeamReportValues report : result.value()) {
+                columns.add(report.playerId(), CategoryValues.numeric(report.categories()));
+              }
+            });
+    return columns;
+  }
+
+  /** One team season's columns. Rows are players, columns are categories. */
+  static final class TeamColumns {
+    private static final int INITIAL_ROWS = 16;
+
+    private final Map<String, Integer> rowByPlayer = new HashMap<>();
+    private final Map<String, Integer> columnByCategory = new HashMap<>();
+    private String[] players = new String[INITIAL_ROWS];
+    private double[][] totals = new double[0][];
+    private int[][] counts = new int[0][];
+    private int rows;
+
+    synchronized void add(String playerId, Map<String, BigDecimal> values) {
+      int row = row(playerId);
+      values.forEach(
+          (category, value) -> {
+            int column = column(category);
+            totals[column][row] += value.doubleValue();
+            counts[column][row]++;
+          });
+    }
+
+    synchronized List<LeaderboardEntry> top(String category, int top, LeaderboardMetric metric) {
+      Integer column = columnByCategory.get(category);
+      if (column == null || top < 1) {
+        return List.of();
+      }
+      double[] total = totals[column];
+      int[] count = counts[column];
+      boolean average = metric == LeaderboardMetric.AVERAGE;
+
+      // Min-heap of row numbers: the root is the weakest of the best rows seen so far
+      int[] heap = new int[Math.min(top, rows)];
+      int size = 0;
+      for (int row = 0; row < rows; row++) {
+        if (count[row] == 0) {
+          continue;
+        }
+        if (size < heap.length) {
+          heap[size] = row;
+          siftUp(heap, size++, total, count, average);
+        } else if (size > 0 && ranksBelow(heap[0], row, total, count, average)) {
+          heap[0] = row;
+          siftDown(heap, size, total, count, average);
+        }
+      }
+
+      LeaderboardEntry[] ranked = new LeaderboardEntry[size];
+      for (int i = size - 1; i >= 0; i--) {
+        int row = heap[0];
+        ranked[i] = new LeaderboardEntry(players[row], total[row], count[row]);
+        heap[0] = heap[i];
+        siftDown(heap, i, total, count, average);
+      }
+      return Arrays.asList(ranked);
+    }
+
+    private int row(String playerId) {
+      Integer existing = rowByPlayer.get(playerId);
+      if (existing != null) {
+        return existing;
+      }
+      if (rows == players.length) {
+        int capacity = players.length * 2;
+        players = Arrays.copyOf(players, capacity);
+        for (int column = 0; column < totals.length; column++) {
+          totals[column] = Arrays.copyOf(totals[column], capacity);
+          counts[column] = Arrays.copyOf(counts[column], capacity);
+        }
+      }
+      players[rows] = playerId;
+      rowByPlayer.put(playerId, rows);
+      return rows++;
+    }
+
+    private int column(String category) {
+      Integer existing = columnByCategory.get(category);
+      if (existing != null) {
+        return existing;
+      }
+      int column = totals.length;
+      totals = Arrays.copyOf(totals, column + 1);
+      counts = Arrays.copyOf(counts, column + 1);
+      totals[column] = new double[players.length];
+      counts[column] = new int[players.length];
+      columnByCategory.put(category, column);
+      return column;
+    }
+
+    private void siftUp(int[] heap, int index, double[] total, int[] count, boolean average) {
+      while (index > 0) {
+        int parent = (index - 1) >>> 1;
+        if (!ranksBelow(heap[index], heap[parent], total, count, average)) {
+          return;
+        }
+        swap(heap, index, parent);
+        index = parent;
+      }
+    }
+
+    private void siftDown(int[] heap, int size, double[] total, int[] count, boolean average) {
+      int index = 0;
+      while (true) {
+        int weakest = index;
+        int left = 2 * index + 1;
+        int right = left + 1;
+        if (left < size && ranksBelow(heap[left], heap[weakest], total, count, average)) {
+          weakest = left;
+        }
+        if (right < size && ranksBelow(heap[right], heap[weakest], total, count, average)) {
+          weakest = right;
+        }
+        if (weakest == index) {
+          return;
+        }
+        swap(heap, index, weakest);
+        index = weakest;
+      }
+    }
+
+    /** Whether row {@code a} ranks below row {@code b}. */
+    private boolean ranksBelow(int a, int b, double[] total, int[] count, boolean average) {
+      double scoreA = average ? total[a] / count[a] : total[a];
+      double scoreB = average ? total[b] / count[b] : total[b];
+      if (scoreA != scoreB) {
+        return scoreA < scoreB;
+      }
+      return players[a].compareTo(players[b]) > 0;
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+      int held = heap[i];
+      heap[i] = heap[j];
+      heap[j] = held;
+    }
+  }
+}
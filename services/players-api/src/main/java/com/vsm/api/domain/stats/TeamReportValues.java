@@ -0,0 +1,8 @@
+package com.vsm.api.domain.stats;
+
+import java.time.Instant;
+import java.util.Map;
+
+/** One team report as read back for leaderboards and the category index. */
+public record TeamReportValues(
+    String playerId, String reportId, Instant reportTimestamp, Map<String, String> categories) {}
@@ -0,0 +1,135 @@
+package com.vsm.api.domain.stats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory state per team season, loaded on first use. Once a loaded team season is older than
+ * {@code refreshInterval} it is still served while one background reload replaces it, so requests
+ * never wait for a reload; a failed reload keeps the old state and is retried on a later request.
+ * At most {@code maxEntries} team seasons are kept, least recently used first out. Concurrent
+ * requests for a team season that is not loaded wait for one load instead of each starting their
+ * own.
+ */
+final class TeamSeasonCache<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TeamSeasonCache.class);
+  private static final ThreadFactory REFRESH_THREADS =
+      Thread.ofVirtual().name("team-season-refresh-", 0).factory();
+
+  private final Clock clock;
+  private final long refreshMillis;
+  private final Executor refreshExecutor;
+  private final Map<String, Loaded<T>> entries;
+  private final Map<String, Object> loadLocks = new ConcurrentHashMap<>();
+  private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+  TeamSeasonCache(Clock clock, Duration refreshInterval, int maxEntries) {
+    this(clock, refreshInterval, maxEntries, task -> REFRESH_THREADS.newThread(task).start());
+  }
+
+  TeamSeasonCache(Clock clock, Duration refreshInterval, int maxEntries, Executor refreshExecutor) {
+    this.clock = clock;
+    this.refreshMillis = Math.max(0, refreshInterval.toMillis());
+    this.refreshExecutor = refreshExecutor;
+    int capacity = Math.max(1, maxEntries);
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Loaded<T>> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * The team season's state, loading it with {@code loader} when missing. Stale state is returned
+   * as is and reloaded in the background.
+   */
+  T get(String teamId, String season, BiFunction<String, String, T> loader) {
+    String key = key(teamId, season);
+    Loaded<T> loaded = loaded(key);
+    if (loaded != null) {
+      if (isStale(loaded)) {
+        refreshInBackground(key, teamId, season, loader);
+      }
+      return loaded.value();
+    }
+    synchronized (loadLocks.computeIfAbsent(key, k -> new Object())) {
+      try {
+        loaded = loaded(key);
+        if (loaded != null) {
+          return loaded.value();
+        }
+        T value = loader.apply(teamId, season);
+        store(key, value);
+        return value;
+      } finally {
+        loadLocks.remove(key);
+      }
+    }
+  }
+
+  /** The team season's state if it is loaded, stale or not; {@code null} otherwise. */
+  T ifLoaded(String teamId, String season) {
+    Loaded<T> loaded = loaded(key(teamId, season));
+    return loaded == null ? null : loaded.value();
+  }
+
+  private void refreshInBackground(
+      String key, String teamId, String season, BiFunction<String, String, T> loader) {
+    if (!refreshing.add(key)) {
+      return;
+    }
+    try {
+      refreshExecutor.execute(
+          () -> {
+            try {
+              store(key, loader.apply(teamId, season));
+            } catch (RuntimeException ex) {
+              LOGGER.warn(
+                  "Reloading team {} season {} failed; serving the previous state: {}",
+                  teamId,
+                  season,
+                  ex.getMessage());
+            } finally {
+              refreshing.remove(key);
+            }
+          });
+    } catch (RuntimeException ex) {
+      refreshing.remove(key);
+      throw ex;
+    }
+  }
+
+  private Loaded<T> loaded(String key) {
+    synchronized (entries) {
+      return entries.get(key);
+    }
+  }
+
+  private void store(String key, T value) {
+    synchronized (entries) {
+      entries.put(key, new Loaded<>(value, clock.millis()));
+    }
+  }
+
+  private boolean isStale(Loaded<T> loaded) {
+    return clock.millis() - loaded.loadedAt() >= refreshMillis;
+  }
+
+  private static String key(String teamId, String season) {
+    return teamId + "\n" + season;
+  }
+
+  private record Loaded<T>(T value, long loadedAt) {}
+}
@@ -0,0 +1,50 @@
+package com.vsm.api.infrastructure.audit;
+
+import java.time.Instant;
+import java.util.Map;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * A single AUDIT item for a report. {@code attributes} carries event-specific fields (for example
+ * view counts on VIEWED entries) in addition to the common actor columns.
+ *
+ * <p>VIEWED sort keys end with the actor id so that aggregated entries for different viewers
+ * flushed in the same instant do not overwrite each other.
+ */
+public record AuditEntry(
+    String reportId,
+    String eventType,
+    String actorId,
+    String actorRole,
+    Instant at,
+    Map<String, AttributeValue> attributes) {
+
+  public static final String SENT = "SENT";
+  public static final String VIEWED = "VIEWED";
+
+  public AuditEntry {
+    attributes = attributes == null ? Map.of() : Map.copyOf(attributes);
+  }
+
+  public static AuditEntry sent(String reportId, String coachId, Instant at) {
+    return new AuditEntry(reportId, SENT, coachId, "COACH", at, Map.of());
+  }
+
+  public static AuditEntry viewed(
+      String reportId,
+      String actorId,
+      String actorRole,
+      Instant at,
+      Map<String, AttributeValue> attributes) {
+    return new AuditEntry(reportId, VIEWED, actorId, actorRole, at, attributes);
+  }
+
+  public String partitionKey() {
+    return "REPORT#" + reportId;
+  }
+
+  public String sortKey() {
+    String sortKey = "AUDIT#" + at + "#" + eventType;
+    return VIEWED.equals(eventType) ? sortKey + "#" + actorId : sortKey;
+  }
+}
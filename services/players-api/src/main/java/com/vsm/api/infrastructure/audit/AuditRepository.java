@@ -1,38 +1,120 @@
 package com.vsm.api.infrastructure.audit;
 
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
-/** Writes AUDIT entries (SENT). */
+/** Writes AUDIT entries (SENT, VIEWED). */
 @Repository
 public class AuditRepository {
+
+  /** DynamoDB rejects BatchWriteItem calls with more than 25 requests. */
+  public static final int MAX_BATCH_SIZE = 25;
+
   private final DynamoDbClient ddb;
   private final String table;
+  private final CapacityAccountant capacity;
 
-  public AuditRepository(DynamoDbClient ddb, @Value("${app.reports.table-name}") String table) {
+  public AuditRepository(
+      DynamoDbClient ddb,
+      @Value("${app.reports.table-name}") String table,
+      CapacityAccountant capacity) {
     this.ddb = ddb;
     this.table = table;
+    this.capacity = capacity;
   }
 
   public void writeSent(String reportId, String coachId, Instant at) {
-    String pk = "REPORT#" + reportId;
-    String sk = "AUDIT#" + at + "#SENT";
     PutItemRequest req =
         PutItemRequest.builder()
             .tableName(table)
-            .item(
-                Map.of(
-                    "PK", AttributeValue.fromS(pk),
-                    "SK", AttributeValue.fromS(sk),
-                    "actorId", AttributeValue.fromS(coachId),
-                    "actorRole", AttributeValue.fromS("COACH"),
-                    "createdAt", AttributeValue.fromS(at.toString())))
+            .item(toItem(AuditEntry.sent(reportId, coachId, at)))
+            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
             .build();
-    ddb.putItem(req);
+    capacity.recordWrite("writeAuditSent", null, ddb.putItem(req).consumedCapacity());
+  }
+
+  /**
+   * Writes up to {@value #MAX_BATCH_SIZE} entries with one BatchWriteItem call and returns the
+   * entries DynamoDB left unprocessed, so the caller can re-drive them. Entries sharing a key are
+   * collapsed (last one wins) because a batch may not contain duplicate keys.
+   */
+  public List<AuditEntry> writeBatch(List<AuditEntry> entries) {
+    if (entries.isEmpty()) {
+      return List.of();
+    }
+    if (entries.size() > MAX_BATCH_SIZE) {
+      throw new IllegalArgumentException(
+          "A batch may contain at most %d audit entries".formatted(MAX_BATCH_SIZE));
+    }
+
+    Map<String, AuditEntry> byKey = new LinkedHashMap<>();
+    for (AuditEntry entry : entries) {
+      byKey.put(keyOf(entry.partitionKey(), entry.sortKey()), entry);
+    }
+
+    List<WriteRequest> writes = new ArrayList<>(byKey.size());
+    for (AuditEntry entry : byKey.values()) {
+      writes.add(
+          WriteRequest.builder()
+              .putRequest(PutRequest.builder().item(toItem(entry)).build())
+              .build());
+    }
+
+    BatchWriteItemResponse response =
+        ddb.batchWriteItem(
+            BatchWriteItemRequest.builder()
+                .requestItems(Map.of(table, writes))
+                .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)
+                .build());
+    capacity.recordWrite("writeAuditBatch", null, response.consumedCapacity());
+
+    if (!response.hasUnprocessedItems()) {
+      return List.of();
+    }
+    List<WriteRequest> unprocessed = response.unprocessedItems().get(table);
+    if (unprocessed == null || unprocessed.isEmpty()) {
+      return List.of();
+    }
+    List<AuditEntry> remaining = new ArrayList<>(unprocessed.size());
+    for (WriteRequest write : unprocessed) {
+      if (write.putRequest() == null) {
+        continue;
+      }
+      Map<String, AttributeValue> item = write.putRequest().item();
+      AuditEntry entry = byKey.get(keyOf(item.get("PK").s(), item.get("SK").s()));
+      if (entry != null) {
+        remaining.add(entry);
+      }
+    }
+    return remaining;
+  }
+
+  private Map<String, AttributeValue> toItem(AuditEntry entry) {
+    Map<String, AttributeValue> item = new HashMap<>(entry.attributes());
+    item.put("PK", AttributeValue.fromS(entry.partitionKey()));
+    item.put("SK", AttributeValue.fromS(entry.sortKey()));
+    item.put("actorId", AttributeValue.fromS(entry.actorId()));
+    item.put("actorRole", AttributeValue.fromS(entry.actorRole()));
+    item.put("createdAt", AttributeValue.fromS(entry.at().toString()));
+    return item;
+  }
+
+  private static String keyOf(String pk, String sk) {
+    return pk + '\n' + sk;
   }
 }
@@ -0,0 +1,244 @@
+package com.vsm.api.infrastructure.audit;
+
+import com.vsm.api.infrastructure.resilience.LoadSignal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes audit entries off the request thread. Entries are buffered in a bounded queue and a single
+ * flusher thread coalesces them into {@value AuditRepository#MAX_BATCH_SIZE}-item BatchWriteItem
+ * calls, re-driving UnprocessedItems with full-jitter backoff.
+ *
+ * <p>When the buffer is full the caller waits up to {@code enqueue-timeout} and then writes its own
+ * entry synchronously, so a slow table pushes back on request threads instead of dropping entries.
+ * On shutdown intake is closed first, waiting out offers already in flight, and the queue is then
+ * drained, so no entry can be left behind in the buffer.
+ */
+@Component
+public class AuditWriter implements SmartLifecycle, LoadSignal {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuditWriter.class);
+
+  private final AuditRepository repository;
+  private final BlockingQueue<AuditEntry> queue;
+  private final int queueCapacity;
+  private final Duration flushInterval;
+  private final Duration enqueueTimeout;
+  private final Duration shutdownTimeout;
+  private final int maxAttempts;
+  private final Duration backoffBase;
+  private final Duration backoffMax;
+  // Held shared by submitters while they offer, and exclusively by stop() to close intake
+  private final ReadWriteLock intake = new ReentrantReadWriteLock();
+
+  private volatile boolean running;
+  private Thread flusher;
+
+  public AuditWriter(
+      AuditRepository repository,
+      @Value("${app.audit.queue-capacity:2000}") int queueCapacity,
+      @Value("${app.audit.flush-interval:200ms}") Duration flushInterval,
+      @Value("${app.audit.enqueue-timeout:50ms}") Duration enqueueTimeout,
+      @Value("${app.audit.shutdown-timeout:10s}") Duration shutdownTimeout,
+      @Value("${app.audit.max-attempts:5}") int maxAttempts,
+      @Value("${app.audit.backoff-base:50ms}") Duration backoffBase,
+      @Value("${app.audit.backoff-max:2s}") Duration backoffMax) {
+    this.repository = repository;
+    this.queueCapacity = Math.max(1, queueCapacity);
+    this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+    this.flushInterval = flushInterval;
+    this.enqueueTimeout = enqueueTimeout;
+    this.shutdownTimeout = shutdownTimeout;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.backoffBase = backoffBase;
+    this.backoffMax = backoffMax;
+  }
+
+  public void writeSent(String reportId, String coachId, Instant at) {
+    submit(AuditEntry.sent(reportId, coachId, at));
+  }
+
+  public void submit(AuditEntry entry) {
+    if (!enqueue(entry)) {
+      writeWithRetry(List.of(entry));
+    }
+  }
+
+  /** Buffers the entry unless the writer is stopped or the buffer stays full. */
+  private boolean enqueue(AuditEntry entry) {
+    intake.readLock().lock();
+    try {
+      if (!running) {
+        return false;
+      }
+      try {
+        if (queue.offer(entry, enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+          return true;
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      LOGGER.warn(
+          "Audit buffer full; writing {} entry for {} inline", entry.eventType(), entry.reportId());
+      return false;
+    } finally {
+      intake.readLock().unlock();
+    }
+  }
+
+  /** Number of entries waiting to be flushed. */
+  public int pendingEntries() {
+    return queue.size();
+  }
+
+  @Override
+  public String signalName() {
+    return "audit.queue";
+  }
+
+  @Override
+  public double saturation() {
+    return (double) queue.size() / queueCapacity;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    flusher = new Thread(this::runFlusher, "audit-writer");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  @Override
+  public void stop() {
+    Thread current;
+    synchronized (this) {
+      if (!running) {
+        return;
+      }
+      current = flusher;
+      // Waits for offers in flight, so the flusher's final drain sees every buffered entry
+      intake.writeLock().lock();
+      try {
+        running = false;
+      } finally {
+        intake.writeLock().unlock();
+      }
+    }
+    try {
+      current.join(shutdownTimeout.toMillis());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+    if (current.isAlive()) {
+      LOGGER.error(
+          "Audit writer did not drain within {}; {} entries left unwritten",
+          shutdownTimeout,
+          queue.size());
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void runFlusher() {
+    List<AuditEntry> batch = new ArrayList<>(AuditRepository.MAX_BATCH_SIZE);
+    while (running || !queue.isEmpty()) {
+      try {
+        collectBatch(batch);
+        if (!batch.isEmpty()) {
+          writeWithRetry(List.copyOf(batch));
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        LOGGER.error("Unexpected audit writer failure: {}", ex.getMessage(), ex);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Waits for the first entry, then keeps collecting until the batch is full or {@code
+   * flush-interval} has passed since that first entry.
+   */
+  private void collectBatch(List<AuditEntry> batch) throws InterruptedException {
+    AuditEntry first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+    long deadline = System.nanoTime() + flushInterval.toNanos();
+    while (batch.size() < AuditRepository.MAX_BATCH_SIZE) {
+      queue.drainTo(batch, AuditRepository.MAX_BATCH_SIZE - batch.size());
+      long remaining = deadline - System.nanoTime();
+      if (batch.size() >= AuditRepository.MAX_BATCH_SIZE || remaining <= 0 || !running) {
+        return;
+      }
+      AuditEntry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void writeWithRetry(List<AuditEntry> entries) {
+    List<AuditEntry> pending = entries;
+    for (int attempt = 1; ; attempt++) {
+      try {
+        pending = repository.writeBatch(pending);
+      } catch (RuntimeException ex) {
+        LOGGER.warn(
+            "Audit batch write of {} entries failed (attempt {}): {}",
+            pending.size(),
+            attempt,
+            ex.getMessage());
+      }
+      if (pending.isEmpty()) {
+        return;
+      }
+      if (attempt >= maxAttempts) {
+        LOGGER.error(
+            "Dropping {} audit entries after {} attempts: {}",
+            pending.size(),
+            attempt,
+            pending.stream().map(AuditEntry::sortKey).toList());
+        return;
+      }
+      try {
+        Thread.sleep(backoffMillis(attempt));
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        LOGGER.error("Interrupted while re-driving {} audit entries", pending.size());
+        return;
+      }
+    }
+  }
+
+  private long backoffMillis(int attempt) {
+    long ceiling = backoffBase.toMillis() << Math.min(attempt - 1, 16);
+    ceiling = Math.min(Math.max(ceiling, 1), backoffMax.toMillis());
+    return ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+}
@@ -0,0 +1,173 @@
+package com.vsm.api.infrastructure.audit;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Aggregates report views per (reportId, actor) in memory and flushes one compact VIEWED audit
+ * entry per pair and window, carrying the view count plus first- and last-seen timestamps.
+ *
+ * <p>Pairs are sampled deterministically by hashing reportId and actor, so a given viewer is either
+ * always or never tracked for a report and audit writes grow with unique viewers rather than raw
+ * page views. Sampled entries record {@code sampleRate} so counts can be scaled back up.
+ *
+ * <p>When more than {@code max-tracked-pairs} pairs build up before the window ends, one early
+ * flush is handed to a background thread; {@link #recordView} itself never flushes.
+ */
+@Component
+public class ReportViewTracker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReportViewTracker.class);
+  private static final int SAMPLE_BUCKETS = 10_000;
+  private static final ThreadFactory FLUSH_THREADS =
+      Thread.ofVirtual().name("view-flush-", 0).factory();
+
+  private final AuditWriter writer;
+  private final Clock clock;
+  private final double sampleRate;
+  private final int sampleThreshold;
+  private final int maxTrackedPairs;
+  private final ConcurrentHashMap<ViewKey, ViewAggregate> views = new ConcurrentHashMap<>();
+  private final Executor flushExecutor;
+  private final AtomicBoolean earlyFlushPending = new AtomicBoolean();
+
+  @Autowired
+  public ReportViewTracker(
+      AuditWriter writer,
+      Clock clock,
+      @Value("${app.audit.views.sample-rate:1.0}") double sampleRate,
+      @Value("${app.audit.views.max-tracked-pairs:50000}") int maxTrackedPairs) {
+    this(writer, clock, sampleRate, maxTrackedPairs, task -> FLUSH_THREADS.newThread(task).start());
+  }
+
+  ReportViewTracker(
+      AuditWriter writer,
+      Clock clock,
+      double sampleRate,
+      int maxTrackedPairs,
+      Executor flushExecutor) {
+    this.writer = writer;
+    this.flushExecutor = flushExecutor;
+    this.clock = clock;
+    this.sampleRate = Math.min(1.0, Math.max(0.0, sampleRate));
+    this.sampleThreshold = (int) Math.round(this.sampleRate * SAMPLE_BUCKETS);
+    this.maxTrackedPairs = Math.max(1, maxTrackedPairs);
+  }
+
+  public void recordView(String reportId, String actorId, String actorRole) {
+    if (reportId == null || actorId == null || !isSampled(reportId, actorId)) {
+      return;
+    }
+    long now = clock.millis();
+    views.compute(
+        new ViewKey(reportId, actorId, actorRole),
+        (key, aggregate) -> {
+          if (aggregate == null) {
+            return new ViewAggregate(now);
+          }
+          aggregate.record(now);
+          return aggregate;
+        });
+    if (views.size() > maxTrackedPairs && earlyFlushPending.compareAndSet(false, true)) {
+      LOGGER.info("Tracking more than {} report views; flushing early", maxTrackedPairs);
+      flushExecutor.execute(this::flushEarly);
+    }
+  }
+
+  private void flushEarly() {
+    try {
+      flush();
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Early flush of report views failed: {}", ex.getMessage(), ex);
+    } finally {
+      earlyFlushPending.set(false);
+    }
+  }
+
+  /** Hands every aggregated pair to the audit writer and resets the window. */
+  @Scheduled(
+      fixedDelayString = "${app.audit.views.window:5m}",
+      initialDelayString = "${app.audit.views.window:5m}")
+  public void flush() {
+    for (ViewKey key : views.keySet()) {
+      ViewAggregate aggregate = views.remove(key);
+      if (aggregate != null) {
+        writer.submit(toEntry(key, aggregate));
+      }
+    }
+  }
+
+  @PreDestroy
+  void flushOnShutdown() {
+    flush();
+  }
+
+  boolean isSampled(String reportId, String actorId) {
+    if (sampleThreshold >= SAMPLE_BUCKETS) {
+      return true;
+    }
+    int hash = mix((reportId + '|' + actorId).hashCode());
+    return Math.floorMod(hash, SAMPLE_BUCKETS) < sampleThreshold;
+  }
+
+  int trackedPairs() {
+    return views.size();
+  }
+
+  private AuditEntry toEntry(ViewKey key, ViewAggregate aggregate) {
+    Instant firstSeen = Instant.ofEpochMilli(aggregate.firstSeen);
+    Instant lastSeen = Instant.ofEpochMilli(aggregate.lastSeen);
+    Map<String, AttributeValue> attributes = new HashMap<>();
+    attributes.put("viewCount", AttributeValue.fromN(Long.toString(aggregate.count)));
+    attributes.put("firstViewedAt", AttributeValue.fromS(firstSeen.toString()));
+    attributes.put("lastViewedAt", AttributeValue.fromS(lastSeen.toString()));
+    if (sampleRate < 1.0) {
+      attributes.put("sampleRate", AttributeValue.fromN(Double.toString(sampleRate)));
+    }
+    return AuditEntry.viewed(key.reportId(), key.actorId(), key.actorRole(), lastSeen, attributes);
+  }
+
+  /** Murmur3 finalizer; spreads String.hashCode so nearby ids land in different buckets. */
+  private static int mix(int h) {
+    h ^= h >>> 16;
+    h *= 0x85ebca6b;
+    h ^= h >>> 13;
+    h *= 0xc2b2ae35;
+    h ^= h >>> 16;
+    return h;
+  }
+
+  private record ViewKey(String reportId, String actorId, String actorRole) {}
+
+  /** Mutated only inside {@link ConcurrentHashMap#compute}, which serialises access per key. */
+  private static final class ViewAggregate {
+    private final long firstSeen;
+    private long lastSeen;
+    private long count;
+
+    private ViewAggregate(long at) {
+      this.firstSeen = at;
+      this.lastSeen = at;
+      this.count = 1;
+    }
+
+    private void record(long at) {
+      lastSeen = Math.max(lastSeen, at);
+      count++;
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.vsm.api.infrastructure.events;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vsm.api.config.CorrelationIdFilter;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
 import java.time.Clock;
 import java.time.Instant;
 import java.util.HashMap;
@@ -65,7 +66,11 @@ public class ReportEventPublisher {
             .time(now)
             .detail(detail)
             .build();
-    eb.putEvents(PutEventsRequest.builder().entries(entry).build());
+    eb.putEvents(
+        PutEventsRequest.builder()
+            .entries(entry)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build());
   }
 
   private String toJson(Object o) {
@@ -0,0 +1,207 @@
+package com.vsm.api.infrastructure.metrics;
+
+import com.vsm.api.infrastructure.resilience.RequestRoute;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+/**
+ * Aggregates the DynamoDB capacity returned by each call into per-minute counters, keyed by the
+ * HTTP route that triggered the call and the repository operation that made it. Calls made outside
+ * a request (the audit flusher, scheduled jobs) are attributed to {@value #BACKGROUND_ROUTE}.
+ *
+ * <p>Capacity is also summed per playerId so the heaviest players can be listed. At most {@code
+ * max-tracked-players} are kept per minute; the rest are folded into {@value #OTHER_PLAYERS}.
+ * Finished minutes are published to CloudWatch and retained in memory for {@code window}.
+ */
+@Component
+public class CapacityAccountant {
+
+  static final String BACKGROUND_ROUTE = "background";
+  static final String OTHER_PLAYERS = "(other)";
+  private static final long MINUTE_MILLIS = 60_000;
+
+  private final ReportMetricsPublisher publisher;
+  private final Clock clock;
+  private final long retainedMinutes;
+  private final int maxTrackedPlayers;
+  private final int topConsumers;
+  private final ConcurrentSkipListMap<Long, MinuteUsage> minutes = new ConcurrentSkipListMap<>();
+
+  public CapacityAccountant(
+      ReportMetricsPublisher publisher,
+      Clock clock,
+      @Value("${app.capacity.window:15m}") Duration window,
+      @Value("${app.capacity.max-tracked-players:10000}") int maxTrackedPlayers,
+      @Value("${app.capacity.top-consumers:10}") int topConsumers) {
+    this.publisher = publisher;
+    this.clock = clock;
+    this.retainedMinutes = Math.max(1, window.toMinutes());
+    this.maxTrackedPlayers = Math.max(1, maxTrackedPlayers);
+    this.topConsumers = Math.max(1, topConsumers);
+  }
+
+  public void recordRead(String operation, String playerId, ConsumedCapacity consumed) {
+    if (consumed != null) {
+      record(operation, playerId, units(consumed), 0);
+    }
+  }
+
+  /** Batch calls return one entry per table touched. */
+  public void recordRead(String operation, String playerId, List<ConsumedCapacity> consumed) {
+    if (consumed != null && !consumed.isEmpty()) {
+      record(operation, playerId, consumed.stream().mapToDouble(this::units).sum(), 0);
+    }
+  }
+
+  public void recordWrite(String operation, String playerId, ConsumedCapacity consumed) {
+    if (consumed != null) {
+      record(operation, playerId, 0, units(consumed));
+    }
+  }
+
+  /** Batch calls return one entry per table touched. */
+  public void recordWrite(String operation, String playerId, List<ConsumedCapacity> consumed) {
+    if (consumed != null && !consumed.isEmpty()) {
+      record(operation, playerId, 0, consumed.stream().mapToDouble(this::units).sum());
+    }
+  }
+
+  /** Publishes and then expires finished minutes. */
+  @Scheduled(fixedDelayString = "${app.capacity.flush-interval:15s}")
+  public void closeFinishedMinutes() {
+    long current = currentMinute();
+    for (Map.Entry<Long, MinuteUsage> entry : minutes.headMap(current).entrySet()) {
+      MinuteUsage usage = entry.getValue();
+      if (usage.published.compareAndSet(false, true)) {
+        publisher.recordConsumedCapacity(toInstant(entry.getKey()), usage.routeSummaries());
+      }
+    }
+    minutes.headMap(current - retainedMinutes).clear();
+  }
+
+  public Snapshot snapshot() {
+    List<MinuteSummary> summaries = new ArrayList<>();
+    Map<String, PlayerSummary> players = new HashMap<>();
+    minutes
+        .descendingMap()
+        .forEach(
+            (minute, usage) -> {
+              summaries.add(new MinuteSummary(toInstant(minute), usage.routeSummaries()));
+              usage.players.forEach(
+                  (playerId, units) ->
+                      players.merge(
+                          playerId,
+                          new PlayerSummary(playerId, units.read.sum(), units.write.sum()),
+                          PlayerSummary::plus));
+            });
+    List<PlayerSummary> top =
+        players.values().stream()
+            .sorted(Comparator.comparingDouble(PlayerSummary::totalUnits).reversed())
+            .limit(topConsumers)
+            .toList();
+    return new Snapshot(toInstant(currentMinute() - retainedMinutes), summaries, top);
+  }
+
+  private void record(String operation, String playerId, double readUnits, double writeUnits) {
+    MinuteUsage usage = minutes.computeIfAbsent(currentMinute(), minute -> new MinuteUsage());
+    RouteKey routeKey = new RouteKey(currentRoute(), operation);
+    usage.routes.computeIfAbsent(routeKey, key -> new Units()).add(readUnits, writeUnits);
+    if (playerId == null) {
+      return;
+    }
+    Units player = usage.players.get(playerId);
+    if (player == null) {
+      String key = usage.players.size() < maxTrackedPlayers ? playerId : OTHER_PLAYERS;
+      player = usage.players.computeIfAbsent(key, unused -> new Units());
+    }
+    player.add(readUnits, writeUnits);
+  }
+
+  private double units(ConsumedCapacity consumed) {
+    return consumed.capacityUnits() == null ? 0 : consumed.capacityUnits();
+  }
+
+  private long currentMinute() {
+    return clock.millis() / MINUTE_MILLIS;
+  }
+
+  private static Instant toInstant(long minute) {
+    return Instant.ofEpochMilli(minute * MINUTE_MILLIS);
+  }
+
+  /** {@code "<METHOD> <pattern>"} of the request being served, or the background route. */
+  private static String currentRoute() {
+    String route = RequestRoute.current();
+    return route == null ? BACKGROUND_ROUTE : route;
+  }
+
+  public record Snapshot(
+      Instant since, List<MinuteSummary> minutes, List<PlayerSummary> topPlayers) {}
+
+  public record MinuteSummary(Instant minute, List<RouteSummary> routes) {}
+
+  public record RouteSummary(
+      String route, String operation, long calls, double readUnits, double writeUnits) {}
+
+  public record PlayerSummary(String playerId, double readUnits, double writeUnits) {
+    public double totalUnits() {
+      return readUnits + writeUnits;
+    }
+
+    PlayerSummary plus(PlayerSummary other) {
+      return new PlayerSummary(
+          playerId, readUnits + other.readUnits, writeUnits + other.writeUnits);
+    }
+  }
+
+  private record RouteKey(String route, String operation) {}
+
+  private static final class MinuteUsage {
+    private final ConcurrentHashMap<RouteKey, Units> routes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Units> players = new ConcurrentHashMap<>();
+    private final AtomicBoolean published = new AtomicBoolean();
+
+    private List<RouteSummary> routeSummaries() {
+      List<RouteSummary> summaries = new ArrayList<>(routes.size());
+      routes.forEach(
+          (key, units) ->
+              summaries.add(
+                  new RouteSummary(
+                      key.route(),
+                      key.operation(),
+                      units.calls.sum(),
+                      units.read.sum(),
+                      units.write.sum())));
+      summaries.sort(
+          Comparator.comparing(RouteSummary::route).thenComparing(RouteSummary::operation));
+      return summaries;
+    }
+  }
+
+  private static final class Units {
+    private final LongAdder calls = new LongAdder();
+    private final DoubleAdder read = new DoubleAdder();
+    private final DoubleAdder write = new DoubleAdder();
+
+    private void add(double readUnits, double writeUnits) {
+      calls.increment();
+      read.add(readUnits);
+      write.add(writeUnits);
+    }
+  }
+}
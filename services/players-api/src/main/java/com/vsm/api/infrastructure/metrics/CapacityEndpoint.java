@@ -0,0 +1,25 @@
+package com.vsm.api.infrastructure.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes per-minute DynamoDB consumed capacity by route and operation, plus the top consuming
+ * players, at /actuator/capacity.
+ */
+@Component
+@Endpoint(id = "capacity")
+public class CapacityEndpoint {
+
+  private final CapacityAccountant accountant;
+
+  public CapacityEndpoint(CapacityAccountant accountant) {
+    this.accountant = accountant;
+  }
+
+  @ReadOperation
+  public CapacityAccountant.Snapshot capacity() {
+    return accountant.snapshot();
+  }
+}
@@ -0,0 +1,202 @@
+package com.vsm.api.infrastructure.metrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Finds the players and coaches that concentrate traffic on a single partition, using a
+ * space-saving sketch per key type. Each sketch tracks at most {@code capacity} keys, so memory is
+ * constant no matter how many distinct ids are seen; a key's count may be overestimated by at most
+ * its recorded error, and any key with more than {@code 1/capacity} of the traffic is always kept.
+ *
+ * <p>Counts are taken over fixed windows. Rates and the hot flag come from the last finished
+ * window, and a key is hot only when its guaranteed count (count minus error) reaches the
+ * configured rate, so an evicted-and-replaced key is never reported hot by accident.
+ */
+@Component
+public class HotKeyDetector {
+
+  public enum KeyType {
+    PLAYER,
+    COACH
+  }
+
+  private final Clock clock;
+  private final long windowMillis;
+  private final int capacity;
+  private final Map<KeyType, Double> hotRates = new EnumMap<>(KeyType.class);
+  private final Map<KeyType, Sketch> sketches = new EnumMap<>(KeyType.class);
+
+  public HotKeyDetector(
+      Clock clock,
+      @Value("${app.hot-keys.window:10s}") Duration window,
+      @Value("${app.hot-keys.capacity:64}") int capacity,
+      @Value("${app.hot-keys.player-hot-rate:5}") double playerHotRate,
+      @Value("${app.hot-keys.coach-hot-rate:2}") double coachHotRate) {
+    this.clock = clock;
+    this.windowMillis = Math.max(1_000, window.toMillis());
+    this.capacity = Math.max(1, capacity);
+    hotRates.put(KeyType.PLAYER, playerHotRate);
+    hotRates.put(KeyType.COACH, coachHotRate);
+    long start = alignedStart(clock.millis());
+    for (KeyType type : KeyType.values()) {
+      sketches.put(type, new Sketch(start));
+    }
+  }
+
+  public void record(KeyType type, String key) {
+    if (key == null || key.isBlank()) {
+      return;
+    }
+    Sketch sketch = sketches.get(type);
+    synchronized (sketch) {
+      sketch.roll(clock.millis());
+      sketch.current.offer(key);
+    }
+  }
+
+  public boolean isHot(KeyType type, String key) {
+    if (key == null) {
+      return false;
+    }
+    Sketch sketch = sketches.get(type);
+    long guaranteed;
+    synchronized (sketch) {
+      sketch.roll(clock.millis());
+      Counter counter = sketch.previous.counters.get(key);
+      guaranteed = counter == null ? 0 : counter.count - counter.error;
+    }
+    return guaranteed > 0 && perSecond(guaranteed) >= hotRates.get(type);
+  }
+
+  public Snapshot snapshot() {
+    Map<KeyType, List<HotKey>> keys = new EnumMap<>(KeyType.class);
+    long windowStart = 0;
+    for (KeyType type : KeyType.values()) {
+      Sketch sketch = sketches.get(type);
+      List<HotKey> hotKeys = new ArrayList<>();
+      synchronized (sketch) {
+        sketch.roll(clock.millis());
+        windowStart = sketch.start - windowMillis;
+        double threshold = hotRates.get(type);
+        sketch.previous.counters.forEach(
+            (key, counter) ->
+                hotKeys.add(
+                    new HotKey(
+                        key,
+                        perSecond(counter.count),
+                        perSecond(counter.error),
+                        perSecond(counter.count - counter.error) >= threshold)));
+      }
+      hotKeys.sort(Comparator.comparingDouble(HotKey::estimatedRate).reversed());
+      keys.put(type, hotKeys);
+    }
+    return new Snapshot(
+        Instant.ofEpochMilli(windowStart),
+        Duration.ofMillis(windowMillis),
+        keys.get(KeyType.PLAYER),
+        keys.get(KeyType.COACH));
+  }
+
+  private double perSecond(long count) {
+    return count * 1_000.0 / windowMillis;
+  }
+
+  private long alignedStart(long now) {
+    return now - Math.floorMod(now, windowMillis);
+  }
+
+  /** Estimated requests per second over the last finished window; error is the overestimate. */
+  public record HotKey(String key, double estimatedRate, double maxErrorRate, boolean hot) {}
+
+  public record Snapshot(
+      Instant windowStart, Duration window, List<HotKey> players, List<HotKey> coaches) {}
+
+  /** The window being counted and the last finished one; guarded by its own monitor. */
+  private final class Sketch {
+    private long start;
+    private SpaceSaving current = new SpaceSaving(capacity);
+    private SpaceSaving previous = new SpaceSaving(capacity);
+
+    private Sketch(long start) {
+      this.start = start;
+    }
+
+    private void roll(long now) {
+      if (now < start + windowMillis) {
+        return;
+      }
+      previous = now < start + 2 * windowMillis ? current : new SpaceSaving(capacity);
+      current = new SpaceSaving(capacity);
+      start = alignedStart(now);
+    }
+  }
+
+  /**
+   * Metwally et al. space-saving: a new key replaces the smallest counter and inherits its count as
+   * error. The linear scan for the minimum is cheap at the small capacities used here.
+   */
+  static final class SpaceSaving {
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    SpaceSaving(int capacity) {
+      this.capacity = capacity;
+      this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void offer(String key) {
+      Counter counter = counters.get(key);
+      if (counter != null) {
+        counter.count++;
+        return;
+      }
+      if (counters.size() < capacity) {
+        counters.put(key, new Counter(1, 0));
+        return;
+      }
+      Map.Entry<String, Counter> smallest = null;
+      for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+        if (smallest == null || entry.getValue().count < smallest.getValue().count) {
+          smallest = entry;
+        }
+      }
+      long floor = smallest.getValue().count;
+      counters.remove(smallest.getKey());
+      counters.put(key, new Counter(floor + 1, floor));
+    }
+
+    long count(String key) {
+      Counter counter = counters.get(key);
+      return counter == null ? 0 : counter.count;
+    }
+
+    long error(String key) {
+      Counter counter = counters.get(key);
+      return counter == null ? 0 : counter.error;
+    }
+
+    int size() {
+      return counters.size();
+    }
+  }
+
+  private static final class Counter {
+    private long count;
+    private final long error;
+
+    private Counter(long count, long error) {
+      this.count = count;
+      this.error = error;
+    }
+  }
+}
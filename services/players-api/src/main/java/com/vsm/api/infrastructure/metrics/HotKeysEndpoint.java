@@ -0,0 +1,22 @@
+package com.vsm.api.infrastructure.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** Exposes the busiest players and coaches, with estimated request rates, at /actuator/hotkeys. */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+  private final HotKeyDetector detector;
+
+  public HotKeysEndpoint(HotKeyDetector detector) {
+    this.detector = detector;
+  }
+
+  @ReadOperation
+  public HotKeyDetector.Snapshot hotKeys() {
+    return detector.snapshot();
+  }
+}
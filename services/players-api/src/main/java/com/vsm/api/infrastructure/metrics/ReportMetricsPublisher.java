@@ -1,7 +1,9 @@
 package com.vsm.api.infrastructure.metrics;
 
 import com.vsm.api.config.CorrelationIdFilter;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
@@ -24,6 +26,9 @@ public class ReportMetricsPublisher {
   private static final String METRIC_REPORT_CREATE_LATENCY = "report_create_latency";
   private static final String METRIC_REPORT_CREATE_LATENCY_DETAILED =
       "report_create_latency_by_outcome";
+  private static final String METRIC_CONSUMED_READ_UNITS = "dynamodb_consumed_read_units";
+  private static final String METRIC_CONSUMED_WRITE_UNITS = "dynamodb_consumed_write_units";
+  private static final int MAX_DATA_PER_REQUEST = 1000;
 
   private final CloudWatchClient cloudWatchClient;
   private final String namespace;
@@ -51,13 +56,7 @@ public class ReportMetricsPublisher {
       return;
     }
 
-    List<Dimension> baseDimensions = new ArrayList<>();
-    if (StringUtils.hasText(service)) {
-      baseDimensions.add(Dimension.builder().name("Service").value(service).build());
-    }
-    if (StringUtils.hasText(stage)) {
-      baseDimensions.add(Dimension.builder().name("Stage").value(stage).build());
-    }
+    List<Dimension> baseDimensions = baseDimensions();
 
     MetricDatum primaryDatum =
         MetricDatum.builder()
@@ -95,14 +94,71 @@ public class ReportMetricsPublisher {
               .build());
     }
 
-    PutMetricDataRequest request =
-        PutMetricDataRequest.builder().namespace(namespace).metricData(data).build();
-
     try {
+      PutMetricDataRequest request =
+          PutMetricDataRequest.builder()
+              .namespace(namespace)
+              .metricData(data)
+              .overrideConfiguration(RequestDeadline.sdkOverride())
+              .build();
       cloudWatchClient.putMetricData(request);
     } catch (Exception ex) {
       LOGGER.warn(
           "Failed to publish {} metric: {}", METRIC_REPORT_CREATE_LATENCY, ex.getMessage(), ex);
     }
   }
+
+  /**
+   * Publishes one minute of DynamoDB consumed capacity per route and operation. Runs on the
+   * accountant's scheduler, so it keeps the client's own timeouts.
+   */
+  public void recordConsumedCapacity(
+      Instant minute, List<CapacityAccountant.RouteSummary> routes) {
+    List<MetricDatum> data = new ArrayList<>();
+    for (CapacityAccountant.RouteSummary route : routes) {
+      List<Dimension> dimensions = baseDimensions();
+      dimensions.add(Dimension.builder().name("Route").value(route.route()).build());
+      dimensions.add(Dimension.builder().name("Operation").value(route.operation()).build());
+      if (route.readUnits() > 0) {
+        data.add(capacityDatum(METRIC_CONSUMED_READ_UNITS, minute, route.readUnits(), dimensions));
+      }
+      if (route.writeUnits() > 0) {
+        data.add(
+            capacityDatum(METRIC_CONSUMED_WRITE_UNITS, minute, route.writeUnits(), dimensions));
+      }
+    }
+
+    for (int from = 0; from < data.size(); from += MAX_DATA_PER_REQUEST) {
+      List<MetricDatum> chunk =
+          data.subList(from, Math.min(data.size(), from + MAX_DATA_PER_REQUEST));
+      try {
+        cloudWatchClient.putMetricData(
+            PutMetricDataRequest.builder().namespace(namespace).metricData(chunk).build());
+      } catch (Exception ex) {
+        LOGGER.warn("Failed to publish consumed capacity for {}: {}", minute, ex.getMessage(), ex);
+      }
+    }
+  }
+
+  private List<Dimension> baseDimensions() {
+    List<Dimension> dimensions = new ArrayList<>();
+    if (StringUtils.hasText(service)) {
+      dimensions.add(Dimension.builder().name("Service").value(service).build());
+    }
+    if (StringUtils.hasText(stage)) {
+      dimensions.add(Dimension.builder().name("Stage").value(stage).build());
+    }
+    return dimensions;
+  }
+
+  private static MetricDatum capacityDatum(
+      String name, Instant minute, double units, List<Dimension> dimensions) {
+    return MetricDatum.builder()
+        .metricName(name)
+        .unit(StandardUnit.COUNT)
+        .timestamp(minute)
+        .value(units)
+        .dimensions(dimensions)
+        .build();
+  }
 }
@@ -0,0 +1,156 @@
+package com.vsm.api.infrastructure.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency-driven concurrency limit (a simplified form of the gradient algorithm). Each completed
+ * request compares its round-trip time to a slowly moving baseline: while latency stays within
+ * {@code rttTolerance} of the baseline the limit grows by roughly {@code sqrt(limit)}, and as
+ * latency rises the limit shrinks proportionally. Failed requests back the limit off
+ * multiplicatively.
+ *
+ * <p>Callers that cannot get a permit should be rejected immediately rather than queued, so the
+ * work that is admitted keeps completing at normal latency during downstream brownouts.
+ */
+public class AdaptiveConcurrencyLimiter implements MeterBinder, LoadSignal {
+
+  /** Weight of each new sample in the baseline; about a 500-request window. */
+  private static final double BASELINE_WEIGHT = 0.002;
+
+  private final String metricPrefix;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double rttTolerance;
+  private final double smoothing;
+  private final double backoffRatio;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+  private volatile double limit;
+  private double baselineRttNanos;
+
+  public AdaptiveConcurrencyLimiter(
+      String metricPrefix,
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      double rttTolerance,
+      double smoothing,
+      double backoffRatio) {
+    this.metricPrefix = metricPrefix;
+    this.minLimit = Math.max(1, minLimit);
+    this.maxLimit = Math.max(this.minLimit, maxLimit);
+    this.rttTolerance = rttTolerance;
+    this.smoothing = smoothing;
+    this.backoffRatio = backoffRatio;
+    this.limit = clamp(initialLimit);
+  }
+
+  /** Returns a permit, or {@code null} when the current limit is reached. */
+  public Permit tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        rejected.increment();
+        return null;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return new Permit(System.nanoTime(), current + 1);
+      }
+    }
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  @Override
+  public String signalName() {
+    return metricPrefix;
+  }
+
+  @Override
+  public double saturation() {
+    return inFlight.get() / limit;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(metricPrefix + ".limit", this, AdaptiveConcurrencyLimiter::getLimit)
+        .description("Current adaptive concurrency limit")
+        .register(registry);
+    Gauge.builder(metricPrefix + ".inflight", this, AdaptiveConcurrencyLimiter::getInFlight)
+        .description("Requests currently holding a permit")
+        .register(registry);
+    FunctionCounter.builder(
+            metricPrefix + ".rejected", this, AdaptiveConcurrencyLimiter::getRejected)
+        .description("Requests rejected because the limit was reached")
+        .register(registry);
+  }
+
+  private synchronized void onSample(long rttNanos, int inFlightAtStart, boolean dropped) {
+    double current = limit;
+    if (dropped) {
+      limit = clamp(current * backoffRatio);
+      return;
+    }
+    double rtt = Math.max(1, rttNanos);
+    if (baselineRttNanos == 0) {
+      baselineRttNanos = rtt;
+    } else {
+      baselineRttNanos += (rtt - baselineRttNanos) * BASELINE_WEIGHT;
+    }
+    if (baselineRttNanos / rtt > 2) {
+      // Latency dropped well below the baseline (e.g. after a cold start); let it catch up.
+      baselineRttNanos *= 0.95;
+    }
+    if (inFlightAtStart < current / 2) {
+      // Not limit-bound: this sample says nothing about whether more concurrency is safe.
+      return;
+    }
+    double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * baselineRttNanos / rtt));
+    double target = current * gradient + Math.sqrt(current);
+    limit = clamp(current * (1 - smoothing) + target * smoothing);
+  }
+
+  private double clamp(double candidate) {
+    return Math.max(minLimit, Math.min(maxLimit, candidate));
+  }
+
+  /** A held slot; release exactly once when the request completes. */
+  public final class Permit {
+    private final long startNanos;
+    private final int inFlightAtStart;
+    private boolean released;
+
+    private Permit(long startNanos, int inFlightAtStart) {
+      this.startNanos = startNanos;
+      this.inFlightAtStart = inFlightAtStart;
+    }
+
+    /**
+     * @param dropped whether the request failed in a way that signals overload (5xx, timeout)
+     */
+    public void release(boolean dropped) {
+      if (released) {
+        return;
+      }
+      released = true;
+      inFlight.decrementAndGet();
+      onSample(System.nanoTime() - startNanos, inFlightAtStart, dropped);
+    }
+  }
+}
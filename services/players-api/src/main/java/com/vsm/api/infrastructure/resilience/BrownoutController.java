@@ -0,0 +1,276 @@
+package com.vsm.api.infrastructure.resilience;
+
+import com.vsm.api.config.ResilienceProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sheds optional create stages when the service is overloaded. Pressure is the highest of the
+ * registered {@link LoadSignal}s; every enter threshold it crosses sheds one more stage, in {@link
+ * OptionalStage} order.
+ *
+ * <p>Each stage is also shed on its own once its recent latency reaches its budget, so one slow
+ * dependency (the SOAP stamp, say) is dropped without taking the healthy stages with it.
+ *
+ * <p>Escalation is immediate. Recovery is one level (or stage) at a time, only once pressure has
+ * fallen {@code hysteresis} below the threshold and the level has been held for {@code cool-down},
+ * so the service does not flap at the boundary.
+ */
+@Component
+public class BrownoutController implements MeterBinder {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BrownoutController.class);
+  private static final OptionalStage[] STAGES = OptionalStage.values();
+
+  /** Weight of each new latency sample; roughly the last 20 calls. */
+  private static final double LATENCY_WEIGHT = 0.1;
+
+  /** A stage whose average latency reaches this share of its budget is shed on its own. */
+  private static final double STAGE_ENTER_THRESHOLD = 1.0;
+
+  private final boolean enabled;
+  private final double[] enterThresholds;
+  private final double hysteresis;
+  private final Duration coolDown;
+  private final List<LoadSignal> signals;
+  private final Clock clock;
+  private final Map<OptionalStage, Long> budgetNanos = new EnumMap<>(OptionalStage.class);
+  private final Map<OptionalStage, AtomicLong> latencyNanos = new EnumMap<>(OptionalStage.class);
+  private final Map<OptionalStage, LongAdder> skipped = new EnumMap<>(OptionalStage.class);
+  // Written by evaluate() only
+  private final Map<OptionalStage, Instant> slowSince = new EnumMap<>(OptionalStage.class);
+
+  private volatile int level;
+  private volatile Set<OptionalStage> slowStages = Collections.emptySet();
+  private volatile double pressure;
+  private volatile Instant levelSince;
+
+  public BrownoutController(
+      ResilienceProperties properties, List<LoadSignal> signals, Clock clock) {
+    ResilienceProperties.Brownout brownout = properties.getBrownout();
+    this.enabled = brownout.isEnabled();
+    this.enterThresholds =
+        brownout.getEnterThresholds().stream()
+            .limit(STAGES.length)
+            .mapToDouble(Double::doubleValue)
+            .toArray();
+    this.hysteresis = brownout.getHysteresis();
+    this.coolDown = brownout.getCoolDown();
+    this.signals = List.copyOf(signals);
+    this.clock = clock;
+    this.levelSince = clock.instant();
+    budgetNanos.put(OptionalStage.PERCENTILES, nanos(brownout.getPercentilesBudget()));
+    budgetNanos.put(OptionalStage.SOAP_STAMP, nanos(brownout.getSoapStampBudget()));
+    budgetNanos.put(OptionalStage.CREATE_METRIC, nanos(brownout.getCreateMetricBudget()));
+    budgetNanos.put(OptionalStage.AUDIT, nanos(brownout.getAuditBudget()));
+    for (OptionalStage stage : STAGES) {
+      latencyNanos.put(stage, new AtomicLong(Double.doubleToLongBits(0)));
+      skipped.put(stage, new LongAdder());
+    }
+  }
+
+  public boolean isShed(OptionalStage stage) {
+    return stage.ordinal() < level || slowStages.contains(stage);
+  }
+
+  /** Stages shed right now; take one snapshot per request so its stages stay consistent. */
+  public Set<OptionalStage> shedStages() {
+    int current = level;
+    Set<OptionalStage> slow = slowStages;
+    if (current == 0 && slow.isEmpty()) {
+      return Collections.emptySet();
+    }
+    EnumSet<OptionalStage> shed = EnumSet.noneOf(OptionalStage.class);
+    shed.addAll(slow);
+    for (int i = 0; i < current; i++) {
+      shed.add(STAGES[i]);
+    }
+    return shed;
+  }
+
+  public void recordStageLatency(OptionalStage stage, long nanos) {
+    AtomicLong bits = latencyNanos.get(stage);
+    while (true) {
+      long current = bits.get();
+      double average = Double.longBitsToDouble(current);
+      double next = average == 0 ? nanos : average + (nanos - average) * LATENCY_WEIGHT;
+      if (bits.compareAndSet(current, Double.doubleToLongBits(next))) {
+        return;
+      }
+    }
+  }
+
+  public void recordSkipped(OptionalStage stage) {
+    skipped.get(stage).increment();
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  /** Recomputes pressure and moves the brownout level, and each stage, up or down. */
+  @Scheduled(fixedDelayString = "${app.resilience.brownout.evaluation-interval:1s}")
+  public void evaluate() {
+    if (!enabled) {
+      return;
+    }
+    Instant now = clock.instant();
+    evaluateStages(now);
+    double current = currentPressure();
+    pressure = current;
+    int target = 0;
+    while (target < enterThresholds.length && current >= enterThresholds[target]) {
+      target++;
+    }
+
+    int previous = level;
+    if (target > previous) {
+      for (int i = previous; i < target; i++) {
+        latencyNanos.get(STAGES[i]).set(Double.doubleToLongBits(0));
+      }
+      transition(previous, target, current, now);
+    } else if (target < previous
+        && current < enterThresholds[previous - 1] - hysteresis
+        && !now.isBefore(levelSince.plus(coolDown))) {
+      transition(previous, previous - 1, current, now);
+    }
+  }
+
+  public Snapshot snapshot() {
+    Map<String, Double> signalValues = new LinkedHashMap<>();
+    signals.forEach(signal -> signalValues.put(signal.signalName(), signal.saturation()));
+    Map<OptionalStage, Double> latencies = new EnumMap<>(OptionalStage.class);
+    Map<OptionalStage, Long> skippedCounts = new EnumMap<>(OptionalStage.class);
+    for (OptionalStage stage : STAGES) {
+      latencies.put(stage, averageLatencyNanos(stage) / 1_000_000d);
+      skippedCounts.put(stage, skipped.get(stage).sum());
+    }
+    return new Snapshot(
+        enabled,
+        level,
+        shedStages(),
+        slowStages,
+        pressure,
+        levelSince,
+        signalValues,
+        latencies,
+        skippedCounts);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("reports.brownout.level", this, BrownoutController::getLevel)
+        .description("Number of optional create stages currently shed")
+        .register(registry);
+    for (OptionalStage stage : STAGES) {
+      FunctionCounter.builder("reports.brownout.skipped", skipped.get(stage), LongAdder::sum)
+          .tag("stage", stage.name())
+          .description("Optional create stages skipped during a brownout")
+          .register(registry);
+    }
+  }
+
+  private double currentPressure() {
+    double max = 0;
+    for (LoadSignal signal : signals) {
+      max = Math.max(max, signal.saturation());
+    }
+    return max;
+  }
+
+  /**
+   * Sheds each stage whose latency has reached its budget, and restores one whose cool-down has
+   * passed. A shed stage records no latency, so its average is reset and it is probed again once
+   * restored.
+   */
+  private void evaluateStages(Instant now) {
+    EnumSet<OptionalStage> slow = EnumSet.noneOf(OptionalStage.class);
+    slow.addAll(slowStages);
+    boolean changed = false;
+    for (OptionalStage stage : STAGES) {
+      long budget = budgetNanos.get(stage);
+      if (budget <= 0) {
+        continue;
+      }
+      double stagePressure = averageLatencyNanos(stage) / budget;
+      if (!slow.contains(stage)) {
+        if (stagePressure >= STAGE_ENTER_THRESHOLD) {
+          slow.add(stage);
+          slowSince.put(stage, now);
+          latencyNanos.get(stage).set(Double.doubleToLongBits(0));
+          changed = true;
+          LOGGER.warn(
+              "Stage {} over its latency budget at pressure {}; shedding it",
+              stage,
+              String.format("%.2f", stagePressure));
+        }
+      } else if (stagePressure < STAGE_ENTER_THRESHOLD - hysteresis
+          && !now.isBefore(slowSince.get(stage).plus(coolDown))) {
+        slow.remove(stage);
+        changed = true;
+        LOGGER.info("Stage {} restored after cool-down", stage);
+      }
+    }
+    if (changed) {
+      slowStages = Collections.unmodifiableSet(slow);
+    }
+  }
+
+  private double averageLatencyNanos(OptionalStage stage) {
+    return Double.longBitsToDouble(latencyNanos.get(stage).get());
+  }
+
+  private void transition(int from, int to, double current, Instant now) {
+    level = to;
+    levelSince = now;
+    if (to > from) {
+      LOGGER.warn(
+          "Brownout level {} -> {} at pressure {}; shedding {}",
+          from,
+          to,
+          String.format("%.2f", current),
+          shedStages());
+    } else {
+      LOGGER.info(
+          "Brownout level {} -> {} at pressure {}; restored {}",
+          from,
+          to,
+          String.format("%.2f", current),
+          STAGES[to]);
+    }
+  }
+
+  private static long nanos(Duration duration) {
+    return duration == null || duration.isNegative() ? 0 : duration.toNanos();
+  }
+
+  /** Point-in-time view for the actuator endpoint. */
+  public record Snapshot(
+      boolean enabled,
+      int level,
+      Set<OptionalStage> shedStages,
+      Set<OptionalStage> slowStages,
+      double pressure,
+      Instant levelSince,
+      Map<String, Double> signals,
+      Map<OptionalStage, Double> stageLatencyMillis,
+      Map<OptionalStage, Long> skipped) {}
+}
@@ -0,0 +1,22 @@
+package com.vsm.api.infrastructure.resilience;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** Exposes the current brownout level, pressure inputs and skipped stages at /actuator/brownout. */
+@Component
+@Endpoint(id = "brownout")
+public class BrownoutEndpoint {
+
+  private final BrownoutController controller;
+
+  public BrownoutEndpoint(BrownoutController controller) {
+    this.controller = controller;
+  }
+
+  @ReadOperation
+  public BrownoutController.Snapshot brownout() {
+    return controller.snapshot();
+  }
+}
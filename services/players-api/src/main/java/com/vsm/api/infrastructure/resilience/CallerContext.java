@@ -0,0 +1,31 @@
+package com.vsm.api.infrastructure.resilience;
+
+import java.util.Map;
+import java.util.function.Supplier;
+import org.slf4j.MDC;
+
+/**
+ * Carries the calling thread's request deadline, MDC and route over to work that runs on another
+ * thread, so downstream calls keep their timeout, correlation id and capacity route. Everything is
+ * copied when the call is wrapped; the servlet request itself is never shared with the worker.
+ */
+public final class CallerContext {
+
+  private CallerContext() {}
+
+  /** Captures the context now; the returned supplier installs it for the duration of the call. */
+  public static <T> Supplier<T> wrap(Supplier<T> call) {
+    Supplier<T> withContext = RequestRoute.propagate(RequestDeadline.propagate(call));
+    Map<String, String> mdc = MDC.getCopyOfContextMap();
+    return () -> {
+      if (mdc != null) {
+        MDC.setContextMap(mdc);
+      }
+      try {
+        return withContext.get();
+      } finally {
+        MDC.clear();
+      }
+    };
+  }
+}
@@ -0,0 +1,13 @@
+package com.vsm.api.infrastructure.resilience;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Thrown instead of starting downstream work once the request deadline has passed. */
+@ResponseStatus(value = HttpStatus.GATEWAY_TIMEOUT, reason = "Request deadline exceeded")
+public class DeadlineExceededException extends RuntimeException {
+
+  public DeadlineExceededException() {
+    super("Request deadline exceeded");
+  }
+}
@@ -0,0 +1,11 @@
+package com.vsm.api.infrastructure.resilience;
+
+/** A component that can report how close it is to saturation. */
+public interface LoadSignal {
+
+  /** Short, stable name used in logs and the brownout endpoint. */
+  String signalName();
+
+  /** Current utilisation, where {@code 1.0} means fully saturated. */
+  double saturation();
+}
@@ -0,0 +1,22 @@
+package com.vsm.api.infrastructure.resilience;
+
+/**
+ * Non-essential work on the report create path, in the order it is shed during a brownout. Stages
+ * that can be replayed later are recorded on the report item so they can be backfilled.
+ */
+public enum OptionalStage {
+  PERCENTILES(false),
+  SOAP_STAMP(true),
+  CREATE_METRIC(false),
+  AUDIT(true);
+
+  private final boolean backfillable;
+
+  OptionalStage(boolean backfillable) {
+    this.backfillable = backfillable;
+  }
+
+  public boolean isBackfillable() {
+    return backfillable;
+  }
+}
@@ -0,0 +1,92 @@
+package com.vsm.api.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent idempotent reads concurrently on virtual threads. Each read holds one of the
+ * shared {@link ReadPermits}, so a wide fan-out cannot exhaust the SDK connection pool. Reads
+ * inherit the caller's deadline, MDC and route.
+ *
+ * <p>Each key gets its own {@link Result}; a failed read does not fail the others, so callers can
+ * return partial results. Reads still waiting for a permit or running when the request deadline
+ * passes are interrupted and reported as {@link DeadlineExceededException}.
+ */
+public class ParallelReads implements AutoCloseable {
+
+  private static final Thread.Builder READ_THREADS = Thread.ofVirtual().name("parallel-read-", 0);
+
+  private final ReadPermits permits;
+  private final ExecutorService executor;
+
+  public ParallelReads(ReadPermits permits) {
+    this.permits = permits;
+    this.executor = Executors.newThreadPerTaskExecutor(READ_THREADS.factory());
+  }
+
+  /** Results in the iteration order of {@code keys}. */
+  public <K, T> Map<K, Result<T>> readAll(Collection<K> keys, Function<K, T> read) {
+    Map<K, Result<T>> results = new LinkedHashMap<>();
+    Map<K, Future<T>> running = new LinkedHashMap<>();
+    for (K key : keys) {
+      Supplier<T> task = CallerContext.wrap(() -> permits.withPermit(() -> read.apply(key)));
+      running.put(key, executor.submit(task::get));
+    }
+    running.forEach((key, future) -> results.put(key, await(future)));
+    return results;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private static <T> Result<T> await(Future<T> future) {
+    Duration remaining = RequestDeadline.remaining();
+    try {
+      T value =
+          remaining == null
+              ? future.get()
+              : future.get(Math.max(0, remaining.toNanos()), TimeUnit.NANOSECONDS);
+      return Result.success(value);
+    } catch (TimeoutException ex) {
+      future.cancel(true);
+      return Result.failure(new DeadlineExceededException());
+    } catch (InterruptedException ex) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      return Result.failure(new CancellationException("Interrupted while waiting for a read"));
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      return Result.failure(
+          cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause));
+    }
+  }
+
+  /** Either the value read or the error that prevented it. */
+  public record Result<T>(T value, RuntimeException error) {
+
+    static <T> Result<T> success(T value) {
+      return new Result<>(value, null);
+    }
+
+    static <T> Result<T> failure(RuntimeException error) {
+      return new Result<>(null, error);
+    }
+
+    public boolean succeeded() {
+      return error == null;
+    }
+  }
+}
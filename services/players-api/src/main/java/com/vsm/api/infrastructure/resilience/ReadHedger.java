@@ -0,0 +1,295 @@
+package com.vsm.api.infrastructure.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Hedges idempotent reads: if the first attempt has not answered within the operation's recent p95
+ * latency, a second identical attempt is started, the first successful response wins and the
+ * other attempt is interrupted, which aborts its in-flight SDK call.
+ *
+ * <p>Hedges draw from a shared budget that earns {@code budgetRatio} of a hedge per read (capped at
+ * {@code maxBurst}), so hedging adds at most that fraction of extra load even when a dependency is
+ * slow across the board. A hedge also needs a free {@link ReadPermits} permit, shared with {@link
+ * ParallelReads}, and is skipped when there is none. Only operations with at least {@code
+ * warmupSamples} observed latencies are hedged; every attempt counts towards the p95, including
+ * failed and interrupted ones, so the delay does not drift down to the latency of the attempts that
+ * happened to win. Attempts run on virtual threads and inherit the caller's deadline, MDC and
+ * route.
+ *
+ * <p>Hedging is off unless enabled; a disabled hedger runs every read once, on the calling thread.
+ * Callers opt in per call site; use it only for reads that are safe to issue twice.
+ */
+public class ReadHedger implements AutoCloseable {
+
+  private static final long CREDIT_SCALE = 1_000;
+  private static final int WINDOW = 256;
+  private static final int RECOMPUTE_EVERY = 32;
+  private static final Thread.Builder HEDGE_THREADS = Thread.ofVirtual().name("read-hedge-", 0);
+
+  private final boolean enabled;
+  private final long creditPerRead;
+  private final long maxCredit;
+  private final long minDelayNanos;
+  private final long maxDelayNanos;
+  private final int warmupSamples;
+  private final ReadPermits permits;
+  private final MeterRegistry registry;
+  private final ExecutorService executor;
+  private final AtomicLong credit = new AtomicLong();
+  private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+  private final Counter budgetExhausted;
+  private final Counter saturated;
+
+  public ReadHedger(
+      boolean enabled,
+      double budgetRatio,
+      int maxBurst,
+      Duration minDelay,
+      Duration maxDelay,
+      int warmupSamples,
+      ReadPermits permits,
+      MeterRegistry registry) {
+    this.enabled = enabled;
+    this.creditPerRead = Math.round(Math.max(0, budgetRatio) * CREDIT_SCALE);
+    this.maxCredit = Math.max(1, maxBurst) * CREDIT_SCALE;
+    this.minDelayNanos = minDelay.toNanos();
+    this.maxDelayNanos = Math.max(minDelayNanos, maxDelay.toNanos());
+    this.warmupSamples = Math.max(1, Math.min(WINDOW, warmupSamples));
+    this.permits = permits;
+    this.registry = registry;
+    this.executor = enabled ? Executors.newThreadPerTaskExecutor(HEDGE_THREADS.factory()) : null;
+    this.budgetExhausted =
+        Counter.builder("reads.hedge.budget.exhausted")
+            .description("Hedges not sent because the hedge budget was spent")
+            .register(registry);
+    this.saturated =
+        Counter.builder("reads.hedge.saturated")
+            .description("Hedges not sent because every read permit was in use")
+            .register(registry);
+  }
+
+  public <T> T read(String operation, Supplier<T> call) {
+    if (!enabled) {
+      return call.get();
+    }
+    OperationStats stats = operations.computeIfAbsent(operation, this::newStats);
+    deposit();
+    Supplier<T> task = CallerContext.wrap(call);
+
+    Attempt<T> primary = start(stats, task, () -> {});
+    long delay = stats.hedgeDelayNanos();
+    if (delay < 0) {
+      return await(primary.result);
+    }
+    try {
+      return unwrap(() -> primary.result.get(delay, TimeUnit.NANOSECONDS));
+    } catch (HedgeTimeout timeout) {
+      // primary is slow; fall through and hedge
+    }
+
+    if (!permits.tryAcquire()) {
+      saturated.increment();
+      return await(primary.result);
+    }
+    if (!withdraw()) {
+      permits.release();
+      budgetExhausted.increment();
+      return await(primary.result);
+    }
+    stats.sent.increment();
+    Attempt<T> hedge = start(stats, task, permits::release);
+    try {
+      Winner<T> winner = await(firstSuccess(primary, hedge));
+      if (winner.hedged()) {
+        stats.won.increment();
+      }
+      return winner.value();
+    } finally {
+      primary.cancel();
+      hedge.cancel();
+    }
+  }
+
+  @Override
+  public void close() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  long hedgeDelayNanos(String operation) {
+    OperationStats stats = operations.get(operation);
+    return stats == null ? -1 : stats.hedgeDelayNanos();
+  }
+
+  private <T> Attempt<T> start(OperationStats stats, Supplier<T> task, Runnable done) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Future<?> running =
+        executor.submit(
+            () -> {
+              long started = System.nanoTime();
+              try {
+                result.complete(task.get());
+              } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+              } finally {
+                stats.record(System.nanoTime() - started);
+                done.run();
+              }
+            });
+    return new Attempt<>(running, result);
+  }
+
+  private static <T> CompletableFuture<Winner<T>> firstSuccess(
+      Attempt<T> primary, Attempt<T> hedge) {
+    CompletableFuture<Winner<T>> winner = new CompletableFuture<>();
+    AtomicInteger failures = new AtomicInteger();
+    primary.result.whenComplete((value, error) -> settle(winner, failures, value, error, false));
+    hedge.result.whenComplete((value, error) -> settle(winner, failures, value, error, true));
+    return winner;
+  }
+
+  private static <T> void settle(
+      CompletableFuture<Winner<T>> winner,
+      AtomicInteger failures,
+      T value,
+      Throwable error,
+      boolean hedged) {
+    if (error == null) {
+      winner.complete(new Winner<>(value, hedged));
+    } else if (failures.incrementAndGet() == 2) {
+      winner.completeExceptionally(error);
+    }
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    return unwrap(future::get);
+  }
+
+  private static <T> T unwrap(Waiter<T> waiter) {
+    try {
+      return waiter.get();
+    } catch (TimeoutException ex) {
+      throw new HedgeTimeout();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for a read");
+    } catch (ExecutionException | CompletionException ex) {
+      Throwable cause = ex.getCause() == null ? ex : ex.getCause();
+      if (cause instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  private void deposit() {
+    credit.accumulateAndGet(creditPerRead, (current, add) -> Math.min(maxCredit, current + add));
+  }
+
+  private boolean withdraw() {
+    while (true) {
+      long current = credit.get();
+      if (current < CREDIT_SCALE) {
+        return false;
+      }
+      if (credit.compareAndSet(current, current - CREDIT_SCALE)) {
+        return true;
+      }
+    }
+  }
+
+  private OperationStats newStats(String operation) {
+    OperationStats stats =
+        new OperationStats(
+            Counter.builder("reads.hedge.sent")
+                .tag("operation", operation)
+                .description("Hedged attempts sent")
+                .register(registry),
+            Counter.builder("reads.hedge.won")
+                .tag("operation", operation)
+                .description("Reads answered by the hedged attempt")
+                .register(registry));
+    Gauge.builder("reads.hedge.delay", stats, s -> Math.max(0, s.hedgeDelayNanos()) / 1e6)
+        .tag("operation", operation)
+        .description("Current hedge delay in milliseconds (recent p95)")
+        .register(registry);
+    return stats;
+  }
+
+  /** Recent latencies for one operation and the p95 derived from them. */
+  private final class OperationStats {
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    private final AtomicLong recorded = new AtomicLong();
+    private final Counter sent;
+    private final Counter won;
+    private volatile long p95Nanos = -1;
+
+    private OperationStats(Counter sent, Counter won) {
+      this.sent = sent;
+      this.won = won;
+    }
+
+    private void record(long nanos) {
+      long count = recorded.getAndIncrement();
+      samples.set((int) (count % WINDOW), nanos);
+      long total = count + 1;
+      if (total >= warmupSamples && (total == warmupSamples || total % RECOMPUTE_EVERY == 0)) {
+        int size = (int) Math.min(total, WINDOW);
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+          sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        p95Nanos = sorted[(int) Math.ceil(size * 0.95) - 1];
+      }
+    }
+
+    private long hedgeDelayNanos() {
+      long p95 = p95Nanos;
+      return p95 < 0 ? -1 : Math.max(minDelayNanos, Math.min(maxDelayNanos, p95));
+    }
+  }
+
+  private record Attempt<T>(Future<?> running, CompletableFuture<T> result) {
+    private void cancel() {
+      running.cancel(true);
+    }
+  }
+
+  private record Winner<T>(T value, boolean hedged) {}
+
+  @FunctionalInterface
+  private interface Waiter<T> {
+    T get() throws InterruptedException, ExecutionException, TimeoutException;
+  }
+
+  /** Internal signal that the primary attempt missed the hedge delay. */
+  private static final class HedgeTimeout extends RuntimeException {
+    private HedgeTimeout() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.vsm.api.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The process-wide bound on reads that run off the request thread. {@link ParallelReads} waits for
+ * a permit per key, up to the request deadline; {@link ReadHedger} only sends a hedge when a
+ * permit is free right away, so hedges inside a fan-out cannot push past the bound.
+ */
+public class ReadPermits {
+
+  private final Semaphore permits;
+
+  public ReadPermits(int maxConcurrency) {
+    this.permits = new Semaphore(Math.max(1, maxConcurrency));
+  }
+
+  /** Runs {@code read} holding a permit, waiting for one until the request deadline. */
+  <T> T withPermit(Supplier<T> read) {
+    Duration remaining = RequestDeadline.remaining();
+    try {
+      if (remaining == null) {
+        permits.acquire();
+      } else if (!permits.tryAcquire(remaining.toNanos(), TimeUnit.NANOSECONDS)) {
+        throw new DeadlineExceededException();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while waiting for a read permit");
+    }
+    try {
+      if (RequestDeadline.isExpired()) {
+        throw new DeadlineExceededException();
+      }
+      return read.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  boolean tryAcquire() {
+    return permits.tryAcquire();
+  }
+
+  void release() {
+    permits.release();
+  }
+}
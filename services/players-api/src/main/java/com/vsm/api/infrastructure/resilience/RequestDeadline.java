@@ -0,0 +1,93 @@
+package com.vsm.api.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+
+/**
+ * The point in time by which the current request must finish, held per thread for the duration of
+ * the request. Downstream calls shrink their timeouts to what is left so work for a caller that has
+ * already given up is abandoned instead of holding connections.
+ *
+ * <p>Part of the budget is reserved for essential work: once less than that reserve is left,
+ * {@link #allowsOptionalWork()} turns false and optional stages should be skipped. Threads with no
+ * deadline (background flushers, scheduled jobs) keep the clients' configured timeouts.
+ */
+public final class RequestDeadline {
+
+  private static final ThreadLocal<Window> CURRENT = new ThreadLocal<>();
+
+  private RequestDeadline() {}
+
+  /**
+   * Starts a deadline {@code budget} from now on the current thread; optional work stops once less
+   * than {@code optionalReserve} is left.
+   */
+  public static void start(Duration budget, Duration optionalReserve) {
+    long deadline = System.nanoTime() + Math.max(0, budget.toNanos());
+    CURRENT.set(new Window(deadline, deadline - Math.max(0, optionalReserve.toNanos())));
+  }
+
+  public static void clear() {
+    CURRENT.remove();
+  }
+
+  /** Time left, or {@code null} when the current thread has no deadline. */
+  public static Duration remaining() {
+    Window window = CURRENT.get();
+    return window == null
+        ? null
+        : Duration.ofNanos(Math.max(0, window.deadlineNanos() - System.nanoTime()));
+  }
+
+  public static boolean isExpired() {
+    Window window = CURRENT.get();
+    return window != null && window.deadlineNanos() - System.nanoTime() <= 0;
+  }
+
+  /** Whether enough budget is left to start optional work; always true without a deadline. */
+  public static boolean allowsOptionalWork() {
+    Window window = CURRENT.get();
+    return window == null || window.optionalCutoffNanos() - System.nanoTime() > 0;
+  }
+
+  /** Wraps {@code task} so it runs under the calling thread's deadline on another thread. */
+  public static <T> Supplier<T> propagate(Supplier<T> task) {
+    Window window = CURRENT.get();
+    if (window == null) {
+      return task;
+    }
+    return () -> {
+      Window previous = CURRENT.get();
+      CURRENT.set(window);
+      try {
+        return task.get();
+      } finally {
+        if (previous == null) {
+          CURRENT.remove();
+        } else {
+          CURRENT.set(previous);
+        }
+      }
+    };
+  }
+
+  /**
+   * Per-request SDK override limiting the whole call, retries included, to the time left; {@code
+   * null} when there is no deadline.
+   *
+   * @throws DeadlineExceededException when the deadline has already passed
+   */
+  public static AwsRequestOverrideConfiguration sdkOverride() {
+    Duration remaining = remaining();
+    if (remaining == null) {
+      return null;
+    }
+    if (remaining.isZero()) {
+      throw new DeadlineExceededException();
+    }
+    return AwsRequestOverrideConfiguration.builder().apiCallTimeout(remaining).build();
+  }
+
+  private record Window(long deadlineNanos, long optionalCutoffNanos) {}
+}
@@ -0,0 +1,56 @@
+package com.vsm.api.infrastructure.resilience;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.function.Supplier;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * The HTTP route ({@code METHOD pattern}) that work on the current thread is done for. On a request
+ * thread it is read from the servlet request; work handed to another thread carries the route as a
+ * plain string captured up front, so it never touches a request that may already be recycled.
+ */
+public final class RequestRoute {
+
+  private static final ThreadLocal<String> CARRIED = new ThreadLocal<>();
+
+  private RequestRoute() {}
+
+  /** The current route, or null outside a request. */
+  public static String current() {
+    String carried = CARRIED.get();
+    if (carried != null) {
+      return carried;
+    }
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (!(attributes instanceof ServletRequestAttributes servlet)) {
+      return null;
+    }
+    HttpServletRequest request = servlet.getRequest();
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return request.getMethod() + " " + (pattern == null ? request.getRequestURI() : pattern);
+  }
+
+  /** Wraps {@code task} so it runs under the calling thread's route on another thread. */
+  static <T> Supplier<T> propagate(Supplier<T> task) {
+    String route = current();
+    if (route == null) {
+      return task;
+    }
+    return () -> {
+      String previous = CARRIED.get();
+      CARRIED.set(route);
+      try {
+        return task.get();
+      } finally {
+        if (previous == null) {
+          CARRIED.remove();
+        } else {
+          CARRIED.set(previous);
+        }
+      }
+    };
+  }
+}
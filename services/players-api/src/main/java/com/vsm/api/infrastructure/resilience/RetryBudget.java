@@ -0,0 +1,123 @@
+package com.vsm.api.infrastructure.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+
+/**
+ * Token-bucket retry budget shared by every client of one AWS service. Each retry spends {@code
+ * retryCost} tokens and each successful call puts {@code successRefill} back (a call that succeeds
+ * after retrying refunds its retry cost instead), so once failures outpace successes the bucket
+ * drains and further retries are refused. The SDK then surfaces the failed attempt immediately
+ * rather than multiplying load on a service that is already throttling.
+ *
+ * <p>Installed as the retry policy's capacity condition, it replaces the SDK's per-client bucket
+ * and is only consulted for errors the policy would otherwise retry.
+ */
+public class RetryBudget implements RetryCondition, MeterBinder {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RetryBudget.class);
+
+  private final String service;
+  private final int capacity;
+  private final int retryCost;
+  private final int successRefill;
+
+  private final AtomicInteger available;
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder suppressed = new LongAdder();
+  private volatile boolean exhausted;
+
+  public RetryBudget(String service, int capacity, int retryCost, int successRefill) {
+    this.service = service;
+    this.capacity = Math.max(1, capacity);
+    this.retryCost = Math.max(1, retryCost);
+    this.successRefill = Math.max(0, successRefill);
+    this.available = new AtomicInteger(this.capacity);
+  }
+
+  @Override
+  public boolean shouldRetry(RetryPolicyContext context) {
+    while (true) {
+      int current = available.get();
+      if (current < retryCost) {
+        suppressed.increment();
+        if (!exhausted) {
+          exhausted = true;
+          LOGGER.warn("{} retry budget exhausted; failing fast until calls succeed", service);
+        }
+        return false;
+      }
+      if (available.compareAndSet(current, current - retryCost)) {
+        retries.increment();
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public void requestSucceeded(RetryPolicyContext context) {
+    int refill = context.retriesAttempted() > 0 ? retryCost : successRefill;
+    if (refill == 0) {
+      return;
+    }
+    int now =
+        available.accumulateAndGet(refill, (current, add) -> Math.min(capacity, current + add));
+    if (exhausted && now >= retryCost) {
+      exhausted = false;
+      LOGGER.info("{} retry budget recovered; retries allowed again", service);
+    }
+  }
+
+  public String getService() {
+    return service;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int getAvailable() {
+    return available.get();
+  }
+
+  /** Fraction of the budget currently spent, from 0 (full) to 1 (empty). */
+  public double utilization() {
+    return 1.0 - (double) available.get() / capacity;
+  }
+
+  public long getRetries() {
+    return retries.sum();
+  }
+
+  public long getSuppressed() {
+    return suppressed.sum();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("aws.retry.budget.utilization", this, RetryBudget::utilization)
+        .tag("service", service)
+        .description("Fraction of the retry budget currently spent")
+        .register(registry);
+    Gauge.builder("aws.retry.budget.available", this, RetryBudget::getAvailable)
+        .tag("service", service)
+        .description("Retry tokens left in the budget")
+        .register(registry);
+    FunctionCounter.builder("aws.retry.budget.retries", this, RetryBudget::getRetries)
+        .tag("service", service)
+        .description("Retries the budget allowed")
+        .register(registry);
+    FunctionCounter.builder("aws.retry.budget.suppressed", this, RetryBudget::getSuppressed)
+        .tag("service", service)
+        .description("Retries refused because the budget was exhausted")
+        .register(registry);
+  }
+}
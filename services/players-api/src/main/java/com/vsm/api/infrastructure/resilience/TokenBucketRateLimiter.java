@@ -0,0 +1,135 @@
+package com.vsm.api.infrastructure.resilience;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-key token buckets, implemented as a generic cell rate algorithm: each bucket is a single
+ * {@link AtomicLong} holding the theoretical arrival time of the next token, so acquiring is one
+ * compare-and-set and a rejected call allocates nothing.
+ *
+ * <p>A bucket whose arrival time has passed is full and can be dropped without changing any
+ * outcome, which is how the map is kept bounded: {@link #evictIdle} is run on a schedule, off the
+ * request path, and while the map holds {@code maxKeys} buckets new keys share one overflow bucket
+ * until the next sweep frees space.
+ */
+public class TokenBucketRateLimiter implements MeterBinder {
+
+  private final String metricPrefix;
+  private final int burst;
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final int maxKeys;
+  private final LongSupplier nanoClock;
+
+  private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+  private final Function<String, AtomicLong> newBucket;
+  private final AtomicLong overflow;
+  private final LongAdder rejected = new LongAdder();
+
+  public TokenBucketRateLimiter(
+      String metricPrefix, double permitsPerSecond, int burst, int maxKeys) {
+    this(metricPrefix, permitsPerSecond, burst, maxKeys, System::nanoTime);
+  }
+
+  TokenBucketRateLimiter(
+      String metricPrefix,
+      double permitsPerSecond,
+      int burst,
+      int maxKeys,
+      LongSupplier nanoClock) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive");
+    }
+    this.metricPrefix = metricPrefix;
+    this.burst = Math.max(1, burst);
+    this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+    this.toleranceNanos = intervalNanos * this.burst;
+    this.maxKeys = Math.max(1, maxKeys);
+    this.nanoClock = nanoClock;
+    this.newBucket = key -> new AtomicLong(nanoClock.getAsLong());
+    this.overflow = new AtomicLong(nanoClock.getAsLong());
+  }
+
+  /**
+   * Takes one token from {@code key}'s bucket.
+   *
+   * @return the tokens left ({@code >= 0}) when permitted; otherwise a negative value encoding
+   *     the wait until the next token, decoded with {@link #retryAfterNanos(long)}
+   */
+  public long tryAcquire(String key) {
+    AtomicLong bucket = bucketFor(key);
+    while (true) {
+      long now = nanoClock.getAsLong();
+      long arrival = bucket.get();
+      long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+      long ahead = next - now;
+      if (ahead > toleranceNanos) {
+        rejected.increment();
+        return -(ahead - toleranceNanos);
+      }
+      if (bucket.compareAndSet(arrival, next)) {
+        return (toleranceNanos - ahead) / intervalNanos;
+      }
+    }
+  }
+
+  public static boolean isPermitted(long result) {
+    return result >= 0;
+  }
+
+  public static long retryAfterNanos(long result) {
+    return result < 0 ? -result : 0;
+  }
+
+  /** Nanoseconds until a bucket with {@code remaining} tokens is full again. */
+  public long refillNanos(long remaining) {
+    return Math.max(0, burst - remaining) * intervalNanos;
+  }
+
+  public int getBurst() {
+    return burst;
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  public int getTrackedKeys() {
+    return buckets.size();
+  }
+
+  /** Drops buckets that have refilled completely. Scans every bucket, so it is not for callers. */
+  public void evictIdle() {
+    long now = nanoClock.getAsLong();
+    buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(metricPrefix + ".tracked", this, TokenBucketRateLimiter::getTrackedKeys)
+        .description("Principals with a rate limit bucket in memory")
+        .register(registry);
+    FunctionCounter.builder(metricPrefix + ".rejected", this, TokenBucketRateLimiter::getRejected)
+        .description("Requests rejected because the principal ran out of tokens")
+        .register(registry);
+  }
+
+  private AtomicLong bucketFor(String key) {
+    AtomicLong bucket = buckets.get(key);
+    if (bucket != null) {
+      return bucket;
+    }
+    if (buckets.size() >= maxKeys) {
+      return overflow;
+    }
+    return buckets.computeIfAbsent(key, newBucket);
+  }
+}
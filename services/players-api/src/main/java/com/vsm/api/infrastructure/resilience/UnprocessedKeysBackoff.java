@@ -0,0 +1,47 @@
+package com.vsm.api.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Full-jitter exponential backoff between re-drives of the keys a DynamoDB batch call left
+ * unprocessed on a request thread: attempt {@code n} waits a random time up to {@code base * 2^(n -
+ * 1)}, capped at {@code max}. A wait the request deadline cannot cover fails fast instead.
+ */
+public final class UnprocessedKeysBackoff {
+
+  private final Duration base;
+  private final Duration max;
+
+  public UnprocessedKeysBackoff(Duration base, Duration max) {
+    this.base = base;
+    this.max = max;
+  }
+
+  /**
+   * Waits before re-driving the keys left over from {@code attempt} (1-based).
+   *
+   * @throws DeadlineExceededException when the request deadline would pass during the wait
+   * @throws CancellationException when the thread is interrupted
+   */
+  public void pause(int attempt) {
+    long millis = delayMillis(attempt);
+    Duration remaining = RequestDeadline.remaining();
+    if (remaining != null && remaining.toMillis() <= millis) {
+      throw new DeadlineExceededException();
+    }
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while re-driving unprocessed keys");
+    }
+  }
+
+  long delayMillis(int attempt) {
+    long ceiling = base.toMillis() << Math.min(attempt - 1, 16);
+    ceiling = Math.min(Math.max(ceiling, 1), max.toMillis());
+    return ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+}
@@ -1,6 +1,9 @@
 package com.vsm.api.infrastructure.soap;
 
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
+import java.io.IOException;
 import java.io.StringReader;
+import java.net.HttpURLConnection;
 import java.time.Duration;
 import java.util.Optional;
 import javax.xml.XMLConstants;
@@ -59,7 +62,7 @@ public class SoapStampClient {
       @Value("${app.soap.soap-action:}") String soapAction,
       @Value("${app.soap.connect-timeout:2s}") Duration connectTimeout,
       @Value("${app.soap.read-timeout:5s}") Duration readTimeout) {
-    HttpUrlConnectionMessageSender messageSender = new HttpUrlConnectionMessageSender();
+    HttpUrlConnectionMessageSender messageSender = new DeadlineAwareMessageSender();
     messageSender.setConnectionTimeout(connectTimeout);
     messageSender.setReadTimeout(readTimeout);
     this.webServiceTemplate = builder.messageSenders(messageSender).build();
@@ -115,7 +118,7 @@ public class SoapStampClient {
   }
 
   private Optional<String> extractEchoResult(String xml)
-      throws ParserConfigurationException, SAXException, java.io.IOException {
+      throws ParserConfigurationException, SAXException, IOException {
     DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
     factory.setNamespaceAware(true);
     factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
@@ -149,4 +152,24 @@ public class SoapStampClient {
         .replace("\"", "&quot;")
         .replace("'", "&apos;");
   }
+
+  /** Shrinks the configured connect and read timeouts to what is left of the request deadline. */
+  private static final class DeadlineAwareMessageSender extends HttpUrlConnectionMessageSender {
+
+    @Override
+    protected void prepareConnection(HttpURLConnection connection) throws IOException {
+      super.prepareConnection(connection);
+      Duration remaining = RequestDeadline.remaining();
+      if (remaining == null) {
+        return;
+      }
+      int remainingMillis = (int) Math.min(Integer.MAX_VALUE, Math.max(1, remaining.toMillis()));
+      connection.setConnectTimeout(cap(connection.getConnectTimeout(), remainingMillis));
+      connection.setReadTimeout(cap(connection.getReadTimeout(), remainingMillis));
+    }
+
+    private static int cap(int configuredMillis, int remainingMillis) {
+      return configuredMillis == 0 ? remainingMillis : Math.min(configuredMillis, remainingMillis);
+    }
+  }
 }
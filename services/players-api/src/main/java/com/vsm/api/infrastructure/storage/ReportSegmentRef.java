@@ -0,0 +1,39 @@
+package com.vsm.api.infrastructure.storage;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Where a report text lives inside a segment object: {@code length} bytes at {@code offset}. It is
+ * stored as the report's s3Key in the form {@code <segmentKey>#<offset>+<length>}.
+ */
+public record ReportSegmentRef(String segmentKey, long offset, int length) {
+
+  private static final Pattern FORMAT =
+      Pattern.compile(
+          "(.+" + Pattern.quote(ReportSegmentWriter.SEGMENT_SUFFIX) + ")#(\\d+)\\+(\\d+)");
+
+  /** The reference an s3Key holds, or empty when the key names a whole object. */
+  public static Optional<ReportSegmentRef> parse(String s3Key) {
+    Matcher matcher = FORMAT.matcher(s3Key);
+    if (!matcher.matches()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new ReportSegmentRef(
+            matcher.group(1),
+            Long.parseLong(matcher.group(2)),
+            Integer.parseInt(matcher.group(3))));
+  }
+
+  /** The HTTP range header that reads just this text. */
+  String range() {
+    return "bytes=" + offset + "-" + (offset + length - 1);
+  }
+
+  @Override
+  public String toString() {
+    return segmentKey + "#" + offset + "+" + length;
+  }
+}
@@ -0,0 +1,644 @@
+package com.vsm.api.infrastructure.storage;
+
+import com.vsm.api.domain.report.CoachReport;
+import com.vsm.api.domain.report.CoachReportRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/**
+ * Packs report texts into segment objects, so a busy period costs one S3 PutObject (and one SSE-KMS
+ * data key) per segment instead of one per report. Texts are appended to the open segment, whose
+ * key is fixed when it opens, so the caller gets its {@link ReportSegmentRef} straight away. A
+ * segment is sealed and uploaded once it reaches {@code max-size} or {@code max-age}. The object
+ * holds the texts back to back, then a footer index of {@code reportId\toffset\tlength} lines, then
+ * the footer's length as an 8-byte big-endian trailer. Texts are read back with ranged GetObject.
+ * Once a segment is uploaded, the reference of each of its texts is set as its report's s3Key;
+ * reports saved after that set it themselves.
+ *
+ * <p>Until its segment is uploaded a text exists only on this instance: in memory, where reads of
+ * it are served from, and in the segment's write-ahead file under {@code wal-directory}, which is
+ * fsynced before {@link #append} returns. Appends that wait for an fsync together share one: each
+ * fsync covers every record written before it started, so concurrent creates cost one fsync per
+ * batch rather than one each. The files do not survive losing the disk itself, so the directory
+ * has to be on a volume that outlives the task.
+ *
+ * <p>Each instance writes its files to a subdirectory of its own and holds a lock on the {@value
+ * #LOCK_FILE} file in it while it runs. On start, an instance takes over the files of every other
+ * subdirectory whose lock is free, whose instance has died, and uploads them; those of running
+ * instances are left alone. The volume has to support file locks across hosts, as EFS does.
+ */
+@Component
+public class ReportSegmentWriter implements SmartLifecycle {
+
+  static final String SEGMENT_SUFFIX = ".seg";
+  static final String LOCK_FILE = "instance.lock";
+  private static final String WAL_SUFFIX = ".wal";
+  private static final long MAX_SEGMENT_BYTES = 1L << 30;
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReportSegmentWriter.class);
+  private static final DateTimeFormatter DAY_PATH =
+      DateTimeFormatter.ofPattern("yyyy/MM/dd").withZone(ZoneOffset.UTC);
+  private static final ThreadFactory FLUSH_THREADS =
+      Thread.ofVirtual().name("report-segment-flush-", 0).factory();
+
+  private final S3Client s3;
+  private final CoachReportRepository reports;
+  private final String bucket;
+  private final String keyPrefix;
+  private final String kmsKeyArn;
+  private final Clock clock;
+  private final boolean enabled;
+  private final Path walDirectory;
+  private final long maxBytes;
+  private final Duration maxAge;
+  private final Map<String, Segment> unflushed = new ConcurrentHashMap<>();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final ReentrantLock flushLock = new ReentrantLock();
+
+  private Segment open; // guarded by lock
+  private Path instanceDirectory; // guarded by lock
+  private FileChannel instanceLock; // guarded by lock
+  private volatile boolean running;
+
+  public ReportSegmentWriter(
+      S3Client s3,
+      CoachReportRepository reports,
+      @Value("${app.s3.reportsBucket}") String bucket,
+      @Value("${app.s3.keyPrefix:}") String keyPrefix,
+      @Value("${app.kms.keyArn}") String kmsKeyArn,
+      Clock clock,
+      @Value("${app.reports.text.segments.enabled:false}") boolean enabled,
+      @Value("${app.reports.text.segments.wal-directory:}") String walDirectory,
+      @Value("${app.reports.text.segments.max-size:8MB}") DataSize maxSize,
+      @Value("${app.reports.text.segments.max-age:1m}") Duration maxAge) {
+    this.s3 = s3;
+    this.reports = reports;
+    this.bucket = bucket;
+    this.keyPrefix = S3ReportStorage.normalize(keyPrefix);
+    this.kmsKeyArn = kmsKeyArn;
+    this.clock = clock;
+    this.walDirectory =
+        walDirectory == null || walDirectory.isBlank() ? null : Path.of(walDirectory);
+    if (enabled && this.walDirectory == null) {
+      throw new IllegalStateException(
+          "app.reports.text.segments.wal-directory is required when segments are enabled");
+    }
+    this.enabled = enabled;
+    this.maxBytes = Math.min(Math.max(1, maxSize.toBytes()), MAX_SEGMENT_BYTES);
+    this.maxAge = maxAge;
+  }
+
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * Appends a report's text to the open segment and returns where it will be read from, once the
+   * text is on disk.
+   *
+   * @throws UncheckedIOException when the write-ahead file cannot be written
+   */
+  public ReportSegmentRef append(CoachReport report, byte[] text) {
+    Segment segment;
+    ReportSegmentRef ref;
+    long written;
+    boolean full;
+    lock.lock();
+    try {
+      segment = open != null ? open : openSegment();
+      try {
+        ref = segment.append(report, text);
+      } catch (IOException ex) {
+        // A torn record would hide the ones after it from recovery, so nothing more goes here
+        sealOpen();
+        throw new UncheckedIOException(
+            "Writing report " + report.reportId() + " to the write-ahead file failed", ex);
+      }
+      written = segment.written();
+      full = segment.size() >= maxBytes;
+      if (full) {
+        sealOpen();
+      }
+    } finally {
+      lock.unlock();
+    }
+    if (full) {
+      FLUSH_THREADS.newThread(this::flushSealed).start();
+    }
+    try {
+      segment.commit(written);
+    } catch (IOException ex) {
+      lock.lock();
+      try {
+        if (open == segment) {
+          sealOpen();
+        }
+      } finally {
+        lock.unlock();
+      }
+      throw new UncheckedIOException(
+          "Syncing report " + report.reportId() + " to the write-ahead file failed", ex);
+    }
+    return ref;
+  }
+
+  /** The text while its segment is still on this instance, {@code null} once it is in S3. */
+  byte[] unflushedText(ReportSegmentRef ref) {
+    Segment segment = unflushed.get(ref.segmentKey());
+    return segment == null ? null : segment.read(ref.offset(), ref.length());
+  }
+
+  /** Whether the segment holding {@code ref} is still waiting to be uploaded by this instance. */
+  boolean pendingUpload(ReportSegmentRef ref) {
+    return unflushed.containsKey(ref.segmentKey());
+  }
+
+  /** Seals the open segment once it is {@code max-age} old and uploads every sealed segment. */
+  @Scheduled(
+      fixedDelayString = "${app.reports.text.segments.flush-check:5s}",
+      initialDelayString = "${app.reports.text.segments.flush-check:5s}")
+  public void flushExpired() {
+    lock.lock();
+    try {
+      if (open != null && !clock.instant().isBefore(open.openedAt.plus(maxAge))) {
+        sealOpen();
+      }
+    } finally {
+      lock.unlock();
+    }
+    flushSealed();
+  }
+
+  /**
+   * Uploads the write-ahead files that instances which are gone left behind, even when packing is
+   * now off.
+   */
+  @Override
+  public void start() {
+    running = true;
+    if (walDirectory == null || !Files.isDirectory(walDirectory)) {
+      return;
+    }
+    try {
+      Path own;
+      lock.lock();
+      try {
+        own = claimDirectory();
+      } finally {
+        lock.unlock();
+      }
+      try (DirectoryStream<Path> directories =
+          Files.newDirectoryStream(walDirectory, Files::isDirectory)) {
+        for (Path directory : directories) {
+          if (!directory.equals(own)) {
+            adopt(directory, own);
+          }
+        }
+      }
+    } catch (IOException ex) {
+      LOGGER.error("Recovering report segments from {} failed", walDirectory, ex);
+    }
+    flushSealed();
+  }
+
+  @Override
+  public void stop() {
+    running = false;
+    lock.lock();
+    try {
+      if (open != null) {
+        sealOpen();
+      }
+    } finally {
+      lock.unlock();
+    }
+    flushSealed();
+    if (!unflushed.isEmpty()) {
+      LOGGER.error(
+          "{} report segments were not uploaded; they are uploaded from {} on the next start",
+          unflushed.size(),
+          walDirectory);
+    }
+    lock.lock();
+    try {
+      releaseDirectory();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  /** Stops after the web server has finished its in-flight requests, so their texts are packed. */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private Segment openSegment() {
+    Instant now = clock.instant();
+    String id = UUID.randomUUID().toString();
+    String key = keyPrefix + "segments/" + DAY_PATH.format(now) + "/" + id + SEGMENT_SUFFIX;
+    try {
+      open = Segment.create(key, claimDirectory().resolve(id + WAL_SUFFIX), now);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Opening report segment " + key + " failed", ex);
+    }
+    unflushed.put(key, open);
+    return open;
+  }
+
+  /** This instance's subdirectory, created and locked on first use. */
+  private Path claimDirectory() throws IOException {
+    if (instanceDirectory != null) {
+      return instanceDirectory;
+    }
+    Path directory = walDirectory.resolve(UUID.randomUUID().toString());
+    Files.createDirectories(directory);
+    FileChannel lock =
+        FileChannel.open(
+            directory.resolve(LOCK_FILE), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    try {
+      if (lock.tryLock() == null) {
+        throw new IOException("Locking " + directory + " failed");
+      }
+    } catch (IOException | RuntimeException ex) {
+      lock.close();
+      throw ex;
+    }
+    instanceLock = lock;
+    instanceDirectory = directory;
+    return directory;
+  }
+
+  /**
+   * Releases this instance's subdirectory, removing it when everything in it has been uploaded.
+   * Files still in it are taken over by the next instance to start.
+   */
+  private void releaseDirectory() {
+    if (instanceDirectory == null) {
+      return;
+    }
+    try {
+      if (unflushed.isEmpty()) {
+        Files.deleteIfExists(instanceDirectory.resolve(LOCK_FILE));
+        Files.deleteIfExists(instanceDirectory);
+      }
+      instanceLock.close();
+    } catch (IOException ex) {
+      LOGGER.warn("Releasing {} failed", instanceDirectory, ex);
+    }
+    instanceLock = null;
+    instanceDirectory = null;
+  }
+
+  /**
+   * Takes over the write-ahead files of another instance's subdirectory if that instance is gone,
+   * moving them into {@code own} and queueing their segments for upload.
+   */
+  private void adopt(Path directory, Path own) throws IOException {
+    FileChannel channel;
+    try {
+      channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.WRITE);
+    } catch (NoSuchFileException ex) {
+      return; // still being created, or being removed by another instance
+    }
+    try (channel) {
+      if (!tryLock(channel)) {
+        return; // its instance is running
+      }
+      try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + WAL_SUFFIX)) {
+        for (Path file : files) {
+          Path adopted =
+              Files.move(file, own.resolve(file.getFileName()), StandardCopyOption.ATOMIC_MOVE);
+          Segment segment = Segment.recover(adopted);
+          if (segment == null) {
+            Files.delete(adopted);
+          } else {
+            LOGGER.info("Recovered {} report texts for segment {}", segment.count(), segment.key);
+            unflushed.put(segment.key, segment);
+          }
+        }
+      }
+      Files.delete(directory.resolve(LOCK_FILE));
+    }
+    try {
+      Files.delete(directory);
+    } catch (IOException ex) {
+      LOGGER.debug("Leaving {} in place", directory, ex);
+    }
+  }
+
+  /** Whether this process got the lock; one held by this process counts as taken. */
+  private static boolean tryLock(FileChannel channel) throws IOException {
+    try {
+      return channel.tryLock() != null;
+    } catch (OverlappingFileLockException ex) {
+      return false;
+    }
+  }
+
+  private void sealOpen() {
+    open.sealed = true;
+    open = null;
+  }
+
+  void flushSealed() {
+    flushLock.lock();
+    try {
+      for (Segment segment : unflushed.values()) {
+        if (!segment.sealed) {
+          continue;
+        }
+        try {
+          upload(segment);
+        } catch (RuntimeException ex) {
+          LOGGER.warn("Uploading report segment {} failed; retrying later", segment.key, ex);
+          continue;
+        }
+        // Removed first, so a report saved from here on sees the upload and sets its own s3Key
+        unflushed.remove(segment.key);
+        attachKeys(segment);
+        try {
+          segment.discardWal();
+        } catch (IOException ex) {
+          LOGGER.warn("Deleting the write-ahead file of segment {} failed", segment.key, ex);
+        }
+      }
+    } finally {
+      flushLock.unlock();
+    }
+  }
+
+  private void upload(Segment segment) {
+    s3.putObject(
+        PutObjectRequest.builder()
+            .bucket(bucket)
+            .key(segment.key)
+            .contentType("application/octet-stream")
+            .serverSideEncryption("aws:kms")
+            .ssekmsKeyId(kmsKeyArn)
+            .build(),
+        RequestBody.fromBytes(segment.toObject()));
+  }
+
+  /**
+   * Sets each text's reference as its report's s3Key. A report that is not saved yet is skipped;
+   * its create sets the key itself once it sees the segment uploaded, or fails.
+   */
+  private void attachKeys(Segment segment) {
+    for (Entry entry : segment.entries()) {
+      String s3Key = new ReportSegmentRef(segment.key, entry.offset(), entry.length()).toString();
+      try {
+        reports.updateS3Key(entry.playerId(), entry.reportTimestamp(), entry.reportId(), s3Key);
+      } catch (ConditionalCheckFailedException ex) {
+        LOGGER.debug("Report {} is not saved; its create sets s3Key", entry.reportId());
+      } catch (RuntimeException ex) {
+        LOGGER.warn("Setting s3Key of report {} failed", entry.reportId(), ex);
+      }
+    }
+  }
+
+  /** One segment: its texts in memory and, until it is uploaded, in its write-ahead file. */
+  private static final class Segment {
+    private final String key;
+    private final Path walFile;
+    private final Instant openedAt;
+    private final FileChannel wal;
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final List<Entry> entries = new ArrayList<>();
+    private byte[] body = new byte[4096];
+    private int size;
+    private volatile boolean sealed;
+    private volatile long written; // WAL bytes written, advanced under the writer's lock
+    private volatile long durable; // WAL bytes fsynced, advanced under forceLock
+    private IOException forceFailure; // guarded by forceLock
+
+    private Segment(String key, Path walFile, Instant openedAt, FileChannel wal, long written) {
+      this.key = key;
+      this.walFile = walFile;
+      this.openedAt = openedAt;
+      this.wal = wal;
+      this.written = written;
+      this.durable = written;
+    }
+
+    /** A new segment whose write-ahead file starts with its key. */
+    static Segment create(String key, Path walFile, Instant openedAt) throws IOException {
+      FileChannel wal =
+          FileChannel.open(walFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      try {
+        write(wal, record(key.getBytes(StandardCharsets.UTF_8)));
+        wal.force(false);
+        return new Segment(key, walFile, openedAt, wal, wal.position());
+      } catch (IOException ex) {
+        wal.close();
+        throw ex;
+      }
+    }
+
+    /**
+     * Rebuilds a sealed segment from a write-ahead file, or {@code null} when it holds no text. A
+     * torn last record belongs to an append that never returned, so it is dropped.
+     */
+    static Segment recover(Path walFile) throws IOException {
+      ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(walFile));
+      byte[] key = next(records);
+      if (key == null) {
+        return null;
+      }
+      Segment segment =
+          new Segment(new String(key, StandardCharsets.UTF_8), walFile, Instant.EPOCH, null, 0);
+      for (byte[] reportId = next(records); reportId != null; reportId = next(records)) {
+        byte[] playerId = next(records);
+        byte[] reportTimestamp = playerId == null ? null : next(records);
+        byte[] text = reportTimestamp == null ? null : next(records);
+        if (text == null) {
+          break;
+        }
+        segment.add(
+            new String(reportId, StandardCharsets.UTF_8),
+            new String(playerId, StandardCharsets.UTF_8),
+            Instant.parse(new String(reportTimestamp, StandardCharsets.UTF_8)),
+            text);
+      }
+      segment.sealed = true;
+      return segment.count() == 0 ? null : segment;
+    }
+
+    ReportSegmentRef append(CoachReport report, byte[] text) throws IOException {
+      write(
+          wal,
+          record(report.reportId().getBytes(StandardCharsets.UTF_8)),
+          record(report.playerId().getBytes(StandardCharsets.UTF_8)),
+          record(report.reportTimestamp().toString().getBytes(StandardCharsets.UTF_8)),
+          record(text));
+      written = wal.position();
+      return add(report.reportId(), report.playerId(), report.reportTimestamp(), text);
+    }
+
+    long written() {
+      return written;
+    }
+
+    /**
+     * Returns once the write-ahead file is fsynced up to {@code end}. One caller at a time fsyncs,
+     * covering everything written when it starts; callers waiting behind it whose records that
+     * covered return without an fsync of their own.
+     */
+    void commit(long end) throws IOException {
+      if (durable >= end) {
+        return;
+      }
+      forceLock.lock();
+      try {
+        if (durable >= end) {
+          return;
+        }
+        // Once an fsync has failed, the kernel may have dropped pages a later one would not report
+        if (forceFailure != null) {
+          throw new IOException("An earlier fsync of " + walFile + " failed", forceFailure);
+        }
+        long covered = written;
+        try {
+          wal.force(false);
+        } catch (IOException ex) {
+          forceFailure = ex;
+          throw ex;
+        }
+        durable = covered;
+      } finally {
+        forceLock.unlock();
+      }
+    }
+
+    synchronized ReportSegmentRef add(
+        String reportId, String playerId, Instant reportTimestamp, byte[] text) {
+      if (size + text.length > body.length) {
+        body = Arrays.copyOf(body, Math.max(body.length * 2, size + text.length));
+      }
+      System.arraycopy(text, 0, body, size, text.length);
+      entries.add(new Entry(reportId, playerId, reportTimestamp, size, text.length));
+      size += text.length;
+      return new ReportSegmentRef(key, size - text.length, text.length);
+    }
+
+    synchronized byte[] read(long offset, int length) {
+      return Arrays.copyOfRange(body, (int) offset, (int) offset + length);
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    synchronized List<Entry> entries() {
+      return List.copyOf(entries);
+    }
+
+    synchronized int count() {
+      return entries.size();
+    }
+
+    synchronized byte[] toObject() {
+      StringBuilder footer = new StringBuilder();
+      for (Entry entry : entries) {
+        footer
+            .append(entry.reportId())
+            .append('\t')
+            .append(entry.offset())
+            .append('\t')
+            .append(entry.length())
+            .append('\n');
+      }
+      byte[] index = footer.toString().getBytes(StandardCharsets.UTF_8);
+      return ByteBuffer.allocate(size + index.length + Long.BYTES)
+          .put(body, 0, size)
+          .put(index)
+          .putLong(index.length)
+          .array();
+    }
+
+    /** Deletes the write-ahead file once the segment is in S3, which makes every text durable. */
+    void discardWal() throws IOException {
+      forceLock.lock();
+      try {
+        durable = Long.MAX_VALUE;
+        if (wal != null) {
+          wal.close();
+        }
+      } finally {
+        forceLock.unlock();
+      }
+      Files.deleteIfExists(walFile);
+    }
+
+    /** A length-prefixed write-ahead record. */
+    private static ByteBuffer record(byte[] value) {
+      return ByteBuffer.allocate(Integer.BYTES + value.length)
+          .putInt(value.length)
+          .put(value)
+          .flip();
+    }
+
+    private static void write(FileChannel wal, ByteBuffer... records) throws IOException {
+      for (ByteBuffer record : records) {
+        while (record.hasRemaining()) {
+          wal.write(record);
+        }
+      }
+    }
+
+    /** The next record's value, or {@code null} at the end of the file or at a torn record. */
+    private static byte[] next(ByteBuffer records) {
+      if (records.remaining() < Integer.BYTES) {
+        return null;
+      }
+      int length = records.getInt();
+      if (length < 0 || length > records.remaining()) {
+        return null;
+      }
+      byte[] value = new byte[length];
+      records.get(value);
+      return value;
+    }
+  }
+
+  private record Entry(
+      String reportId, String playerId, Instant reportTimestamp, int offset, int length) {}
+}
@@ -1,44 +1,106 @@
 package com.vsm.api.infrastructure.storage;
 
 import com.vsm.api.domain.report.CoachReport;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
+import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
-/** Stores canonical report text in S3 with SSE-KMS and returns its S3 key. */
+/**
+ * Stores canonical report text in S3 with SSE-KMS and returns its S3 key. With segment packing on,
+ * texts are appended to a {@link ReportSegmentWriter} segment instead, and the key returned is a
+ * {@link ReportSegmentRef} that {@link #open} reads with a ranged GetObject.
+ *
+ * <p>With content addressing on, a text is stored once under {@code blobs/} keyed by the SHA-256
+ * of its bytes, and reports with the same text share the object. Blobs that no report references
+ * any more are removed by {@link com.vsm.api.domain.report.ReportBlobSweeper}; a store refreshes a
+ * blob older than half the sweep grace period so that the sweeper never deletes a blob that a
+ * report is just being saved against. The refresh copies the blob onto itself, which S3 does
+ * without the text being sent again.
+ */
 @Component
 public class S3ReportStorage {
   private static final DateTimeFormatter YYYY = DateTimeFormatter.ofPattern("yyyy");
   private static final DateTimeFormatter MM = DateTimeFormatter.ofPattern("MM");
   private static final DateTimeFormatter DD = DateTimeFormatter.ofPattern("dd");
+  private static final String BLOB_DIRECTORY = "blobs/";
+  private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{2}/([0-9a-f]{64})\\.txt");
+  private static final int MAX_DELETE_KEYS = 1000;
 
   private final S3Client s3;
   private final String bucket;
   private final String keyPrefix; // may be empty, includes trailing slash if present
   private final String kmsKeyArn;
+  private final ReportSegmentWriter segments;
+  private final boolean contentAddressed;
+  private final Duration blobGrace;
+  private final Clock clock;
 
   public S3ReportStorage(
       S3Client s3,
       @Value("${app.s3.reportsBucket}") String bucket,
       @Value("${app.s3.keyPrefix:}") String keyPrefix,
-      @Value("${app.kms.keyArn}") String kmsKeyArn) {
+      @Value("${app.kms.keyArn}") String kmsKeyArn,
+      ReportSegmentWriter segments,
+      @Value("${app.reports.text.content-addressed:false}") boolean contentAddressed,
+      @Value("${app.reports.text.blobs.grace:2d}") Duration blobGrace,
+      Clock clock) {
     this.s3 = s3;
     this.bucket = bucket;
     this.keyPrefix = normalize(keyPrefix);
     this.kmsKeyArn = kmsKeyArn;
+    this.segments = segments;
+    this.contentAddressed = contentAddressed;
+    this.blobGrace = blobGrace;
+    this.clock = clock;
   }
 
-  private String normalize(String p) {
+  static String normalize(String p) {
     if (p == null || p.isBlank()) return "";
     return p.endsWith("/") ? p : (p + "/");
   }
 
   public String store(CoachReport report, String text) {
+    if (contentAddressed) {
+      return storeBlob(text.getBytes(StandardCharsets.UTF_8));
+    }
+    if (segments.enabled()) {
+      return segments.append(report, text.getBytes(StandardCharsets.UTF_8)).toString();
+    }
     var zdt = report.reportTimestamp().atZone(ZoneOffset.UTC);
     String key =
         keyPrefix
@@ -60,9 +122,179 @@ public class S3ReportStorage {
             .contentType("text/plain; charset=utf-8")
             .serverSideEncryption("aws:kms")
             .ssekmsKeyId(kmsKeyArn)
+            .overrideConfiguration(RequestDeadline.sdkOverride())
             .build();
 
     s3.putObject(req, RequestBody.fromString(text, StandardCharsets.UTF_8));
     return key;
   }
+
+  /**
+   * Opens a stored report text for reading. The call returns once S3 has sent the response
+   * headers; the body is read from the stream, which holds an HTTP connection until it is closed.
+   * A text in a segment that this instance has not uploaded yet is served from memory.
+   *
+   * @throws software.amazon.awssdk.services.s3.model.NoSuchKeyException when nothing is stored
+   *     under {@code key}
+   */
+  public ResponseInputStream<GetObjectResponse> open(String key) {
+    GetObjectRequest.Builder request =
+        GetObjectRequest.builder()
+            .bucket(bucket)
+            .overrideConfiguration(RequestDeadline.sdkOverride());
+    Optional<ReportSegmentRef> ref = ReportSegmentRef.parse(key);
+    if (ref.isEmpty()) {
+      return s3.getObject(request.key(key).build());
+    }
+    byte[] unflushed = ref.get().length() == 0 ? new byte[0] : segments.unflushedText(ref.get());
+    if (unflushed != null) {
+      return new ResponseInputStream<>(
+          GetObjectResponse.builder().contentLength((long) unflushed.length).build(),
+          AbortableInputStream.create(new ByteArrayInputStream(unflushed)));
+    }
+    return s3.getObject(request.key(ref.get().segmentKey()).range(ref.get().range()).build());
+  }
+
+  /**
+   * Whether the text under {@code key} is in a segment this instance has not uploaded yet. Such a
+   * key must not be saved on the report; the segment's upload sets it.
+   */
+  public boolean pendingUpload(String key) {
+    Optional<ReportSegmentRef> ref = ReportSegmentRef.parse(key);
+    return ref.isPresent() && segments.pendingUpload(ref.get());
+  }
+
+  /** The key prefix under which content-addressed texts are stored. */
+  public String blobPrefix() {
+    return keyPrefix + BLOB_DIRECTORY;
+  }
+
+  /** The hex SHA-256 of the text stored under {@code key}, if it is a content-addressed blob. */
+  public Optional<String> contentHash(String key) {
+    if (key == null || !key.startsWith(blobPrefix())) {
+      return Optional.empty();
+    }
+    Matcher name = BLOB_NAME.matcher(key.substring(blobPrefix().length()));
+    return name.matches() ? Optional.of(name.group(1)) : Optional.empty();
+  }
+
+  /**
+   * Lists the content-addressed blobs last written before {@code cutoff}, handing them to {@code
+   * page} one listing page (up to 1000 keys) at a time.
+   */
+  public void listBlobs(Instant cutoff, Consumer<List<String>> page) {
+    ListObjectsV2Request request =
+        ListObjectsV2Request.builder().bucket(bucket).prefix(blobPrefix()).build();
+    for (ListObjectsV2Response response : s3.listObjectsV2Paginator(request)) {
+      List<String> keys = new ArrayList<>();
+      for (S3Object object : response.contents()) {
+        if (object.lastModified().isBefore(cutoff)) {
+          keys.add(object.key());
+        }
+      }
+      if (!keys.isEmpty()) {
+        page.accept(keys);
+      }
+    }
+  }
+
+  /** Deletes blobs with batched DeleteObjects calls and returns how many S3 reported deleted. */
+  public int deleteBlobs(List<String> keys) {
+    int deleted = 0;
+    for (int from = 0; from < keys.size(); from += MAX_DELETE_KEYS) {
+      List<ObjectIdentifier> batch =
+          keys.subList(from, Math.min(keys.size(), from + MAX_DELETE_KEYS)).stream()
+              .map(key -> ObjectIdentifier.builder().key(key).build())
+              .toList();
+      DeleteObjectsResponse response =
+          s3.deleteObjects(
+              DeleteObjectsRequest.builder()
+                  .bucket(bucket)
+                  .delete(Delete.builder().objects(batch).quiet(true).build())
+                  .build());
+      // Quiet mode lists only the keys that failed
+      deleted += batch.size() - response.errors().size();
+    }
+    return deleted;
+  }
+
+  /** Hex SHA-256 of {@code bytes}, the name under which a content-addressed text is stored. */
+  public static String sha256Hex(byte[] bytes) {
+    return HexFormat.of().formatHex(sha256(bytes));
+  }
+
+  private String storeBlob(byte[] bytes) {
+    byte[] digest = sha256(bytes);
+    String hex = HexFormat.of().formatHex(digest);
+    String key = blobPrefix() + hex.substring(0, 2) + "/" + hex + ".txt";
+    Instant lastModified = lastModified(key);
+    if (lastModified != null) {
+      boolean recent = lastModified.isAfter(clock.instant().minus(blobGrace.dividedBy(2)));
+      // A blob deleted since the HeadObject is put again below
+      if (recent || touch(key)) {
+        return key;
+      }
+    }
+    PutObjectRequest req =
+        PutObjectRequest.builder()
+            .bucket(bucket)
+            .key(key)
+            .contentType("text/plain; charset=utf-8")
+            .serverSideEncryption("aws:kms")
+            .ssekmsKeyId(kmsKeyArn)
+            // S3 rejects the put if the bytes it received do not hash to the key
+            .checksumSHA256(Base64.getEncoder().encodeToString(digest))
+            .overrideConfiguration(RequestDeadline.sdkOverride())
+            .build();
+    s3.putObject(req, RequestBody.fromBytes(bytes));
+    return key;
+  }
+
+  /** When the blob was last written, or {@code null} when it does not exist. */
+  private Instant lastModified(String key) {
+    try {
+      return s3.headObject(
+              HeadObjectRequest.builder()
+                  .bucket(bucket)
+                  .key(key)
+                  .overrideConfiguration(RequestDeadline.sdkOverride())
+                  .build())
+          .lastModified();
+    } catch (NoSuchKeyException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * Copies the blob onto itself so its LastModified moves past the cutoff of any sweep that might
+   * be running. A copy onto the same key has to change something, so the metadata is replaced with
+   * the same values. Returns {@code false} when the blob was deleted in the meantime.
+   */
+  private boolean touch(String key) {
+    try {
+      s3.copyObject(
+          CopyObjectRequest.builder()
+              .sourceBucket(bucket)
+              .sourceKey(key)
+              .destinationBucket(bucket)
+              .destinationKey(key)
+              .metadataDirective(MetadataDirective.REPLACE)
+              .contentType("text/plain; charset=utf-8")
+              .serverSideEncryption("aws:kms")
+              .ssekmsKeyId(kmsKeyArn)
+              .overrideConfiguration(RequestDeadline.sdkOverride())
+              .build());
+      return true;
+    } catch (NoSuchKeyException ex) {
+      return false;
+    }
+  }
+
+  private static byte[] sha256(byte[] bytes) {
+    try {
+      return MessageDigest.getInstance("SHA-256").digest(bytes);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
 }
@@ -0,0 +1,7 @@
+package com.vsm.api.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ActivityBucketItem(
+    LocalDate start, String granularity, long reports, List<CategoryTotalsItem> categories) {}
@@ -0,0 +1,7 @@
+package com.vsm.api.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record ActivityRollupResponse(
+    String granularity, LocalDate from, LocalDate to, List<ActivityBucketItem> buckets) {}
@@ -0,0 +1,9 @@
+package com.vsm.api.model;
+
+public record CategoryPercentileItem(
+    String category,
+    double playerAverage,
+    Double teamPercentile,
+    long teamReports,
+    Double leaguePercentile,
+    long leagueReports) {}
@@ -0,0 +1,12 @@
+package com.vsm.api.model;
+
+import java.math.BigDecimal;
+
+public record CategoryStatsItem(
+    String category,
+    long count,
+    BigDecimal sum,
+    BigDecimal min,
+    BigDecimal max,
+    double mean,
+    double standardDeviation) {}
@@ -0,0 +1,5 @@
+package com.vsm.api.model;
+
+import java.math.BigDecimal;
+
+public record CategoryTotalsItem(String category, long count, BigDecimal sum, double average) {}
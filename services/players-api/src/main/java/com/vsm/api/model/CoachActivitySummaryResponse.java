@@ -0,0 +1,6 @@
+package com.vsm.api.model;
+
+import java.time.LocalDate;
+
+public record CoachActivitySummaryResponse(
+    LocalDate day, String week, long sentToday, long sentThisWeek) {}
@@ -0,0 +1,6 @@
+package com.vsm.api.model;
+
+import java.time.Instant;
+
+public record CoachSentReportItem(
+    String reportId, String playerId, Instant reportTimestamp, Instant createdAt) {}
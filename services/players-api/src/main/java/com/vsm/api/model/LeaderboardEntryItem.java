@@ -0,0 +1,4 @@
+package com.vsm.api.model;
+
+public record LeaderboardEntryItem(
+    int rank, String playerId, double total, int count, double average) {}
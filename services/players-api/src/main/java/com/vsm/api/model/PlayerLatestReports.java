@@ -0,0 +1,7 @@
+package com.vsm.api.model;
+
+import java.util.List;
+
+/** One player's latest reports, or the error that prevented reading them. */
+public record PlayerLatestReports(
+    String playerId, List<PlayerReportListItem> items, String nextCursor, String error) {}
@@ -0,0 +1,6 @@
+package com.vsm.api.model;
+
+import java.util.List;
+
+public record PlayerPercentilesResponse(
+    String playerId, String teamId, String season, List<CategoryPercentileItem> categories) {}
@@ -0,0 +1,6 @@
+package com.vsm.api.model;
+
+import java.util.List;
+
+public record PlayerSeasonStatsResponse(
+    String playerId, String season, long reports, List<CategoryStatsItem> categories) {}
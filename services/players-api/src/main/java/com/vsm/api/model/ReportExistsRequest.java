@@ -0,0 +1,18 @@
+package com.vsm.api.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class ReportExistsRequest {
+
+  @NotEmpty private List<@NotBlank String> reportIds;
+
+  public List<String> getReportIds() {
+    return reportIds;
+  }
+
+  public void setReportIds(List<String> reportIds) {
+    this.reportIds = reportIds;
+  }
+}
@@ -0,0 +1,6 @@
+package com.vsm.api.model;
+
+import java.util.List;
+
+public record ReportExistsResponse(
+    List<String> existing, List<String> missing, List<String> unresolved) {}
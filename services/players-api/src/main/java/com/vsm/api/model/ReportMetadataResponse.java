@@ -0,0 +1,13 @@
+package com.vsm.api.model;
+
+import java.time.Instant;
+
+public record ReportMetadataResponse(
+    String reportId,
+    String playerId,
+    String teamId,
+    Instant reportTimestamp,
+    Instant createdAt,
+    String coachId,
+    String s3Key,
+    String soapStamp) {}
@@ -3,6 +3,8 @@ package com.vsm.api.model;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import java.util.Map;
 
 public class ReportRequest {
@@ -13,6 +15,10 @@ public class ReportRequest {
 
   @NotEmpty private Map<@NotBlank String, @NotBlank String> categories;
 
+  @Size(max = 128)
+  @Pattern(regexp = "[^#]*", message = "must not contain '#'")
+  private String teamId;
+
   public String getPlayerId() {
     return playerId;
   }
@@ -36,4 +42,12 @@ public class ReportRequest {
   public void setCategories(Map<String, String> categories) {
     this.categories = categories;
   }
+
+  public String getTeamId() {
+    return teamId;
+  }
+
+  public void setTeamId(String teamId) {
+    this.teamId = teamId;
+  }
 }
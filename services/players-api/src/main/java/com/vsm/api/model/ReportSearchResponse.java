@@ -0,0 +1,10 @@
+package com.vsm.api.model;
+
+import java.util.List;
+
+public record ReportSearchResponse(
+    String teamId,
+    String season,
+    long matched,
+    List<TeamTimelineItem> items,
+    List<String> unresolvedReportIds) {}
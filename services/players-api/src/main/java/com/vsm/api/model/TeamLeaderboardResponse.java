@@ -0,0 +1,10 @@
+package com.vsm.api.model;
+
+import java.util.List;
+
+public record TeamLeaderboardResponse(
+    String teamId,
+    String season,
+    String category,
+    String metric,
+    List<LeaderboardEntryItem> entries) {}
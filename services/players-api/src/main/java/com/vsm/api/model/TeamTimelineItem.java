@@ -0,0 +1,12 @@
+package com.vsm.api.model;
+
+import java.time.Instant;
+
+public record TeamTimelineItem(
+    String playerId,
+    String reportId,
+    Instant reportTimestamp,
+    Instant createdAt,
+    String coachId,
+    String s3Key,
+    String soapStamp) {}
@@ -0,0 +1,5 @@
+package com.vsm.api.model;
+
+import java.util.List;
+
+public record TeamTimelineResponse(List<TeamTimelineItem> items, String nextCursor) {}
@@ -0,0 +1,53 @@
+package com.vsm.api.web;
+
+import com.vsm.api.domain.stats.ActivityBucket;
+import com.vsm.api.domain.stats.ActivityRollups;
+import com.vsm.api.domain.stats.RollupGranularity;
+import com.vsm.api.model.ActivityBucketItem;
+import com.vsm.api.model.ActivityRollupResponse;
+import com.vsm.api.model.CategoryTotalsItem;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** Parses activity rollup parameters and maps rollups to their API representation. */
+final class ActivityItems {
+
+  private ActivityItems() {}
+
+  static RollupGranularity granularity(String value) {
+    try {
+      return RollupGranularity.valueOf(value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "granularity must be day or week", ex);
+    }
+  }
+
+  static ActivityRollupResponse toResponse(ActivityRollups rollups) {
+    return new ActivityRollupResponse(
+        name(rollups.granularity()),
+        rollups.from(),
+        rollups.to(),
+        rollups.buckets().stream().map(ActivityItems::toItem).toList());
+  }
+
+  private static ActivityBucketItem toItem(ActivityBucket bucket) {
+    List<CategoryTotalsItem> categories = new ArrayList<>(bucket.categories().size());
+    bucket
+        .categories()
+        .forEach(
+            (category, totals) ->
+                categories.add(
+                    new CategoryTotalsItem(
+                        category, totals.count(), totals.sum(), totals.average())));
+    return new ActivityBucketItem(
+        bucket.start(), name(bucket.granularity()), bucket.reports(), categories);
+  }
+
+  private static String name(RollupGranularity granularity) {
+    return granularity.name().toLowerCase(Locale.ROOT);
+  }
+}
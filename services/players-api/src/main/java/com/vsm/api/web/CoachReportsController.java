@@ -1,10 +1,20 @@
 package com.vsm.api.web;
 
+import com.vsm.api.domain.report.CoachActivityService;
+import com.vsm.api.domain.report.CoachActivitySummary;
 import com.vsm.api.domain.report.CoachReport;
 import com.vsm.api.domain.report.CoachReportService;
+import com.vsm.api.domain.report.CoachSentPage;
 import com.vsm.api.domain.report.exception.ReportAlreadyExistsException;
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
 import com.vsm.api.infrastructure.metrics.ReportMetricsPublisher;
+import com.vsm.api.infrastructure.resilience.BrownoutController;
+import com.vsm.api.infrastructure.resilience.OptionalStage;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
 import com.vsm.api.infrastructure.storage.RawReportUploadPresigner;
+import com.vsm.api.model.CoachActivitySummaryResponse;
+import com.vsm.api.model.CoachSentReportItem;
+import com.vsm.api.model.CoachSentReportListResponse;
 import com.vsm.api.model.ReportRequest;
 import com.vsm.api.model.ReportResponse;
 import com.vsm.api.model.ReportUploadUrlRequest;
@@ -19,10 +29,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -32,16 +44,25 @@ import org.springframework.web.server.ResponseStatusException;
 public class CoachReportsController {
 
   private final CoachReportService coachReportService;
+  private final CoachActivityService coachActivityService;
   private final RawReportUploadPresigner uploadPresigner;
   private final ReportMetricsPublisher metrics;
+  private final BrownoutController brownout;
+  private final HotKeyDetector hotKeys;
 
   public CoachReportsController(
       CoachReportService coachReportService,
+      CoachActivityService coachActivityService,
       RawReportUploadPresigner uploadPresigner,
-      ReportMetricsPublisher metrics) {
+      ReportMetricsPublisher metrics,
+      BrownoutController brownout,
+      HotKeyDetector hotKeys) {
     this.coachReportService = coachReportService;
+    this.coachActivityService = coachActivityService;
     this.uploadPresigner = uploadPresigner;
     this.metrics = metrics;
+    this.brownout = brownout;
+    this.hotKeys = hotKeys;
   }
 
   @PostMapping
@@ -62,7 +83,10 @@ public class CoachReportsController {
             req.getCategories(),
             reportTimestamp,
             reportIdHeader,
-            resolveCoachId(jwt));
+            resolveCoachId(jwt),
+            blankToNull(req.getTeamId()));
+    hotKeys.record(HotKeyDetector.KeyType.COACH, report.coachId());
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, report.playerId());
 
     try {
       coachReportService.create(report);
@@ -70,16 +94,53 @@ public class CoachReportsController {
       outcome = "duplicate";
     } catch (RuntimeException ex) {
       outcome = "error";
-      metrics.recordReportCreate(Duration.between(start, Instant.now()), outcome);
+      recordCreateMetric(start, outcome);
       throw ex;
     }
 
-    metrics.recordReportCreate(Duration.between(start, Instant.now()), outcome);
+    recordCreateMetric(start, outcome);
 
     return ResponseEntity.accepted()
         .body(new ReportResponse(report.reportId(), "QUEUED", Instant.now()));
   }
 
+  @GetMapping
+  @Operation(
+      summary = "List reports sent by the authenticated coach",
+      description = "Returns reports in reverse chronological order from the coach's sent index.")
+  public CoachSentReportListResponse listSentReports(
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @AuthenticationPrincipal Jwt jwt) {
+    if (limit != null && (limit < 1 || limit > 50)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 50");
+    }
+    CoachSentPage page;
+    try {
+      page = coachActivityService.listSentReports(resolveCoachId(jwt), limit, cursor);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor is invalid", ex);
+    }
+    return new CoachSentReportListResponse(
+        page.items().stream()
+            .map(
+                sent ->
+                    new CoachSentReportItem(
+                        sent.reportId(), sent.playerId(), sent.reportTimestamp(), sent.createdAt()))
+            .toList(),
+        page.nextCursor());
+  }
+
+  @GetMapping("/summary")
+  @Operation(
+      summary = "Report counts for the authenticated coach",
+      description = "Reports sent today and during the current ISO week (UTC).")
+  public CoachActivitySummaryResponse summary(@AuthenticationPrincipal Jwt jwt) {
+    CoachActivitySummary summary = coachActivityService.summary(resolveCoachId(jwt));
+    return new CoachActivitySummaryResponse(
+        summary.day(), summary.week(), summary.sentToday(), summary.sentThisWeek());
+  }
+
   @PostMapping("/upload-url")
   @Operation(
       summary = "Generate a presigned S3 URL for uploading coach report CSVs",
@@ -110,6 +171,19 @@ public class CoachReportsController {
     return ResponseEntity.ok(response);
   }
 
+  private void recordCreateMetric(Instant start, String outcome) {
+    if (brownout.isShed(OptionalStage.CREATE_METRIC)) {
+      brownout.recordSkipped(OptionalStage.CREATE_METRIC);
+      return;
+    }
+    if (!RequestDeadline.allowsOptionalWork()) {
+      return;
+    }
+    long started = System.nanoTime();
+    metrics.recordReportCreate(Duration.between(start, Instant.now()), outcome);
+    brownout.recordStageLatency(OptionalStage.CREATE_METRIC, System.nanoTime() - started);
+  }
+
   private Instant parseReportTimestamp(String header) {
     if (header == null || header.isBlank()) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "reportId header is required");
@@ -122,13 +196,11 @@ public class CoachReportsController {
     }
   }
 
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+
   private String resolveCoachId(Jwt jwt) {
-    if (jwt == null) {
-      return "anonymous";
-    }
-    if (jwt.getClaimAsString("username") != null) {
-      return jwt.getClaimAsString("username");
-    }
-    return jwt.getSubject();
+    return JwtPrincipals.actorId(jwt);
   }
 }
@@ -0,0 +1,28 @@
+package com.vsm.api.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+
+/**
+ * Answers an AWS call cut short by its {@code apiCallTimeout}, which {@link
+ * com.vsm.api.infrastructure.resilience.RequestDeadline#sdkOverride()} caps to the request's
+ * remaining budget, with the same {@code 504} as {@link
+ * com.vsm.api.infrastructure.resilience.DeadlineExceededException}.
+ */
+@RestControllerAdvice
+class DeadlineExceptionHandler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeadlineExceptionHandler.class);
+
+  @ExceptionHandler(ApiCallTimeoutException.class)
+  void apiCallTimeout(ApiCallTimeoutException ex, HttpServletResponse response) throws IOException {
+    LOGGER.warn("AWS call timed out: {}", ex.getMessage());
+    response.sendError(HttpStatus.GATEWAY_TIMEOUT.value(), "Request deadline exceeded");
+  }
+}
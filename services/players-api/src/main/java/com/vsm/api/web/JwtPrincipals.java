@@ -0,0 +1,30 @@
+package com.vsm.api.web;
+
+import java.util.List;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/** Resolves actor identity and role from Cognito access tokens. */
+final class JwtPrincipals {
+
+  static final String ANONYMOUS = "anonymous";
+
+  private JwtPrincipals() {}
+
+  static String actorId(Jwt jwt) {
+    if (jwt == null) {
+      return ANONYMOUS;
+    }
+    if (jwt.getClaimAsString("username") != null) {
+      return jwt.getClaimAsString("username");
+    }
+    return jwt.getSubject();
+  }
+
+  static String actorRole(Jwt jwt) {
+    if (jwt == null) {
+      return "ANONYMOUS";
+    }
+    List<String> groups = jwt.getClaimAsStringList("cognito:groups");
+    return groups != null && groups.contains("COACH") ? "COACH" : "PLAYER";
+  }
+}
@@ -0,0 +1,20 @@
+package com.vsm.api.web;
+
+import com.vsm.api.domain.report.PlayerReportSummary;
+import com.vsm.api.model.PlayerReportListItem;
+
+/** Maps report summaries to their API representation. */
+final class PlayerReportItems {
+
+  private PlayerReportItems() {}
+
+  static PlayerReportListItem toItem(PlayerReportSummary summary) {
+    return new PlayerReportListItem(
+        summary.reportId(),
+        summary.reportTimestamp(),
+        summary.createdAt(),
+        summary.coachId(),
+        summary.s3Key(),
+        summary.soapStamp());
+  }
+}
@@ -1,58 +1,198 @@
 package com.vsm.api.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsm.api.domain.report.PlayerReportArchiver;
+import com.vsm.api.domain.report.PlayerReportExporter;
 import com.vsm.api.domain.report.PlayerReportPage;
 import com.vsm.api.domain.report.PlayerReportService;
 import com.vsm.api.domain.report.PlayerReportSummary;
+import com.vsm.api.domain.report.ReportExistence;
+import com.vsm.api.domain.report.ReportExistenceService;
+import com.vsm.api.infrastructure.audit.ReportViewTracker;
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
 import com.vsm.api.model.PlayerReportListItem;
 import com.vsm.api.model.PlayerReportListResponse;
+import com.vsm.api.model.ReportExistsRequest;
+import com.vsm.api.model.ReportExistsResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
-@RequestMapping("/api/players/{playerId}/reports")
+@RequestMapping("/api/players/{playerId}")
 @Tag(name = "Player Reports")
 public class PlayerReportsController {
 
   private final PlayerReportService service;
+  private final ReportExistenceService existence;
+  private final PlayerReportExporter exporter;
+  private final PlayerReportArchiver archiver;
+  private final ReportDownloads downloads;
+  private final ObjectMapper objectMapper;
+  private final ReportViewTracker viewTracker;
+  private final HotKeyDetector hotKeys;
+  private final int maxExistsIds;
 
-  public PlayerReportsController(PlayerReportService service) {
+  public PlayerReportsController(
+      PlayerReportService service,
+      ReportExistenceService existence,
+      PlayerReportExporter exporter,
+      PlayerReportArchiver archiver,
+      ReportDownloads downloads,
+      ObjectMapper objectMapper,
+      ReportViewTracker viewTracker,
+      HotKeyDetector hotKeys,
+      @Value("${app.reports.exists.max-ids:500}") int maxExistsIds) {
     this.service = service;
+    this.existence = existence;
+    this.exporter = exporter;
+    this.archiver = archiver;
+    this.downloads = downloads;
+    this.objectMapper = objectMapper;
+    this.viewTracker = viewTracker;
+    this.hotKeys = hotKeys;
+    this.maxExistsIds = Math.max(1, maxExistsIds);
   }
 
-  @GetMapping
+  @GetMapping("/reports")
   @Operation(
       summary = "List reports for a player",
       description = "Returns reports in reverse chronological order.")
   public PlayerReportListResponse listReports(
       @PathVariable("playerId") String playerId,
       @RequestParam(value = "limit", required = false) Integer limit,
-      @RequestParam(value = "cursor", required = false) String cursor) {
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @AuthenticationPrincipal Jwt jwt) {
     if (limit != null && (limit < 1 || limit > 50)) {
       throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 50");
     }
 
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, playerId);
     PlayerReportPage page = service.listReports(playerId, limit, cursor);
+    recordViews(page, jwt);
     List<PlayerReportListItem> items =
-        page.items().stream().map(this::toItem).collect(Collectors.toList());
+        page.items().stream().map(PlayerReportItems::toItem).collect(Collectors.toList());
     return new PlayerReportListResponse(items, page.nextCursor());
   }
 
-  private PlayerReportListItem toItem(PlayerReportSummary summary) {
-    return new PlayerReportListItem(
-        summary.reportId(),
-        summary.reportTimestamp(),
-        summary.createdAt(),
-        summary.coachId(),
-        summary.s3Key(),
-        summary.soapStamp());
+  @GetMapping("/reports/export")
+  @Operation(
+      summary = "Export a player's full report history",
+      description =
+          "Streams every report summary, newest first, as NDJSON (the default) or CSV. A response"
+              + " that ends without its final chunk was cut short and should be retried.")
+  public ResponseEntity<ResponseBodyEmitter> exportReports(
+      @PathVariable("playerId") String playerId,
+      @RequestParam(value = "format", required = false, defaultValue = "ndjson") String format,
+      @AuthenticationPrincipal Jwt jwt) {
+    ReportExportFormat exportFormat;
+    try {
+      exportFormat = ReportExportFormat.of(format);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv", ex);
+    }
+
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, playerId);
+    String actorId = jwt == null ? null : JwtPrincipals.actorId(jwt);
+    String actorRole = JwtPrincipals.actorRole(jwt);
+    StreamingResponseBody body =
+        out -> {
+          Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+          writer.write(exportFormat.header());
+          exporter.export(
+              playerId,
+              reports -> {
+                for (PlayerReportSummary report : reports) {
+                  writer.write(exportFormat.line(PlayerReportItems.toItem(report), objectMapper));
+                  viewTracker.recordView(report.reportId(), actorId, actorRole);
+                }
+                // One flush per page keeps the client moving and the buffer bounded
+                writer.flush();
+              });
+          writer.flush();
+        };
+    return ResponseEntity.ok()
+        .contentType(exportFormat.mediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename("reports." + exportFormat.extension())
+                .build()
+                .toString())
+        .body(downloads.start(body));
+  }
+
+  @GetMapping("/reports/archive.zip")
+  @Operation(
+      summary = "Download every report text of a player as a ZIP",
+      description =
+          "Streams one entry per stored report text, newest first. Reports whose text is missing"
+              + " are listed in a missing.txt entry at the end.")
+  public ResponseEntity<ResponseBodyEmitter> archiveReports(
+      @PathVariable("playerId") String playerId, @AuthenticationPrincipal Jwt jwt) {
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, playerId);
+    String actorId = jwt == null ? null : JwtPrincipals.actorId(jwt);
+    String actorRole = JwtPrincipals.actorRole(jwt);
+    StreamingResponseBody body =
+        out ->
+            archiver.write(
+                playerId, out, reportId -> viewTracker.recordView(reportId, actorId, actorRole));
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/zip"))
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("reports.zip").build().toString())
+        .body(downloads.start(body));
+  }
+
+  @PostMapping("/reports:exists")
+  @Operation(
+      summary = "Check which reports exist",
+      description =
+          "Lets clients reconcile retried uploads. Reports that could not be checked are listed"
+              + " as unresolved and should be asked about again.")
+  public ReportExistsResponse reportsExist(
+      @PathVariable("playerId") String playerId, @Valid @RequestBody ReportExistsRequest request) {
+    if (request.getReportIds().size() > maxExistsIds) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "at most " + maxExistsIds + " reportIds are allowed");
+    }
+
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, playerId);
+    ReportExistence result = existence.check(playerId, request.getReportIds());
+    return new ReportExistsResponse(result.existing(), result.missing(), result.unresolved());
+  }
+
+  private void recordViews(PlayerReportPage page, Jwt jwt) {
+    if (jwt == null) {
+      return;
+    }
+    String actorId = JwtPrincipals.actorId(jwt);
+    String actorRole = JwtPrincipals.actorRole(jwt);
+    page.items().forEach(item -> viewTracker.recordView(item.reportId(), actorId, actorRole));
   }
 }
@@ -0,0 +1,144 @@
+package com.vsm.api.web;
+
+import com.vsm.api.domain.stats.ActivityRollupService;
+import com.vsm.api.domain.stats.ActivityRollups;
+import com.vsm.api.domain.stats.CategoryPercentile;
+import com.vsm.api.domain.stats.CategoryStats;
+import com.vsm.api.domain.stats.PercentileSketchService;
+import com.vsm.api.domain.stats.PlayerPercentiles;
+import com.vsm.api.domain.stats.SeasonStats;
+import com.vsm.api.domain.stats.SeasonStatsService;
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
+import com.vsm.api.model.ActivityRollupResponse;
+import com.vsm.api.model.CategoryPercentileItem;
+import com.vsm.api.model.CategoryStatsItem;
+import com.vsm.api.model.PlayerPercentilesResponse;
+import com.vsm.api.model.PlayerSeasonStatsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/players/{playerId}/stats")
+@Tag(name = "Player Stats")
+public class PlayerStatsController {
+
+  private final SeasonStatsService service;
+  private final PercentileSketchService percentiles;
+  private final ActivityRollupService rollups;
+  private final HotKeyDetector hotKeys;
+
+  public PlayerStatsController(
+      SeasonStatsService service,
+      PercentileSketchService percentiles,
+      ActivityRollupService rollups,
+      HotKeyDetector hotKeys) {
+    this.service = service;
+    this.percentiles = percentiles;
+    this.rollups = rollups;
+    this.hotKeys = hotKeys;
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "Season stats for a player",
+      description =
+          "Totals, extremes, means and standard deviations of the player's numeric report"
+              + " categories for one season (the current one by default).")
+  public PlayerSeasonStatsResponse getStats(
+      @PathVariable("playerId") String playerId,
+      @RequestParam(value = "season", required = false) String season) {
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, playerId);
+    SeasonStats stats;
+    try {
+      stats = service.getStats(playerId, season);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "season is invalid", ex);
+    }
+    List<CategoryStatsItem> categories = new ArrayList<>(stats.categories().size());
+    stats.categories().forEach((category, totals) -> categories.add(toItem(category, totals)));
+    return new PlayerSeasonStatsResponse(
+        stats.playerId(), stats.season(), stats.reports(), categories);
+  }
+
+  @GetMapping("/percentiles")
+  @Operation(
+      summary = "Percentile ranks for a player",
+      description =
+          "Where the player's season average for each numeric category falls among the per-report"
+              + " values of the team (when teamId is given) and the whole league. Ranks are"
+              + " approximate, typically within one percentile.")
+  public PlayerPercentilesResponse getPercentiles(
+      @PathVariable("playerId") String playerId,
+      @RequestParam(value = "teamId", required = false) String teamId,
+      @RequestParam(value = "season", required = false) String season) {
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, playerId);
+    String team = teamId == null || teamId.isBlank() ? null : teamId.trim();
+    PlayerPercentiles result;
+    try {
+      result = percentiles.percentiles(playerId, team, season);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "season is invalid", ex);
+    }
+    return new PlayerPercentilesResponse(
+        result.playerId(),
+        result.teamId(),
+        result.season(),
+        result.categories().stream().map(PlayerStatsController::toItem).toList());
+  }
+
+  @GetMapping("/activity")
+  @Operation(
+      summary = "Report activity over time for a player",
+      description =
+          "Reports per day or week and category totals and averages, from rollup buckets. Days"
+              + " older than the compaction horizon are returned as weeks.")
+  public ActivityRollupResponse getActivity(
+      @PathVariable("playerId") String playerId,
+      @RequestParam(value = "granularity", required = false, defaultValue = "week")
+          String granularity,
+      @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate from,
+      @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate to) {
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, playerId);
+    ActivityRollups result;
+    try {
+      result = rollups.playerActivity(playerId, ActivityItems.granularity(granularity), from, to);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+    }
+    return ActivityItems.toResponse(result);
+  }
+
+  private static CategoryPercentileItem toItem(CategoryPercentile percentile) {
+    return new CategoryPercentileItem(
+        percentile.category(),
+        percentile.playerAverage(),
+        percentile.teamPercentile(),
+        percentile.teamReports(),
+        percentile.leaguePercentile(),
+        percentile.leagueReports());
+  }
+
+  private static CategoryStatsItem toItem(String category, CategoryStats totals) {
+    return new CategoryStatsItem(
+        category,
+        totals.count(),
+        totals.sum(),
+        totals.min(),
+        totals.max(),
+        totals.mean(),
+        totals.standardDeviation());
+  }
+}
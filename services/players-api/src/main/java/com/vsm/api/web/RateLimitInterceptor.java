@@ -0,0 +1,78 @@
+package com.vsm.api.web;
+
+import com.vsm.api.infrastructure.resilience.TokenBucketRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rate limits authenticated API calls per principal, using the same actor id the controllers
+ * record as the coach id. Coaches and players draw from separately sized buckets.
+ *
+ * <p>Responses carry {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code
+ * RateLimit-Reset}; rejections are {@code 429} with {@code Retry-After}. Header values come from a
+ * precomputed table so the rejection path does not allocate.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+  static final String LIMIT_HEADER = "RateLimit-Limit";
+  static final String REMAINING_HEADER = "RateLimit-Remaining";
+  static final String RESET_HEADER = "RateLimit-Reset";
+
+  private static final String[] NUMBERS = new String[3601];
+
+  static {
+    for (int i = 0; i < NUMBERS.length; i++) {
+      NUMBERS[i] = Integer.toString(i);
+    }
+  }
+
+  private final TokenBucketRateLimiter coachLimiter;
+  private final TokenBucketRateLimiter playerLimiter;
+
+  public RateLimitInterceptor(
+      TokenBucketRateLimiter coachLimiter, TokenBucketRateLimiter playerLimiter) {
+    this.coachLimiter = coachLimiter;
+    this.playerLimiter = playerLimiter;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null || !(authentication.getPrincipal() instanceof Jwt jwt)) {
+      return true;
+    }
+    TokenBucketRateLimiter limiter =
+        "COACH".equals(JwtPrincipals.actorRole(jwt)) ? coachLimiter : playerLimiter;
+    long result = limiter.tryAcquire(JwtPrincipals.actorId(jwt));
+
+    response.setHeader(LIMIT_HEADER, number(limiter.getBurst()));
+    if (TokenBucketRateLimiter.isPermitted(result)) {
+      response.setHeader(REMAINING_HEADER, number(result));
+      response.setHeader(RESET_HEADER, seconds(limiter.refillNanos(result)));
+      return true;
+    }
+
+    String retryAfter = seconds(TokenBucketRateLimiter.retryAfterNanos(result));
+    response.setHeader(REMAINING_HEADER, NUMBERS[0]);
+    response.setHeader(RESET_HEADER, retryAfter);
+    response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    return false;
+  }
+
+  private static String seconds(long nanos) {
+    return number(Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / 1_000_000_000L));
+  }
+
+  private static String number(long value) {
+    return value >= 0 && value < NUMBERS.length ? NUMBERS[(int) value] : Long.toString(value);
+  }
+}
@@ -0,0 +1,105 @@
+package com.vsm.api.web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Runs report exports and archives on their own virtual threads instead of MVC's shared async
+ * executor, so a few slow clients cannot hold up every other async request. Each download gets
+ * the {@code timeout} on its own response; other async endpoints keep the MVC default.
+ *
+ * <p>The body is written through a {@link ResponseBodyEmitter} in chunks of up to {@value
+ * #CHUNK_BYTES} bytes, and every flush of the body sends what it has. Sends block on the client
+ * socket, so a slow client slows the body down as before.
+ */
+@Component
+public class ReportDownloads implements AutoCloseable {
+
+  private static final Thread.Builder DOWNLOAD_THREADS =
+      Thread.ofVirtual().name("report-download-", 0);
+  static final int CHUNK_BYTES = 64 * 1024;
+
+  private final long timeoutMillis;
+  private final ExecutorService executor;
+
+  public ReportDownloads(@Value("${app.reports.download.timeout:10m}") Duration timeout) {
+    this.timeoutMillis = timeout.toMillis();
+    this.executor = Executors.newThreadPerTaskExecutor(DOWNLOAD_THREADS.factory());
+  }
+
+  /**
+   * Starts writing {@code body} and returns the emitter to respond with. The write is interrupted
+   * when the response times out or the client goes away.
+   */
+  public ResponseBodyEmitter start(StreamingResponseBody body) {
+    ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+    Future<?> download =
+        executor.submit(
+            () -> {
+              try (OutputStream out = new EmitterOutputStream(emitter)) {
+                body.writeTo(out);
+              } catch (IOException | RuntimeException ex) {
+                emitter.completeWithError(ex);
+                return;
+              }
+              emitter.complete();
+            });
+    emitter.onTimeout(() -> download.cancel(true));
+    emitter.onError(error -> download.cancel(true));
+    return emitter;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /** Collects writes and sends them to the emitter once a chunk is full or the body flushes. */
+  private static final class EmitterOutputStream extends OutputStream {
+    private final ResponseBodyEmitter emitter;
+    private final ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_BYTES);
+
+    private EmitterOutputStream(ResponseBodyEmitter emitter) {
+      this.emitter = emitter;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      chunk.write(b);
+      if (chunk.size() >= CHUNK_BYTES) {
+        flush();
+      }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      chunk.write(b, off, len);
+      if (chunk.size() >= CHUNK_BYTES) {
+        flush();
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (chunk.size() == 0) {
+        return;
+      }
+      emitter.send(chunk.toByteArray());
+      chunk.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.vsm.api.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsm.api.model.PlayerReportListItem;
+import java.time.Instant;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+/** Line formats a player's report history can be exported in. */
+enum ReportExportFormat {
+  NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+  CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+  private static final String CSV_HEADER =
+      "reportId,reportTimestamp,createdAt,coachId,s3Key,soapStamp\n";
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  ReportExportFormat(MediaType mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  /**
+   * @throws IllegalArgumentException when {@code name} is not a format
+   */
+  static ReportExportFormat of(String name) {
+    return valueOf(name.trim().toUpperCase(Locale.ROOT));
+  }
+
+  MediaType mediaType() {
+    return mediaType;
+  }
+
+  String extension() {
+    return extension;
+  }
+
+  /** Written once before the first line. */
+  String header() {
+    return this == CSV ? CSV_HEADER : "";
+  }
+
+  /** One report, including its line terminator. */
+  String line(PlayerReportListItem item, ObjectMapper mapper) throws JsonProcessingException {
+    if (this == NDJSON) {
+      return mapper.writeValueAsString(item) + "\n";
+    }
+    return String.join(
+            ",",
+            csv(item.reportId()),
+            csv(item.reportTimestamp()),
+            csv(item.createdAt()),
+            csv(item.coachId()),
+            csv(item.s3Key()),
+            csv(item.soapStamp()))
+        + "\n";
+  }
+
+  private static String csv(Instant value) {
+    return value == null ? "" : value.toString();
+  }
+
+  /** RFC 4180: fields holding a separator, quote or line break are quoted, quotes doubled. */
+  private static String csv(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (value.indexOf(',') < 0
+        && value.indexOf('"') < 0
+        && value.indexOf('\n') < 0
+        && value.indexOf('\r') < 0) {
+      return value;
+    }
+    return '"' + value.replace("\"", "\"\"") + '"';
+  }
+}
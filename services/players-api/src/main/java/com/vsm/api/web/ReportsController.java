@@ -0,0 +1,198 @@
+package com.vsm.api.web;
+
+import com.vsm.api.domain.report.PlayerReportPage;
+import com.vsm.api.domain.report.PlayerReportService;
+import com.vsm.api.domain.report.PlayerReportSummary;
+import com.vsm.api.domain.report.ReportLookupService;
+import com.vsm.api.domain.report.ReportMetadata;
+import com.vsm.api.domain.report.ReportTextReader;
+import com.vsm.api.infrastructure.audit.ReportViewTracker;
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
+import com.vsm.api.infrastructure.resilience.DeadlineExceededException;
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import com.vsm.api.model.LatestReportsResponse;
+import com.vsm.api.model.PlayerLatestReports;
+import com.vsm.api.model.ReportMetadataResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+@RestController
+@RequestMapping("/api/reports")
+@Tag(name = "Reports")
+public class ReportsController {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReportsController.class);
+
+  private final PlayerReportService playerReports;
+  private final ReportLookupService reportLookup;
+  private final ReportTextReader textReader;
+  private final ReportViewTracker viewTracker;
+  private final HotKeyDetector hotKeys;
+  private final int maxPlayers;
+
+  public ReportsController(
+      PlayerReportService playerReports,
+      ReportLookupService reportLookup,
+      ReportTextReader textReader,
+      ReportViewTracker viewTracker,
+      HotKeyDetector hotKeys,
+      @Value("${app.reports.latest.max-players:25}") int maxPlayers) {
+    this.playerReports = playerReports;
+    this.reportLookup = reportLookup;
+    this.textReader = textReader;
+    this.viewTracker = viewTracker;
+    this.hotKeys = hotKeys;
+    this.maxPlayers = Math.max(1, maxPlayers);
+  }
+
+  @GetMapping("/latest")
+  @Operation(
+      summary = "Latest reports for several players",
+      description =
+          "Returns the first page of reports for each player in one response. Players whose"
+              + " reports could not be read carry an error instead of items.")
+  public LatestReportsResponse latestReports(
+      @RequestParam("playerIds") List<String> playerIds,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @AuthenticationPrincipal Jwt jwt) {
+    if (limit != null && (limit < 1 || limit > 50)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 50");
+    }
+    Set<String> ids = new LinkedHashSet<>();
+    playerIds.stream().map(String::trim).filter(id -> !id.isEmpty()).forEach(ids::add);
+    if (ids.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "playerIds is required");
+    }
+    if (ids.size() > maxPlayers) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "at most " + maxPlayers + " playerIds are allowed");
+    }
+
+    ids.forEach(id -> hotKeys.record(HotKeyDetector.KeyType.PLAYER, id));
+    Map<String, ParallelReads.Result<PlayerReportPage>> results =
+        playerReports.latestReports(ids, limit);
+    List<PlayerLatestReports> players = new ArrayList<>(results.size());
+    results.forEach((playerId, result) -> players.add(toPlayer(playerId, result, jwt)));
+    return new LatestReportsResponse(players);
+  }
+
+  @GetMapping("/{reportId}")
+  @Operation(
+      summary = "Report metadata by id",
+      description = "Looks a report up by its id alone, without knowing the player.")
+  public ReportMetadataResponse getReport(
+      @PathVariable("reportId") String reportId, @AuthenticationPrincipal Jwt jwt) {
+    ReportMetadata metadata = findViewed(reportId, jwt);
+    PlayerReportSummary summary = metadata.summary();
+    return new ReportMetadataResponse(
+        summary.reportId(),
+        metadata.playerId(),
+        metadata.teamId(),
+        summary.reportTimestamp(),
+        summary.createdAt(),
+        summary.coachId(),
+        summary.s3Key(),
+        summary.soapStamp());
+  }
+
+  @GetMapping("/{reportId}/text")
+  @Operation(
+      summary = "Report text by id",
+      description =
+          "Returns the rendered report text with a strong ETag, the SHA-256 of the text. A"
+              + " matching If-None-Match gets 304, without reading content-addressed texts.")
+  public ResponseEntity<byte[]> getReportText(
+      @PathVariable("reportId") String reportId,
+      @AuthenticationPrincipal Jwt jwt,
+      WebRequest request)
+      throws IOException {
+    PlayerReportSummary summary = findViewed(reportId, jwt).summary();
+    if (!summary.hasText()) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Report text not found");
+    }
+    Optional<String> contentHash = textReader.contentHash(summary);
+    if (contentHash.isPresent() && request.checkNotModified(contentHash.get())) {
+      return null;
+    }
+    byte[] text;
+    try {
+      text = textReader.read(summary);
+    } catch (NoSuchKeyException ex) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Report text not found");
+    }
+    // Spring answers a matching If-None-Match with 304 from this ETag
+    return ResponseEntity.ok()
+        .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+        .eTag(contentHash.orElseGet(() -> S3ReportStorage.sha256Hex(text)))
+        .body(text);
+  }
+
+  private ReportMetadata findViewed(String reportId, Jwt jwt) {
+    ReportMetadata metadata =
+        reportLookup
+            .find(reportId)
+            .orElseThrow(
+                () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Report not found"));
+    hotKeys.record(HotKeyDetector.KeyType.PLAYER, metadata.playerId());
+    if (jwt != null) {
+      viewTracker.recordView(reportId, JwtPrincipals.actorId(jwt), JwtPrincipals.actorRole(jwt));
+    }
+    return metadata;
+  }
+
+  private PlayerLatestReports toPlayer(
+      String playerId, ParallelReads.Result<PlayerReportPage> result, Jwt jwt) {
+    if (!result.succeeded()) {
+      LOGGER.warn("Latest reports failed for player {}", playerId, result.error());
+      return new PlayerLatestReports(playerId, List.of(), null, errorCode(result.error()));
+    }
+    PlayerReportPage page = result.value();
+    recordViews(page, jwt);
+    return new PlayerLatestReports(
+        playerId,
+        page.items().stream().map(PlayerReportItems::toItem).toList(),
+        page.nextCursor(),
+        null);
+  }
+
+  private void recordViews(PlayerReportPage page, Jwt jwt) {
+    if (jwt == null) {
+      return;
+    }
+    String actorId = JwtPrincipals.actorId(jwt);
+    String actorRole = JwtPrincipals.actorRole(jwt);
+    page.items().forEach(item -> viewTracker.recordView(item.reportId(), actorId, actorRole));
+  }
+
+  private static String errorCode(RuntimeException error) {
+    return error instanceof DeadlineExceededException || error instanceof ApiCallTimeoutException
+        ? "DEADLINE_EXCEEDED"
+        : "UNAVAILABLE";
+  }
+}
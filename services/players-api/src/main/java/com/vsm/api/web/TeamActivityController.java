@@ -0,0 +1,51 @@
+package com.vsm.api.web;
+
+import com.vsm.api.domain.stats.ActivityRollupService;
+import com.vsm.api.domain.stats.ActivityRollups;
+import com.vsm.api.model.ActivityRollupResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/teams/{teamId}/activity")
+@Tag(name = "Team Reports")
+public class TeamActivityController {
+
+  private final ActivityRollupService rollups;
+
+  public TeamActivityController(ActivityRollupService rollups) {
+    this.rollups = rollups;
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "Team report activity over time",
+      description =
+          "Reports per day or week and category totals and averages, summed over the team's"
+              + " players. Days older than the compaction horizon are returned as weeks.")
+  public ActivityRollupResponse activity(
+      @PathVariable("teamId") String teamId,
+      @RequestParam(value = "granularity", required = false, defaultValue = "week")
+          String granularity,
+      @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate from,
+      @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate to) {
+    ActivityRollups result;
+    try {
+      result = rollups.teamActivity(teamId, ActivityItems.granularity(granularity), from, to);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+    }
+    return ActivityItems.toResponse(result);
+  }
+}
@@ -0,0 +1,73 @@
+package com.vsm.api.web;
+
+import com.vsm.api.domain.stats.LeaderboardEntry;
+import com.vsm.api.domain.stats.LeaderboardMetric;
+import com.vsm.api.domain.stats.SeasonCalendar;
+import com.vsm.api.domain.stats.TeamLeaderboardStore;
+import com.vsm.api.model.LeaderboardEntryItem;
+import com.vsm.api.model.TeamLeaderboardResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/teams/{teamId}/leaderboard")
+@Tag(name = "Team Reports")
+public class TeamLeaderboardController {
+
+  private final TeamLeaderboardStore leaderboards;
+  private final SeasonCalendar calendar;
+
+  public TeamLeaderboardController(TeamLeaderboardStore leaderboards, SeasonCalendar calendar) {
+    this.leaderboards = leaderboards;
+    this.calendar = calendar;
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "Team leaderboard for a category",
+      description =
+          "Ranks the team's players by their season total (or average) for a numeric category.")
+  public TeamLeaderboardResponse leaderboard(
+      @PathVariable("teamId") String teamId,
+      @RequestParam("category") String category,
+      @RequestParam(value = "top", required = false, defaultValue = "10") int top,
+      @RequestParam(value = "metric", required = false, defaultValue = "total") String metric,
+      @RequestParam(value = "season", required = false) String season) {
+    if (top < 1 || top > 100) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "top must be between 1 and 100");
+    }
+    LeaderboardMetric rankBy;
+    try {
+      rankBy = LeaderboardMetric.valueOf(metric.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "metric must be total or average", ex);
+    }
+    String resolved = season == null ? calendar.currentSeason() : season;
+
+    List<LeaderboardEntry> ranked;
+    try {
+      ranked = leaderboards.top(teamId, resolved, category, top, rankBy);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "season is invalid", ex);
+    }
+    List<LeaderboardEntryItem> entries = new ArrayList<>(ranked.size());
+    for (LeaderboardEntry entry : ranked) {
+      entries.add(
+          new LeaderboardEntryItem(
+              entries.size() + 1, entry.playerId(), entry.total(), entry.count(), entry.average()));
+    }
+    return new TeamLeaderboardResponse(
+        teamId, resolved, category, rankBy.name().toLowerCase(Locale.ROOT), entries);
+  }
+}
@@ -0,0 +1,154 @@
+package com.vsm.api.web;
+
+import com.vsm.api.domain.report.PlayerReportSummary;
+import com.vsm.api.domain.report.ReportMetadata;
+import com.vsm.api.domain.report.ReportSearchPage;
+import com.vsm.api.domain.report.ReportSearchService;
+import com.vsm.api.domain.report.TeamTimelineEntry;
+import com.vsm.api.domain.report.TeamTimelinePage;
+import com.vsm.api.domain.report.TeamTimelineService;
+import com.vsm.api.domain.stats.CategoryPredicate;
+import com.vsm.api.infrastructure.audit.ReportViewTracker;
+import com.vsm.api.model.ReportSearchResponse;
+import com.vsm.api.model.TeamTimelineItem;
+import com.vsm.api.model.TeamTimelineResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/teams/{teamId}/reports")
+@Tag(name = "Team Reports")
+public class TeamReportsController {
+
+  private static final int MAX_PREDICATES = 10;
+
+  private final TeamTimelineService service;
+  private final ReportSearchService search;
+  private final ReportViewTracker viewTracker;
+
+  public TeamReportsController(
+      TeamTimelineService service, ReportSearchService search, ReportViewTracker viewTracker) {
+    this.service = service;
+    this.search = search;
+    this.viewTracker = viewTracker;
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "List reports for a team",
+      description = "Returns the team's reports across all players in reverse chronological order.")
+  public TeamTimelineResponse listReports(
+      @PathVariable("teamId") String teamId,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @AuthenticationPrincipal Jwt jwt) {
+    if (limit != null && (limit < 1 || limit > 50)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 50");
+    }
+
+    TeamTimelinePage page;
+    try {
+      page = service.listTeamReports(teamId, limit, cursor);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor is invalid", ex);
+    }
+    recordViews(page, jwt);
+    return new TeamTimelineResponse(
+        page.items().stream().map(TeamReportsController::toItem).toList(), page.nextCursor());
+  }
+
+  @GetMapping("/search")
+  @Operation(
+      summary = "Search a team's reports by category values",
+      description =
+          "Returns the newest reports of a team season whose numeric categories match all (or"
+              + " any) of the where predicates, such as Aces>=3 or Digs<2, and how many matched.")
+  public ReportSearchResponse searchReports(
+      @PathVariable("teamId") String teamId,
+      @RequestParam("where") List<String> where,
+      @RequestParam(value = "match", required = false, defaultValue = "all") String match,
+      @RequestParam(value = "season", required = false) String season,
+      @RequestParam(value = "limit", required = false, defaultValue = "20") int limit,
+      @AuthenticationPrincipal Jwt jwt) {
+    if (limit < 1 || limit > 100) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and 100");
+    }
+    String mode = match.toLowerCase(Locale.ROOT);
+    if (!mode.equals("all") && !mode.equals("any")) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "match must be all or any");
+    }
+    List<String> expressions = where.stream().filter(w -> !w.isBlank()).toList();
+    if (expressions.isEmpty() || expressions.size() > MAX_PREDICATES) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "between 1 and " + MAX_PREDICATES + " where predicates needed");
+    }
+    List<CategoryPredicate> predicates = new ArrayList<>(expressions.size());
+    for (String expression : expressions) {
+      try {
+        predicates.add(CategoryPredicate.parse(expression));
+      } catch (IllegalArgumentException ex) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+      }
+    }
+
+    ReportSearchPage page;
+    try {
+      page = search.search(teamId, season, predicates, mode.equals("all"), limit);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "season is invalid", ex);
+    }
+    if (jwt != null) {
+      String actorId = JwtPrincipals.actorId(jwt);
+      String actorRole = JwtPrincipals.actorRole(jwt);
+      page.items()
+          .forEach(item -> viewTracker.recordView(item.summary().reportId(), actorId, actorRole));
+    }
+    return new ReportSearchResponse(
+        teamId,
+        page.season(),
+        page.matched(),
+        page.items().stream().map(TeamReportsController::toItem).toList(),
+        page.unresolved());
+  }
+
+  private void recordViews(TeamTimelinePage page, Jwt jwt) {
+    if (jwt == null) {
+      return;
+    }
+    String actorId = JwtPrincipals.actorId(jwt);
+    String actorRole = JwtPrincipals.actorRole(jwt);
+    page.items()
+        .forEach(item -> viewTracker.recordView(item.report().reportId(), actorId, actorRole));
+  }
+
+  private static TeamTimelineItem toItem(ReportMetadata metadata) {
+    return toItem(metadata.playerId(), metadata.summary());
+  }
+
+  private static TeamTimelineItem toItem(TeamTimelineEntry entry) {
+    return toItem(entry.playerId(), entry.report());
+  }
+
+  private static TeamTimelineItem toItem(String playerId, PlayerReportSummary summary) {
+    return new TeamTimelineItem(
+        playerId,
+        summary.reportId(),
+        summary.reportTimestamp(),
+        summary.createdAt(),
+        summary.coachId(),
+        summary.s3Key(),
+        summary.soapStamp());
+  }
+}
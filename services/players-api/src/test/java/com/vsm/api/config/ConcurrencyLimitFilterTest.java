@@ -0,0 +1,62 @@
+package com.vsm.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vsm.api.infrastructure.resilience.AdaptiveConcurrencyLimiter;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+  private final AdaptiveConcurrencyLimiter limiter =
+      new AdaptiveConcurrencyLimiter("test", 1, 1, 1, 1.5, 0.2, 0.9);
+
+  private final ConcurrencyLimitFilter filter =
+      new ConcurrencyLimitFilter(limiter, Duration.ofSeconds(2));
+
+  @Test
+  void admitsRequestsUnderTheLimit() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/coach/reports");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    assertThat(chain.getRequest()).isSameAs(request);
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(limiter.getInFlight()).isZero();
+  }
+
+  @Test
+  void rejectsWith503AndRetryAfterWhenAtLimit() throws ServletException, IOException {
+    AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire();
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/coach/reports");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    assertThat(chain.getRequest()).isNull();
+    assertThat(response.getStatus()).isEqualTo(503);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+    assertThat(limiter.getRejected()).isEqualTo(1);
+    held.release(false);
+  }
+
+  @Test
+  void ignoresNonPostRequests() throws ServletException, IOException {
+    limiter.tryAcquire();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/coach/reports");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, response, chain);
+
+    assertThat(chain.getRequest()).isSameAs(request);
+  }
+}
@@ -0,0 +1,88 @@
+package com.vsm.api.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RequestDeadlineFilterTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+  private final RequestDeadlineFilter filter =
+      new RequestDeadlineFilter(
+          Duration.ofSeconds(10), Duration.ofSeconds(1), Clock.fixed(NOW, ZoneOffset.UTC));
+
+  private final AtomicReference<Duration> remaining = new AtomicReference<>();
+
+  @Test
+  void usesConfiguredBudgetWithoutHeader() throws ServletException, IOException {
+    run(new MockHttpServletRequest("GET", "/api/players/p1/reports"));
+
+    assertThat(remaining.get()).isBetween(Duration.ofSeconds(9), Duration.ofSeconds(10));
+    assertThat(RequestDeadline.remaining()).as("cleared after the request").isNull();
+  }
+
+  @Test
+  void headerShortensBudget() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/coach/reports");
+    request.addHeader(RequestDeadlineFilter.DEADLINE_HEADER, NOW.plusSeconds(2).toString());
+
+    run(request);
+
+    assertThat(remaining.get()).isBetween(Duration.ofSeconds(1), Duration.ofSeconds(2));
+  }
+
+  @Test
+  void headerCannotExtendBudget() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/coach/reports");
+    request.addHeader(
+        RequestDeadlineFilter.DEADLINE_HEADER,
+        Long.toString(NOW.plusSeconds(60).toEpochMilli()));
+
+    run(request);
+
+    assertThat(remaining.get()).isLessThanOrEqualTo(Duration.ofSeconds(10));
+  }
+
+  @Test
+  void rejectsDeadlineInThePast() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/coach/reports");
+    request.addHeader(RequestDeadlineFilter.DEADLINE_HEADER, NOW.minusSeconds(1).toString());
+
+    MockHttpServletResponse response = run(request);
+
+    assertThat(response.getStatus()).isEqualTo(504);
+    assertThat(remaining.get()).isNull();
+  }
+
+  @Test
+  void ignoresUnparseableHeader() throws ServletException, IOException {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/players/p1/reports");
+    request.addHeader(RequestDeadlineFilter.DEADLINE_HEADER, "soon");
+
+    run(request);
+
+    assertThat(remaining.get()).isBetween(Duration.ofSeconds(9), Duration.ofSeconds(10));
+  }
+
+  private MockHttpServletResponse run(MockHttpServletRequest request)
+      throws ServletException, IOException {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    Filter capture = (req, res, chain) -> remaining.set(RequestDeadline.remaining());
+    filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {}, capture));
+    return response;
+  }
+}
@@ -1,29 +1,79 @@
 package com.vsm.api.domain.report;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.vsm.api.domain.report.exception.ReportSaveConflictException;
+import com.vsm.api.domain.stats.SeasonCalendar;
+import com.vsm.api.domain.stats.ActivityRollupRepository;
+import com.vsm.api.domain.stats.IndexedReport;
+import com.vsm.api.domain.stats.SeasonStatsRepository;
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
-import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchGetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.KeysAndAttributes;
+import software.amazon.awssdk.services.dynamodb.model.Put;
 import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
 
 class CoachReportRepositoryTest {
 
   private final DynamoDbClient dynamoDbClient = Mockito.mock(DynamoDbClient.class);
 
+  private final CapacityAccountant capacity = Mockito.mock(CapacityAccountant.class);
+
+  private final SeasonStatsRepository seasonStats =
+      new SeasonStatsRepository(
+          dynamoDbClient, "coach_reports", capacity, new SeasonCalendar(Clock.systemUTC(), 1));
+
+  private final ActivityRollupRepository rollups =
+      new ActivityRollupRepository(dynamoDbClient, "coach_reports", capacity, 4);
+
   private final CoachReportRepository repository =
-      new CoachReportRepository(dynamoDbClient, "coach_reports");
+      new CoachReportRepository(
+          dynamoDbClient, "coach_reports", capacity, 4, seasonStats, rollups);
+
+  @BeforeEach
+  void stubWrites() {
+    when(dynamoDbClient.transactWriteItems(Mockito.any(TransactWriteItemsRequest.class)))
+        .thenReturn(TransactWriteItemsResponse.builder().build());
+    when(dynamoDbClient.updateItem(Mockito.any(UpdateItemRequest.class)))
+        .thenReturn(UpdateItemResponse.builder().build());
+  }
 
   @Test
   void saveBuildsCorrectPutItemRequest() {
@@ -38,10 +88,7 @@ class CoachReportRepositoryTest {
 
     repository.save(report, "soap:2024-01-01T00:00:00Z");
 
-    ArgumentCaptor<PutItemRequest> captor = ArgumentCaptor.forClass(PutItemRequest.class);
-    verify(dynamoDbClient).putItem(captor.capture());
-
-    PutItemRequest request = captor.getValue();
+    Put request = savedTransaction().transactItems().get(0).put();
     assertEquals("coach_reports", request.tableName());
     assertEquals(
         "attribute_not_exists(PK) AND attribute_not_exists(SK)", request.conditionExpression());
@@ -59,6 +106,528 @@ class CoachReportRepositoryTest {
     assertEquals("great", item.get("categories").m().get("serving").s());
     assertFalse(item.containsKey("s3Key"));
     assertEquals("soap:2024-01-01T00:00:00Z", item.get("soapStamp").s());
+    assertFalse(item.containsKey("deferredStages"));
+    assertFalse(item.containsKey("GSI2PK"));
+  }
+
+  @Test
+  void saveWritesShardedTeamTimelineKeys() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123",
+            "team-1");
+
+    repository.save(report, null);
+
+    Map<String, AttributeValue> item = savedTransaction().transactItems().get(0).put().item();
+    assertEquals("team-1", item.get("teamId").s());
+    assertEquals("TEAM#team-1#2", item.get("GSI2PK").s());
+    assertEquals("CREATED#20240101T000000#2024-01-01T00:00:00Z", item.get("GSI2SK").s());
+  }
+
+  @Test
+  void listTeamShardQueriesBeforeThePosition() {
+    when(dynamoDbClient.query(Mockito.any(QueryRequest.class)))
+        .thenReturn(
+            QueryResponse.builder()
+                .items(
+                    Map.of(
+                        "GSI2SK",
+                        AttributeValue.fromS("CREATED#20240101T000000#r1"),
+                        "playerId",
+                        AttributeValue.fromS("player-1"),
+                        "reportId",
+                        AttributeValue.fromS("r1"),
+                        "reportTimestamp",
+                        AttributeValue.fromS("2024-01-01T00:00:00Z")))
+                .build());
+
+    TeamShardPage page =
+        repository.listTeamShard("team-1", 3, 10, "CREATED#20240102T000000#r2");
+
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient).query(captor.capture());
+    QueryRequest request = captor.getValue();
+    assertEquals("GSI2", request.indexName());
+    assertEquals("GSI2PK = :pk AND GSI2SK < :after", request.keyConditionExpression());
+    assertEquals("TEAM#team-1#3", request.expressionAttributeValues().get(":pk").s());
+    assertFalse(request.scanIndexForward());
+    assertEquals(1, page.entries().size());
+    assertEquals("player-1", page.entries().get(0).playerId());
+    assertEquals("r1", page.entries().get(0).report().reportId());
+    assertFalse(page.hasMore());
+  }
+
+  @Test
+  void findExistingBatchGetsReportKeysAndReturnsUnprocessedIds() {
+    Map<String, AttributeValue> unprocessedKey =
+        Map.of(
+            "PK", AttributeValue.fromS("PLAYER#player-1"),
+            "SK", AttributeValue.fromS("REPORT#20240102T000000#2024-01-02T00:00:00Z"));
+    when(dynamoDbClient.batchGetItem(Mockito.any(BatchGetItemRequest.class)))
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .responses(
+                    Map.of(
+                        "coach_reports",
+                        List.of(Map.of("reportId", AttributeValue.fromS("2024-01-01T00:00:00Z")))))
+                .unprocessedKeys(
+                    Map.of(
+                        "coach_reports",
+                        KeysAndAttributes.builder().keys(List.of(unprocessedKey)).build()))
+                .build());
+    Map<String, Instant> reports = new LinkedHashMap<>();
+    reports.put("2024-01-01T00:00:00Z", Instant.parse("2024-01-01T00:00:00Z"));
+    reports.put("2024-01-02T00:00:00Z", Instant.parse("2024-01-02T00:00:00Z"));
+
+    ReportExistenceBatch batch = repository.findExisting("player-1", reports);
+
+    ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+    verify(dynamoDbClient).batchGetItem(captor.capture());
+    KeysAndAttributes keys = captor.getValue().requestItems().get("coach_reports");
+    assertEquals("reportId", keys.projectionExpression());
+    assertEquals(2, keys.keys().size());
+    assertEquals("REPORT#20240101T000000#2024-01-01T00:00:00Z", keys.keys().get(0).get("SK").s());
+    assertEquals(Set.of("2024-01-01T00:00:00Z"), batch.existing());
+    assertEquals(List.of("2024-01-02T00:00:00Z"), batch.unprocessed());
+  }
+
+  @Test
+  void getReportsBatchGetsIndexedReportsAndReturnsUnprocessedOnes() {
+    IndexedReport first =
+        new IndexedReport("player-1", "r1", Instant.parse("2024-01-01T00:00:00Z"));
+    IndexedReport second =
+        new IndexedReport("player-2", "r2", Instant.parse("2024-01-02T00:00:00Z"));
+    Map<String, AttributeValue> unprocessedKey =
+        Map.of(
+            "PK", AttributeValue.fromS("PLAYER#player-2"),
+            "SK", AttributeValue.fromS("REPORT#20240102T000000#r2"));
+    when(dynamoDbClient.batchGetItem(Mockito.any(BatchGetItemRequest.class)))
+        .thenReturn(
+            BatchGetItemResponse.builder()
+                .responses(
+                    Map.of(
+                        "coach_reports",
+                        List.of(
+                            Map.of(
+                                "playerId", AttributeValue.fromS("player-1"),
+                                "teamId", AttributeValue.fromS("team-1"),
+                                "reportId", AttributeValue.fromS("r1"),
+                                "reportTimestamp", AttributeValue.fromS("2024-01-01T00:00:00Z")))))
+                .unprocessedKeys(
+                    Map.of(
+                        "coach_reports",
+                        KeysAndAttributes.builder().keys(List.of(unprocessedKey)).build()))
+                .build());
+
+    ReportSummaryBatch batch = repository.getReports(List.of(first, second));
+
+    ArgumentCaptor<BatchGetItemRequest> captor = ArgumentCaptor.forClass(BatchGetItemRequest.class);
+    verify(dynamoDbClient).batchGetItem(captor.capture());
+    KeysAndAttributes keys = captor.getValue().requestItems().get("coach_reports");
+    assertEquals(2, keys.keys().size());
+    assertEquals("PLAYER#player-1", keys.keys().get(0).get("PK").s());
+    assertEquals("REPORT#20240101T000000#r1", keys.keys().get(0).get("SK").s());
+    assertEquals(Set.of("r1"), batch.found().keySet());
+    assertEquals("team-1", batch.found().get("r1").teamId());
+    assertEquals(List.of(second), batch.unprocessed());
+  }
+
+  @Test
+  void findReportQueriesGsi1ByReportId() {
+    when(dynamoDbClient.query(Mockito.any(QueryRequest.class)))
+        .thenReturn(
+            QueryResponse.builder()
+                .items(
+                    Map.of(
+                        "playerId",
+                        AttributeValue.fromS("player-1"),
+                        "teamId",
+                        AttributeValue.fromS("team-1"),
+                        "reportId",
+                        AttributeValue.fromS("r1"),
+                        "reportTimestamp",
+                        AttributeValue.fromS("2024-01-01T00:00:00Z"),
+                        "s3Key",
+                        AttributeValue.fromS("reports/player-1/r1.txt")))
+                .build());
+
+    ReportMetadata metadata = repository.findReport("r1").orElseThrow();
+
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient).query(captor.capture());
+    QueryRequest request = captor.getValue();
+    assertEquals("GSI1", request.indexName());
+    assertEquals("REPORT#r1", request.expressionAttributeValues().get(":key").s());
+    assertEquals("player-1", metadata.playerId());
+    assertEquals("team-1", metadata.teamId());
+    assertEquals("reports/player-1/r1.txt", metadata.summary().s3Key());
+  }
+
+  @Test
+  void findReportIsEmptyWhenNoReportHasTheId() {
+    when(dynamoDbClient.query(Mockito.any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of()).build());
+
+    assertTrue(repository.findReport("missing").isEmpty());
+  }
+
+  @Test
+  void saveRecordsDeferredStages() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    repository.save(report, null, Set.of("SOAP_STAMP", "AUDIT"), null, null);
+
+    Map<String, AttributeValue> item = savedTransaction().transactItems().get(0).put().item();
+    assertEquals(List.of("AUDIT", "SOAP_STAMP"), item.get("deferredStages").ss());
+    assertFalse(item.containsKey("soapStamp"));
+  }
+
+  @Test
+  void saveStoresInlineTextAsBinaryAndReadsItBack() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+    byte[] inlineText = {120, -38, 1, 2, 3};
+
+    repository.save(report, null, Set.of(), inlineText, null);
+
+    Map<String, AttributeValue> item = savedTransaction().transactItems().get(0).put().item();
+    assertArrayEquals(inlineText, item.get("inlineText").b().asByteArray());
+    assertFalse(item.containsKey("s3Key"));
+
+    when(dynamoDbClient.query(Mockito.any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(item).build());
+    PlayerReportSummary summary = repository.listReports("player-1", 10, null).items().get(0);
+    assertArrayEquals(inlineText, summary.inlineText());
+    assertNull(summary.s3Key());
+    assertTrue(summary.hasText());
+  }
+
+  @Test
+  void setInlineTextWritesOnlyToReportsWithoutOne() {
+    Instant timestamp = Instant.parse("2024-01-01T00:00:00Z");
+
+    assertTrue(repository.setInlineText("player-1", timestamp, "r1", new byte[] {1, 2}));
+
+    ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+    verify(dynamoDbClient).updateItem(captor.capture());
+    UpdateItemRequest request = captor.getValue();
+    assertEquals("REPORT#20240101T000000#r1", request.key().get("SK").s());
+    assertEquals("SET inlineText = :t", request.updateExpression());
+    assertEquals(
+        "attribute_exists(PK) AND attribute_not_exists(inlineText)",
+        request.conditionExpression());
+    assertArrayEquals(
+        new byte[] {1, 2}, request.expressionAttributeValues().get(":t").b().asByteArray());
+
+    when(dynamoDbClient.updateItem(Mockito.any(UpdateItemRequest.class)))
+        .thenThrow(ConditionalCheckFailedException.builder().message("inlined").build());
+    assertFalse(repository.setInlineText("player-1", timestamp, "r1", new byte[] {1, 2}));
+  }
+
+  @Test
+  void saveRecordsConsumedCapacity() {
+    ConsumedCapacity consumed =
+        ConsumedCapacity.builder().tableName("coach_reports").capacityUnits(2.0).build();
+    when(dynamoDbClient.transactWriteItems(Mockito.any(TransactWriteItemsRequest.class)))
+        .thenReturn(TransactWriteItemsResponse.builder().consumedCapacity(consumed).build());
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    repository.save(report, null);
+
+    assertEquals(ReturnConsumedCapacity.TOTAL, savedTransaction().returnConsumedCapacity());
+    verify(capacity).recordWrite("saveReport", "player-1", List.of(consumed));
+  }
+
+  @Test
+  void saveIndexesReportUnderCoachAndCountsIt() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    repository.save(report, null);
+
+    TransactWriteItemsRequest request = savedTransaction();
+    assertEquals(2, request.transactItems().size());
+    Map<String, AttributeValue> sent = request.transactItems().get(1).put().item();
+    assertEquals("COACH#coach-123", sent.get("PK").s());
+    assertEquals("SENT#20240101T000000#2024-01-01T00:00:00Z", sent.get("SK").s());
+    assertEquals("player-1", sent.get("playerId").s());
+    List<UpdateItemRequest> updates = savedUpdates();
+    UpdateItemRequest counters = updates.get(0);
+    assertEquals("COACH#coach-123", counters.key().get("PK").s());
+    assertTrue(counters.key().get("SK").s().startsWith("STATS#"));
+    assertEquals(
+        "SET updatedAt = :now ADD sentThisWeek :one, #day :one", counters.updateExpression());
+    assertTrue(counters.expressionAttributeNames().get("#day").startsWith("sent_"));
+    assertEquals("SEASON#2024", updates.get(1).key().get("SK").s());
+  }
+
+  @Test
+  void saveMarksTheReportUntilItsAggregatesAreAdded() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    repository.save(report, null);
+
+    Map<String, AttributeValue> item = savedTransaction().transactItems().get(0).put().item();
+    assertTrue(item.get("aggregatesPending").bool());
+    UpdateItemRequest clear =
+        savedUpdates().stream()
+            .filter(update -> update.updateExpression().equals("REMOVE aggregatesPending"))
+            .findFirst()
+            .orElseThrow();
+    assertEquals("REPORT#20240101T000000#2024-01-01T00:00:00Z", clear.key().get("SK").s());
+  }
+
+  @Test
+  void saveKeepsTheMarkerWhenAnAggregateCannotBeAdded() {
+    when(dynamoDbClient.updateItem(Mockito.any(UpdateItemRequest.class)))
+        .thenThrow(new IllegalStateException("throttled"))
+        .thenReturn(UpdateItemResponse.builder().build());
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    repository.save(report, null);
+
+    assertTrue(
+        savedUpdates().stream()
+            .noneMatch(update -> update.updateExpression().startsWith("REMOVE")));
+  }
+
+  @Test
+  void saveAddsNumericCategoriesToSeasonStats() {
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(GetItemResponse.builder().build());
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("Aces", "3", "notes", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    repository.save(report, null);
+
+    List<UpdateItemRequest> updates = savedUpdates();
+    UpdateItemRequest season = updates.get(1);
+    assertEquals("PLAYER#player-1", season.key().get("PK").s());
+    assertTrue(season.updateExpression().endsWith("ADD reports :one, #c0 :one, #s0 :v0, #q0 :q0"));
+    assertEquals("count:Aces", season.expressionAttributeNames().get("#c0"));
+    assertEquals("9", season.expressionAttributeValues().get(":q0").n());
+    UpdateItemRequest extremes = updates.get(updates.size() - 1);
+    assertEquals("SET #a0 = :a0, #a1 = :a1", extremes.updateExpression());
+  }
+
+  @Test
+  void saveAddsTheReportToPlayerAndTeamActivityBuckets() {
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(GetItemResponse.builder().build());
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("Aces", "3"),
+            Instant.parse("2024-05-01T10:00:00Z"),
+            "2024-05-01T10:00:00Z",
+            "coach-123",
+            "team-1");
+
+    repository.save(report, null);
+
+    List<UpdateItemRequest> updates = savedUpdates();
+    UpdateItemRequest playerDay = updates.get(2);
+    assertEquals("PLAYER#player-1", playerDay.key().get("PK").s());
+    assertEquals("ROLLUP#D#20240501", playerDay.key().get("SK").s());
+    assertTrue(playerDay.expressionAttributeValues().containsKey(":expires"));
+    assertEquals("ROLLUP#W#202418", updates.get(3).key().get("SK").s());
+    int shard = CoachReportRepository.teamShard(report.reportId(), 4);
+    UpdateItemRequest teamDay = updates.get(4);
+    assertEquals("TEAM#team-1", teamDay.key().get("PK").s());
+    assertEquals("ROLLUP#D#20240501#" + shard, teamDay.key().get("SK").s());
+    assertEquals("ROLLUP#W#202418#" + shard, updates.get(5).key().get("SK").s());
+    assertEquals("sum:Aces", teamDay.expressionAttributeNames().get("#s0"));
+  }
+
+  @Test
+  void saveReportsDuplicatesAsConditionalCheckFailures() {
+    when(dynamoDbClient.transactWriteItems(Mockito.any(TransactWriteItemsRequest.class)))
+        .thenThrow(
+            TransactionCanceledException.builder()
+                .cancellationReasons(
+                    CancellationReason.builder().code("ConditionalCheckFailed").build(),
+                    CancellationReason.builder().code("None").build(),
+                    CancellationReason.builder().code("None").build())
+                .build());
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    assertThrows(ConditionalCheckFailedException.class, () -> repository.save(report, null));
+    verify(dynamoDbClient, Mockito.never()).updateItem(Mockito.any(UpdateItemRequest.class));
+  }
+
+  @Test
+  void saveRetriesTransactionConflicts() {
+    when(dynamoDbClient.transactWriteItems(Mockito.any(TransactWriteItemsRequest.class)))
+        .thenThrow(cancelled("None", "TransactionConflict"))
+        .thenReturn(TransactWriteItemsResponse.builder().build());
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    repository.save(report, null);
+
+    verify(dynamoDbClient, Mockito.times(2))
+        .transactWriteItems(Mockito.any(TransactWriteItemsRequest.class));
+  }
+
+  @Test
+  void saveReportsPersistentConflictsAsRetryable() {
+    when(dynamoDbClient.transactWriteItems(Mockito.any(TransactWriteItemsRequest.class)))
+        .thenThrow(cancelled("TransactionConflict", "None"));
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    ReportSaveConflictException ex =
+        assertThrows(ReportSaveConflictException.class, () -> repository.save(report, null));
+
+    assertEquals("2024-01-01T00:00:00Z", ex.getReportId());
+    verify(dynamoDbClient, Mockito.times(3))
+        .transactWriteItems(Mockito.any(TransactWriteItemsRequest.class));
+    verify(dynamoDbClient, Mockito.never()).updateItem(Mockito.any(UpdateItemRequest.class));
+  }
+
+  @Test
+  void saveRethrowsOtherCancellations() {
+    when(dynamoDbClient.transactWriteItems(Mockito.any(TransactWriteItemsRequest.class)))
+        .thenThrow(cancelled("ValidationError", "None"));
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-123");
+
+    assertThrows(TransactionCanceledException.class, () -> repository.save(report, null));
+    verify(dynamoDbClient).transactWriteItems(Mockito.any(TransactWriteItemsRequest.class));
+  }
+
+  @Test
+  void listSentReportsRoundTripsCompactCursor() {
+    when(dynamoDbClient.query(Mockito.any(QueryRequest.class)))
+        .thenReturn(
+            QueryResponse.builder()
+                .items(
+                    Map.of(
+                        "reportId",
+                        AttributeValue.fromS("r2"),
+                        "playerId",
+                        AttributeValue.fromS("player-1"),
+                        "reportTimestamp",
+                        AttributeValue.fromS("2024-01-02T00:00:00Z"),
+                        "createdAt",
+                        AttributeValue.fromS("2024-01-02T00:00:05Z")))
+                .lastEvaluatedKey(
+                    Map.of(
+                        "PK",
+                        AttributeValue.fromS("COACH#coach-123"),
+                        "SK",
+                        AttributeValue.fromS("SENT#20240102T000000#r2")))
+                .build());
+
+    CoachSentPage first = repository.listSentReports("coach-123", 1, null);
+    repository.listSentReports("coach-123", 1, first.nextCursor());
+
+    assertEquals("r2", first.items().get(0).reportId());
+    assertEquals("player-1", first.items().get(0).playerId());
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient, Mockito.times(2)).query(captor.capture());
+    QueryRequest second = captor.getAllValues().get(1);
+    assertEquals("COACH#coach-123", second.expressionAttributeValues().get(":pk").s());
+    assertEquals("SENT#20240102T000000#r2", second.exclusiveStartKey().get("SK").s());
+    assertFalse(second.scanIndexForward());
+  }
+
+  @Test
+  void activitySummaryReadsTodayAndWeekCountersWithOneGet() {
+    LocalDate day = LocalDate.parse("2024-01-03");
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(
+            GetItemResponse.builder()
+                .item(
+                    Map.of(
+                        "sentThisWeek", AttributeValue.fromN("7"),
+                        "sent_20240103", AttributeValue.fromN("2")))
+                .build());
+
+    CoachActivitySummary summary = repository.getActivitySummary("coach-123", day);
+
+    ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+    verify(dynamoDbClient).getItem(captor.capture());
+    assertEquals("STATS#2024-W01", captor.getValue().key().get("SK").s());
+    assertEquals(new CoachActivitySummary(day, "2024-W01", 2, 7), summary);
   }
 
   @Test
@@ -86,6 +655,7 @@ class CoachReportRepositoryTest {
     assertEquals("PLAYER#player-1", request.key().get("PK").s());
     assertEquals("REPORT#20240101T000000#2024-01-01T00:00:00Z", request.key().get("SK").s());
     assertEquals("SET s3Key = if_not_exists(s3Key, :s)", request.updateExpression());
+    assertEquals("attribute_exists(PK)", request.conditionExpression());
     assertEquals("reports/player-1/report.txt", request.expressionAttributeValues().get(":s").s());
   }
 
@@ -133,6 +703,7 @@ class CoachReportRepositoryTest {
     assertEquals("REPORT#", request.expressionAttributeValues().get(":skprefix").s());
     assertFalse(request.scanIndexForward());
     assertEquals(10, request.limit().intValue());
+    assertEquals(ReturnConsumedCapacity.TOTAL, request.returnConsumedCapacity());
     assertEquals(
         "REPORT#20240103T000000#2024-01-03T00:00:00Z", request.exclusiveStartKey().get("SK").s());
 
@@ -146,4 +717,65 @@ class CoachReportRepositoryTest {
     assertEquals("soap:2024-01-01T00:00:00Z", summary.soapStamp());
     assertEquals("2024-01-01T00:00:00Z#2024-01-01T00:00:00Z", page.nextCursor());
   }
+
+  @Test
+  void exportReportsLetsDynamoDbSizeThePage() {
+    when(dynamoDbClient.query(Mockito.any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(List.of()).build());
+
+    PlayerReportPage page = repository.exportReports("player-1", null);
+
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient).query(captor.capture());
+    assertNull(captor.getValue().limit());
+    assertFalse(captor.getValue().scanIndexForward());
+    assertTrue(page.items().isEmpty());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  void scanTextKeysFollowsPagesAndReadsOnlyTheKey() {
+    when(dynamoDbClient.scan(Mockito.any(ScanRequest.class)))
+        .thenReturn(
+            ScanResponse.builder()
+                .items(List.of(Map.of("s3Key", AttributeValue.fromS("reports/blobs/ab/1.txt"))))
+                .lastEvaluatedKey(Map.of("PK", AttributeValue.fromS("PLAYER#player-1")))
+                .build())
+        .thenReturn(
+            ScanResponse.builder()
+                .items(List.of(Map.of("s3Key", AttributeValue.fromS("reports/blobs/cd/2.txt"))))
+                .build());
+
+    Set<String> keys = repository.scanTextKeys("reports/blobs/");
+
+    assertEquals(Set.of("reports/blobs/ab/1.txt", "reports/blobs/cd/2.txt"), keys);
+    ArgumentCaptor<ScanRequest> captor = ArgumentCaptor.forClass(ScanRequest.class);
+    verify(dynamoDbClient, Mockito.times(2)).scan(captor.capture());
+    ScanRequest second = captor.getAllValues().get(1);
+    assertEquals("s3Key", second.projectionExpression());
+    assertEquals("reports/blobs/", second.expressionAttributeValues().get(":prefix").s());
+    assertEquals("PLAYER#player-1", second.exclusiveStartKey().get("PK").s());
+  }
+
+  private static TransactionCanceledException cancelled(String... codes) {
+    return TransactionCanceledException.builder()
+        .cancellationReasons(
+            Arrays.stream(codes)
+                .map(code -> CancellationReason.builder().code(code).build())
+                .toList())
+        .build();
+  }
+
+  private List<UpdateItemRequest> savedUpdates() {
+    ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+    verify(dynamoDbClient, Mockito.atLeastOnce()).updateItem(captor.capture());
+    return captor.getAllValues();
+  }
+
+  private TransactWriteItemsRequest savedTransaction() {
+    ArgumentCaptor<TransactWriteItemsRequest> captor =
+        ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+    verify(dynamoDbClient).transactWriteItems(captor.capture());
+    return captor.getValue();
+  }
 }
@@ -4,13 +4,18 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.vsm.api.domain.report.exception.ReportAlreadyExistsException;
-import com.vsm.api.infrastructure.audit.AuditRepository;
+import com.vsm.api.domain.stats.PercentileSketchService;
+import com.vsm.api.domain.stats.ReportCategoryIndex;
+import com.vsm.api.domain.stats.TeamLeaderboardStore;
+import com.vsm.api.infrastructure.audit.AuditWriter;
 import com.vsm.api.infrastructure.events.ReportEventPublisher;
+import com.vsm.api.infrastructure.resilience.BrownoutController;
 import com.vsm.api.infrastructure.soap.SoapStampClient;
 import com.vsm.api.infrastructure.storage.S3ReportStorage;
 import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
@@ -23,9 +28,24 @@ class CoachReportServiceDay7Test {
     ReportTextRenderer renderer = new ReportTextRenderer();
     S3ReportStorage storage = Mockito.mock(S3ReportStorage.class);
     ReportEventPublisher events = Mockito.mock(ReportEventPublisher.class);
-    AuditRepository audit = Mockito.mock(AuditRepository.class);
+    AuditWriter audit = Mockito.mock(AuditWriter.class);
     SoapStampClient soap = Mockito.mock(SoapStampClient.class);
-    CoachReportService svc = new CoachReportService(repo, renderer, storage, events, audit, soap);
+    BrownoutController brownout = Mockito.mock(BrownoutController.class);
+    CoachReportService svc =
+        new CoachReportService(
+            repo,
+            renderer,
+            storage,
+            events,
+            audit,
+            soap,
+            brownout,
+            Mockito.mock(HotPlayerPageCache.class),
+            Mockito.mock(ReportLookupService.class),
+            Mockito.mock(TeamLeaderboardStore.class),
+            Mockito.mock(PercentileSketchService.class),
+            Mockito.mock(ReportCategoryIndex.class),
+            Mockito.mock(ReportTextPolicy.class));
     CoachReport report =
         new CoachReport(
             "p1", "p@x", Map.of("A", "1"), Instant.parse("2025-01-01T00:00:00Z"), "r1", "c1");
@@ -34,10 +54,8 @@ class CoachReportServiceDay7Test {
     svc.create(report);
     verify(storage).store(eq(report), any());
     verify(soap).fetchStamp("r1");
-    verify(repo).save(report, "soap-r1");
-    verify(repo)
-        .updateS3Key(
-            "p1", Instant.parse("2025-01-01T00:00:00Z"), "r1", "reports/p1/2025/01/01/r1.txt");
+    verify(repo).save(report, "soap-r1", Set.of(), null, "reports/p1/2025/01/01/r1.txt");
+    verify(repo, never()).updateS3Key(any(), any(), any(), any());
     verify(events).publishReportCreated("p1", "r1", "reports/p1/2025/01/01/r1.txt");
     verify(audit).writeSent(eq("r1"), eq("c1"), any());
   }
@@ -48,9 +66,24 @@ class CoachReportServiceDay7Test {
     ReportTextRenderer renderer = new ReportTextRenderer();
     S3ReportStorage storage = Mockito.mock(S3ReportStorage.class);
     ReportEventPublisher events = Mockito.mock(ReportEventPublisher.class);
-    AuditRepository audit = Mockito.mock(AuditRepository.class);
+    AuditWriter audit = Mockito.mock(AuditWriter.class);
     SoapStampClient soap = Mockito.mock(SoapStampClient.class);
-    CoachReportService svc = new CoachReportService(repo, renderer, storage, events, audit, soap);
+    BrownoutController brownout = Mockito.mock(BrownoutController.class);
+    CoachReportService svc =
+        new CoachReportService(
+            repo,
+            renderer,
+            storage,
+            events,
+            audit,
+            soap,
+            brownout,
+            Mockito.mock(HotPlayerPageCache.class),
+            Mockito.mock(ReportLookupService.class),
+            Mockito.mock(TeamLeaderboardStore.class),
+            Mockito.mock(PercentileSketchService.class),
+            Mockito.mock(ReportCategoryIndex.class),
+            Mockito.mock(ReportTextPolicy.class));
     CoachReport report =
         new CoachReport(
             "p1", "p@x", Map.of("A", "1"), Instant.parse("2025-01-01T00:00:00Z"), "r1", "c1");
@@ -58,14 +91,14 @@ class CoachReportServiceDay7Test {
     when(soap.fetchStamp("r1")).thenReturn(Optional.empty());
     doThrow(ConditionalCheckFailedException.builder().message("exists").build())
         .when(repo)
-        .save(report, null);
+        .save(report, null, Set.of(), null, "reports/p1/2025/01/01/r1.txt");
     try {
       svc.create(report);
     } catch (ReportAlreadyExistsException ignored) {
     }
     verify(storage).store(eq(report), any());
     verify(soap).fetchStamp("r1");
-    verify(repo).save(report, null);
+    verify(repo).save(report, null, Set.of(), null, "reports/p1/2025/01/01/r1.txt");
     verify(repo)
         .updateS3Key(
             "p1", Instant.parse("2025-01-01T00:00:00Z"), "r1", "reports/p1/2025/01/01/r1.txt");
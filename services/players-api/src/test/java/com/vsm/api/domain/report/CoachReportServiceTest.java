@@ -1,20 +1,38 @@
 package com.vsm.api.domain.report;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import com.vsm.api.domain.report.exception.ReportAlreadyExistsException;
-import com.vsm.api.infrastructure.audit.AuditRepository;
+import com.vsm.api.domain.stats.PercentileSketchService;
+import com.vsm.api.domain.stats.ReportCategoryIndex;
+import com.vsm.api.domain.stats.TeamLeaderboardStore;
+import com.vsm.api.infrastructure.audit.AuditWriter;
 import com.vsm.api.infrastructure.events.ReportEventPublisher;
+import com.vsm.api.infrastructure.resilience.BrownoutController;
+import com.vsm.api.infrastructure.resilience.OptionalStage;
+import com.vsm.api.infrastructure.resilience.RequestDeadline;
 import com.vsm.api.infrastructure.soap.SoapStampClient;
 import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 
 class CoachReportServiceTest {
@@ -23,12 +41,30 @@ class CoachReportServiceTest {
   private final ReportTextRenderer renderer = Mockito.mock(ReportTextRenderer.class);
   private final S3ReportStorage storage = Mockito.mock(S3ReportStorage.class);
   private final ReportEventPublisher eventPublisher = Mockito.mock(ReportEventPublisher.class);
-  private final AuditRepository auditRepository = Mockito.mock(AuditRepository.class);
+  private final AuditWriter auditWriter = Mockito.mock(AuditWriter.class);
   private final SoapStampClient soapStampClient = Mockito.mock(SoapStampClient.class);
+  private final BrownoutController brownout = Mockito.mock(BrownoutController.class);
+  private final HotPlayerPageCache pinnedPages = Mockito.mock(HotPlayerPageCache.class);
+  private final ReportLookupService lookups = Mockito.mock(ReportLookupService.class);
+  private final TeamLeaderboardStore leaderboards = Mockito.mock(TeamLeaderboardStore.class);
+  private final PercentileSketchService percentiles = Mockito.mock(PercentileSketchService.class);
+  private final ReportCategoryIndex categoryIndex = Mockito.mock(ReportCategoryIndex.class);
 
   private final CoachReportService service =
       new CoachReportService(
-          repository, renderer, storage, eventPublisher, auditRepository, soapStampClient);
+          repository,
+          renderer,
+          storage,
+          eventPublisher,
+          auditWriter,
+          soapStampClient,
+          brownout,
+          pinnedPages,
+          lookups,
+          leaderboards,
+          percentiles,
+          categoryIndex,
+          new ReportTextPolicy(DataSize.ofBytes(0)));
 
   @Test
   void createDelegatesToRepository() {
@@ -51,17 +87,25 @@ class CoachReportServiceTest {
     verify(renderer).render(report);
     verify(storage).store(report, "Rendered report");
     verify(soapStampClient).fetchStamp(report.reportId());
-    verify(repository).save(report, "echo");
-    verify(repository)
-        .updateS3Key(
-            report.playerId(),
-            report.reportTimestamp(),
-            report.reportId(),
-            "reports/player-1/report.txt");
+    verify(repository).save(report, "echo", Set.of(), null, "reports/player-1/report.txt");
+    verify(repository, never()).updateS3Key(any(), any(), any(), any());
     verify(eventPublisher)
         .publishReportCreated(report.playerId(), report.reportId(), "reports/player-1/report.txt");
-    verify(auditRepository)
+    verify(auditWriter)
         .writeSent(Mockito.eq(report.reportId()), Mockito.eq(report.coachId()), any(Instant.class));
+    verify(lookups).forgetMissing(report.reportId());
+    InOrder completed = Mockito.inOrder(repository, pinnedPages);
+    completed.verify(repository).save(any(), any(), any(), any(), any());
+    completed.verify(pinnedPages).evict("player-1");
+    verify(percentiles)
+        .record(null, report.reportId(), report.reportTimestamp(), report.categories());
+    verify(categoryIndex)
+        .record(
+            null,
+            report.playerId(),
+            report.reportId(),
+            report.reportTimestamp(),
+            report.categories());
   }
 
   @Test
@@ -82,13 +126,13 @@ class CoachReportServiceTest {
 
     doThrow(ConditionalCheckFailedException.builder().message("exists").build())
         .when(repository)
-        .save(report, null);
+        .save(report, null, Set.of(), null, "reports/player-1/report.txt");
 
     assertThrows(ReportAlreadyExistsException.class, () -> service.create(report));
 
     verify(storage).store(report, "Rendered report");
     verify(soapStampClient).fetchStamp(report.reportId());
-    verify(repository).save(report, null);
+    verify(repository).save(report, null, Set.of(), null, "reports/player-1/report.txt");
     verify(repository)
         .updateS3Key(
             report.playerId(),
@@ -97,7 +141,160 @@ class CoachReportServiceTest {
             "reports/player-1/report.txt");
     verify(eventPublisher)
         .publishReportCreated(report.playerId(), report.reportId(), "reports/player-1/report.txt");
-    verify(auditRepository)
+    verify(auditWriter)
         .writeSent(Mockito.eq(report.reportId()), Mockito.eq(report.coachId()), any(Instant.class));
+    verify(percentiles, never()).record(any(), any(), any(), any());
+    verify(categoryIndex, never()).record(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void createSkipsShedStagesAndRecordsThemForBackfill() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "strong"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-1");
+
+    Mockito.when(renderer.render(report)).thenReturn("Rendered report");
+    Mockito.when(storage.store(report, "Rendered report"))
+        .thenReturn("reports/player-1/report.txt");
+    Mockito.when(brownout.shedStages()).thenReturn(EnumSet.allOf(OptionalStage.class));
+
+    service.create(report);
+
+    verify(soapStampClient, never()).fetchStamp(any());
+    verify(auditWriter, never()).writeSent(any(), any(), any());
+    verify(repository)
+        .save(report, null, Set.of("AUDIT", "SOAP_STAMP"), null, "reports/player-1/report.txt");
+    verify(brownout).recordSkipped(OptionalStage.SOAP_STAMP);
+    verify(brownout).recordSkipped(OptionalStage.AUDIT);
+    verify(brownout).recordSkipped(OptionalStage.PERCENTILES);
+    verify(percentiles, never()).record(any(), any(), any(), any());
+    verify(eventPublisher)
+        .publishReportCreated(report.playerId(), report.reportId(), "reports/player-1/report.txt");
+  }
+
+  @Test
+  void createSkipsOptionalStagesWhenDeadlineIsNearlySpent() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "strong"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-1");
+
+    Mockito.when(renderer.render(report)).thenReturn("Rendered report");
+    Mockito.when(storage.store(report, "Rendered report"))
+        .thenReturn("reports/player-1/report.txt");
+
+    RequestDeadline.start(Duration.ofSeconds(5), Duration.ofSeconds(5));
+    try {
+      service.create(report);
+    } finally {
+      RequestDeadline.clear();
+    }
+
+    verify(soapStampClient, never()).fetchStamp(any());
+    verify(auditWriter, never()).writeSent(any(), any(), any());
+    verify(repository)
+        .save(report, null, Set.of("AUDIT", "SOAP_STAMP"), null, "reports/player-1/report.txt");
+    verify(percentiles, never()).record(any(), any(), any(), any());
+    verify(brownout, never()).recordSkipped(any());
+  }
+
+  @Test
+  void createKeepsSmallTextsOnTheReportItem() throws IOException {
+    CoachReportService inlining =
+        new CoachReportService(
+            repository,
+            renderer,
+            storage,
+            eventPublisher,
+            auditWriter,
+            soapStampClient,
+            brownout,
+            pinnedPages,
+            lookups,
+            leaderboards,
+            percentiles,
+            categoryIndex,
+            new ReportTextPolicy(DataSize.ofKilobytes(4)));
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "strong"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-1");
+
+    Mockito.when(renderer.render(report)).thenReturn("Rendered report");
+    Mockito.when(soapStampClient.fetchStamp(report.reportId())).thenReturn(Optional.empty());
+
+    inlining.create(report);
+
+    ArgumentCaptor<byte[]> inlineText = ArgumentCaptor.forClass(byte[].class);
+    verify(repository).save(eq(report), isNull(), eq(Set.of()), inlineText.capture(), isNull());
+    assertEquals(
+        "Rendered report",
+        new String(
+            ReportTextPolicy.open(inlineText.getValue()).readAllBytes(), StandardCharsets.UTF_8));
+    verify(storage, never()).store(any(), any());
+    verify(repository, never()).updateS3Key(any(), any(), any(), any());
+    verify(eventPublisher).publishReportCreated(report.playerId(), report.reportId(), null);
+  }
+
+  @Test
+  void leavesTheS3KeyOfAnUnuploadedSegmentToTheUpload() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "strong"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-1");
+    String segmentRef = "reports/segments/2024/01/01/s1.seg#0+15";
+
+    Mockito.when(renderer.render(report)).thenReturn("Rendered report");
+    Mockito.when(storage.store(report, "Rendered report")).thenReturn(segmentRef);
+    Mockito.when(storage.pendingUpload(segmentRef)).thenReturn(true);
+    Mockito.when(soapStampClient.fetchStamp(report.reportId())).thenReturn(Optional.empty());
+
+    service.create(report);
+
+    InOrder saveThenCheck = Mockito.inOrder(repository, storage);
+    saveThenCheck.verify(repository).save(report, null, Set.of(), null, null);
+    saveThenCheck.verify(storage).pendingUpload(segmentRef);
+    verify(repository, never()).updateS3Key(any(), any(), any(), any());
+  }
+
+  @Test
+  void attachesTheS3KeyOfASegmentUploadedDuringTheSave() {
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "strong"),
+            Instant.parse("2024-01-01T00:00:00Z"),
+            "2024-01-01T00:00:00Z",
+            "coach-1");
+    String segmentRef = "reports/segments/2024/01/01/s1.seg#0+15";
+
+    Mockito.when(renderer.render(report)).thenReturn("Rendered report");
+    Mockito.when(storage.store(report, "Rendered report")).thenReturn(segmentRef);
+    Mockito.when(storage.pendingUpload(segmentRef)).thenReturn(true, false);
+    Mockito.when(soapStampClient.fetchStamp(report.reportId())).thenReturn(Optional.empty());
+
+    service.create(report);
+
+    verify(repository).save(report, null, Set.of(), null, null);
+    verify(repository)
+        .updateS3Key(report.playerId(), report.reportTimestamp(), report.reportId(), segmentRef);
   }
 }
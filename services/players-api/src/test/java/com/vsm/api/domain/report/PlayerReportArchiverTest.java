@@ -0,0 +1,178 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+class PlayerReportArchiverTest {
+
+  private static final Instant AT = Instant.parse("2024-03-01T10:00:00Z");
+
+  private final CoachReportRepository repository = mock(CoachReportRepository.class);
+  private final S3ReportStorage storage = mock(S3ReportStorage.class);
+  private final PlayerReportArchiver archiver =
+      new PlayerReportArchiver(new PlayerReportExporter(repository, false), storage, 2, 8);
+
+  @AfterEach
+  void close() {
+    archiver.close();
+  }
+
+  @Test
+  void writesEntriesInReportOrderThroughTheWindow() throws IOException {
+    when(repository.exportReports("player-1", null))
+        .thenReturn(
+            new PlayerReportPage(List.of(report("r5"), report("r4"), report("r3")), "next"));
+    when(repository.exportReports("player-1", "next"))
+        .thenReturn(new PlayerReportPage(List.of(report("r2"), report("r1")), null));
+    for (String id : List.of("r5", "r4", "r3", "r2", "r1")) {
+      when(storage.open("texts/" + id)).thenAnswer(invocation -> object("text of " + id));
+    }
+    List<String> archived = new ArrayList<>();
+
+    long written = archiver.write("player-1", new ByteArrayOutputStream(), archived::add);
+
+    assertThat(written).isEqualTo(5);
+    assertThat(archived).containsExactly("r5", "r4", "r3", "r2", "r1");
+  }
+
+  @Test
+  void listsReportsWithoutTextInAFinalEntry() throws IOException {
+    PlayerReportSummary pending = new PlayerReportSummary("r3", AT, AT, "coach-1", null, null);
+    when(repository.exportReports("player-1", null))
+        .thenReturn(new PlayerReportPage(List.of(pending, report("r2"), report("r1")), null));
+    when(storage.open("texts/r2")).thenThrow(NoSuchKeyException.builder().message("gone").build());
+    when(storage.open("texts/r1")).thenAnswer(invocation -> object("first report"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    archiver.write("player-1", out, reportId -> {});
+
+    Map<String, String> entries = unzip(out.toByteArray());
+    assertThat(entries.keySet()).containsExactly("r1.txt", PlayerReportArchiver.MISSING_ENTRY);
+    assertThat(entries.get("r1.txt")).isEqualTo("first report");
+    assertThat(entries.get(PlayerReportArchiver.MISSING_ENTRY)).contains("r3\nr2\n");
+  }
+
+  @Test
+  void inflatesInlineTextsWithoutReadingS3() throws IOException {
+    PlayerReportSummary inline =
+        new PlayerReportSummary(
+            "r2",
+            AT,
+            AT,
+            "coach-1",
+            null,
+            null,
+            ReportTextPolicy.deflate("inline report".getBytes(StandardCharsets.UTF_8)));
+    when(repository.exportReports("player-1", null))
+        .thenReturn(new PlayerReportPage(List.of(inline, report("r1")), null));
+    when(storage.open("texts/r1")).thenAnswer(invocation -> object("stored report"));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long written = archiver.write("player-1", out, reportId -> {});
+
+    assertThat(written).isEqualTo(2);
+    Map<String, String> entries = unzip(out.toByteArray());
+    assertThat(entries.keySet()).containsExactly("r2.txt", "r1.txt");
+    assertThat(entries.get("r2.txt")).isEqualTo("inline report");
+    verify(storage).open("texts/r1");
+    verifyNoMoreInteractions(storage);
+  }
+
+  @Test
+  void failsWhenAnObjectCannotBeRead() {
+    when(repository.exportReports("player-1", null))
+        .thenReturn(new PlayerReportPage(List.of(report("r1")), null));
+    when(storage.open("texts/r1")).thenThrow(new IllegalStateException("throttled"));
+
+    assertThatThrownBy(() -> archiver.write("player-1", new ByteArrayOutputStream(), id -> {}))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("throttled");
+  }
+
+  @Test
+  void holdsNoMoreObjectsOpenThanThePermitsAllow() throws IOException {
+    PlayerReportArchiver limited =
+        new PlayerReportArchiver(new PlayerReportExporter(repository, false), storage, 3, 1);
+    when(repository.exportReports("player-1", null))
+        .thenReturn(new PlayerReportPage(List.of(report("r3"), report("r2"), report("r1")), null));
+    AtomicInteger open = new AtomicInteger();
+    AtomicInteger mostOpen = new AtomicInteger();
+    when(storage.open(anyString()))
+        .thenAnswer(
+            invocation -> {
+              mostOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+              return new ResponseInputStream<>(
+                  GetObjectResponse.builder().build(),
+                  AbortableInputStream.create(
+                      new ByteArrayInputStream("text".getBytes(StandardCharsets.UTF_8)) {
+                        @Override
+                        public void close() {
+                          open.decrementAndGet();
+                        }
+                      }));
+            });
+
+    try {
+      assertThat(limited.write("player-1", new ByteArrayOutputStream(), id -> {})).isEqualTo(3);
+    } finally {
+      limited.close();
+    }
+
+    assertThat(mostOpen).hasValue(1);
+    assertThat(open).hasValue(0);
+  }
+
+  @Test
+  void entryNamesAreSafeForEveryUnzipTool() {
+    PlayerReportSummary summary =
+        new PlayerReportSummary("2024-03-01T10:00:00Z", AT, AT, "coach-1", "key", null);
+
+    assertThat(PlayerReportArchiver.entryName(summary)).isEqualTo("2024-03-01T10-00-00Z.txt");
+  }
+
+  private static PlayerReportSummary report(String reportId) {
+    return new PlayerReportSummary(reportId, AT, AT, "coach-1", "texts/" + reportId, null);
+  }
+
+  private static ResponseInputStream<GetObjectResponse> object(String text) {
+    return new ResponseInputStream<>(
+        GetObjectResponse.builder().build(),
+        AbortableInputStream.create(
+            new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8))));
+  }
+
+  private static Map<String, String> unzip(byte[] archive) throws IOException {
+    Map<String, String> entries = new LinkedHashMap<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+        entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+      }
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,87 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PlayerReportExporterTest {
+
+  private final CoachReportRepository repository = mock(CoachReportRepository.class);
+  private final PlayerReportExporter exporter = new PlayerReportExporter(repository, true);
+
+  @AfterEach
+  void close() {
+    exporter.close();
+  }
+
+  @Test
+  void followsCursorsUntilTheLastPage() throws IOException {
+    when(repository.exportReports("player-1", null))
+        .thenReturn(new PlayerReportPage(List.of(summary("r3"), summary("r2")), "c1"));
+    when(repository.exportReports("player-1", "c1"))
+        .thenReturn(new PlayerReportPage(List.of(), "c2"));
+    when(repository.exportReports("player-1", "c2"))
+        .thenReturn(new PlayerReportPage(List.of(summary("r1")), null));
+    List<String> written = new ArrayList<>();
+    List<Integer> pageSizes = new ArrayList<>();
+
+    long exported =
+        exporter.export(
+            "player-1",
+            reports -> {
+              pageSizes.add(reports.size());
+              reports.forEach(report -> written.add(report.reportId()));
+            });
+
+    assertThat(exported).isEqualTo(3);
+    assertThat(written).containsExactly("r3", "r2", "r1");
+    assertThat(pageSizes).containsExactly(2, 1);
+  }
+
+  @Test
+  void readsInlineWithoutPrefetch() throws IOException {
+    PlayerReportExporter inline = new PlayerReportExporter(repository, false);
+    when(repository.exportReports("player-1", null))
+        .thenReturn(new PlayerReportPage(List.of(summary("r1")), null));
+
+    assertThat(inline.export("player-1", reports -> {})).isEqualTo(1);
+  }
+
+  @Test
+  void stopsWhenTheSinkFails() {
+    when(repository.exportReports("player-1", null))
+        .thenReturn(new PlayerReportPage(List.of(summary("r2")), null));
+
+    assertThatThrownBy(
+            () ->
+                exporter.export(
+                    "player-1",
+                    reports -> {
+                      throw new IOException("client went away");
+                    }))
+        .isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void surfacesReadFailures() {
+    when(repository.exportReports("player-1", null))
+        .thenThrow(new IllegalStateException("throttled"));
+
+    assertThatThrownBy(() -> exporter.export("player-1", reports -> {}))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("throttled");
+  }
+
+  private static PlayerReportSummary summary(String reportId) {
+    Instant at = Instant.parse("2024-01-01T00:00:00Z");
+    return new PlayerReportSummary(reportId, at, at, "coach-1", null, null);
+  }
+}
@@ -1,16 +1,31 @@
 package com.vsm.api.domain.report;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 class PlayerReportServiceTest {
 
   private final CoachReportRepository repository = Mockito.mock(CoachReportRepository.class);
-  private final PlayerReportService service = new PlayerReportService(repository, 20, 50);
+  private final HotPlayerPageCache pinnedPages = Mockito.mock(HotPlayerPageCache.class);
+  private final PlayerReportService service =
+      new PlayerReportService(
+          repository,
+          ResilienceFixtures.unhedged(),
+          pinnedPages,
+          ResilienceFixtures.sequentialReads(),
+          20,
+          50);
 
   @Test
   void defaultsLimitWhenNull() {
@@ -34,7 +49,14 @@ class PlayerReportServiceTest {
 
   @Test
   void sanitizesConfiguredLimits() {
-    PlayerReportService customService = new PlayerReportService(repository, -5, 3);
+    PlayerReportService customService =
+        new PlayerReportService(
+            repository,
+            ResilienceFixtures.unhedged(),
+            Mockito.mock(HotPlayerPageCache.class),
+            ResilienceFixtures.sequentialReads(),
+            -5,
+            3);
     PlayerReportPage page = new PlayerReportPage(List.of(), null);
     when(repository.listReports("player-1", 1, null)).thenReturn(page);
 
@@ -42,4 +64,42 @@ class PlayerReportServiceTest {
 
     verify(repository).listReports("player-1", 1, null);
   }
+
+  @Test
+  void servesPinnedFirstPageWithoutQuerying() {
+    PlayerReportPage pinned = new PlayerReportPage(List.of(), "cursor-1");
+    when(pinnedPages.get("player-1", 20)).thenReturn(pinned);
+
+    assertThat(service.listReports("player-1", null, null)).isSameAs(pinned);
+
+    verify(repository, never()).listReports(any(), anyInt(), any());
+  }
+
+  @Test
+  void offersFirstPagesForPinningButNotLaterPages() {
+    PlayerReportPage first = new PlayerReportPage(List.of(), "cursor-1");
+    PlayerReportPage second = new PlayerReportPage(List.of(), null);
+    when(repository.listReports("player-1", 20, null)).thenReturn(first);
+    when(repository.listReports("player-1", 20, "cursor-1")).thenReturn(second);
+
+    service.listReports("player-1", null, null);
+    service.listReports("player-1", null, "cursor-1");
+
+    verify(pinnedPages).pinIfHot("player-1", 20, first);
+    verify(pinnedPages, never()).pinIfHot("player-1", 20, second);
+  }
+
+  @Test
+  void latestReportsKeepsOtherPlayersWhenOneQueryFails() {
+    PlayerReportPage page = new PlayerReportPage(List.of(), null);
+    when(repository.listReports("player-1", 20, null)).thenReturn(page);
+    when(repository.listReports("player-2", 20, null)).thenThrow(new IllegalStateException("boom"));
+
+    Map<String, ParallelReads.Result<PlayerReportPage>> results =
+        service.latestReports(List.of("player-1", "player-2"), null);
+
+    assertThat(results.keySet()).containsExactly("player-1", "player-2");
+    assertThat(results.get("player-1").value()).isSameAs(page);
+    assertThat(results.get("player-2").error()).isInstanceOf(IllegalStateException.class);
+  }
 }
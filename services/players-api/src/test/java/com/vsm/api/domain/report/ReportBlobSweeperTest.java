@@ -0,0 +1,134 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.domain.stats.ActivityRollupRepository;
+import com.vsm.api.domain.stats.SeasonCalendar;
+import com.vsm.api.domain.stats.SeasonStatsRepository;
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsRequest;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItemsResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+class ReportBlobSweeperTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-10T00:00:00Z");
+
+  private final CoachReportRepository repository = mock(CoachReportRepository.class);
+  private final S3ReportStorage storage = mock(S3ReportStorage.class);
+
+  @Test
+  void deletesOnlyBlobsNoReportReferences() {
+    when(storage.blobPrefix()).thenReturn("reports/blobs/");
+    when(repository.scanTextKeys("reports/blobs/"))
+        .thenReturn(Set.of("reports/blobs/aa/kept.txt", "reports/blobs/cc/kept-too.txt"));
+    doAnswer(
+            invocation -> {
+              Consumer<List<String>> page = invocation.getArgument(1);
+              page.accept(List.of("reports/blobs/aa/kept.txt", "reports/blobs/bb/orphan.txt"));
+              page.accept(List.of("reports/blobs/cc/kept-too.txt"));
+              return null;
+            })
+        .when(storage)
+        .listBlobs(eq(NOW.minus(Duration.ofDays(2))), any());
+    when(storage.deleteBlobs(List.of("reports/blobs/bb/orphan.txt"))).thenReturn(1);
+
+    int deleted = sweeper(true).sweep();
+
+    assertThat(deleted).isEqualTo(1);
+    verify(storage).deleteBlobs(List.of("reports/blobs/bb/orphan.txt"));
+  }
+
+  @Test
+  void keepsTheBlobOfAReportWhoseKeyUpdateFailed() {
+    DynamoDbClient dynamoDbClient = mock(DynamoDbClient.class);
+    CapacityAccountant capacity = mock(CapacityAccountant.class);
+    CoachReportRepository reports =
+        new CoachReportRepository(
+            dynamoDbClient,
+            "coach_reports",
+            capacity,
+            4,
+            new SeasonStatsRepository(
+                dynamoDbClient,
+                "coach_reports",
+                capacity,
+                new SeasonCalendar(Clock.systemUTC(), 1)),
+            new ActivityRollupRepository(dynamoDbClient, "coach_reports", capacity, 4));
+    String blobKey = "reports/blobs/ab/ab12.txt";
+    CoachReport report =
+        new CoachReport(
+            "player-1",
+            "player@example.com",
+            Map.of("serving", "great"),
+            Instant.parse("2025-01-01T00:00:00Z"),
+            "r1",
+            "coach-1");
+    when(dynamoDbClient.transactWriteItems(any(TransactWriteItemsRequest.class)))
+        .thenReturn(TransactWriteItemsResponse.builder().build());
+    when(dynamoDbClient.updateItem(any(UpdateItemRequest.class)))
+        .thenThrow(new IllegalStateException("throttled"));
+    reports.save(report, null, Set.of(), null, blobKey);
+    assertThatThrownBy(
+            () -> reports.updateS3Key("player-1", report.reportTimestamp(), "r1", blobKey))
+        .isInstanceOf(IllegalStateException.class);
+    ArgumentCaptor<TransactWriteItemsRequest> saved =
+        ArgumentCaptor.forClass(TransactWriteItemsRequest.class);
+    verify(dynamoDbClient).transactWriteItems(saved.capture());
+    Map<String, AttributeValue> item = saved.getValue().transactItems().get(0).put().item();
+    when(dynamoDbClient.scan(any(ScanRequest.class)))
+        .thenReturn(ScanResponse.builder().items(item).build());
+    when(storage.blobPrefix()).thenReturn("reports/blobs/");
+    doAnswer(
+            invocation -> {
+              Consumer<List<String>> page = invocation.getArgument(1);
+              page.accept(List.of(blobKey));
+              return null;
+            })
+        .when(storage)
+        .listBlobs(any(), any());
+
+    ReportBlobSweeper blobSweeper =
+        new ReportBlobSweeper(
+            reports, storage, Clock.fixed(NOW, ZoneOffset.UTC), true, Duration.ofDays(2));
+
+    assertThat(blobSweeper.sweep()).isZero();
+    verify(storage, never()).deleteBlobs(any());
+  }
+
+  @Test
+  void doesNothingWhenDisabled() {
+    assertThat(sweeper(false).sweep()).isZero();
+
+    verify(repository, never()).scanTextKeys(any());
+    verify(storage, never()).listBlobs(any(), any());
+  }
+
+  private ReportBlobSweeper sweeper(boolean enabled) {
+    return new ReportBlobSweeper(
+        repository, storage, Clock.fixed(NOW, ZoneOffset.UTC), enabled, Duration.ofDays(2));
+  }
+}
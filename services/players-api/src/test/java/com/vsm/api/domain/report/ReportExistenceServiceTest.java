@@ -0,0 +1,84 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ReportExistenceServiceTest {
+
+  private final CoachReportRepository repository = mock(CoachReportRepository.class);
+  private final ReportExistenceService service =
+      new ReportExistenceService(
+          repository,
+          ResilienceFixtures.sequentialReads(),
+          3,
+          Duration.ofMillis(1),
+          Duration.ofMillis(1));
+
+  @Test
+  void checksIdsInBatchesOfOneHundred() {
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      ids.add(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(i).toString());
+    }
+    when(repository.findExisting(eq("player-1"), any()))
+        .thenAnswer(
+            invocation -> {
+              Map<String, Instant> keys = invocation.getArgument(1);
+              return new ReportExistenceBatch(Set.copyOf(keys.keySet()), List.of());
+            });
+
+    ReportExistence result = service.check("player-1", ids);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, Instant>> batches = ArgumentCaptor.forClass(Map.class);
+    verify(repository, times(3)).findExisting(eq("player-1"), batches.capture());
+    assertThat(batches.getAllValues()).extracting(Map::size).containsExactly(100, 100, 50);
+    assertThat(result.existing()).containsExactlyElementsOf(ids);
+    assertThat(result.missing()).isEmpty();
+  }
+
+  @Test
+  void retriesUnprocessedKeysAndReportsMissingIds() {
+    String first = "2024-01-01T00:00:00Z";
+    String second = "2024-01-02T00:00:00Z";
+    when(repository.findExisting(
+            "player-1", Map.of(first, Instant.parse(first), second, Instant.parse(second))))
+        .thenReturn(new ReportExistenceBatch(Set.of(), List.of(second)));
+    when(repository.findExisting("player-1", Map.of(second, Instant.parse(second))))
+        .thenReturn(new ReportExistenceBatch(Set.of(second), List.of()));
+
+    ReportExistence result = service.check("player-1", List.of(first, second, "not-an-id", first));
+
+    assertThat(result.existing()).containsExactly(second);
+    assertThat(result.missing()).containsExactly(first, "not-an-id");
+    assertThat(result.unresolved()).isEmpty();
+  }
+
+  @Test
+  void reportsKeysStillUnprocessedAfterMaxAttemptsAsUnresolved() {
+    String reportId = "2024-01-01T00:00:00Z";
+    when(repository.findExisting(eq("player-1"), any()))
+        .thenReturn(new ReportExistenceBatch(Set.of(), List.of(reportId)));
+
+    ReportExistence result = service.check("player-1", List.of(reportId));
+
+    verify(repository, times(3)).findExisting(eq("player-1"), any());
+    assertThat(result.unresolved()).containsExactly(reportId);
+    assertThat(result.missing()).isEmpty();
+  }
+}
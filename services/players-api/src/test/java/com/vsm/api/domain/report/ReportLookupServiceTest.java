@@ -0,0 +1,150 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class ReportLookupServiceTest {
+
+  private final CoachReportRepository repository = mock(CoachReportRepository.class);
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+  private final ReportLookupService service =
+      new ReportLookupService(
+          repository,
+          ResilienceFixtures.unhedged(),
+          clock,
+          new SimpleMeterRegistry(),
+          2,
+          2,
+          Duration.ofSeconds(30));
+
+  @Test
+  void cachesReportsOnceTheirTextIsStored() {
+    ReportMetadata stored = metadata("r1", "reports/player-1/r1.txt");
+    when(repository.findReport("r1")).thenReturn(Optional.of(stored));
+
+    assertThat(service.find("r1")).contains(stored);
+    assertThat(service.find("r1")).contains(stored);
+
+    verify(repository, times(1)).findReport("r1");
+  }
+
+  @Test
+  void cachesReportsWithAnInlineText() {
+    Instant timestamp = Instant.parse("2024-01-01T00:00:00Z");
+    ReportMetadata inline =
+        new ReportMetadata(
+            "player-1",
+            "team-1",
+            new PlayerReportSummary(
+                "r1", timestamp, timestamp, "coach-123", null, null, new byte[] {1, 2, 3}));
+    when(repository.findReport("r1")).thenReturn(Optional.of(inline));
+
+    assertThat(service.find("r1")).contains(inline);
+    assertThat(service.find("r1")).contains(inline);
+
+    verify(repository, times(1)).findReport("r1");
+  }
+
+  @Test
+  void rereadsReportsStillWaitingForTheirText() {
+    when(repository.findReport("r1"))
+        .thenReturn(Optional.of(metadata("r1", null)))
+        .thenReturn(Optional.of(metadata("r1", "reports/player-1/r1.txt")));
+
+    assertThat(service.find("r1").orElseThrow().summary().s3Key()).isNull();
+    assertThat(service.find("r1").orElseThrow().summary().s3Key())
+        .isEqualTo("reports/player-1/r1.txt");
+
+    verify(repository, times(2)).findReport("r1");
+  }
+
+  @Test
+  void findsAReportCreatedAfterItsIdWasProbed() {
+    ReportMetadata created = metadata("r1", "reports/player-1/r1.txt");
+    when(repository.findReport("r1")).thenReturn(Optional.empty(), Optional.of(created));
+
+    assertThat(service.find("r1")).isEmpty();
+    service.forgetMissing("r1");
+
+    assertThat(service.find("r1")).contains(created);
+  }
+
+  @Test
+  void remembersMissingIdsUntilTheNegativeTtlPasses() {
+    when(repository.findReport("missing")).thenReturn(Optional.empty());
+
+    assertThat(service.find("missing")).isEmpty();
+    clock.advance(Duration.ofSeconds(29));
+    assertThat(service.find("missing")).isEmpty();
+    verify(repository, times(1)).findReport("missing");
+
+    clock.advance(Duration.ofSeconds(1));
+    assertThat(service.find("missing")).isEmpty();
+    verify(repository, times(2)).findReport("missing");
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedReports() {
+    for (String id : new String[] {"r1", "r2", "r3"}) {
+      when(repository.findReport(id)).thenReturn(Optional.of(metadata(id, "reports/" + id)));
+    }
+
+    service.find("r1");
+    service.find("r2");
+    service.find("r1");
+    service.find("r3");
+    service.find("r1");
+    service.find("r2");
+
+    verify(repository, times(1)).findReport("r1");
+    verify(repository, times(2)).findReport("r2");
+  }
+
+  private static ReportMetadata metadata(String reportId, String s3Key) {
+    Instant timestamp = Instant.parse("2024-01-01T00:00:00Z");
+    return new ReportMetadata(
+        "player-1",
+        null,
+        new PlayerReportSummary(reportId, timestamp, timestamp, "coach-123", s3Key, null));
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.domain.stats.CategoryPredicate;
+import com.vsm.api.domain.stats.CategorySearchResult;
+import com.vsm.api.domain.stats.IndexedReport;
+import com.vsm.api.domain.stats.ReportCategoryIndex;
+import com.vsm.api.domain.stats.SeasonCalendar;
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ReportSearchServiceTest {
+
+  private static final Instant NOW = Instant.parse("2025-03-01T00:00:00Z");
+  private static final List<CategoryPredicate> ACES = List.of(CategoryPredicate.parse("Aces>2"));
+
+  private final ReportCategoryIndex index = mock(ReportCategoryIndex.class);
+  private final CoachReportRepository repository = mock(CoachReportRepository.class);
+  private final ReportSearchService service =
+      new ReportSearchService(
+          index,
+          repository,
+          new SeasonCalendar(Clock.fixed(NOW, ZoneOffset.UTC), 1),
+          ResilienceFixtures.unhedged(),
+          2,
+          Duration.ZERO,
+          Duration.ZERO);
+
+  private final IndexedReport newest = new IndexedReport("p1", "r2", NOW);
+  private final IndexedReport older = new IndexedReport("p2", "r1", NOW.minusSeconds(60));
+
+  @Test
+  void fetchesOnlyTheMatchedSummariesNewestFirst() {
+    when(index.search("team-1", "2025", ACES, true, 5))
+        .thenReturn(new CategorySearchResult(7, List.of(newest, older)));
+    Map<String, ReportMetadata> found = Map.of("r1", metadata(older), "r2", metadata(newest));
+    when(repository.getReports(List.of(newest, older)))
+        .thenReturn(new ReportSummaryBatch(found, List.of()));
+
+    ReportSearchPage page = service.search("team-1", null, ACES, true, 5);
+
+    assertThat(page.season()).isEqualTo("2025");
+    assertThat(page.matched()).isEqualTo(7);
+    assertThat(page.items()).extracting(ReportMetadata::playerId).containsExactly("p1", "p2");
+    assertThat(page.unresolved()).isEmpty();
+  }
+
+  @Test
+  void retriesUnprocessedKeysThenReportsThemUnresolved() {
+    when(index.search("team-1", "2024", ACES, false, 5))
+        .thenReturn(new CategorySearchResult(2, List.of(newest, older)));
+    when(repository.getReports(List.of(newest, older)))
+        .thenReturn(new ReportSummaryBatch(Map.of("r2", metadata(newest)), List.of(older)));
+    when(repository.getReports(List.of(older)))
+        .thenReturn(new ReportSummaryBatch(Map.of(), List.of(older)));
+
+    ReportSearchPage page = service.search("team-1", "2024", ACES, false, 5);
+
+    assertThat(page.items()).extracting(ReportMetadata::playerId).containsExactly("p1");
+    assertThat(page.unresolved()).containsExactly("r1");
+    verify(repository, times(1)).getReports(List.of(older));
+  }
+
+  @Test
+  void skipsTheTableWhenNothingMatches() {
+    when(index.search(eq("team-1"), eq("2025"), eq(ACES), eq(true), eq(100)))
+        .thenReturn(new CategorySearchResult(0, List.of()));
+
+    ReportSearchPage page = service.search("team-1", "2025", ACES, true, 500);
+
+    assertThat(page.items()).isEmpty();
+    verify(repository, never()).getReports(anyList());
+  }
+
+  private static ReportMetadata metadata(IndexedReport report) {
+    Instant at = report.reportTimestamp();
+    return new ReportMetadata(
+        report.playerId(),
+        "team-1",
+        new PlayerReportSummary(report.reportId(), at, at, "c1", null, null));
+  }
+}
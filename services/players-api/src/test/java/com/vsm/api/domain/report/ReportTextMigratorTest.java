@@ -0,0 +1,83 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.storage.S3ReportStorage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+class ReportTextMigratorTest {
+
+  private static final Instant AT = Instant.parse("2024-03-01T10:00:00Z");
+
+  private final CoachReportRepository repository = mock(CoachReportRepository.class);
+  private final S3ReportStorage storage = mock(S3ReportStorage.class);
+  private final ReportTextMigrator migrator =
+      new ReportTextMigrator(
+          new PlayerReportExporter(repository, false),
+          storage,
+          repository,
+          new ReportTextPolicy(DataSize.ofBytes(32)));
+
+  @Test
+  void inlinesSmallS3TextsAndKeepsTheRest() throws IOException {
+    PlayerReportSummary inline =
+        new PlayerReportSummary("r5", AT, AT, "coach-1", null, null, new byte[] {1});
+    PlayerReportSummary unsaved = new PlayerReportSummary("r4", AT, AT, "coach-1", null, null);
+    when(repository.exportReports("player-1", null))
+        .thenReturn(
+            new PlayerReportPage(
+                List.of(inline, unsaved, stored("r3"), stored("r2"), stored("r1")), null));
+    when(storage.open("texts/r3")).thenAnswer(invocation -> object("x".repeat(100)));
+    when(storage.open("texts/r2")).thenThrow(NoSuchKeyException.builder().message("gone").build());
+    when(storage.open("texts/r1")).thenAnswer(invocation -> object("small report"));
+    when(repository.setInlineText(eq("player-1"), eq(AT), eq("r1"), any())).thenReturn(true);
+
+    ReportTextMigration result = migrator.migrate("player-1");
+
+    assertThat(result).isEqualTo(new ReportTextMigration("player-1", 5, 1, 1, 1, 2));
+    ArgumentCaptor<byte[]> text = ArgumentCaptor.forClass(byte[].class);
+    verify(repository).setInlineText(eq("player-1"), eq(AT), eq("r1"), text.capture());
+    byte[] inflated = ReportTextPolicy.open(text.getValue()).readAllBytes();
+    assertThat(new String(inflated, StandardCharsets.UTF_8)).isEqualTo("small report");
+    verify(repository, never()).setInlineText(any(), any(), eq("r3"), any());
+  }
+
+  @Test
+  void countsReportsInlinedConcurrentlyAsAlreadyInline() throws IOException {
+    when(repository.exportReports("player-1", null))
+        .thenReturn(new PlayerReportPage(List.of(stored("r1")), null));
+    when(storage.open("texts/r1")).thenAnswer(invocation -> object("small report"));
+    when(repository.setInlineText(eq("player-1"), eq(AT), eq("r1"), any())).thenReturn(false);
+
+    assertThat(migrator.migrate("player-1"))
+        .isEqualTo(new ReportTextMigration("player-1", 1, 0, 1, 0, 0));
+  }
+
+  private static PlayerReportSummary stored(String reportId) {
+    return new PlayerReportSummary(reportId, AT, AT, "coach-1", "texts/" + reportId, null);
+  }
+
+  private static ResponseInputStream<GetObjectResponse> object(String text) {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    return new ResponseInputStream<>(
+        GetObjectResponse.builder().contentLength((long) bytes.length).build(),
+        AbortableInputStream.create(new ByteArrayInputStream(bytes)));
+  }
+}
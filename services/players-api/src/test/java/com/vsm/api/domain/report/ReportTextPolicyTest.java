@@ -0,0 +1,37 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+class ReportTextPolicyTest {
+
+  private final ReportTextPolicy policy = new ReportTextPolicy(DataSize.ofBytes(64));
+
+  @Test
+  void inlinesTextsUnderTheThresholdAndReadsThemBack() throws IOException {
+    String text = "Serving: strong\nPassing: 2.4";
+
+    byte[] inline = policy.inline(text);
+
+    assertThat(inline).isNotNull();
+    assertThat(new String(ReportTextPolicy.open(inline).readAllBytes(), StandardCharsets.UTF_8))
+        .isEqualTo(text);
+  }
+
+  @Test
+  void leavesTextsAtOrOverTheThresholdToS3() {
+    assertThat(policy.inline("x".repeat(64))).isNull();
+    // The threshold counts UTF-8 bytes, not characters
+    assertThat(policy.inline("é".repeat(32))).isNull();
+    assertThat(policy.inline("x".repeat(63))).isNotNull();
+  }
+
+  @Test
+  void disabledPolicyInlinesNothing() {
+    assertThat(new ReportTextPolicy(DataSize.ofBytes(0)).inline("")).isNull();
+  }
+}
@@ -0,0 +1,131 @@
+package com.vsm.api.domain.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class TeamTimelineServiceTest {
+
+  private static final int LEGACY = CoachReportRepository.LEGACY_TEAM_SHARD;
+
+  private final CoachReportRepository repository = Mockito.mock(CoachReportRepository.class);
+  private final TeamTimelineService service =
+      new TeamTimelineService(
+          repository, ResilienceFixtures.unhedged(), ResilienceFixtures.sequentialReads(), 20, 50);
+
+  @BeforeEach
+  void twoShards() {
+    when(repository.teamShards()).thenReturn(2);
+    when(repository.listTeamShard(eq("team-1"), eq(LEGACY), anyInt(), any()))
+        .thenReturn(new TeamShardPage(List.of(), false));
+  }
+
+  @Test
+  void mergesShardsNewestFirstAndResumesEachShardFromItsPosition() {
+    when(repository.listTeamShard("team-1", 0, 3, null))
+        .thenReturn(new TeamShardPage(List.of(entry("05"), entry("02")), false));
+    when(repository.listTeamShard("team-1", 1, 3, null))
+        .thenReturn(new TeamShardPage(List.of(entry("04"), entry("03"), entry("01")), true));
+
+    TeamTimelinePage first = service.listTeamReports("team-1", 3, null);
+
+    assertThat(first.items())
+        .extracting(TeamTimelineEntry::sortKey)
+        .containsExactly(key("05"), key("04"), key("03"));
+    assertThat(first.nextCursor()).isNotNull();
+
+    when(repository.listTeamShard("team-1", 0, 3, key("05")))
+        .thenReturn(new TeamShardPage(List.of(entry("02")), false));
+    when(repository.listTeamShard("team-1", 1, 3, key("03")))
+        .thenReturn(new TeamShardPage(List.of(entry("01")), false));
+
+    TeamTimelinePage second = service.listTeamReports("team-1", 3, first.nextCursor());
+
+    assertThat(second.items())
+        .extracting(TeamTimelineEntry::sortKey)
+        .containsExactly(key("02"), key("01"));
+    assertThat(second.nextCursor()).isNull();
+  }
+
+  @Test
+  void skipsExhaustedShardsOnLaterPages() {
+    when(repository.listTeamShard("team-1", 0, 1, null))
+        .thenReturn(new TeamShardPage(List.of(), false));
+    when(repository.listTeamShard("team-1", 1, 1, null))
+        .thenReturn(new TeamShardPage(List.of(entry("02")), true));
+    TeamTimelinePage first = service.listTeamReports("team-1", 1, null);
+
+    when(repository.listTeamShard("team-1", 1, 1, key("02")))
+        .thenReturn(new TeamShardPage(List.of(entry("01")), false));
+    TeamTimelinePage second = service.listTeamReports("team-1", 1, first.nextCursor());
+
+    assertThat(second.items()).extracting(TeamTimelineEntry::sortKey).containsExactly(key("01"));
+    verify(repository, times(1)).listTeamShard(eq("team-1"), eq(0), anyInt(), any());
+  }
+
+  @Test
+  void mergesReportsFromTheLegacyUnshardedPartition() {
+    when(repository.listTeamShard("team-1", LEGACY, 2, null))
+        .thenReturn(new TeamShardPage(List.of(entry("03"), entry("01")), false));
+    when(repository.listTeamShard("team-1", 0, 2, null))
+        .thenReturn(new TeamShardPage(List.of(entry("04")), false));
+    when(repository.listTeamShard("team-1", 1, 2, null))
+        .thenReturn(new TeamShardPage(List.of(entry("02")), false));
+
+    TeamTimelinePage first = service.listTeamReports("team-1", 2, null);
+
+    assertThat(first.items())
+        .extracting(TeamTimelineEntry::sortKey)
+        .containsExactly(key("04"), key("03"));
+
+    when(repository.listTeamShard("team-1", LEGACY, 2, key("03")))
+        .thenReturn(new TeamShardPage(List.of(entry("01")), false));
+    TeamTimelinePage second = service.listTeamReports("team-1", 2, first.nextCursor());
+
+    assertThat(second.items())
+        .extracting(TeamTimelineEntry::sortKey)
+        .containsExactly(key("02"), key("01"));
+    assertThat(second.nextCursor()).isNull();
+  }
+
+  @Test
+  void failsWhenAShardCannotBeRead() {
+    when(repository.listTeamShard("team-1", 0, 20, null))
+        .thenReturn(new TeamShardPage(List.of(entry("01")), false));
+    when(repository.listTeamShard("team-1", 1, 20, null))
+        .thenThrow(new IllegalStateException("throttled"));
+
+    assertThatThrownBy(() -> service.listTeamReports("team-1", null, null))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void rejectsForeignCursors() {
+    assertThatThrownBy(() -> service.listTeamReports("team-1", null, "not-a-cursor!"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static String key(String day) {
+    return "CREATED#202401" + day + "T000000#r" + day;
+  }
+
+  private static TeamTimelineEntry entry(String day) {
+    Instant timestamp = Instant.parse("2024-01-" + day + "T00:00:00Z");
+    return new TeamTimelineEntry(
+        key(day),
+        "player-" + day,
+        new PlayerReportSummary("r" + day, timestamp, timestamp, "coach-1", null, null));
+  }
+}
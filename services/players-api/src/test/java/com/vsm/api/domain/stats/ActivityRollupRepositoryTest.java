@@ -0,0 +1,104 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+
+class ActivityRollupRepositoryTest {
+
+  private final DynamoDbClient dynamoDbClient = Mockito.mock(DynamoDbClient.class);
+
+  private final ActivityRollupRepository repository =
+      new ActivityRollupRepository(
+          dynamoDbClient, "coach_reports", Mockito.mock(CapacityAccountant.class), 4);
+
+  @Test
+  void bucketUpdatesAddCountsAndSums() {
+    List<UpdateItemRequest> updates =
+        repository.bucketUpdates(
+            "p1",
+            null,
+            0,
+            Instant.parse("2024-12-30T10:00:00Z"),
+            Map.of("Digs", "7", "notes", "good"),
+            Instant.parse("2025-01-02T00:00:00Z"));
+
+    assertThat(updates).hasSize(2);
+    UpdateItemRequest day = updates.get(0);
+    assertThat(day.key().get("SK").s()).isEqualTo("ROLLUP#D#20241230");
+    assertThat(day.updateExpression())
+        .isEqualTo(
+            "SET entityType = :type, updatedAt = :now, expiresAt = :expires"
+                + " ADD reports :one, #c0 :one, #s0 :v0");
+    // Week of 2024-12-30 plus 4 weeks of retention: past the horizon from Monday 2025-02-03
+    assertThat(day.expressionAttributeValues().get(":expires").n())
+        .isEqualTo(Long.toString(Instant.parse("2025-02-03T00:00:00Z").getEpochSecond()));
+    assertThat(day.expressionAttributeValues().get(":v0").n()).isEqualTo("7");
+    // 2024-12-30 belongs to ISO week 1 of 2025
+    UpdateItemRequest week = updates.get(1);
+    assertThat(week.key().get("SK").s()).isEqualTo("ROLLUP#W#202501");
+    assertThat(week.expressionAttributeValues()).doesNotContainKey(":expires");
+  }
+
+  @Test
+  void listMergesTeamShardsIntoOneBucketPerWeek() {
+    when(dynamoDbClient.query(Mockito.any(QueryRequest.class)))
+        .thenReturn(
+            QueryResponse.builder()
+                .items(
+                    bucket("ROLLUP#W#202418#0", 3, 2, "20"),
+                    bucket("ROLLUP#W#202418#3", 1, 1, "5"),
+                    bucket("ROLLUP#W#202419#1", 2, 0, null))
+                .build());
+
+    List<ActivityBucket> buckets =
+        repository.list(
+            "TEAM#t1",
+            RollupGranularity.WEEK,
+            LocalDate.parse("2024-05-01"),
+            LocalDate.parse("2024-05-08"));
+
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient).query(captor.capture());
+    assertThat(captor.getValue().expressionAttributeValues().get(":from").s())
+        .isEqualTo("ROLLUP#W#202418");
+    assertThat(captor.getValue().expressionAttributeValues().get(":to").s())
+        .isEqualTo("ROLLUP#W#202419~");
+    assertThat(buckets).hasSize(2);
+    ActivityBucket first = buckets.get(0);
+    assertThat(first.start()).isEqualTo(LocalDate.parse("2024-04-29"));
+    assertThat(first.reports()).isEqualTo(4);
+    assertThat(first.categories().get("Digs"))
+        .isEqualTo(new CategoryTotals(3, new BigDecimal("25")));
+    assertThat(buckets.get(1).categories()).isEmpty();
+  }
+
+  private static Map<String, AttributeValue> bucket(
+      String sortKey, long reports, long count, String sum) {
+    if (sum == null) {
+      return Map.of(
+          "SK", AttributeValue.fromS(sortKey),
+          "reports", AttributeValue.fromN(Long.toString(reports)));
+    }
+    return Map.of(
+        "SK", AttributeValue.fromS(sortKey),
+        "reports", AttributeValue.fromN(Long.toString(reports)),
+        "count:Digs", AttributeValue.fromN(Long.toString(count)),
+        "sum:Digs", AttributeValue.fromN(sum));
+  }
+}
@@ -0,0 +1,103 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+
+class ActivityRollupServiceTest {
+
+  // A Wednesday; with two weeks of daily buckets the horizon is Monday 2024-05-20
+  private static final Instant NOW = Instant.parse("2024-06-05T12:00:00Z");
+
+  private final ActivityRollupRepository repository = mock(ActivityRollupRepository.class);
+  private final ActivityRollupService service =
+      new ActivityRollupService(
+          repository,
+          ResilienceFixtures.unhedged(),
+          ResilienceFixtures.sequentialReads(),
+          Clock.fixed(NOW, ZoneOffset.UTC),
+          2,
+          400);
+
+  @Test
+  void dailyRangesUseWeeksBeforeTheHorizon() {
+    when(repository.list(
+            "PLAYER#p1", RollupGranularity.WEEK, date("2024-05-15"), date("2024-05-19")))
+        .thenReturn(List.of(bucket("2024-05-13", RollupGranularity.WEEK, 5)));
+    when(repository.list(
+            "PLAYER#p1", RollupGranularity.DAY, date("2024-05-20"), date("2024-06-05")))
+        .thenReturn(List.of(bucket("2024-05-21", RollupGranularity.DAY, 2)));
+
+    ActivityRollups result =
+        service.playerActivity("p1", RollupGranularity.DAY, date("2024-05-15"), null);
+
+    assertThat(result.to()).isEqualTo(date("2024-06-05"));
+    assertThat(result.buckets())
+        .extracting(ActivityBucket::start, ActivityBucket::granularity)
+        .containsExactly(
+            tuple(date("2024-05-13"), RollupGranularity.WEEK),
+            tuple(date("2024-05-21"), RollupGranularity.DAY));
+  }
+
+  @Test
+  void recentDailyRangesOnlyReadDays() {
+    when(repository.list(any(), any(), any(), any())).thenReturn(List.of());
+
+    service.teamActivity("t1", RollupGranularity.DAY, date("2024-05-27"), date("2024-06-02"));
+
+    verify(repository)
+        .list("TEAM#t1", RollupGranularity.DAY, date("2024-05-27"), date("2024-06-02"));
+    verify(repository, never()).list(any(), eq(RollupGranularity.WEEK), any(), any());
+  }
+
+  @Test
+  void weeklyRangesCoverWholeWeeks() {
+    when(repository.list(any(), any(), any(), any())).thenReturn(List.of());
+
+    ActivityRollups result =
+        service.playerActivity(
+            "p1", RollupGranularity.WEEK, date("2024-05-15"), date("2024-05-22"));
+
+    assertThat(result.from()).isEqualTo(date("2024-05-13"));
+    assertThat(result.to()).isEqualTo(date("2024-05-26"));
+    verify(repository)
+        .list("PLAYER#p1", RollupGranularity.WEEK, date("2024-05-13"), date("2024-05-26"));
+  }
+
+  @Test
+  void rejectsReversedAndOverlongRanges() {
+    assertThatThrownBy(
+            () ->
+                service.playerActivity(
+                    "p1", RollupGranularity.DAY, date("2024-06-02"), date("2024-06-01")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                service.playerActivity(
+                    "p1", RollupGranularity.WEEK, date("2022-01-01"), date("2024-06-01")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static LocalDate date(String value) {
+    return LocalDate.parse(value);
+  }
+
+  private static ActivityBucket bucket(String start, RollupGranularity granularity, long reports) {
+    return new ActivityBucket(date(start), granularity, reports, new TreeMap<>());
+  }
+}
@@ -0,0 +1,30 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.vsm.api.domain.stats.CategoryPredicate.Operator;
+import org.junit.jupiter.api.Test;
+
+class CategoryPredicateTest {
+
+  @Test
+  void parsesEveryOperator() {
+    assertThat(CategoryPredicate.parse("Aces>=3"))
+        .isEqualTo(new CategoryPredicate("Aces", Operator.GREATER_OR_EQUAL, 3));
+    assertThat(CategoryPredicate.parse("Aces<=3").operator()).isEqualTo(Operator.LESS_OR_EQUAL);
+    assertThat(CategoryPredicate.parse("Aces>3").operator()).isEqualTo(Operator.GREATER);
+    assertThat(CategoryPredicate.parse("Aces<3").operator()).isEqualTo(Operator.LESS);
+    assertThat(CategoryPredicate.parse(" Serve Rating = -1.5 "))
+        .isEqualTo(new CategoryPredicate("Serve Rating", Operator.EQUAL, -1.5));
+  }
+
+  @Test
+  void rejectsMalformedPredicates() {
+    for (String expression : new String[] {"Aces", ">=3", "Aces>=", "Aces>=many", "Aces=>3"}) {
+      assertThatThrownBy(() -> CategoryPredicate.parse(expression))
+          .as(expression)
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+class KllSketchTest {
+
+  @Test
+  void percentileRankIsCloseToTheExactRank() {
+    KllSketch sketch = new KllSketch(200);
+    for (int i = 0; i < 100_000; i++) {
+      sketch.update(i);
+    }
+
+    assertThat(sketch.count()).isEqualTo(100_000);
+    assertThat(sketch.retained()).isLessThan(1_000);
+    assertThat(sketch.percentileRank(25_000)).isCloseTo(25.0, within(2.0));
+    assertThat(sketch.percentileRank(90_000)).isCloseTo(90.0, within(2.0));
+    assertThat(sketch.percentileRank(-1)).isZero();
+    assertThat(sketch.percentileRank(1_000_000)).isEqualTo(100.0);
+  }
+
+  @Test
+  void smallSketchesAreExactAndCountTiesAsHalf() {
+    KllSketch sketch = new KllSketch(200);
+    Arrays.asList(1.0, 2.0, 2.0, 3.0).forEach(sketch::update);
+
+    assertThat(sketch.percentileRank(2.0)).isEqualTo(50.0);
+    assertThat(sketch.percentileRank(2.5)).isEqualTo(75.0);
+  }
+
+  @Test
+  void mergedShardsMatchOneSketchOfEverything() {
+    KllSketch left = new KllSketch(200);
+    KllSketch right = new KllSketch(200);
+    for (int i = 0; i < 50_000; i++) {
+      left.update(i);
+      right.update(50_000 + i);
+    }
+
+    left.merge(right);
+
+    assertThat(left.count()).isEqualTo(100_000);
+    assertThat(right.count()).isEqualTo(50_000);
+    assertThat(left.percentileRank(50_000)).isCloseTo(50.0, within(2.0));
+    assertThat(left.percentileRank(75_000)).isCloseTo(75.0, within(2.0));
+  }
+
+  @Test
+  void bytesRoundTrip() {
+    KllSketch sketch = new KllSketch(64);
+    for (int i = 0; i < 10_000; i++) {
+      sketch.update(i % 97);
+    }
+
+    KllSketch copy = KllSketch.fromBytes(sketch.toBytes());
+
+    assertThat(copy.count()).isEqualTo(sketch.count());
+    assertThat(copy.retained()).isEqualTo(sketch.retained());
+    assertThat(copy.percentileRank(40)).isEqualTo(sketch.percentileRank(40));
+    assertThat(sketch.toBytes().length).isLessThan(2_048);
+  }
+
+  @Test
+  void emptySketchHasNoRank() {
+    assertThat(new KllSketch(200).percentileRank(1)).isNaN();
+  }
+
+  @Test
+  void fromBytesRejectsMalformedInput() {
+    byte[] truncated = Arrays.copyOf(new KllSketch(200).toBytes(), 5);
+    byte[] unknownFormat = new KllSketch(200).toBytes();
+    unknownFormat[0] = 9;
+
+    assertThatThrownBy(() -> KllSketch.fromBytes(truncated))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> KllSketch.fromBytes(unknownFormat))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void rejectsTinyK() {
+    assertThatThrownBy(() -> new KllSketch(4)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
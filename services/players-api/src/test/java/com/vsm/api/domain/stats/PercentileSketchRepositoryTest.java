@@ -0,0 +1,104 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+class PercentileSketchRepositoryTest {
+
+  private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+  private final DynamoDbClient dynamoDbClient = Mockito.mock(DynamoDbClient.class);
+
+  private final PercentileSketchRepository repository =
+      new PercentileSketchRepository(
+          dynamoDbClient, "coach_reports", Mockito.mock(CapacityAccountant.class));
+
+  @Test
+  void mergeSketchesCreatesTheShardItem() {
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(GetItemResponse.builder().build());
+    when(dynamoDbClient.updateItem(Mockito.any(UpdateItemRequest.class)))
+        .thenReturn(UpdateItemResponse.builder().build());
+
+    repository.mergeSketches("LEAGUE", "2024", 2, Map.of("Digs", sketchOf(3)), 200, NOW);
+
+    ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+    verify(dynamoDbClient).updateItem(captor.capture());
+    UpdateItemRequest request = captor.getValue();
+    assertThat(request.key().get("PK").s()).isEqualTo("LEAGUE#SKETCH#2");
+    assertThat(request.key().get("SK").s()).isEqualTo("SKETCH#2024");
+    assertThat(request.conditionExpression()).isEqualTo("attribute_not_exists(version)");
+    assertThat(request.expressionAttributeNames()).containsEntry("#s0", "sketch:Digs");
+    assertThat(request.expressionAttributeValues().get(":next").n()).isEqualTo("1");
+    KllSketch written =
+        KllSketch.fromBytes(request.expressionAttributeValues().get(":s0").b().asByteArray());
+    assertThat(written.count()).isEqualTo(3);
+  }
+
+  @Test
+  void mergeSketchesRereadsAndRetriesOnConflict() {
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(GetItemResponse.builder().build())
+        .thenReturn(GetItemResponse.builder().item(item(sketchOf(5), "1")).build());
+    when(dynamoDbClient.updateItem(Mockito.any(UpdateItemRequest.class)))
+        .thenThrow(ConditionalCheckFailedException.builder().message("raced").build())
+        .thenReturn(UpdateItemResponse.builder().build());
+
+    repository.mergeSketches("TEAM#team-1", "2024", 0, Map.of("Digs", sketchOf(1)), 200, NOW);
+
+    ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+    verify(dynamoDbClient, times(2)).updateItem(captor.capture());
+    UpdateItemRequest retry = captor.getAllValues().get(1);
+    assertThat(retry.conditionExpression()).isEqualTo("version = :version");
+    assertThat(retry.expressionAttributeValues().get(":next").n()).isEqualTo("2");
+    KllSketch written =
+        KllSketch.fromBytes(retry.expressionAttributeValues().get(":s0").b().asByteArray());
+    assertThat(written.count()).isEqualTo(6);
+  }
+
+  @Test
+  void loadReadsOneShardItem() {
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(GetItemResponse.builder().item(item(sketchOf(3), "4")).build());
+
+    Map<String, KllSketch> sketches = repository.load("LEAGUE", "2024", 1);
+
+    ArgumentCaptor<GetItemRequest> captor = ArgumentCaptor.forClass(GetItemRequest.class);
+    verify(dynamoDbClient).getItem(captor.capture());
+    assertThat(captor.getValue().key().get("PK").s()).isEqualTo("LEAGUE#SKETCH#1");
+    assertThat(captor.getValue().key().get("SK").s()).isEqualTo("SKETCH#2024");
+    assertThat(sketches).containsOnlyKeys("Digs");
+    assertThat(sketches.get("Digs").count()).isEqualTo(3);
+  }
+
+  private static Map<String, AttributeValue> item(KllSketch sketch, String version) {
+    return Map.of(
+        "version", AttributeValue.fromN(version),
+        "sketch:Digs", AttributeValue.fromB(SdkBytes.fromByteArray(sketch.toBytes())));
+  }
+
+  private static KllSketch sketchOf(int values) {
+    KllSketch sketch = new KllSketch(200);
+    for (int i = 0; i < values; i++) {
+      sketch.update(i);
+    }
+    return sketch;
+  }
+}
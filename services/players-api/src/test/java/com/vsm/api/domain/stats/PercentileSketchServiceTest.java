@@ -0,0 +1,143 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class PercentileSketchServiceTest {
+
+  private static final Instant NOW = Instant.parse("2024-05-01T10:00:00Z");
+
+  private final PercentileSketchRepository repository =
+      Mockito.mock(PercentileSketchRepository.class);
+  private final SeasonStatsService seasonStats = Mockito.mock(SeasonStatsService.class);
+  private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+  private final PercentileSketchService service =
+      new PercentileSketchService(
+          repository,
+          new SeasonCalendar(clock, 1),
+          seasonStats,
+          ResilienceFixtures.sequentialReads(),
+          ResilienceFixtures.unhedged(),
+          clock,
+          true,
+          4,
+          200);
+
+  @Test
+  void recordOnlyWritesOnFlush() {
+    service.record("team-1", "r1", NOW, Map.of("Digs", "12", "notes", "good"));
+    service.record("team-2", "r2", NOW, Map.of("Digs", "7"));
+
+    verify(repository, never()).mergeSketches(any(), any(), anyInt(), anyMap(), anyInt(), any());
+
+    service.flush();
+
+    assertThat(flushed("TEAM#team-1")).containsOnlyKeys("Digs");
+    assertThat(flushed("TEAM#team-1").get("Digs").count()).isEqualTo(1);
+    assertThat(flushed("LEAGUE").get("Digs").count()).isEqualTo(2);
+  }
+
+  @Test
+  void flushWritesNothingForReportsWithoutNumericCategories() {
+    service.record("team-1", "r1", NOW, Map.of("notes", "good"));
+
+    service.flush();
+
+    verify(repository, never()).mergeSketches(any(), any(), anyInt(), anyMap(), anyInt(), any());
+  }
+
+  @Test
+  void flushKeepsSketchesThatCouldNotBeMerged() {
+    doThrow(new IllegalStateException("throttled"))
+        .doNothing()
+        .when(repository)
+        .mergeSketches(eq("TEAM#team-1"), any(), anyInt(), anyMap(), anyInt(), any());
+    service.record("team-1", "r1", NOW, Map.of("Digs", "12"));
+    service.flush();
+
+    service.record("team-1", "r2", NOW, Map.of("Digs", "4"));
+    service.flush();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, KllSketch>> sketches = ArgumentCaptor.forClass(Map.class);
+    verify(repository, times(2))
+        .mergeSketches(eq("TEAM#team-1"), eq("2024"), anyInt(), sketches.capture(), eq(200), any());
+    assertThat(sketches.getAllValues().get(1).get("Digs").count()).isEqualTo(2);
+  }
+
+  @Test
+  void percentilesRankThePlayerAverageInEachScope() {
+    TreeMap<String, CategoryStats> categories = new TreeMap<>();
+    categories.put("Digs", CategoryStats.of(BigDecimal.valueOf(70)).plus(BigDecimal.valueOf(80)));
+    categories.put("Aces", CategoryStats.of(BigDecimal.ONE));
+    when(seasonStats.getStats("player-1", "2024"))
+        .thenReturn(new SeasonStats("player-1", "2024", 2, categories));
+    when(repository.load("TEAM#team-1", "2024", 0)).thenReturn(Map.of("Digs", sketchOf(0, 100)));
+    when(repository.load("LEAGUE", "2024", 0)).thenReturn(Map.of("Digs", sketchOf(0, 1000)));
+
+    PlayerPercentiles result = service.percentiles("player-1", "team-1", null);
+
+    assertThat(result.season()).isEqualTo("2024");
+    assertThat(result.categories())
+        .extracting(CategoryPercentile::category)
+        .containsExactly("Aces", "Digs");
+    CategoryPercentile aces = result.categories().get(0);
+    assertThat(aces.teamPercentile()).isNull();
+    assertThat(aces.leagueReports()).isZero();
+    CategoryPercentile digs = result.categories().get(1);
+    assertThat(digs.playerAverage()).isEqualTo(75.0);
+    assertThat(digs.teamPercentile()).isEqualTo(75.0);
+    assertThat(digs.teamReports()).isEqualTo(100);
+    assertThat(digs.leaguePercentile()).isEqualTo(7.5);
+  }
+
+  @Test
+  void percentilesWithoutTeamOnlyReadTheLeague() {
+    TreeMap<String, CategoryStats> categories = new TreeMap<>();
+    categories.put("Digs", CategoryStats.of(BigDecimal.TEN));
+    when(seasonStats.getStats("player-1", "2024"))
+        .thenReturn(new SeasonStats("player-1", "2024", 1, categories));
+    when(repository.load("LEAGUE", "2024", 0)).thenReturn(Map.of());
+
+    PlayerPercentiles result = service.percentiles("player-1", null, "2024");
+
+    assertThat(result.categories().get(0).leaguePercentile()).isNull();
+    verify(repository, never()).load(eq("TEAM#null"), any(), anyInt());
+  }
+
+  private Map<String, KllSketch> flushed(String scope) {
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, KllSketch>> sketches = ArgumentCaptor.forClass(Map.class);
+    verify(repository)
+        .mergeSketches(eq(scope), eq("2024"), anyInt(), sketches.capture(), eq(200), eq(NOW));
+    return sketches.getValue();
+  }
+
+  private static KllSketch sketchOf(int fromInclusive, int toExclusive) {
+    KllSketch sketch = new KllSketch(2_000);
+    for (int i = fromInclusive; i < toExclusive; i++) {
+      sketch.update(i + 0.5);
+    }
+    return sketch;
+  }
+}
@@ -0,0 +1,200 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ReportCategoryIndexTest {
+
+  private static final Instant NOW = Instant.parse("2025-03-01T00:00:00Z");
+
+  private final SeasonStatsRepository repository = mock(SeasonStatsRepository.class);
+  private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+  private final ReportCategoryIndex index = index(List.of());
+
+  @Test
+  void combinesPredicatesAcrossShardsWithAndOrOr() {
+    when(repository.listTeamReportValues(eq("team-1"), eq(0), any(), any()))
+        .thenReturn(
+            List.of(
+                report("r1", 1, Map.of("Aces", "3", "Digs", "10")),
+                report("r2", 2, Map.of("Aces", "1", "Digs", "12"))));
+    when(repository.listTeamReportValues(eq("team-1"), eq(1), any(), any()))
+        .thenReturn(
+            List.of(
+                report("r3", 3, Map.of("Aces", "5", "Digs", "4")),
+                report("r4", 4, Map.of("Digs", "11", "Notes", "tired"))));
+
+    CategorySearchResult all =
+        index.search("team-1", null, predicates("Aces>=3", "Digs>5"), true, 10);
+    CategorySearchResult any =
+        index.search("team-1", null, predicates("Aces>=3", "Digs>5"), false, 10);
+
+    assertThat(all.matched()).isEqualTo(1);
+    assertThat(all.reports()).extracting(IndexedReport::reportId).containsExactly("r1");
+    assertThat(any.matched()).isEqualTo(4);
+    assertThat(any.reports())
+        .extracting(IndexedReport::reportId)
+        .containsExactly("r4", "r3", "r2", "r1");
+    verify(repository, times(3)).listTeamReportValues(eq("team-1"), anyInt(), any(), any());
+  }
+
+  @Test
+  void matchesReportsFromTheUnshardedTeamPartition() {
+    when(repository.listTeamReportValues(eq("team-1"), anyInt(), any(), any()))
+        .thenReturn(List.of());
+    when(repository.listTeamReportValues(eq("team-1"), eq(-1), any(), any()))
+        .thenReturn(List.of(report("r0", 1, Map.of("Aces", "4"))));
+    when(repository.listTeamReportValues(eq("team-1"), eq(0), any(), any()))
+        .thenReturn(List.of(report("r1", 2, Map.of("Aces", "6"))));
+
+    CategorySearchResult result = index.search("team-1", null, predicates("Aces>3"), true, 10);
+
+    assertThat(result.reports()).extracting(IndexedReport::reportId).containsExactly("r1", "r0");
+  }
+
+  @Test
+  void evaluatesEveryOperatorOnSortedAndBufferedValues() {
+    when(repository.listTeamReportValues(eq("team-1"), anyInt(), any(), any()))
+        .thenReturn(List.of());
+    List<TeamReportValues> loaded = new ArrayList<>();
+    for (int value = 0; value < 100; value++) {
+      loaded.add(report("r" + value, value, Map.of("Digs", Integer.toString(value % 10))));
+    }
+    when(repository.listTeamReportValues(eq("team-1"), eq(0), any(), any())).thenReturn(loaded);
+    index.search("team-1", "2025", predicates("Digs=0"), true, 1);
+    index.record("team-1", "p1", "late", NOW.plusSeconds(1), Map.of("Digs", "7"));
+
+    assertThat(matched("Digs=7")).isEqualTo(11);
+    assertThat(matched("Digs>7")).isEqualTo(20);
+    assertThat(matched("Digs>=7")).isEqualTo(31);
+    assertThat(matched("Digs<2")).isEqualTo(20);
+    assertThat(matched("Digs<=2")).isEqualTo(30);
+    assertThat(matched("Blocks>0")).isZero();
+    assertThat(index.search("team-1", "2025", predicates("Digs=7"), true, 2).reports())
+        .extracting(IndexedReport::reportId)
+        .containsExactly("late", "r97");
+  }
+
+  @Test
+  void recordIgnoresDuplicatesAndSeasonsNotLoaded() {
+    when(repository.listTeamReportValues(eq("team-1"), anyInt(), any(), any()))
+        .thenReturn(List.of(report("r1", 1, Map.of("Aces", "2"))));
+    index.record("team-2", "p1", "r9", NOW, Map.of("Aces", "9"));
+    index.search("team-1", "2025", predicates("Aces>0"), true, 5);
+
+    index.record("team-1", "p1", "r1", NOW, Map.of("Aces", "2"));
+    index.record("team-1", "p1", "r2", NOW, Map.of("Notes", "none"));
+
+    assertThat(matched("Aces>0")).isEqualTo(1);
+  }
+
+  @Test
+  void postingsMergeTheBufferOnceItOutgrowsTheSortedValues() {
+    ReportCategoryIndex.Postings postings = new ReportCategoryIndex.Postings();
+    for (int doc = 0; doc < 200; doc++) {
+      postings.add(200 - doc, doc);
+    }
+
+    assertThat(postings.size()).isEqualTo(200);
+    assertThat(postings.buffered()).isLessThan(200);
+    assertThat(postings.matching(CategoryPredicate.parse("x<=10")).cardinality()).isEqualTo(10);
+    postings.merge();
+    assertThat(postings.buffered()).isZero();
+    assertThat(postings.matching(CategoryPredicate.parse("x<=10")).cardinality()).isEqualTo(10);
+    assertThat(postings.matching(CategoryPredicate.parse("x<=3")).stream().toArray())
+        .containsExactly(197, 198, 199);
+  }
+
+  @Test
+  void preloadLoadsConfiguredTeamsForTheCurrentSeason() {
+    when(repository.listTeamReportValues(any(), anyInt(), any(), any())).thenReturn(List.of());
+
+    index(List.of("team-1", " team-2 ", "")).preload();
+
+    verify(repository, times(3)).listTeamReportValues(eq("team-1"), anyInt(), any(), any());
+    verify(repository, times(3)).listTeamReportValues(eq("team-2"), anyInt(), any(), any());
+  }
+
+  @Test
+  void disabledIndexMatchesNothing() {
+    ReportCategoryIndex disabled =
+        new ReportCategoryIndex(
+            repository,
+            new SeasonCalendar(clock, 1),
+            ResilienceFixtures.sequentialReads(),
+            clock,
+            false,
+            2,
+            Duration.ofMinutes(10),
+            10,
+            List.of());
+    disabled.record("team-1", "p1", "r1", NOW, Map.of("Aces", "1"));
+
+    assertThat(disabled.search("team-1", "2025", predicates("Aces>0"), true, 5).matched())
+        .isZero();
+    verify(repository, never()).listTeamReportValues(any(), anyInt(), any(), any());
+  }
+
+  @Test
+  void searchReturnsTheNewestMatchesWhateverTheLoadOrder() {
+    List<TeamReportValues> loaded = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      int minutes = (i * 17) % 50;
+      loaded.add(report("r" + minutes, minutes, Map.of("Aces", Integer.toString(i % 3))));
+    }
+    when(repository.listTeamReportValues(eq("team-1"), anyInt(), any(), any()))
+        .thenReturn(List.of());
+    when(repository.listTeamReportValues(eq("team-1"), eq(0), any(), any())).thenReturn(loaded);
+
+    CategorySearchResult result = index.search("team-1", "2025", predicates("Aces>=0"), true, 4);
+
+    assertThat(result.matched()).isEqualTo(50);
+    assertThat(result.reports())
+        .extracting(IndexedReport::reportId)
+        .containsExactly("r49", "r48", "r47", "r46");
+  }
+
+  private long matched(String predicate) {
+    return index.search("team-1", "2025", predicates(predicate), true, 100).matched();
+  }
+
+  private ReportCategoryIndex index(List<String> preloadTeams) {
+    return new ReportCategoryIndex(
+        repository,
+        new SeasonCalendar(clock, 1),
+        ResilienceFixtures.sequentialReads(),
+        clock,
+        true,
+        2,
+        Duration.ofMinutes(10),
+        10,
+        preloadTeams);
+  }
+
+  private static List<CategoryPredicate> predicates(String... expressions) {
+    return List.of(expressions).stream().map(CategoryPredicate::parse).toList();
+  }
+
+  private static TeamReportValues report(
+      String reportId, int minutes, Map<String, String> categories) {
+    Instant reportTimestamp = NOW.minus(Duration.ofDays(30)).plusSeconds(60L * minutes);
+    return new TeamReportValues("p-" + reportId, reportId, reportTimestamp, categories);
+  }
+}
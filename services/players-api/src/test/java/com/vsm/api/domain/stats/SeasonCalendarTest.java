@@ -0,0 +1,35 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class SeasonCalendarTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2025-03-01T00:00:00Z"), ZoneOffset.UTC);
+
+  @Test
+  void calendarYearSeasonsByDefault() {
+    SeasonCalendar calendar = new SeasonCalendar(clock, 1);
+
+    assertThat(calendar.currentSeason()).isEqualTo("2025");
+    assertThat(calendar.start("2025")).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+    assertThat(calendar.end("2025")).isEqualTo(Instant.parse("2026-01-01T00:00:00Z"));
+  }
+
+  @Test
+  void seasonsStartingMidYearSpanTwoYears() {
+    SeasonCalendar calendar = new SeasonCalendar(clock, 8);
+
+    assertThat(calendar.currentSeason()).isEqualTo("2024-25");
+    assertThat(calendar.seasonOf(Instant.parse("2025-08-01T00:00:00Z"))).isEqualTo("2025-26");
+    assertThat(calendar.start("2024-25")).isEqualTo(Instant.parse("2024-08-01T00:00:00Z"));
+    assertThatThrownBy(() -> calendar.start("2024")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> calendar.start("2024-26"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
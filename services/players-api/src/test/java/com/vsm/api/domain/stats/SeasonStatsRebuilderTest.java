@@ -0,0 +1,70 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class SeasonStatsRebuilderTest {
+
+  private final Clock clock = Clock.fixed(Instant.parse("2025-03-01T00:00:00Z"), ZoneOffset.UTC);
+  private final SeasonStatsRepository repository = mock(SeasonStatsRepository.class);
+  private final SeasonStatsRebuilder rebuilder =
+      new SeasonStatsRebuilder(
+          repository,
+          new SeasonCalendar(clock, 1),
+          ResilienceFixtures.sequentialReads(),
+          clock,
+          4,
+          2);
+
+  @Test
+  void foldsEverySliceIntoTheReplacedItem() {
+    when(repository.find("player-1", "2024")).thenReturn(Optional.empty());
+    when(repository.listReportCategories(eq("player-1"), any(), any()))
+        .thenReturn(List.of(Map.of("Aces", "2", "notes", "ok"), Map.of("Aces", "4")));
+    when(repository.replace(any(), isNull(), any())).thenReturn(true);
+
+    SeasonStats stats = rebuilder.rebuild("player-1", "2024");
+
+    verify(repository, times(4)).listReportCategories(eq("player-1"), any(), any());
+    verify(repository)
+        .listReportCategories(
+            "player-1",
+            Instant.parse("2024-01-01T00:00:00Z"),
+            Instant.parse("2024-04-01T12:00:01Z"));
+    assertThat(stats.reports()).isEqualTo(8);
+    CategoryStats aces = stats.categories().get("Aces");
+    assertThat(aces.count()).isEqualTo(8);
+    assertThat(aces.sum()).isEqualByComparingTo("24");
+    assertThat(aces.min()).isEqualByComparingTo(BigDecimal.TWO);
+    assertThat(aces.max()).isEqualByComparingTo("4");
+  }
+
+  @Test
+  void givesUpWhenReportsKeepArriving() {
+    when(repository.find("player-1", "2025"))
+        .thenReturn(Optional.of(SeasonStats.empty("player-1", "2025")));
+    when(repository.listReportCategories(eq("player-1"), any(), any())).thenReturn(List.of());
+    when(repository.replace(any(), eq(0L), any())).thenReturn(false);
+
+    assertThatThrownBy(() -> rebuilder.rebuild("player-1", null))
+        .isInstanceOf(IllegalStateException.class);
+    verify(repository, times(2)).replace(any(), eq(0L), any());
+  }
+}
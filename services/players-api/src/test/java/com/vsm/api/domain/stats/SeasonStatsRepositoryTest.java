@@ -0,0 +1,149 @@
+package com.vsm.api.domain.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GetItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryResponse;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemResponse;
+
+class SeasonStatsRepositoryTest {
+
+  private static final Instant REPORTED = Instant.parse("2024-05-01T10:00:00Z");
+
+  private final DynamoDbClient dynamoDbClient = Mockito.mock(DynamoDbClient.class);
+
+  private final SeasonStatsRepository repository =
+      new SeasonStatsRepository(
+          dynamoDbClient,
+          "coach_reports",
+          Mockito.mock(CapacityAccountant.class),
+          new SeasonCalendar(Clock.systemUTC(), 1));
+
+  @Test
+  void recordExtremesOnlyWritesValuesThatWidenTheRange() {
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(
+            GetItemResponse.builder()
+                .item(
+                    Map.of(
+                        "min:Aces", AttributeValue.fromN("1"),
+                        "max:Aces", AttributeValue.fromN("5")))
+                .build());
+    when(dynamoDbClient.updateItem(Mockito.any(UpdateItemRequest.class)))
+        .thenReturn(UpdateItemResponse.builder().build());
+
+    repository.recordExtremes("player-1", REPORTED, Map.of("Aces", "7"));
+
+    ArgumentCaptor<UpdateItemRequest> captor = ArgumentCaptor.forClass(UpdateItemRequest.class);
+    verify(dynamoDbClient).updateItem(captor.capture());
+    UpdateItemRequest request = captor.getValue();
+    assertEquals("SEASON#2024", request.key().get("SK").s());
+    assertEquals("SET #a0 = :a0", request.updateExpression());
+    assertEquals("#a0 = :o0", request.conditionExpression());
+    assertEquals("max:Aces", request.expressionAttributeNames().get("#a0"));
+    assertEquals("7", request.expressionAttributeValues().get(":a0").n());
+  }
+
+  @Test
+  void recordExtremesSkipsTheWriteWhenNothingChanges() {
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(
+            GetItemResponse.builder()
+                .item(
+                    Map.of(
+                        "min:Aces", AttributeValue.fromN("1"),
+                        "max:Aces", AttributeValue.fromN("5")))
+                .build());
+
+    repository.recordExtremes("player-1", REPORTED, Map.of("Aces", "3", "notes", "good"));
+
+    verify(dynamoDbClient, never()).updateItem(Mockito.any(UpdateItemRequest.class));
+  }
+
+  @Test
+  void findMapsCategoryAttributes() {
+    when(dynamoDbClient.getItem(Mockito.any(GetItemRequest.class)))
+        .thenReturn(
+            GetItemResponse.builder()
+                .item(
+                    Map.of(
+                        "reports", AttributeValue.fromN("3"),
+                        "count:Digs", AttributeValue.fromN("2"),
+                        "sum:Digs", AttributeValue.fromN("10"),
+                        "sumSq:Digs", AttributeValue.fromN("52"),
+                        "max:Digs", AttributeValue.fromN("6")))
+                .build());
+
+    SeasonStats stats = repository.find("player-1", "2024").orElseThrow();
+
+    assertEquals(3, stats.reports());
+    CategoryStats digs = stats.categories().get("Digs");
+    assertEquals(2, digs.count());
+    assertEquals(5.0, digs.mean());
+    assertEquals(1.0, digs.standardDeviation(), 1e-9);
+    assertNull(digs.min());
+  }
+
+  @Test
+  void listReportCategoriesPagesThroughTheTimeRange() {
+    Map<String, AttributeValue> lastKey = Map.of("PK", AttributeValue.fromS("PLAYER#player-1"));
+    Map<String, AttributeValue> item =
+        Map.of("categories", AttributeValue.fromM(Map.of("Aces", AttributeValue.fromS("2"))));
+    when(dynamoDbClient.query(Mockito.any(QueryRequest.class)))
+        .thenReturn(QueryResponse.builder().items(item).lastEvaluatedKey(lastKey).build())
+        .thenReturn(QueryResponse.builder().items(item).build());
+
+    List<Map<String, String>> reports =
+        repository.listReportCategories(
+            "player-1",
+            Instant.parse("2024-01-01T00:00:00Z"),
+            Instant.parse("2024-07-01T00:00:00Z"));
+
+    ArgumentCaptor<QueryRequest> captor = ArgumentCaptor.forClass(QueryRequest.class);
+    verify(dynamoDbClient, Mockito.times(2)).query(captor.capture());
+    QueryRequest first = captor.getAllValues().get(0);
+    assertEquals("REPORT#20240101T000000", first.expressionAttributeValues().get(":from").s());
+    assertEquals("REPORT#20240701T000000", first.expressionAttributeValues().get(":to").s());
+    assertEquals(lastKey, captor.getAllValues().get(1).exclusiveStartKey());
+    assertEquals(List.of(Map.of("Aces", "2"), Map.of("Aces", "2")), reports);
+  }
+
+  @Test
+  void replaceFailsWhenReportsArrivedMeanwhile() {
+    when(dynamoDbClient.putItem(Mockito.any(PutItemRequest.class)))
+        .thenThrow(ConditionalCheckFailedException.builder().build());
+    TreeMap<String, CategoryStats> categories = new TreeMap<>();
+    categories.put("Aces", CategoryStats.of(BigDecimal.TWO));
+
+    boolean replaced =
+        repository.replace(new SeasonStats("player-1", "2024", 1, categories), 4L, REPORTED);
+
+    assertFalse(replaced);
+    ArgumentCaptor<PutItemRequest> captor = ArgumentCaptor.forClass(PutItemRequest.class);
+    verify(dynamoDbClient).putItem(captor.capture());
+    assertEquals("reports = :expected", captor.getValue().conditionExpression());
+    assertEquals("4", captor.getValue().item().get("sumSq:Aces").n());
+  }
+}
@@ -0,0 +1,127 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.infrastructure.resilience.ResilienceFixtures;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TeamLeaderboardStoreTest {
+
+  private static final Instant NOW = Instant.parse("2025-03-01T00:00:00Z");
+
+  private final SeasonStatsRepository repository = mock(SeasonStatsRepository.class);
+  private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+  private final TeamLeaderboardStore store =
+      new TeamLeaderboardStore(
+          repository,
+          new SeasonCalendar(clock, 1),
+          ResilienceFixtures.sequentialReads(),
+          clock,
+          true,
+          2,
+          Duration.ofMinutes(10),
+          10);
+
+  @Test
+  void ranksPlayersByTotalAcrossShards() {
+    when(repository.listTeamReportValues(eq("team-1"), eq(0), any(), any()))
+        .thenReturn(
+            List.of(
+                report("p1", "Digs", "4"), report("p2", "Digs", "9"), report("p3", "Aces", "1")));
+    when(repository.listTeamReportValues(eq("team-1"), eq(1), any(), any()))
+        .thenReturn(List.of(report("p1", "Digs", "6"), report("p4", "Digs", "2")));
+
+    List<LeaderboardEntry> top = store.top("team-1", null, "Digs", 2, LeaderboardMetric.TOTAL);
+
+    assertThat(top)
+        .containsExactly(new LeaderboardEntry("p1", 10, 2), new LeaderboardEntry("p2", 9, 1));
+    verify(repository)
+        .listTeamReportValues(
+            "team-1",
+            0,
+            Instant.parse("2025-01-01T00:00:00Z"),
+            Instant.parse("2026-01-01T00:00:00Z"));
+  }
+
+  @Test
+  void includesReportsFromTheUnshardedTeamPartition() {
+    when(repository.listTeamReportValues(eq("team-1"), anyInt(), any(), any()))
+        .thenReturn(List.of());
+    when(repository.listTeamReportValues(eq("team-1"), eq(-1), any(), any()))
+        .thenReturn(List.of(report("p1", "Digs", "7"), report("p2", "Digs", "3")));
+    when(repository.listTeamReportValues(eq("team-1"), eq(1), any(), any()))
+        .thenReturn(List.of(report("p2", "Digs", "6")));
+
+    List<LeaderboardEntry> top = store.top("team-1", null, "Digs", 2, LeaderboardMetric.TOTAL);
+
+    assertThat(top)
+        .containsExactly(new LeaderboardEntry("p2", 9, 2), new LeaderboardEntry("p1", 7, 1));
+    verify(repository, times(3)).listTeamReportValues(eq("team-1"), anyInt(), any(), any());
+  }
+
+  @Test
+  void ranksByAverageAndBreaksTiesByPlayerId() {
+    when(repository.listTeamReportValues(eq("team-1"), anyInt(), any(), any()))
+        .thenReturn(List.of());
+    when(repository.listTeamReportValues(eq("team-1"), eq(0), any(), any()))
+        .thenReturn(
+            List.of(
+                report("b", "Aces", "3"),
+                report("a", "Aces", "1"),
+                report("a", "Aces", "5"),
+                report("c", "Aces", "2")));
+
+    List<LeaderboardEntry> top = store.top("team-1", "2025", "Aces", 5, LeaderboardMetric.AVERAGE);
+
+    assertThat(top).extracting(LeaderboardEntry::playerId).containsExactly("a", "b", "c");
+    assertThat(store.top("team-1", "2025", "Blocks", 5, LeaderboardMetric.TOTAL)).isEmpty();
+  }
+
+  @Test
+  void keepsTheLargestValuesWhenManyPlayersCompete() {
+    List<TeamReportValues> reports = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      reports.add(report("p" + i, "Digs", Integer.toString((i * 7919) % 1000)));
+    }
+    when(repository.listTeamReportValues(eq("team-1"), anyInt(), any(), any()))
+        .thenReturn(List.of());
+    when(repository.listTeamReportValues(eq("team-1"), eq(0), any(), any())).thenReturn(reports);
+
+    List<LeaderboardEntry> top = store.top("team-1", null, "Digs", 3, LeaderboardMetric.TOTAL);
+
+    assertThat(top).extracting(LeaderboardEntry::total).containsExactly(999.0, 998.0, 997.0);
+  }
+
+  @Test
+  void addsNewReportsToLoadedSeasonsWithoutReloading() {
+    when(repository.listTeamReportValues(eq("team-1"), anyInt(), any(), any()))
+        .thenReturn(List.of());
+    store.top("team-1", null, "Digs", 3, LeaderboardMetric.TOTAL);
+
+    store.record("team-1", "p1", NOW, Map.of("Digs", "3", "notes", "solid"));
+    store.record("team-2", "p9", NOW, Map.of("Digs", "8"));
+
+    assertThat(store.top("team-1", null, "Digs", 3, LeaderboardMetric.TOTAL))
+        .containsExactly(new LeaderboardEntry("p1", 3, 1));
+    verify(repository, times(3)).listTeamReportValues(eq("team-1"), anyInt(), any(), any());
+    verify(repository, times(0)).listTeamReportValues(eq("team-2"), anyInt(), any(), any());
+  }
+
+  private static TeamReportValues report(String playerId, String category, String value) {
+    return new TeamReportValues(playerId, "r-" + playerId, NOW, Map.of(category, value));
+  }
+}
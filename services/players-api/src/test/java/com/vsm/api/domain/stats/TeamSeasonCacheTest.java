@@ -0,0 +1,89 @@
+package com.vsm.api.domain.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Test;
+
+class TeamSeasonCacheTest {
+
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+  private final List<Runnable> refreshes = new ArrayList<>();
+  private final TeamSeasonCache<String> cache =
+      new TeamSeasonCache<>(clock, Duration.ofMinutes(10), 10, refreshes::add);
+
+  @Test
+  void servesStaleStateWhileOneBackgroundReloadRuns() {
+    AtomicInteger loads = new AtomicInteger();
+    BiFunction<String, String, String> loader =
+        (teamId, season) -> teamId + "-v" + loads.incrementAndGet();
+    assertThat(cache.get("team-1", "2024", loader)).isEqualTo("team-1-v1");
+    clock.advance(Duration.ofMinutes(10));
+
+    assertThat(cache.get("team-1", "2024", loader)).isEqualTo("team-1-v1");
+    assertThat(cache.get("team-1", "2024", loader)).isEqualTo("team-1-v1");
+    assertThat(refreshes).hasSize(1);
+    assertThat(loads).hasValue(1);
+
+    refreshes.remove(0).run();
+
+    assertThat(cache.get("team-1", "2024", loader)).isEqualTo("team-1-v2");
+    assertThat(refreshes).isEmpty();
+  }
+
+  @Test
+  void keepsTheOldStateWhenAReloadFailsAndRetriesLater() {
+    AtomicInteger loads = new AtomicInteger();
+    BiFunction<String, String, String> loader =
+        (teamId, season) -> {
+          if (loads.incrementAndGet() == 2) {
+            throw new IllegalStateException("throttled");
+          }
+          return "v" + loads.get();
+        };
+    cache.get("team-1", "2024", loader);
+    clock.advance(Duration.ofMinutes(10));
+
+    cache.get("team-1", "2024", loader);
+    refreshes.remove(0).run();
+
+    assertThat(cache.get("team-1", "2024", loader)).isEqualTo("v1");
+    refreshes.remove(0).run();
+    assertThat(cache.get("team-1", "2024", loader)).isEqualTo("v3");
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -1,20 +1,35 @@
 package com.vsm.api.infrastructure.audit;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import com.vsm.api.infrastructure.metrics.CapacityAccountant;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.PutItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.PutRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
 class AuditRepositoryTest {
 
+  private final CapacityAccountant capacity = Mockito.mock(CapacityAccountant.class);
+
   @Test
   void writesAuditSent() {
     DynamoDbClient ddb = Mockito.mock(DynamoDbClient.class);
-    AuditRepository repo = new AuditRepository(ddb, "vsm-main");
+    when(ddb.putItem(any(PutItemRequest.class))).thenReturn(PutItemResponse.builder().build());
+    AuditRepository repo = new AuditRepository(ddb, "vsm-main", capacity);
     Instant now = Instant.parse("2025-01-01T00:00:00Z");
     repo.writeSent("r1", "c1", now);
     ArgumentCaptor<PutItemRequest> cap = ArgumentCaptor.forClass(PutItemRequest.class);
@@ -23,4 +38,45 @@ class AuditRepositoryTest {
     assert "REPORT#r1".equals(r.item().get("PK").s());
     assert r.item().get("SK").s().startsWith("AUDIT#2025-01-01T00:00:00Z#SENT");
   }
+
+  @Test
+  void writeBatchReturnsUnprocessedEntries() {
+    DynamoDbClient ddb = Mockito.mock(DynamoDbClient.class);
+    AuditRepository repo = new AuditRepository(ddb, "vsm-main", capacity);
+    AuditEntry sent = AuditEntry.sent("r1", "c1", Instant.parse("2025-01-01T00:00:00Z"));
+    AuditEntry viewed =
+        AuditEntry.viewed(
+            "r1",
+            "p1",
+            "PLAYER",
+            Instant.parse("2025-01-01T00:01:00Z"),
+            Map.of("viewCount", AttributeValue.fromN("3")));
+    WriteRequest unprocessed =
+        WriteRequest.builder()
+            .putRequest(
+                PutRequest.builder()
+                    .item(
+                        Map.of(
+                            "PK", AttributeValue.fromS("REPORT#r1"),
+                            "SK", AttributeValue.fromS(viewed.sortKey())))
+                    .build())
+            .build();
+    when(ddb.batchWriteItem(any(BatchWriteItemRequest.class)))
+        .thenReturn(
+            BatchWriteItemResponse.builder()
+                .unprocessedItems(Map.of("vsm-main", List.of(unprocessed)))
+                .build());
+
+    List<AuditEntry> remaining = repo.writeBatch(List.of(sent, viewed));
+
+    ArgumentCaptor<BatchWriteItemRequest> cap =
+        ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+    verify(ddb).batchWriteItem(cap.capture());
+    List<WriteRequest> writes = cap.getValue().requestItems().get("vsm-main");
+    assertEquals(2, writes.size());
+    Map<String, AttributeValue> viewedItem = writes.get(1).putRequest().item();
+    assertEquals("AUDIT#2025-01-01T00:01:00Z#VIEWED#p1", viewedItem.get("SK").s());
+    assertEquals("3", viewedItem.get("viewCount").n());
+    assertEquals(List.of(viewed), remaining);
+  }
 }
@@ -0,0 +1,116 @@
+package com.vsm.api.infrastructure.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class AuditWriterTest {
+
+  private final AuditRepository repository = Mockito.mock(AuditRepository.class);
+
+  private AuditWriter newWriter(int capacity) {
+    return newWriter(capacity, Duration.ofMillis(1));
+  }
+
+  private AuditWriter newWriter(int capacity, Duration enqueueTimeout) {
+    return new AuditWriter(
+        repository,
+        capacity,
+        Duration.ofMillis(50),
+        enqueueTimeout,
+        Duration.ofSeconds(5),
+        3,
+        Duration.ofMillis(1),
+        Duration.ofMillis(5));
+  }
+
+  @Test
+  void coalescesEntriesIntoBatchesAndFlushesOnStop() {
+    when(repository.writeBatch(any())).thenReturn(List.of());
+    AuditWriter writer = newWriter(100);
+    writer.start();
+    for (int i = 0; i < 30; i++) {
+      writer.writeSent("r" + i, "c1", Instant.parse("2025-01-01T00:00:00Z"));
+    }
+    writer.stop();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<AuditEntry>> cap = ArgumentCaptor.forClass(List.class);
+    verify(repository, Mockito.atLeast(2)).writeBatch(cap.capture());
+    List<AuditEntry> written = new ArrayList<>();
+    cap.getAllValues().forEach(written::addAll);
+    assertEquals(30, written.size());
+    cap.getAllValues()
+        .forEach(batch -> assertTrue(batch.size() <= AuditRepository.MAX_BATCH_SIZE));
+  }
+
+  @Test
+  void redrivesUnprocessedEntries() {
+    AuditEntry entry = AuditEntry.sent("r1", "c1", Instant.parse("2025-01-01T00:00:00Z"));
+    when(repository.writeBatch(any())).thenReturn(List.of(entry)).thenReturn(List.of());
+    AuditWriter writer = newWriter(10);
+
+    writer.submit(entry);
+
+    verify(repository, times(2)).writeBatch(List.of(entry));
+  }
+
+  @Test
+  void writesInlineWhenNotRunning() {
+    when(repository.writeBatch(any())).thenReturn(List.of());
+    AuditWriter writer = newWriter(1);
+
+    writer.writeSent("r1", "c1", Instant.parse("2025-01-01T00:00:00Z"));
+
+    verify(repository).writeBatch(any());
+    assertEquals(0, writer.pendingEntries());
+  }
+
+  @Test
+  void stopWritesEntriesStillBeingQueued() throws Exception {
+    CountDownLatch firstWrite = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(repository.writeBatch(any()))
+        .thenAnswer(
+            invocation -> {
+              firstWrite.countDown();
+              release.await();
+              return List.of();
+            });
+    AuditWriter writer = newWriter(1, Duration.ofSeconds(5));
+    writer.start();
+    Instant at = Instant.parse("2025-01-01T00:00:00Z");
+    writer.writeSent("r1", "c1", at);
+    firstWrite.await();
+    writer.writeSent("r2", "c1", at);
+    // The buffer is full, so this one waits in its offer while the writer stops
+    CompletableFuture<Void> blocked =
+        CompletableFuture.runAsync(() -> writer.writeSent("r3", "c1", at));
+    CompletableFuture<Void> stopping = CompletableFuture.runAsync(writer::stop);
+
+    release.countDown();
+    blocked.get();
+    stopping.get();
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<AuditEntry>> cap = ArgumentCaptor.forClass(List.class);
+    verify(repository, Mockito.atLeast(2)).writeBatch(cap.capture());
+    List<String> written = new ArrayList<>();
+    cap.getAllValues().forEach(batch -> batch.forEach(e -> written.add(e.reportId())));
+    assertEquals(List.of("r1", "r2", "r3"), written.stream().sorted().toList());
+    assertEquals(0, writer.pendingEntries());
+  }
+}
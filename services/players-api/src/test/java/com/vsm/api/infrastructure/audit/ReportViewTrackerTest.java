@@ -0,0 +1,80 @@
+package com.vsm.api.infrastructure.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class ReportViewTrackerTest {
+
+  private final AuditWriter writer = Mockito.mock(AuditWriter.class);
+  private final Clock clock = Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+  @Test
+  void aggregatesViewsPerReportAndActor() {
+    ReportViewTracker tracker = new ReportViewTracker(writer, clock, 1.0, 100);
+    tracker.recordView("r1", "p1", "PLAYER");
+    tracker.recordView("r1", "p1", "PLAYER");
+    tracker.recordView("r1", "p1", "PLAYER");
+
+    verifyNoInteractions(writer);
+    tracker.flush();
+
+    ArgumentCaptor<AuditEntry> cap = ArgumentCaptor.forClass(AuditEntry.class);
+    verify(writer).submit(cap.capture());
+    AuditEntry entry = cap.getValue();
+    assertEquals(AuditEntry.VIEWED, entry.eventType());
+    assertEquals("p1", entry.actorId());
+    assertEquals("3", entry.attributes().get("viewCount").n());
+    assertEquals("2025-01-01T00:00:00Z", entry.attributes().get("firstViewedAt").s());
+    assertEquals(0, tracker.trackedPairs());
+  }
+
+  @Test
+  void samplingIsDeterministicPerPair() {
+    ReportViewTracker tracker = new ReportViewTracker(writer, clock, 0.25, 100_000);
+    ReportViewTracker other = new ReportViewTracker(writer, clock, 0.25, 1);
+    long sampled =
+        IntStream.range(0, 10_000).filter(i -> tracker.isSampled("r" + i, "p1")).count();
+
+    assertEquals(tracker.isSampled("r42", "p1"), other.isSampled("r42", "p1"));
+    assertTrue(sampled > 2_000 && sampled < 3_000, "sampled " + sampled);
+  }
+
+  @Test
+  void zeroSampleRateTracksNothing() {
+    ReportViewTracker tracker = new ReportViewTracker(writer, clock, 0.0, 100);
+    tracker.recordView("r1", "p1", "PLAYER");
+    tracker.flush();
+
+    verify(writer, never()).submit(Mockito.any());
+  }
+
+  @Test
+  void handsOneEarlyFlushToTheBackgroundWhenTooManyPairsAreTracked() {
+    List<Runnable> handedOff = new ArrayList<>();
+    ReportViewTracker tracker = new ReportViewTracker(writer, clock, 1.0, 2, handedOff::add);
+    IntStream.range(0, 5).forEach(i -> tracker.recordView("r" + i, "p1", "PLAYER"));
+
+    verifyNoInteractions(writer);
+    assertEquals(1, handedOff.size());
+
+    handedOff.get(0).run();
+
+    verify(writer, Mockito.times(5)).submit(Mockito.any());
+    assertEquals(0, tracker.trackedPairs());
+    IntStream.range(0, 3).forEach(i -> tracker.recordView("r" + i, "p2", "PLAYER"));
+    assertEquals(2, handedOff.size());
+  }
+}
@@ -0,0 +1,154 @@
+package com.vsm.api.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.vsm.api.infrastructure.resilience.CallerContext;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+
+class CapacityAccountantTest {
+
+  private static final Instant START = Instant.parse("2025-01-01T00:00:10Z");
+
+  private final ReportMetricsPublisher publisher = mock(ReportMetricsPublisher.class);
+  private final MutableClock clock = new MutableClock(START);
+  private final CapacityAccountant accountant =
+      new CapacityAccountant(publisher, clock, Duration.ofMinutes(5), 2, 10);
+
+  @AfterEach
+  void clearRequest() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  void attributesCapacityToRouteAndOperation() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/players/p1/reports");
+    request.setAttribute(
+        HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/players/{playerId}/reports");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+    accountant.recordRead("listReports", "p1", units(0.5));
+    accountant.recordRead("listReports", "p1", units(1.5));
+    RequestContextHolder.resetRequestAttributes();
+    accountant.recordWrite("writeAuditBatch", null, List.of(units(3), units(2)));
+
+    CapacityAccountant.MinuteSummary minute = accountant.snapshot().minutes().get(0);
+    assertThat(minute.minute()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+    assertThat(minute.routes())
+        .containsExactly(
+            new CapacityAccountant.RouteSummary(
+                "GET /api/players/{playerId}/reports", "listReports", 2, 2.0, 0),
+            new CapacityAccountant.RouteSummary(
+                CapacityAccountant.BACKGROUND_ROUTE, "writeAuditBatch", 1, 0, 5.0));
+  }
+
+  @Test
+  void attributesWorkHandedToAnotherThreadToTheRouteCapturedUpFront() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teams/t1/reports");
+    request.setAttribute(
+        HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/teams/{teamId}/reports");
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    Supplier<Void> read =
+        CallerContext.wrap(
+            () -> {
+              accountant.recordRead("queryTeamTimeline", null, units(1));
+              return null;
+            });
+    RequestContextHolder.resetRequestAttributes();
+
+    CompletableFuture.supplyAsync(read).get();
+
+    assertThat(accountant.snapshot().minutes().get(0).routes())
+        .containsExactly(
+            new CapacityAccountant.RouteSummary(
+                "GET /api/teams/{teamId}/reports", "queryTeamTimeline", 1, 1.0, 0));
+  }
+
+  @Test
+  void ranksTopPlayersAcrossMinutesAndFoldsOverflow() {
+    accountant.recordWrite("saveReport", "p1", units(1));
+    accountant.recordRead("listReports", "p2", units(4));
+    accountant.recordRead("listReports", "p3", units(10));
+    clock.advance(Duration.ofMinutes(1));
+    accountant.recordWrite("saveReport", "p1", units(6));
+
+    List<CapacityAccountant.PlayerSummary> top = accountant.snapshot().topPlayers();
+
+    assertThat(top)
+        .extracting(CapacityAccountant.PlayerSummary::playerId)
+        .containsExactly(CapacityAccountant.OTHER_PLAYERS, "p1", "p2");
+    assertThat(top.get(1).totalUnits()).isEqualTo(7.0);
+  }
+
+  @Test
+  void publishesEachFinishedMinuteOnceAndExpiresOldMinutes() {
+    accountant.recordWrite("saveReport", "p1", units(1));
+
+    accountant.closeFinishedMinutes();
+    verify(publisher, never()).recordConsumedCapacity(any(), anyList());
+
+    clock.advance(Duration.ofMinutes(1));
+    accountant.closeFinishedMinutes();
+    accountant.closeFinishedMinutes();
+    ArgumentCaptor<Instant> minute = ArgumentCaptor.forClass(Instant.class);
+    verify(publisher, times(1)).recordConsumedCapacity(minute.capture(), anyList());
+    assertThat(minute.getValue()).isEqualTo(Instant.parse("2025-01-01T00:00:00Z"));
+
+    clock.advance(Duration.ofMinutes(10));
+    accountant.closeFinishedMinutes();
+    assertThat(accountant.snapshot().minutes()).isEmpty();
+    verify(publisher, times(1)).recordConsumedCapacity(eq(minute.getValue()), anyList());
+  }
+
+  private static ConsumedCapacity units(double units) {
+    return ConsumedCapacity.builder().tableName("vsm-main").capacityUnits(units).build();
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
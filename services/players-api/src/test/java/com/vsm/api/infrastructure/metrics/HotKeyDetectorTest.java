@@ -0,0 +1,107 @@
+package com.vsm.api.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vsm.api.infrastructure.metrics.HotKeyDetector.KeyType;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HotKeyDetectorTest {
+
+  private static final Instant START = Instant.parse("2025-01-01T00:00:00Z");
+
+  private final MutableClock clock = new MutableClock(START);
+  private final HotKeyDetector detector =
+      new HotKeyDetector(clock, Duration.ofSeconds(10), 4, 5, 2);
+
+  @Test
+  void spaceSavingKeepsHeavyHittersWithinCapacity() {
+    HotKeyDetector.SpaceSaving sketch = new HotKeyDetector.SpaceSaving(2);
+    for (int i = 0; i < 10; i++) {
+      sketch.offer("hot");
+    }
+    sketch.offer("a");
+    sketch.offer("b");
+    sketch.offer("c");
+
+    assertThat(sketch.size()).isEqualTo(2);
+    assertThat(sketch.count("hot")).isEqualTo(10);
+    assertThat(sketch.count("c")).isEqualTo(3);
+    assertThat(sketch.error("c")).isEqualTo(2);
+  }
+
+  @Test
+  void reportsKeysHotFromTheLastFinishedWindow() {
+    for (int i = 0; i < 60; i++) {
+      detector.record(KeyType.PLAYER, "p1");
+    }
+    detector.record(KeyType.PLAYER, "p2");
+    assertThat(detector.isHot(KeyType.PLAYER, "p1")).isFalse();
+
+    clock.advance(Duration.ofSeconds(10));
+
+    assertThat(detector.isHot(KeyType.PLAYER, "p1")).isTrue();
+    assertThat(detector.isHot(KeyType.PLAYER, "p2")).isFalse();
+    assertThat(detector.isHot(KeyType.COACH, "p1")).isFalse();
+    List<HotKeyDetector.HotKey> players = detector.snapshot().players();
+    assertThat(players.get(0)).isEqualTo(new HotKeyDetector.HotKey("p1", 6.0, 0, true));
+  }
+
+  @Test
+  void coolsDownWhenTrafficStops() {
+    for (int i = 0; i < 20; i++) {
+      detector.record(KeyType.COACH, "c1");
+    }
+    clock.advance(Duration.ofSeconds(10));
+    assertThat(detector.isHot(KeyType.COACH, "c1")).isTrue();
+
+    clock.advance(Duration.ofSeconds(10));
+
+    assertThat(detector.isHot(KeyType.COACH, "c1")).isFalse();
+    assertThat(detector.snapshot().coaches()).isEmpty();
+  }
+
+  @Test
+  void neverReportsReplacedKeysHotFromInheritedCounts() {
+    for (int i = 0; i < 100; i++) {
+      detector.record(KeyType.PLAYER, "p" + i);
+    }
+    clock.advance(Duration.ofSeconds(10));
+
+    HotKeyDetector.Snapshot snapshot = detector.snapshot();
+    assertThat(snapshot.players()).hasSize(4).noneMatch(HotKeyDetector.HotKey::hot);
+    assertThat(snapshot.windowStart()).isEqualTo(START);
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
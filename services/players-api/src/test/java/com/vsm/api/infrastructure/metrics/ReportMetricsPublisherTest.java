@@ -5,6 +5,8 @@ import static org.mockito.Mockito.verify;
 
 import com.vsm.api.config.CorrelationIdFilter;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
@@ -53,4 +55,36 @@ class ReportMetricsPublisherTest {
             .orElseThrow();
     assertEquals("corr-123", correlation.value());
   }
+
+  @Test
+  void publishesConsumedCapacityPerRouteAndOperation() {
+    CloudWatchClient client = Mockito.mock(CloudWatchClient.class);
+    ReportMetricsPublisher publisher =
+        new ReportMetricsPublisher(client, "custom/ns", "players-api", "dev");
+    Instant minute = Instant.parse("2025-01-01T00:01:00Z");
+
+    publisher.recordConsumedCapacity(
+        minute,
+        List.of(
+            new CapacityAccountant.RouteSummary(
+                "GET /api/players/{playerId}/reports", "listReports", 4, 2.5, 0),
+            new CapacityAccountant.RouteSummary("background", "writeAuditBatch", 1, 0, 6)));
+
+    ArgumentCaptor<PutMetricDataRequest> captor =
+        ArgumentCaptor.forClass(PutMetricDataRequest.class);
+    verify(client).putMetricData(captor.capture());
+    List<MetricDatum> data = captor.getValue().metricData();
+    assertEquals(2, data.size());
+    assertEquals("dynamodb_consumed_read_units", data.get(0).metricName());
+    assertEquals(2.5, data.get(0).value().doubleValue());
+    assertEquals(minute, data.get(0).timestamp());
+    Dimension route =
+        data.get(0).dimensions().stream()
+            .filter(d -> "Route".equals(d.name()))
+            .findFirst()
+            .orElseThrow();
+    assertEquals("GET /api/players/{playerId}/reports", route.value());
+    assertEquals("dynamodb_consumed_write_units", data.get(1).metricName());
+    assertEquals(6.0, data.get(1).value().doubleValue());
+  }
 }
@@ -0,0 +1,74 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+  @Test
+  void rejectsOnceLimitIsReached() {
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter("test", 2, 1, 10, 1.5, 0.2, 0.9);
+
+    AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+    AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire();
+
+    assertThat(first).isNotNull();
+    assertThat(second).isNotNull();
+    assertThat(limiter.tryAcquire()).isNull();
+    assertThat(limiter.getInFlight()).isEqualTo(2);
+    assertThat(limiter.getRejected()).isEqualTo(1);
+
+    first.release(false);
+    first.release(false);
+    assertThat(limiter.getInFlight()).isEqualTo(1);
+  }
+
+  @Test
+  void growsWhileSaturatedAtStableLatency() {
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter("test", 4, 1, 64, 1.5, 0.5, 0.9);
+
+    for (int round = 0; round < 20; round++) {
+      List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+      AdaptiveConcurrencyLimiter.Permit permit;
+      while ((permit = limiter.tryAcquire()) != null) {
+        permits.add(permit);
+      }
+      permits.forEach(p -> p.release(false));
+    }
+
+    assertThat(limiter.getLimit()).isGreaterThan(4);
+  }
+
+  @Test
+  void backsOffOnDroppedRequests() {
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter("test", 20, 2, 64, 1.5, 0.2, 0.5);
+
+    limiter.tryAcquire().release(true);
+    limiter.tryAcquire().release(true);
+
+    assertThat(limiter.getLimit()).isEqualTo(5);
+  }
+
+  @Test
+  void exposesGaugesAndRejectionCounter() {
+    AdaptiveConcurrencyLimiter limiter =
+        new AdaptiveConcurrencyLimiter("reports.create.concurrency", 1, 1, 1, 1.5, 0.2, 0.9);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    limiter.bindTo(registry);
+
+    limiter.tryAcquire();
+    limiter.tryAcquire();
+
+    assertThat(registry.get("reports.create.concurrency.limit").gauge().value()).isEqualTo(1.0);
+    assertThat(registry.get("reports.create.concurrency.inflight").gauge().value()).isEqualTo(1.0);
+    assertThat(registry.get("reports.create.concurrency.rejected").functionCounter().count())
+        .isEqualTo(1.0);
+  }
+}
@@ -0,0 +1,135 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vsm.api.config.ResilienceProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class BrownoutControllerTest {
+
+  private final MutableSignal signal = new MutableSignal();
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+  private final BrownoutController controller =
+      new BrownoutController(new ResilienceProperties(), List.of(signal), clock);
+
+  @Test
+  void escalatesThroughStagesInOrder() {
+    signal.value = 0.8;
+    controller.evaluate();
+    assertThat(controller.shedStages())
+        .containsExactly(OptionalStage.PERCENTILES, OptionalStage.SOAP_STAMP);
+
+    signal.value = 1.2;
+    controller.evaluate();
+    assertThat(controller.getLevel()).isEqualTo(4);
+    assertThat(controller.isShed(OptionalStage.AUDIT)).isTrue();
+  }
+
+  @Test
+  void recoversOneLevelAtATimeAfterCoolDown() {
+    signal.value = 1.0;
+    controller.evaluate();
+    assertThat(controller.getLevel()).isEqualTo(4);
+
+    signal.value = 0.9;
+    clock.advance(Duration.ofMinutes(1));
+    controller.evaluate();
+    assertThat(controller.getLevel()).as("within hysteresis band").isEqualTo(4);
+
+    signal.value = 0.1;
+    controller.evaluate();
+    assertThat(controller.getLevel()).isEqualTo(3);
+
+    controller.evaluate();
+    assertThat(controller.getLevel()).as("cool-down not elapsed").isEqualTo(3);
+
+    clock.advance(Duration.ofSeconds(30));
+    controller.evaluate();
+    assertThat(controller.getLevel()).isEqualTo(2);
+  }
+
+  @Test
+  void slowStageIsShedOnItsOwn() {
+    controller.recordStageLatency(OptionalStage.SOAP_STAMP, TimeUnit.SECONDS.toNanos(2));
+
+    controller.evaluate();
+
+    assertThat(controller.getLevel()).isZero();
+    assertThat(controller.shedStages()).containsExactly(OptionalStage.SOAP_STAMP);
+    assertThat(controller.isShed(OptionalStage.AUDIT)).isFalse();
+    assertThat(controller.snapshot().pressure()).isZero();
+
+    clock.advance(Duration.ofSeconds(30));
+    controller.evaluate();
+
+    assertThat(controller.shedStages()).as("probed again after cool-down").isEmpty();
+  }
+
+  @Test
+  void stageWithinBudgetIsKept() {
+    controller.recordStageLatency(OptionalStage.AUDIT, TimeUnit.MILLISECONDS.toNanos(40));
+
+    controller.evaluate();
+
+    assertThat(controller.shedStages()).isEmpty();
+  }
+
+  @Test
+  void snapshotReportsSkippedStages() {
+    controller.recordSkipped(OptionalStage.CREATE_METRIC);
+
+    BrownoutController.Snapshot snapshot = controller.snapshot();
+
+    assertThat(snapshot.level()).isZero();
+    assertThat(snapshot.skipped()).containsEntry(OptionalStage.CREATE_METRIC, 1L);
+    assertThat(snapshot.signals()).containsKey("test");
+  }
+
+  private static final class MutableSignal implements LoadSignal {
+    private double value;
+
+    @Override
+    public String signalName() {
+      return "test";
+    }
+
+    @Override
+    public double saturation() {
+      return value;
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now;
+
+    private MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    private void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelReadsTest {
+
+  private final ParallelReads reads = new ParallelReads(new ReadPermits(2));
+
+  @AfterEach
+  void tearDown() {
+    reads.close();
+    RequestDeadline.clear();
+  }
+
+  @Test
+  void returnsResultsInKeyOrderWithPerKeyErrors() {
+    Map<String, ParallelReads.Result<String>> results =
+        reads.readAll(
+            List.of("a", "b", "c"),
+            key -> {
+              if (key.equals("b")) {
+                throw new IllegalStateException("boom");
+              }
+              return key.toUpperCase();
+            });
+
+    assertThat(results.keySet()).containsExactly("a", "b", "c");
+    assertThat(results.get("a").value()).isEqualTo("A");
+    assertThat(results.get("b").succeeded()).isFalse();
+    assertThat(results.get("b").error()).hasMessage("boom");
+    assertThat(results.get("c").value()).isEqualTo("C");
+  }
+
+  @Test
+  void capsConcurrentReads() {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+
+    reads.readAll(
+        List.of(1, 2, 3, 4, 5, 6),
+        key -> {
+          peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+          sleep(20);
+          inFlight.decrementAndGet();
+          return key;
+        });
+
+    assertThat(peak.get()).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  void reportsReadsStillRunningAtTheDeadline() {
+    CountDownLatch release = new CountDownLatch(1);
+    RequestDeadline.start(Duration.ofMillis(100), Duration.ZERO);
+
+    Map<String, ParallelReads.Result<String>> results =
+        reads.readAll(
+            List.of("fast", "slow"),
+            key -> {
+              if (key.equals("slow")) {
+                await(release);
+              }
+              return key;
+            });
+
+    release.countDown();
+    assertThat(results.get("fast").value()).isEqualTo("fast");
+    assertThat(results.get("slow").error()).isInstanceOf(DeadlineExceededException.class);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReadHedgerTest {
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final ReadPermits permits = new ReadPermits(1);
+  private ReadHedger hedger;
+
+  @AfterEach
+  void close() {
+    if (hedger != null) {
+      hedger.close();
+    }
+  }
+
+  @Test
+  void disabledHedgerRunsOnCallingThread() {
+    Thread caller = Thread.currentThread();
+
+    Thread ranOn = ResilienceFixtures.unhedged().read("op", Thread::currentThread);
+
+    assertThat(ranOn).isSameAs(caller);
+  }
+
+  @Test
+  void hedgeAnswersWhenPrimaryIsSlowAndLoserIsInterrupted() throws InterruptedException {
+    hedger = hedger(0.5);
+    warmUp();
+    CountDownLatch loserInterrupted = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        hedger.read(
+            "op",
+            () -> {
+              if (attempts.incrementAndGet() == 1) {
+                try {
+                  Thread.sleep(5_000);
+                } catch (InterruptedException ex) {
+                  loserInterrupted.countDown();
+                }
+                return "primary";
+              }
+              return "hedge";
+            });
+
+    assertThat(result).isEqualTo("hedge");
+    assertThat(attempts).hasValue(2);
+    assertThat(loserInterrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(registry.get("reads.hedge.sent").tag("operation", "op").counter().count())
+        .isEqualTo(1);
+    assertThat(registry.get("reads.hedge.won").tag("operation", "op").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void doesNotHedgeOnceBudgetIsSpent() {
+    hedger = hedger(0);
+    warmUp();
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result = hedger.read("op", sleepy(attempts, 100));
+
+    assertThat(result).isEqualTo("done");
+    assertThat(attempts).hasValue(1);
+    assertThat(registry.get("reads.hedge.budget.exhausted").counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void doesNotHedgeWhenEveryReadPermitIsTaken() {
+    hedger = hedger(0.5);
+    warmUp();
+    AtomicInteger attempts = new AtomicInteger();
+    assertThat(permits.tryAcquire()).isTrue();
+    try {
+      String result = hedger.read("op", sleepy(attempts, 100));
+
+      assertThat(result).isEqualTo("done");
+      assertThat(attempts).hasValue(1);
+      assertThat(registry.get("reads.hedge.saturated").counter().count()).isEqualTo(1);
+    } finally {
+      permits.release();
+    }
+  }
+
+  @Test
+  void propagatesFailureOfUnhedgedRead() {
+    hedger = hedger(0.5);
+
+    assertThatThrownBy(
+            () ->
+                hedger.read(
+                    "op",
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("boom");
+  }
+
+  @Test
+  void failedAttemptsCountTowardsTheHedgeDelay() {
+    hedger = hedger(0.5);
+    for (int i = 0; i < 5; i++) {
+      assertThatThrownBy(
+              () ->
+                  hedger.read(
+                      "op",
+                      () -> {
+                        throw new IllegalStateException("boom");
+                      }))
+          .isInstanceOf(IllegalStateException.class);
+    }
+
+    assertThat(hedger.hedgeDelayNanos("op")).isPositive();
+  }
+
+  @Test
+  void carriesCallerDeadlineToAttempts() {
+    hedger = hedger(0.5);
+    RequestDeadline.start(Duration.ofSeconds(5), Duration.ZERO);
+    try {
+      Duration remaining = hedger.read("op", RequestDeadline::remaining);
+
+      assertThat(remaining).isNotNull();
+    } finally {
+      RequestDeadline.clear();
+    }
+  }
+
+  private ReadHedger hedger(double budgetRatio) {
+    return new ReadHedger(
+        true, budgetRatio, 5, Duration.ofMillis(1), Duration.ofMillis(20), 5, permits, registry);
+  }
+
+  private void warmUp() {
+    for (int i = 0; i < 10; i++) {
+      hedger.read("op", () -> "warm");
+    }
+    assertThat(hedger.hedgeDelayNanos("op")).isPositive();
+  }
+
+  private static Supplier<String> sleepy(AtomicInteger attempts, long millis) {
+    return () -> {
+      attempts.incrementAndGet();
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return "done";
+    };
+  }
+}
@@ -0,0 +1,48 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RequestDeadlineTest {
+
+  @AfterEach
+  void clear() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  void noDeadlineLeavesSdkDefaults() {
+    assertThat(RequestDeadline.remaining()).isNull();
+    assertThat(RequestDeadline.sdkOverride()).isNull();
+    assertThat(RequestDeadline.allowsOptionalWork()).isTrue();
+  }
+
+  @Test
+  void sdkOverrideCapsApiCallTimeoutToRemainingBudget() {
+    RequestDeadline.start(Duration.ofSeconds(3), Duration.ZERO);
+
+    Duration apiCallTimeout = RequestDeadline.sdkOverride().apiCallTimeout().orElseThrow();
+
+    assertThat(apiCallTimeout).isBetween(Duration.ofSeconds(2), Duration.ofSeconds(3));
+  }
+
+  @Test
+  void optionalWorkStopsInsideReserve() {
+    RequestDeadline.start(Duration.ofSeconds(3), Duration.ofSeconds(5));
+
+    assertThat(RequestDeadline.allowsOptionalWork()).isFalse();
+    assertThat(RequestDeadline.isExpired()).isFalse();
+  }
+
+  @Test
+  void expiredDeadlineRefusesNewCalls() {
+    RequestDeadline.start(Duration.ZERO, Duration.ZERO);
+
+    assertThat(RequestDeadline.isExpired()).isTrue();
+    assertThatThrownBy(RequestDeadline::sdkOverride).isInstanceOf(DeadlineExceededException.class);
+  }
+}
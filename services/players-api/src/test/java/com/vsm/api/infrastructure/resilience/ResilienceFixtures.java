@@ -0,0 +1,53 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/** Resilience collaborators for unit tests of the services that use them. */
+public final class ResilienceFixtures {
+
+  private ResilienceFixtures() {}
+
+  /** A hedger that runs every read once, on the calling thread. */
+  public static ReadHedger unhedged() {
+    return new ReadHedger(
+        false,
+        0,
+        1,
+        Duration.ZERO,
+        Duration.ZERO,
+        1,
+        new ReadPermits(1),
+        new SimpleMeterRegistry());
+  }
+
+  /** Reads every key one after another on the calling thread. */
+  public static ParallelReads sequentialReads() {
+    ParallelReads reads = mock(ParallelReads.class);
+    when(reads.readAll(any(), any()))
+        .thenAnswer(
+            invocation -> readInOrder(invocation.getArgument(0), invocation.getArgument(1)));
+    return reads;
+  }
+
+  private static <K, T> Map<K, ParallelReads.Result<T>> readInOrder(
+      Collection<K> keys, Function<K, T> read) {
+    Map<K, ParallelReads.Result<T>> results = new LinkedHashMap<>();
+    for (K key : keys) {
+      try {
+        results.put(key, ParallelReads.Result.success(read.apply(key)));
+      } catch (RuntimeException ex) {
+        results.put(key, ParallelReads.Result.failure(ex));
+      }
+    }
+    return results;
+  }
+}
@@ -0,0 +1,92 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.RetryableException;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+
+class RetryBudgetTest {
+
+  @Test
+  void refusesRetriesOnceTheBudgetIsSpent() {
+    RetryBudget budget = new RetryBudget("dynamodb", 10, 5, 1);
+
+    assertThat(budget.shouldRetry(attempt(1))).isTrue();
+    assertThat(budget.shouldRetry(attempt(1))).isTrue();
+    assertThat(budget.shouldRetry(attempt(1))).isFalse();
+
+    assertThat(budget.getAvailable()).isZero();
+    assertThat(budget.utilization()).isEqualTo(1.0);
+    assertThat(budget.getRetries()).isEqualTo(2);
+    assertThat(budget.getSuppressed()).isEqualTo(1);
+  }
+
+  @Test
+  void successesRefillTheBudget() {
+    RetryBudget budget = new RetryBudget("s3", 10, 5, 1);
+    budget.shouldRetry(attempt(1));
+    budget.shouldRetry(attempt(1));
+
+    for (int i = 0; i < 4; i++) {
+      budget.requestSucceeded(attempt(0));
+    }
+    assertThat(budget.shouldRetry(attempt(1))).isFalse();
+
+    budget.requestSucceeded(attempt(0));
+    assertThat(budget.shouldRetry(attempt(1))).isTrue();
+  }
+
+  @Test
+  void successAfterRetryRefundsItsCostWithoutExceedingCapacity() {
+    RetryBudget budget = new RetryBudget("s3", 10, 5, 1);
+    budget.shouldRetry(attempt(1));
+
+    budget.requestSucceeded(attempt(1));
+    budget.requestSucceeded(attempt(1));
+
+    assertThat(budget.getAvailable()).isEqualTo(10);
+  }
+
+  @Test
+  void policyFailsFastWhenBudgetIsExhausted() {
+    RetryBudget budget = new RetryBudget("eventbridge", 5, 5, 1);
+    RetryPolicy policy =
+        RetryPolicy.builder().numRetries(2).retryCapacityCondition(budget).build();
+    RetryCondition condition = policy.aggregateRetryCondition();
+    RetryPolicyContext throttled =
+        RetryPolicyContext.builder()
+            .exception(RetryableException.create("throttled"))
+            .retriesAttempted(0)
+            .build();
+
+    assertThat(condition.shouldRetry(throttled)).isTrue();
+    assertThat(condition.shouldRetry(throttled)).isFalse();
+    assertThat(budget.getSuppressed()).isEqualTo(1);
+  }
+
+  @Test
+  void exportsUtilisationAndSuppressedRetries() {
+    RetryBudget budget = new RetryBudget("cloudwatch", 10, 5, 1);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    budget.bindTo(registry);
+    budget.shouldRetry(attempt(1));
+    budget.shouldRetry(attempt(1));
+    budget.shouldRetry(attempt(1));
+
+    double utilization =
+        registry.get("aws.retry.budget.utilization").tag("service", "cloudwatch").gauge().value();
+    assertThat(utilization).isEqualTo(1.0);
+    assertThat(registry.get("aws.retry.budget.suppressed").functionCounter().count())
+        .isEqualTo(1.0);
+    assertThat(registry.get("aws.retry.budget.retries").functionCounter().count())
+        .isEqualTo(2.0);
+  }
+
+  private static RetryPolicyContext attempt(int retriesAttempted) {
+    return RetryPolicyContext.builder().retriesAttempted(retriesAttempted).build();
+  }
+}
@@ -0,0 +1,69 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+  private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+  @Test
+  void allowsBurstThenRejectsWithRetryAfter() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 2, 3, 100, now::get);
+
+    assertThat(limiter.tryAcquire("coach-1")).isEqualTo(2);
+    assertThat(limiter.tryAcquire("coach-1")).isEqualTo(1);
+    assertThat(limiter.tryAcquire("coach-1")).isEqualTo(0);
+
+    long rejected = limiter.tryAcquire("coach-1");
+    assertThat(TokenBucketRateLimiter.isPermitted(rejected)).isFalse();
+    assertThat(TokenBucketRateLimiter.retryAfterNanos(rejected))
+        .isEqualTo(TimeUnit.MILLISECONDS.toNanos(500));
+    assertThat(limiter.getRejected()).isEqualTo(1);
+
+    assertThat(limiter.tryAcquire("coach-2")).isEqualTo(2);
+  }
+
+  @Test
+  void refillsAtConfiguredRate() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 2, 2, 100, now::get);
+    limiter.tryAcquire("coach-1");
+    limiter.tryAcquire("coach-1");
+    assertThat(TokenBucketRateLimiter.isPermitted(limiter.tryAcquire("coach-1"))).isFalse();
+
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+    assertThat(limiter.tryAcquire("coach-1")).isEqualTo(0);
+  }
+
+  @Test
+  void sweepFreesSpaceForNewKeysOnceBucketsRefill() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 1, 1, 2, now::get);
+    limiter.tryAcquire("coach-1");
+    limiter.tryAcquire("coach-2");
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(5));
+    limiter.tryAcquire("coach-3");
+
+    // Acquiring never sweeps; coach-3 used the overflow bucket
+    assertThat(limiter.getTrackedKeys()).isEqualTo(2);
+
+    limiter.evictIdle();
+    limiter.tryAcquire("coach-3");
+
+    assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+  }
+
+  @Test
+  void sharesOverflowBucketWhenAllKeysAreActive() {
+    TokenBucketRateLimiter limiter = new TokenBucketRateLimiter("test", 1, 1, 1, now::get);
+    limiter.tryAcquire("coach-1");
+
+    assertThat(limiter.tryAcquire("coach-2")).isEqualTo(0);
+    assertThat(TokenBucketRateLimiter.isPermitted(limiter.tryAcquire("coach-3"))).isFalse();
+    assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+  }
+}
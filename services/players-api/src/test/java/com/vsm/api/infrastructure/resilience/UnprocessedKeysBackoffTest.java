@@ -0,0 +1,35 @@
+package com.vsm.api.infrastructure.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class UnprocessedKeysBackoffTest {
+
+  private final UnprocessedKeysBackoff backoff =
+      new UnprocessedKeysBackoff(Duration.ofMillis(20), Duration.ofMillis(200));
+
+  @AfterEach
+  void clear() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  void delayDoublesPerAttemptUpToTheCap() {
+    for (int i = 0; i < 100; i++) {
+      assertThat(backoff.delayMillis(1)).isBetween(0L, 20L);
+      assertThat(backoff.delayMillis(3)).isBetween(0L, 80L);
+      assertThat(backoff.delayMillis(30)).isBetween(0L, 200L);
+    }
+  }
+
+  @Test
+  void pauseFailsFastWhenTheDeadlineCannotCoverIt() {
+    RequestDeadline.start(Duration.ZERO, Duration.ZERO);
+
+    assertThatThrownBy(() -> backoff.pause(1)).isInstanceOf(DeadlineExceededException.class);
+  }
+}
@@ -0,0 +1,259 @@
+package com.vsm.api.infrastructure.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.vsm.api.domain.report.CoachReport;
+import com.vsm.api.domain.report.CoachReportRepository;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+
+class ReportSegmentWriterTest {
+
+  private static final Clock CLOCK =
+      Clock.fixed(Instant.parse("2025-01-02T03:04:05Z"), ZoneOffset.UTC);
+
+  private final S3Client s3 = mock(S3Client.class);
+  private final CoachReportRepository reports = mock(CoachReportRepository.class);
+
+  @TempDir Path walDirectory;
+
+  @Test
+  void packsTextsIntoOneObjectWithAFooterIndex() throws IOException {
+    ReportSegmentWriter writer = writer(DataSize.ofMegabytes(1), Duration.ZERO);
+
+    ReportSegmentRef first = writer.append(report("r1"), bytes("first"));
+    ReportSegmentRef second = writer.append(report("r2"), bytes("second text"));
+
+    assertThat(first.segmentKey()).startsWith("reports/segments/2025/01/02/").endsWith(".seg");
+    assertThat(second.segmentKey()).isEqualTo(first.segmentKey());
+    assertThat(first.offset()).isZero();
+    assertThat(second.offset()).isEqualTo(5);
+    assertThat(writer.unflushedText(second)).isEqualTo(bytes("second text"));
+
+    writer.flushExpired();
+
+    byte[] object = uploaded(first.segmentKey());
+    ByteBuffer trailer = ByteBuffer.wrap(object, object.length - Long.BYTES, Long.BYTES);
+    int footerLength = (int) trailer.getLong();
+    String body = new String(object, 0, 16, StandardCharsets.UTF_8);
+    String footer =
+        new String(
+            object,
+            object.length - Long.BYTES - footerLength,
+            footerLength,
+            StandardCharsets.UTF_8);
+    assertThat(body).isEqualTo("firstsecond text");
+    assertThat(footer).isEqualTo("r1\t0\t5\nr2\t5\t11\n");
+    assertThat(writer.unflushedText(first)).isNull();
+    assertThat(walFiles()).isEmpty();
+  }
+
+  @Test
+  void setsTheS3KeysOfSavedReportsOnceTheSegmentIsUploaded() {
+    doThrow(ConditionalCheckFailedException.builder().message("not saved").build())
+        .when(reports)
+        .updateS3Key(any(), any(), eq("r2"), any());
+    ReportSegmentWriter writer = writer(DataSize.ofMegabytes(1), Duration.ZERO);
+    ReportSegmentRef saved = writer.append(report("r1"), bytes("first"));
+    ReportSegmentRef unsaved = writer.append(report("r2"), bytes("second"));
+
+    assertThat(writer.pendingUpload(saved)).isTrue();
+    writer.flushExpired();
+
+    InOrder order = inOrder(s3, reports);
+    order.verify(s3).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    order
+        .verify(reports)
+        .updateS3Key("p1", Instant.parse("2025-01-02T03:04:05Z"), "r1", saved.toString());
+    verify(reports)
+        .updateS3Key("p1", Instant.parse("2025-01-02T03:04:05Z"), "r2", unsaved.toString());
+    assertThat(writer.pendingUpload(saved)).isFalse();
+    assertThat(walFiles()).isEmpty();
+  }
+
+  @Test
+  void concurrentAppendsAllReachTheSegment() throws Exception {
+    ReportSegmentWriter writer = writer(DataSize.ofMegabytes(1), Duration.ZERO);
+    List<Future<ReportSegmentRef>> appends = new ArrayList<>();
+    try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 32; i++) {
+        String reportId = "r" + i;
+        appends.add(threads.submit(() -> writer.append(report(reportId), bytes(reportId))));
+      }
+    }
+    for (int i = 0; i < 32; i++) {
+      assertThat(writer.unflushedText(appends.get(i).get())).isEqualTo(bytes("r" + i));
+    }
+
+    writer.flushExpired();
+
+    byte[] object = uploaded(appends.get(0).get().segmentKey());
+    ByteBuffer trailer = ByteBuffer.wrap(object, object.length - Long.BYTES, Long.BYTES);
+    int footerLength = (int) trailer.getLong();
+    String footer =
+        new String(
+            object,
+            object.length - Long.BYTES - footerLength,
+            footerLength,
+            StandardCharsets.UTF_8);
+    assertThat(footer.lines()).hasSize(32);
+  }
+
+  @Test
+  void keepsSegmentsWhoseUploadFailedForTheNextCheck() throws IOException {
+    when(s3.putObject(any(PutObjectRequest.class), any(RequestBody.class)))
+        .thenThrow(new IllegalStateException("throttled"))
+        .thenReturn(PutObjectResponse.builder().build());
+    ReportSegmentWriter writer = writer(DataSize.ofMegabytes(1), Duration.ZERO);
+    ReportSegmentRef ref = writer.append(report("r1"), bytes("first"));
+
+    writer.flushExpired();
+
+    assertThat(writer.unflushedText(ref)).isEqualTo(bytes("first"));
+    assertThat(walFiles()).hasSize(1);
+    verify(reports, never()).updateS3Key(any(), any(), any(), any());
+
+    writer.flushExpired();
+
+    assertThat(writer.unflushedText(ref)).isNull();
+    assertThat(walFiles()).isEmpty();
+  }
+
+  @Test
+  void uploadsFullSegmentsInTheBackground() {
+    ReportSegmentWriter writer = writer(DataSize.ofBytes(8), Duration.ofHours(1));
+
+    ReportSegmentRef full = writer.append(report("r1"), bytes("long enough"));
+    ReportSegmentRef next = writer.append(report("r2"), bytes("next"));
+
+    verify(s3, timeout(1000)).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    assertThat(next.segmentKey()).isNotEqualTo(full.segmentKey());
+  }
+
+  @Test
+  void uploadsWriteAheadFilesLeftByACrash() throws IOException {
+    ReportSegmentWriter crashed = writer(DataSize.ofMegabytes(1), Duration.ofHours(1));
+    ReportSegmentRef ref = crashed.append(report("r1"), bytes("first"));
+    // A dead instance's directory: its lock file is there, but nobody holds the lock
+    Path dead = Files.createDirectory(walDirectory.resolve("dead"));
+    Files.createFile(dead.resolve(ReportSegmentWriter.LOCK_FILE));
+    Path wal = Files.move(walFiles().get(0), dead.resolve("segment.wal"));
+    // An append cut short by the crash: its length promises more than was written
+    Files.write(wal, new byte[] {0, 0, 0, 9, 'r'}, StandardOpenOption.APPEND);
+
+    ReportSegmentWriter restarted = writer(DataSize.ofMegabytes(1), Duration.ofHours(1));
+    restarted.start();
+
+    byte[] object = uploaded(ref.segmentKey());
+    assertThat(new String(object, 0, 5, StandardCharsets.UTF_8)).isEqualTo("first");
+    verify(reports).updateS3Key("p1", Instant.parse("2025-01-02T03:04:05Z"), "r1", ref.toString());
+    assertThat(walFiles()).isEmpty();
+    assertThat(dead).doesNotExist();
+  }
+
+  @Test
+  void leavesTheWriteAheadFilesOfRunningInstancesAlone() throws IOException {
+    ReportSegmentWriter running = writer(DataSize.ofMegabytes(1), Duration.ofHours(1));
+    ReportSegmentRef ref = running.append(report("r1"), bytes("first"));
+
+    ReportSegmentWriter starting = writer(DataSize.ofMegabytes(1), Duration.ofHours(1));
+    starting.start();
+
+    verify(s3, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    assertThat(walFiles()).hasSize(1);
+    assertThat(running.unflushedText(ref)).isEqualTo(bytes("first"));
+  }
+
+  @Test
+  void storageServesUnflushedTextsFromMemory() throws IOException {
+    ReportSegmentWriter writer = writer(DataSize.ofMegabytes(1), Duration.ofHours(1));
+    S3ReportStorage storage =
+        new S3ReportStorage(
+            s3, "bucket", "reports/", "kms-arn", writer, false, Duration.ofDays(2), CLOCK);
+
+    String key = storage.store(report("r1"), "packed text");
+
+    assertThat(ReportSegmentRef.parse(key)).isPresent();
+    assertThat(storage.pendingUpload(key)).isTrue();
+    assertThat(storage.open(key).readAllBytes()).isEqualTo(bytes("packed text"));
+    verify(s3, never()).getObject(any(GetObjectRequest.class));
+  }
+
+  private ReportSegmentWriter writer(DataSize maxSize, Duration maxAge) {
+    return new ReportSegmentWriter(
+        s3,
+        reports,
+        "bucket",
+        "reports",
+        "kms-arn",
+        CLOCK,
+        true,
+        walDirectory.toString(),
+        maxSize,
+        maxAge);
+  }
+
+  private static CoachReport report(String reportId) {
+    return new CoachReport(
+        "p1",
+        "p@example.com",
+        Map.of("A", "1"),
+        Instant.parse("2025-01-02T03:04:05Z"),
+        reportId,
+        "c1");
+  }
+
+  private byte[] uploaded(String key) throws IOException {
+    ArgumentCaptor<PutObjectRequest> request = ArgumentCaptor.forClass(PutObjectRequest.class);
+    ArgumentCaptor<RequestBody> body = ArgumentCaptor.forClass(RequestBody.class);
+    verify(s3).putObject(request.capture(), body.capture());
+    assertThat(request.getValue().key()).isEqualTo(key);
+    assertThat(request.getValue().serverSideEncryptionAsString()).isEqualTo("aws:kms");
+    return body.getValue().contentStreamProvider().newStream().readAllBytes();
+  }
+
+  private List<Path> walFiles() throws IOException {
+    try (Stream<Path> files = Files.walk(walDirectory)) {
+      return files.filter(file -> file.toString().endsWith(".wal")).toList();
+    }
+  }
+
+  private static byte[] bytes(String text) {
+    return text.getBytes(StandardCharsets.UTF_8);
+  }
+}
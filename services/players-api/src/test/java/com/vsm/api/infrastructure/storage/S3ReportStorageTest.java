@@ -1,33 +1,46 @@
 package com.vsm.api.infrastructure.storage;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import com.vsm.api.domain.report.CoachReport;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
 import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 class S3ReportStorageTest {
 
+  private static final Instant NOW = Instant.parse("2025-01-02T03:04:05Z");
+  private static final String BODY_SHA256 =
+      "230d8358dc8e8890b4c58deeb62912ee2f20357ae92a5cc861b98e68fe31acb5";
+
   @Test
   void storesWithKmsAndContentType() {
     S3Client s3 = Mockito.mock(S3Client.class);
-    S3ReportStorage storage = new S3ReportStorage(s3, "bucket", "reports/", "kms-arn");
-    CoachReport r =
-        new CoachReport(
-            "p1",
-            "p@example.com",
-            Map.of("A", "1"),
-            Instant.parse("2025-01-02T03:04:05Z"),
-            "2025-01-02T03:04:05Z",
-            "c1");
+    S3ReportStorage storage = storage(s3, false);
+    CoachReport r = report();
     String key = storage.store(r, "body");
     assertTrue(key.startsWith("reports/p1/2025/01/02/2025-01-02T03:04:05Z"));
     ArgumentCaptor<PutObjectRequest> cap = ArgumentCaptor.forClass(PutObjectRequest.class);
@@ -38,4 +51,131 @@ class S3ReportStorageTest {
     assertTrue("aws:kms".equals(req.serverSideEncryptionAsString()));
     assertTrue("kms-arn".equals(req.ssekmsKeyId()));
   }
+
+  @Test
+  void opensStoredTextByKey() {
+    S3Client s3 = Mockito.mock(S3Client.class);
+    S3ReportStorage storage = storage(s3, false);
+
+    storage.open("reports/p1/2025/01/02/r1.txt");
+
+    ArgumentCaptor<GetObjectRequest> cap = ArgumentCaptor.forClass(GetObjectRequest.class);
+    verify(s3).getObject(cap.capture());
+    assertTrue("bucket".equals(cap.getValue().bucket()));
+    assertTrue("reports/p1/2025/01/02/r1.txt".equals(cap.getValue().key()));
+  }
+
+  @Test
+  void readsSegmentTextsWithARangedGet() {
+    S3Client s3 = Mockito.mock(S3Client.class);
+    S3ReportStorage storage = storage(s3, false);
+
+    storage.open("reports/segments/2025/01/02/s1.seg#100+25");
+
+    ArgumentCaptor<GetObjectRequest> cap = ArgumentCaptor.forClass(GetObjectRequest.class);
+    verify(s3).getObject(cap.capture());
+    assertTrue("reports/segments/2025/01/02/s1.seg".equals(cap.getValue().key()));
+    assertTrue("bytes=100-124".equals(cap.getValue().range()));
+  }
+
+  @Test
+  void storesNewContentUnderItsHashWithAChecksum() throws Exception {
+    S3Client s3 = Mockito.mock(S3Client.class);
+    when(s3.headObject(any(HeadObjectRequest.class)))
+        .thenThrow(NoSuchKeyException.builder().message("missing").build());
+    S3ReportStorage storage = storage(s3, true);
+
+    String key = storage.store(report(), "body");
+
+    assertEquals("reports/blobs/23/" + BODY_SHA256 + ".txt", key);
+    assertEquals(Optional.of(BODY_SHA256), storage.contentHash(key));
+    ArgumentCaptor<PutObjectRequest> cap = ArgumentCaptor.forClass(PutObjectRequest.class);
+    verify(s3).putObject(cap.capture(), any(RequestBody.class));
+    assertEquals(key, cap.getValue().key());
+    assertEquals("aws:kms", cap.getValue().serverSideEncryptionAsString());
+    byte[] digest =
+        MessageDigest.getInstance("SHA-256").digest("body".getBytes(StandardCharsets.UTF_8));
+    assertEquals(Base64.getEncoder().encodeToString(digest), cap.getValue().checksumSHA256());
+  }
+
+  @Test
+  void skipsThePutWhenTheContentWasStoredRecently() {
+    S3Client s3 = Mockito.mock(S3Client.class);
+    when(s3.headObject(any(HeadObjectRequest.class)))
+        .thenReturn(
+            HeadObjectResponse.builder().lastModified(NOW.minus(Duration.ofHours(1))).build());
+    S3ReportStorage storage = storage(s3, true);
+
+    String key = storage.store(report(), "body");
+
+    assertEquals("reports/blobs/23/" + BODY_SHA256 + ".txt", key);
+    verify(s3, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+    verify(s3, never()).copyObject(any(CopyObjectRequest.class));
+  }
+
+  @Test
+  void touchesContentStoredBeforeHalfTheGracePeriodWithACopyOntoItself() {
+    S3Client s3 = Mockito.mock(S3Client.class);
+    when(s3.headObject(any(HeadObjectRequest.class)))
+        .thenReturn(
+            HeadObjectResponse.builder().lastModified(NOW.minus(Duration.ofDays(2))).build());
+    S3ReportStorage storage = storage(s3, true);
+
+    String key = storage.store(report(), "body");
+
+    ArgumentCaptor<CopyObjectRequest> cap = ArgumentCaptor.forClass(CopyObjectRequest.class);
+    verify(s3).copyObject(cap.capture());
+    assertEquals(key, cap.getValue().sourceKey());
+    assertEquals(key, cap.getValue().destinationKey());
+    assertEquals(MetadataDirective.REPLACE, cap.getValue().metadataDirective());
+    assertEquals("aws:kms", cap.getValue().serverSideEncryptionAsString());
+    assertEquals("kms-arn", cap.getValue().ssekmsKeyId());
+    verify(s3, never()).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  void putsContentDeletedBeforeItCouldBeTouched() {
+    S3Client s3 = Mockito.mock(S3Client.class);
+    when(s3.headObject(any(HeadObjectRequest.class)))
+        .thenReturn(
+            HeadObjectResponse.builder().lastModified(NOW.minus(Duration.ofDays(2))).build());
+    when(s3.copyObject(any(CopyObjectRequest.class)))
+        .thenThrow(NoSuchKeyException.builder().message("swept").build());
+    S3ReportStorage storage = storage(s3, true);
+
+    storage.store(report(), "body");
+
+    verify(s3).putObject(any(PutObjectRequest.class), any(RequestBody.class));
+  }
+
+  @Test
+  void onlyBlobKeysHaveAContentHash() {
+    S3ReportStorage storage = storage(Mockito.mock(S3Client.class), true);
+
+    assertEquals(Optional.empty(), storage.contentHash("reports/p1/2025/01/02/r1.txt"));
+    assertEquals(Optional.empty(), storage.contentHash("reports/blobs/23/not-a-hash.txt"));
+    assertEquals(Optional.empty(), storage.contentHash(null));
+  }
+
+  private static S3ReportStorage storage(S3Client s3, boolean contentAddressed) {
+    return new S3ReportStorage(
+        s3,
+        "bucket",
+        "reports/",
+        "kms-arn",
+        Mockito.mock(ReportSegmentWriter.class),
+        contentAddressed,
+        Duration.ofDays(2),
+        Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  private static CoachReport report() {
+    return new CoachReport(
+        "p1",
+        "p@example.com",
+        Map.of("A", "1"),
+        Instant.parse("2025-01-02T03:04:05Z"),
+        "2025-01-02T03:04:05Z",
+        "c1");
+  }
 }
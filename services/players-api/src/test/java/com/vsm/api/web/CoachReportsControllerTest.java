@@ -6,19 +6,28 @@ import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vsm.api.config.SecurityConfig;
+import com.vsm.api.domain.report.CoachActivityService;
+import com.vsm.api.domain.report.CoachActivitySummary;
 import com.vsm.api.domain.report.CoachReportService;
+import com.vsm.api.domain.report.CoachSentPage;
+import com.vsm.api.domain.report.CoachSentReport;
 import com.vsm.api.domain.report.exception.ReportAlreadyExistsException;
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
 import com.vsm.api.infrastructure.metrics.ReportMetricsPublisher;
+import com.vsm.api.infrastructure.resilience.BrownoutController;
 import com.vsm.api.infrastructure.storage.RawReportUploadPresigner;
 import com.vsm.api.model.ReportRequest;
 import com.vsm.api.model.ReportUploadUrlRequest;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -40,10 +49,16 @@ class CoachReportsControllerTest {
 
   @MockBean private CoachReportService coachReportService;
 
+  @MockBean private CoachActivityService coachActivityService;
+
   @MockBean private RawReportUploadPresigner uploadPresigner;
 
   @MockBean private ReportMetricsPublisher metricsPublisher;
 
+  @MockBean private BrownoutController brownout;
+
+  @MockBean private HotKeyDetector hotKeys;
+
   @MockBean private JwtDecoder jwtDecoder;
 
   @Test
@@ -162,4 +177,47 @@ class CoachReportsControllerTest {
 
     verify(uploadPresigner).createUpload("coach-123", "batch.csv", "text/csv", null);
   }
+
+  @Test
+  void listSentReports_returnsCoachIndexPage() throws Exception {
+    when(coachActivityService.listSentReports("coach-123", 10, null))
+        .thenReturn(
+            new CoachSentPage(
+                List.of(
+                    new CoachSentReport(
+                        "r1",
+                        "p123",
+                        Instant.parse("2024-01-01T00:00:00Z"),
+                        Instant.parse("2024-01-01T00:00:05Z"))),
+                "next"));
+
+    mvc.perform(
+            get("/api/coach/reports")
+                .param("limit", "10")
+                .with(
+                    jwt()
+                        .jwt(jwt -> jwt.subject("coach-123"))
+                        .authorities(new SimpleGrantedAuthority("ROLE_COACH"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].reportId").value("r1"))
+        .andExpect(jsonPath("$.items[0].playerId").value("p123"))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
+  }
+
+  @Test
+  void summary_returnsCounters() throws Exception {
+    when(coachActivityService.summary("coach-123"))
+        .thenReturn(new CoachActivitySummary(LocalDate.parse("2024-01-03"), "2024-W01", 2, 7));
+
+    mvc.perform(
+            get("/api/coach/reports/summary")
+                .with(
+                    jwt()
+                        .jwt(jwt -> jwt.subject("coach-123"))
+                        .authorities(new SimpleGrantedAuthority("ROLE_COACH"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.week").value("2024-W01"))
+        .andExpect(jsonPath("$.sentToday").value(2))
+        .andExpect(jsonPath("$.sentThisWeek").value(7));
+  }
 }
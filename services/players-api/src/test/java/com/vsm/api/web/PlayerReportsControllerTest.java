@@ -1,34 +1,62 @@
 package com.vsm.api.web;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.vsm.api.config.SecurityConfig;
+import com.vsm.api.domain.report.PlayerReportArchiver;
+import com.vsm.api.domain.report.PlayerReportExporter;
 import com.vsm.api.domain.report.PlayerReportPage;
 import com.vsm.api.domain.report.PlayerReportService;
 import com.vsm.api.domain.report.PlayerReportSummary;
+import com.vsm.api.domain.report.ReportExistence;
+import com.vsm.api.domain.report.ReportExistenceService;
+import com.vsm.api.infrastructure.audit.ReportViewTracker;
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(PlayerReportsController.class)
-@Import(SecurityConfig.class)
+@Import({SecurityConfig.class, ReportDownloads.class})
 class PlayerReportsControllerTest {
 
   @Autowired private MockMvc mvc;
 
   @MockBean private PlayerReportService playerReportService;
 
+  @MockBean private ReportExistenceService reportExistenceService;
+
+  @MockBean private PlayerReportExporter exporter;
+
+  @MockBean private PlayerReportArchiver archiver;
+
+  @MockBean private ReportViewTracker viewTracker;
+
+  @MockBean private HotKeyDetector hotKeys;
+
   @MockBean private JwtDecoder jwtDecoder;
 
   @Test
@@ -50,7 +78,9 @@ class PlayerReportsControllerTest {
     when(playerReportService.listReports("player-1", null, null))
         .thenReturn(new PlayerReportPage(List.of(summary), "2024-01-02T00:00:00Z"));
 
-    mvc.perform(get("/api/players/player-1/reports").with(jwt()))
+    mvc.perform(
+            get("/api/players/player-1/reports")
+                .with(jwt().jwt(jwt -> jwt.claim("username", "player-1"))))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.items[0].reportId").value("2024-01-01T00:00:00Z"))
         .andExpect(jsonPath("$.items[0].coachId").value("coach-123"))
@@ -59,5 +89,155 @@ class PlayerReportsControllerTest {
         .andExpect(jsonPath("$.nextCursor").value("2024-01-02T00:00:00Z"));
 
     verify(playerReportService).listReports("player-1", null, null);
+    verify(viewTracker).recordView("2024-01-01T00:00:00Z", "player-1", "PLAYER");
+    verify(hotKeys).record(HotKeyDetector.KeyType.PLAYER, "player-1");
+  }
+
+  @Test
+  void reportsExistSplitsIdsByOutcome() throws Exception {
+    List<String> ids = List.of("2024-01-01T00:00:00Z", "2024-01-02T00:00:00Z", "not-an-id");
+    when(reportExistenceService.check("player-1", ids))
+        .thenReturn(
+            new ReportExistence(
+                List.of("2024-01-01T00:00:00Z"),
+                List.of("not-an-id"),
+                List.of("2024-01-02T00:00:00Z")));
+
+    mvc.perform(
+            post("/api/players/player-1/reports:exists")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"reportIds\":[\"2024-01-01T00:00:00Z\","
+                        + "\"2024-01-02T00:00:00Z\",\"not-an-id\"]}")
+                .with(jwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.existing[0]").value("2024-01-01T00:00:00Z"))
+        .andExpect(jsonPath("$.missing[0]").value("not-an-id"))
+        .andExpect(jsonPath("$.unresolved[0]").value("2024-01-02T00:00:00Z"));
+  }
+
+  @Test
+  void reportsExistRequiresIds() throws Exception {
+    mvc.perform(
+            post("/api/players/player-1/reports:exists")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"reportIds\":[]}")
+                .with(jwt()))
+        .andExpect(status().isBadRequest());
+
+    verify(reportExistenceService, never()).check(any(), any());
+  }
+
+  @Test
+  void exportReportsStreamsNdjsonPageByPage() throws Exception {
+    PlayerReportSummary first =
+        new PlayerReportSummary(
+            "r2", Instant.parse("2024-01-02T00:00:00Z"), null, "coach-123", null, null);
+    PlayerReportSummary second =
+        new PlayerReportSummary(
+            "r1", Instant.parse("2024-01-01T00:00:00Z"), null, "coach-123", null, null);
+    when(exporter.export(eq("player-1"), any()))
+        .thenAnswer(
+            invocation -> {
+              PlayerReportExporter.PageSink sink = invocation.getArgument(1);
+              sink.accept(List.of(first));
+              sink.accept(List.of(second));
+              return 2L;
+            });
+
+    MvcResult started =
+        mvc.perform(
+                get("/api/players/player-1/reports/export")
+                    .with(jwt().jwt(jwt -> jwt.claim("username", "player-1"))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/x-ndjson"))
+        .andExpect(
+            header().string("Content-Disposition", "attachment; filename=\"reports.ndjson\""))
+        .andExpect(
+            content()
+                .string(
+                    "{\"reportId\":\"r2\",\"reportTimestamp\":\"2024-01-02T00:00:00Z\","
+                        + "\"createdAt\":null,\"coachId\":\"coach-123\",\"s3Key\":null,"
+                        + "\"soapStamp\":null}\n"
+                        + "{\"reportId\":\"r1\",\"reportTimestamp\":\"2024-01-01T00:00:00Z\","
+                        + "\"createdAt\":null,\"coachId\":\"coach-123\",\"s3Key\":null,"
+                        + "\"soapStamp\":null}\n"));
+
+    verify(viewTracker).recordView("r2", "player-1", "PLAYER");
+    verify(viewTracker).recordView("r1", "player-1", "PLAYER");
+  }
+
+  @Test
+  void exportReportsWritesQuotedCsv() throws Exception {
+    PlayerReportSummary summary =
+        new PlayerReportSummary(
+            "r1",
+            Instant.parse("2024-01-01T00:00:00Z"),
+            Instant.parse("2024-01-01T00:05:00Z"),
+            "coach, \"senior\"",
+            "reports/player-1/r1.txt",
+            null);
+    when(exporter.export(eq("player-1"), any()))
+        .thenAnswer(
+            invocation -> {
+              PlayerReportExporter.PageSink sink = invocation.getArgument(1);
+              sink.accept(List.of(summary));
+              return 1L;
+            });
+
+    MvcResult started =
+        mvc.perform(get("/api/players/player-1/reports/export").param("format", "CSV").with(jwt()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(
+            content()
+                .string(
+                    "reportId,reportTimestamp,createdAt,coachId,s3Key,soapStamp\n"
+                        + "r1,2024-01-01T00:00:00Z,2024-01-01T00:05:00Z,"
+                        + "\"coach, \"\"senior\"\"\",reports/player-1/r1.txt,\n"));
+  }
+
+  @Test
+  void exportReportsRejectsUnknownFormat() throws Exception {
+    mvc.perform(get("/api/players/player-1/reports/export").param("format", "xml").with(jwt()))
+        .andExpect(status().isBadRequest());
+
+    verify(exporter, never()).export(any(), any());
+  }
+
+  @Test
+  void archiveReportsStreamsTheZipAndRecordsViews() throws Exception {
+    when(archiver.write(eq("player-1"), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(1);
+              Consumer<String> archived = invocation.getArgument(2);
+              out.write(new byte[] {'P', 'K'});
+              archived.accept("r1");
+              return 1L;
+            });
+
+    MvcResult started =
+        mvc.perform(
+                get("/api/players/player-1/reports/archive.zip")
+                    .with(jwt().jwt(jwt -> jwt.claim("username", "coach-123"))))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "application/zip"))
+        .andExpect(header().string("Content-Disposition", "attachment; filename=\"reports.zip\""))
+        .andExpect(content().bytes(new byte[] {'P', 'K'}));
+
+    verify(viewTracker).recordView("r1", "coach-123", "PLAYER");
+    verify(hotKeys).record(HotKeyDetector.KeyType.PLAYER, "player-1");
   }
 }
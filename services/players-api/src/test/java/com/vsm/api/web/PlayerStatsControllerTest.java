@@ -0,0 +1,139 @@
+package com.vsm.api.web;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.vsm.api.config.SecurityConfig;
+import com.vsm.api.domain.stats.ActivityBucket;
+import com.vsm.api.domain.stats.ActivityRollupService;
+import com.vsm.api.domain.stats.ActivityRollups;
+import com.vsm.api.domain.stats.CategoryPercentile;
+import com.vsm.api.domain.stats.CategoryStats;
+import com.vsm.api.domain.stats.CategoryTotals;
+import com.vsm.api.domain.stats.PercentileSketchService;
+import com.vsm.api.domain.stats.PlayerPercentiles;
+import com.vsm.api.domain.stats.RollupGranularity;
+import com.vsm.api.domain.stats.SeasonStats;
+import com.vsm.api.domain.stats.SeasonStatsService;
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(PlayerStatsController.class)
+@Import(SecurityConfig.class)
+class PlayerStatsControllerTest {
+
+  @Autowired private MockMvc mvc;
+
+  @MockBean private SeasonStatsService seasonStatsService;
+
+  @MockBean private PercentileSketchService percentileService;
+
+  @MockBean private ActivityRollupService activityService;
+
+  @MockBean private HotKeyDetector hotKeys;
+
+  @MockBean private JwtDecoder jwtDecoder;
+
+  @Test
+  void getStatsReturnsCategoryAggregates() throws Exception {
+    TreeMap<String, CategoryStats> categories = new TreeMap<>();
+    categories.put("Aces", CategoryStats.of(BigDecimal.valueOf(2)).plus(BigDecimal.valueOf(4)));
+    when(seasonStatsService.getStats("player-1", "2024"))
+        .thenReturn(new SeasonStats("player-1", "2024", 3, categories));
+
+    mvc.perform(get("/api/players/player-1/stats").param("season", "2024").with(jwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.reports").value(3))
+        .andExpect(jsonPath("$.categories[0].category").value("Aces"))
+        .andExpect(jsonPath("$.categories[0].count").value(2))
+        .andExpect(jsonPath("$.categories[0].mean").value(3.0))
+        .andExpect(jsonPath("$.categories[0].standardDeviation").value(1.0));
+  }
+
+  @Test
+  void getStatsRejectsUnknownSeasons() throws Exception {
+    when(seasonStatsService.getStats("player-1", "last-year"))
+        .thenThrow(new IllegalArgumentException("Unknown season: last-year"));
+
+    mvc.perform(get("/api/players/player-1/stats").param("season", "last-year").with(jwt()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getPercentilesRanksAgainstTeamAndLeague() throws Exception {
+    when(percentileService.percentiles("player-1", "team-1", null))
+        .thenReturn(
+            new PlayerPercentiles(
+                "player-1",
+                "team-1",
+                "2024",
+                List.of(new CategoryPercentile("Digs", 14.5, 87.0, 120, null, 0))));
+
+    mvc.perform(
+            get("/api/players/player-1/stats/percentiles").param("teamId", "team-1").with(jwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.season").value("2024"))
+        .andExpect(jsonPath("$.categories[0].category").value("Digs"))
+        .andExpect(jsonPath("$.categories[0].teamPercentile").value(87.0))
+        .andExpect(jsonPath("$.categories[0].teamReports").value(120))
+        .andExpect(jsonPath("$.categories[0].leaguePercentile").doesNotExist());
+  }
+
+  @Test
+  void getPercentilesRejectsUnknownSeasons() throws Exception {
+    when(percentileService.percentiles("player-1", null, "last-year"))
+        .thenThrow(new IllegalArgumentException("Unknown season: last-year"));
+
+    mvc.perform(
+            get("/api/players/player-1/stats/percentiles")
+                .param("season", "last-year")
+                .with(jwt()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getActivityReturnsBuckets() throws Exception {
+    LocalDate day = LocalDate.parse("2024-05-01");
+    TreeMap<String, CategoryTotals> totals = new TreeMap<>();
+    totals.put("Digs", new CategoryTotals(2, BigDecimal.valueOf(30)));
+    when(activityService.playerActivity("player-1", RollupGranularity.DAY, day, day))
+        .thenReturn(
+            new ActivityRollups(
+                RollupGranularity.DAY,
+                day,
+                day,
+                List.of(new ActivityBucket(day, RollupGranularity.DAY, 2, totals))));
+
+    mvc.perform(
+            get("/api/players/player-1/stats/activity")
+                .param("granularity", "day")
+                .param("from", "2024-05-01")
+                .param("to", "2024-05-01")
+                .with(jwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.granularity").value("day"))
+        .andExpect(jsonPath("$.buckets[0].start").value("2024-05-01"))
+        .andExpect(jsonPath("$.buckets[0].reports").value(2))
+        .andExpect(jsonPath("$.buckets[0].categories[0].average").value(15.0));
+  }
+
+  @Test
+  void getActivityRejectsUnknownGranularity() throws Exception {
+    mvc.perform(
+            get("/api/players/player-1/stats/activity").param("granularity", "hour").with(jwt()))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,83 @@
+package com.vsm.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vsm.api.infrastructure.resilience.TokenBucketRateLimiter;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+class RateLimitInterceptorTest {
+
+  private final TokenBucketRateLimiter coachLimiter = new TokenBucketRateLimiter("coach", 1, 2, 10);
+  private final TokenBucketRateLimiter playerLimiter =
+      new TokenBucketRateLimiter("player", 1, 5, 10);
+  private final RateLimitInterceptor interceptor =
+      new RateLimitInterceptor(coachLimiter, playerLimiter);
+
+  @AfterEach
+  void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void rejectsCoachOnceBucketIsEmpty() {
+    authenticate("coach-123", List.of("COACH"));
+
+    MockHttpServletResponse first = preHandle(true);
+    assertThat(first.getHeader(RateLimitInterceptor.LIMIT_HEADER)).isEqualTo("2");
+    assertThat(first.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("1");
+    preHandle(true);
+
+    MockHttpServletResponse rejected = preHandle(false);
+    assertThat(rejected.getStatus()).isEqualTo(429);
+    assertThat(rejected.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("0");
+    assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+  }
+
+  @Test
+  void playersUseTheirOwnBucket() {
+    authenticate("player-1", List.of());
+
+    MockHttpServletResponse response = preHandle(true);
+
+    assertThat(response.getHeader(RateLimitInterceptor.LIMIT_HEADER)).isEqualTo("5");
+    assertThat(playerLimiter.getTrackedKeys()).isEqualTo(1);
+    assertThat(coachLimiter.getTrackedKeys()).isZero();
+  }
+
+  @Test
+  void skipsUnauthenticatedRequests() {
+    MockHttpServletResponse response = preHandle(true);
+
+    assertThat(response.getHeader(RateLimitInterceptor.LIMIT_HEADER)).isNull();
+  }
+
+  private MockHttpServletResponse preHandle(boolean expected) {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    boolean proceed =
+        interceptor.preHandle(
+            new MockHttpServletRequest("POST", "/api/coach/reports"), response, new Object());
+    assertThat(proceed).isEqualTo(expected);
+    return response;
+  }
+
+  private void authenticate(String username, List<String> groups) {
+    Jwt jwt =
+        Jwt.withTokenValue("token")
+            .header("alg", "none")
+            .subject(username)
+            .claim("username", username)
+            .claim("cognito:groups", groups)
+            .issuedAt(Instant.now())
+            .expiresAt(Instant.now().plusSeconds(60))
+            .build();
+    SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+  }
+}
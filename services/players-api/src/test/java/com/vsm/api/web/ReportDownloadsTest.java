@@ -0,0 +1,37 @@
+package com.vsm.api.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+class ReportDownloadsTest {
+
+  private final ReportDownloads downloads = new ReportDownloads(Duration.ofMinutes(10));
+
+  @AfterEach
+  void close() {
+    downloads.close();
+  }
+
+  @Test
+  void eachDownloadCarriesItsOwnTimeoutAndRunsOffTheCallingThread() throws Exception {
+    CountDownLatch written = new CountDownLatch(1);
+    String[] writer = new String[1];
+
+    ResponseBodyEmitter emitter =
+        downloads.start(
+            out -> {
+              writer[0] = Thread.currentThread().getName();
+              written.countDown();
+            });
+
+    assertThat(emitter.getTimeout()).isEqualTo(Duration.ofMinutes(10).toMillis());
+    assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(writer[0]).startsWith("report-download-");
+  }
+}
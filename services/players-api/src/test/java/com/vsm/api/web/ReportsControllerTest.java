@@ -0,0 +1,189 @@
+package com.vsm.api.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.vsm.api.config.SecurityConfig;
+import com.vsm.api.domain.report.PlayerReportPage;
+import com.vsm.api.domain.report.PlayerReportService;
+import com.vsm.api.domain.report.PlayerReportSummary;
+import com.vsm.api.domain.report.ReportLookupService;
+import com.vsm.api.domain.report.ReportMetadata;
+import com.vsm.api.domain.report.ReportTextReader;
+import com.vsm.api.infrastructure.audit.ReportViewTracker;
+import com.vsm.api.infrastructure.metrics.HotKeyDetector;
+import com.vsm.api.infrastructure.resilience.DeadlineExceededException;
+import com.vsm.api.infrastructure.resilience.ParallelReads;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+import software.amazon.awssdk.core.exception.ApiCallTimeoutException;
+
+@WebMvcTest(ReportsController.class)
+@Import(SecurityConfig.class)
+class ReportsControllerTest {
+
+  @Autowired private MockMvc mvc;
+
+  @MockBean private PlayerReportService playerReportService;
+
+  @MockBean private ReportLookupService reportLookupService;
+
+  @MockBean private ReportTextReader textReader;
+
+  @MockBean private ReportViewTracker viewTracker;
+
+  @MockBean private HotKeyDetector hotKeys;
+
+  @MockBean private JwtDecoder jwtDecoder;
+
+  @Test
+  void latestReportsReturnsPartialResults() throws Exception {
+    PlayerReportSummary summary =
+        new PlayerReportSummary(
+            "2024-01-01T00:00:00Z",
+            Instant.parse("2024-01-01T00:00:00Z"),
+            Instant.parse("2024-01-01T00:05:00Z"),
+            "coach-123",
+            "reports/player-1/report.txt",
+            null);
+    Map<String, ParallelReads.Result<PlayerReportPage>> results = new LinkedHashMap<>();
+    results.put(
+        "player-1", new ParallelReads.Result<>(new PlayerReportPage(List.of(summary), null), null));
+    results.put("player-2", new ParallelReads.Result<>(null, new DeadlineExceededException()));
+    when(playerReportService.latestReports(
+            new LinkedHashSet<>(List.of("player-1", "player-2")), null))
+        .thenReturn(results);
+
+    mvc.perform(
+            get("/api/reports/latest")
+                .param("playerIds", "player-1,player-2,player-1")
+                .with(jwt().jwt(jwt -> jwt.claim("username", "coach-123"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.players[0].playerId").value("player-1"))
+        .andExpect(jsonPath("$.players[0].items[0].reportId").value("2024-01-01T00:00:00Z"))
+        .andExpect(jsonPath("$.players[1].playerId").value("player-2"))
+        .andExpect(jsonPath("$.players[1].items").isEmpty())
+        .andExpect(jsonPath("$.players[1].error").value("DEADLINE_EXCEEDED"));
+
+    verify(viewTracker).recordView("2024-01-01T00:00:00Z", "coach-123", "PLAYER");
+    verify(hotKeys).record(HotKeyDetector.KeyType.PLAYER, "player-2");
+  }
+
+  @Test
+  void latestReportsRejectsTooManyPlayers() throws Exception {
+    StringBuilder distinct = new StringBuilder();
+    for (int i = 0; i < 26; i++) {
+      distinct.append(i == 0 ? "" : ",").append("player-").append(i);
+    }
+
+    mvc.perform(get("/api/reports/latest").param("playerIds", distinct.toString()).with(jwt()))
+        .andExpect(status().isBadRequest());
+
+    verify(playerReportService, never()).latestReports(any(), any());
+  }
+
+  @Test
+  void latestReportsRequiresPlayerIds() throws Exception {
+    mvc.perform(get("/api/reports/latest").param("playerIds", " , ").with(jwt()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void getReportReturnsMetadataFoundById() throws Exception {
+    PlayerReportSummary summary =
+        new PlayerReportSummary(
+            "2024-01-01T00:00:00Z",
+            Instant.parse("2024-01-01T00:00:00Z"),
+            Instant.parse("2024-01-01T00:05:00Z"),
+            "coach-123",
+            "reports/player-1/report.txt",
+            null);
+    when(reportLookupService.find("2024-01-01T00:00:00Z"))
+        .thenReturn(Optional.of(new ReportMetadata("player-1", "team-1", summary)));
+
+    mvc.perform(
+            get("/api/reports/2024-01-01T00:00:00Z")
+                .with(jwt().jwt(jwt -> jwt.claim("username", "coach-123"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.playerId").value("player-1"))
+        .andExpect(jsonPath("$.teamId").value("team-1"))
+        .andExpect(jsonPath("$.s3Key").value("reports/player-1/report.txt"));
+
+    verify(viewTracker).recordView("2024-01-01T00:00:00Z", "coach-123", "PLAYER");
+  }
+
+  @Test
+  void getReportReturns404WhenUnknown() throws Exception {
+    when(reportLookupService.find("missing")).thenReturn(Optional.empty());
+
+    mvc.perform(get("/api/reports/missing").with(jwt())).andExpect(status().isNotFound());
+  }
+
+  @Test
+  void getReportReturns504WhenTheAwsCallRunsOutOfDeadline() throws Exception {
+    when(reportLookupService.find("slow"))
+        .thenThrow(ApiCallTimeoutException.builder().message("timed out").build());
+
+    mvc.perform(get("/api/reports/slow").with(jwt())).andExpect(status().isGatewayTimeout());
+  }
+
+  @Test
+  void getReportTextReturnsTheTextWithItsHashAsETag() throws Exception {
+    PlayerReportSummary summary = summaryWithText("reports/blobs/ab/" + "a".repeat(64) + ".txt");
+    when(reportLookupService.find("r1"))
+        .thenReturn(Optional.of(new ReportMetadata("player-1", null, summary)));
+    when(textReader.contentHash(summary)).thenReturn(Optional.of("a".repeat(64)));
+    when(textReader.read(summary)).thenReturn("Aces: 3".getBytes(StandardCharsets.UTF_8));
+
+    mvc.perform(get("/api/reports/r1/text").with(jwt()))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"" + "a".repeat(64) + "\""))
+        .andExpect(content().string("Aces: 3"));
+  }
+
+  @Test
+  void getReportTextAnswersAMatchingETagWithoutReadingTheText() throws Exception {
+    PlayerReportSummary summary = summaryWithText("reports/blobs/ab/" + "a".repeat(64) + ".txt");
+    when(reportLookupService.find("r1"))
+        .thenReturn(Optional.of(new ReportMetadata("player-1", null, summary)));
+    when(textReader.contentHash(summary)).thenReturn(Optional.of("a".repeat(64)));
+
+    mvc.perform(
+            get("/api/reports/r1/text")
+                .header("If-None-Match", "\"" + "a".repeat(64) + "\"")
+                .with(jwt()))
+        .andExpect(status().isNotModified());
+
+    verify(textReader, never()).read(any());
+  }
+
+  private static PlayerReportSummary summaryWithText(String s3Key) {
+    return new PlayerReportSummary(
+        "r1",
+        Instant.parse("2024-01-01T00:00:00Z"),
+        Instant.parse("2024-01-01T00:05:00Z"),
+        "coach-123",
+        s3Key,
+        null);
+  }
+}
@@ -0,0 +1,70 @@
+package com.vsm.api.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.vsm.api.config.SecurityConfig;
+import com.vsm.api.domain.stats.ActivityBucket;
+import com.vsm.api.domain.stats.ActivityRollupService;
+import com.vsm.api.domain.stats.ActivityRollups;
+import com.vsm.api.domain.stats.RollupGranularity;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(TeamActivityController.class)
+@Import(SecurityConfig.class)
+class TeamActivityControllerTest {
+
+  @Autowired private MockMvc mvc;
+
+  @MockBean private ActivityRollupService rollups;
+
+  @MockBean private JwtDecoder jwtDecoder;
+
+  @Test
+  void activityDefaultsToWeeks() throws Exception {
+    LocalDate monday = LocalDate.parse("2024-04-29");
+    when(rollups.teamActivity("team-1", RollupGranularity.WEEK, null, null))
+        .thenReturn(
+            new ActivityRollups(
+                RollupGranularity.WEEK,
+                monday,
+                monday.plusDays(6),
+                List.of(new ActivityBucket(monday, RollupGranularity.WEEK, 9, new TreeMap<>()))));
+
+    mvc.perform(get("/api/teams/team-1/activity").with(jwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.granularity").value("week"))
+        .andExpect(jsonPath("$.to").value("2024-05-05"))
+        .andExpect(jsonPath("$.buckets[0].granularity").value("week"))
+        .andExpect(jsonPath("$.buckets[0].reports").value(9));
+  }
+
+  @Test
+  void activityRejectsReversedRanges() throws Exception {
+    when(rollups.teamActivity(any(), any(), any(), isNull()))
+        .thenThrow(new IllegalArgumentException("from must not be after to"));
+
+    mvc.perform(get("/api/teams/team-1/activity").param("from", "2024-05-01").with(jwt()))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void activityRejectsMalformedDates() throws Exception {
+    mvc.perform(get("/api/teams/team-1/activity").param("from", "May 1").with(jwt()))
+        .andExpect(status().isBadRequest());
+  }
+}
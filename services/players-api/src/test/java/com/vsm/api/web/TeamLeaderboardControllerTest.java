@@ -0,0 +1,71 @@
+package com.vsm.api.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.vsm.api.config.SecurityConfig;
+import com.vsm.api.domain.stats.LeaderboardEntry;
+import com.vsm.api.domain.stats.LeaderboardMetric;
+import com.vsm.api.domain.stats.SeasonCalendar;
+import com.vsm.api.domain.stats.TeamLeaderboardStore;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(TeamLeaderboardController.class)
+@Import(SecurityConfig.class)
+class TeamLeaderboardControllerTest {
+
+  @Autowired private MockMvc mvc;
+
+  @MockBean private TeamLeaderboardStore leaderboards;
+
+  @MockBean private SeasonCalendar calendar;
+
+  @MockBean private JwtDecoder jwtDecoder;
+
+  @Test
+  void leaderboardRanksEntries() throws Exception {
+    when(calendar.currentSeason()).thenReturn("2025");
+    when(leaderboards.top("team-1", "2025", "Digs", 2, LeaderboardMetric.AVERAGE))
+        .thenReturn(List.of(new LeaderboardEntry("p1", 12, 2), new LeaderboardEntry("p2", 5, 1)));
+
+    mvc.perform(
+            get("/api/teams/team-1/leaderboard")
+                .param("category", "Digs")
+                .param("top", "2")
+                .param("metric", "average")
+                .with(jwt()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.season").value("2025"))
+        .andExpect(jsonPath("$.metric").value("average"))
+        .andExpect(jsonPath("$.entries[0].rank").value(1))
+        .andExpect(jsonPath("$.entries[0].playerId").value("p1"))
+        .andExpect(jsonPath("$.entries[0].average").value(6.0))
+        .andExpect(jsonPath("$.entries[1].rank").value(2));
+  }
+
+  @Test
+  void leaderboardRejectsUnknownMetric() throws Exception {
+    mvc.perform(
+            get("/api/teams/team-1/leaderboard")
+                .param("category", "Digs")
+                .param("metric", "median")
+                .with(jwt()))
+        .andExpect(status().isBadRequest());
+
+    verify(leaderboards, never()).top(any(), any(), any(), anyInt(), any());
+  }
+}
@@ -0,0 +1,101 @@
+package com.vsm.api.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.vsm.api.config.SecurityConfig;
+import com.vsm.api.domain.report.PlayerReportSummary;
+import com.vsm.api.domain.report.ReportMetadata;
+import com.vsm.api.domain.report.ReportSearchPage;
+import com.vsm.api.domain.report.ReportSearchService;
+import com.vsm.api.domain.report.TeamTimelineService;
+import com.vsm.api.domain.stats.CategoryPredicate;
+import com.vsm.api.infrastructure.audit.ReportViewTracker;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(TeamReportsController.class)
+@Import(SecurityConfig.class)
+class TeamReportsControllerTest {
+
+  @Autowired private MockMvc mvc;
+
+  @MockBean private TeamTimelineService timeline;
+
+  @MockBean private ReportSearchService search;
+
+  @MockBean private ReportViewTracker viewTracker;
+
+  @MockBean private JwtDecoder jwtDecoder;
+
+  @Test
+  void searchParsesPredicatesAndRecordsViews() throws Exception {
+    Instant at = Instant.parse("2025-02-01T10:00:00Z");
+    ReportMetadata report =
+        new ReportMetadata(
+            "player-1", "team-1", new PlayerReportSummary("r1", at, at, "coach-1", null, null));
+    List<CategoryPredicate> predicates =
+        List.of(CategoryPredicate.parse("Aces>=3"), CategoryPredicate.parse("Digs<2"));
+    when(search.search("team-1", null, predicates, false, 5))
+        .thenReturn(new ReportSearchPage("2025", 12, List.of(report), List.of("r0")));
+
+    mvc.perform(
+            get("/api/teams/team-1/reports/search")
+                .param("where", "Aces>=3", "Digs<2")
+                .param("match", "any")
+                .param("limit", "5")
+                .with(jwt().jwt(jwt -> jwt.claim("username", "coach-123"))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.season").value("2025"))
+        .andExpect(jsonPath("$.matched").value(12))
+        .andExpect(jsonPath("$.items[0].playerId").value("player-1"))
+        .andExpect(jsonPath("$.items[0].reportId").value("r1"))
+        .andExpect(jsonPath("$.unresolvedReportIds[0]").value("r0"));
+
+    verify(viewTracker).recordView(eq("r1"), eq("coach-123"), any());
+  }
+
+  @Test
+  void searchRejectsMalformedPredicates() throws Exception {
+    mvc.perform(get("/api/teams/team-1/reports/search").param("where", "Aces>>3").with(jwt()))
+        .andExpect(status().isBadRequest());
+    mvc.perform(
+            get("/api/teams/team-1/reports/search")
+                .param("where", "Aces>3")
+                .param("match", "some")
+                .with(jwt()))
+        .andExpect(status().isBadRequest());
+
+    verify(search, never()).search(any(), any(), anyList(), anyBoolean(), anyInt());
+  }
+
+  @Test
+  void searchRejectsInvalidSeasons() throws Exception {
+    when(search.search(eq("team-1"), eq("soon"), anyList(), anyBoolean(), anyInt()))
+        .thenThrow(new IllegalArgumentException("bad season"));
+
+    mvc.perform(
+            get("/api/teams/team-1/reports/search")
+                .param("where", "Aces>3")
+                .param("season", "soon")
+                .with(jwt()))
+        .andExpect(status().isBadRequest());
+  }
+}